@@ -21,6 +21,7 @@ import {AbstractServerMessageConfig} from "../../generated/AbstractServerMessage
 import {AbstractClientMessageConfig} from "../../generated/AbstractClientMessageConfig";
 import log from "loglevel";
 import stringify from "json-stable-stringify";
+import {constants, Inflate} from "pako";
 
 export interface ReconnectingCompressingWebSocketConnectionListener {
 	onConnected: () => void;
@@ -32,11 +33,16 @@ export interface ReconnectingCompressingWebSocketConnectionListener {
 export class ReconnectingCompressingWebSocketConnection {
 
 	private static logger: log.Logger = log.getLogger("ReconnectingCompressingWebSocketConnection");
+	private static textDecoder = new TextDecoder("utf-8");
+	private static textEncoder = new TextEncoder();
 
 	private url: string;
 	private connection: WebSocket;
 	private initialConnection = true;
 	private closed: any;
+	private inflater: Inflate;
+	private inflatedChunks: Uint8Array[] = [];
+	private binaryMessages = false;
 
 	constructor(url: string, private listener: ReconnectingCompressingWebSocketConnectionListener) {
 		this.url = url;
@@ -55,13 +61,50 @@ export class ReconnectingCompressingWebSocketConnection {
 				return (aIsUnderscore && !bIsUnderscore) ? -1 : (!aIsUnderscore && bIsUnderscore) ? 1 : 0;
 			}
 		});
-		this.connection.send(jsonString);
+		this.connection.send(this.binaryMessages ? ReconnectingCompressingWebSocketConnection.textEncoder.encode(jsonString) : jsonString);
 	};
 
+	/**
+	 * All messages sent through the current connection after this call are sent as binary frames containing UTF-8 encoded JSON.
+	 * A new connection always starts with text frames.
+	 */
+	public enableBinaryMessages() {
+		this.binaryMessages = true;
+	}
+
+	/**
+	 * All binary messages received through the current connection after this call are deflate-compressed using one stream
+	 * with the given preset dictionary. A new connection always starts uncompressed.
+	 */
+	public enableDecompression(dictionary: string) {
+		this.inflater = new Inflate({raw: true, dictionary: dictionary});
+		this.inflater.onData = (chunk: Uint8Array) => this.inflatedChunks.push(chunk);
+	}
+
+	private inflate(data: ArrayBuffer): Uint8Array {
+		this.inflatedChunks = [];
+		this.inflater.push(new Uint8Array(data), constants.Z_SYNC_FLUSH);
+		if (this.inflater.err) {
+			throw new Error("Could not decompress message: " + this.inflater.msg);
+		}
+		if (this.inflatedChunks.length === 1) {
+			return this.inflatedChunks[0];
+		}
+		let result = new Uint8Array(this.inflatedChunks.reduce((sum, chunk) => sum + chunk.length, 0));
+		let offset = 0;
+		for (let chunk of this.inflatedChunks) {
+			result.set(chunk, offset);
+			offset += chunk.length;
+		}
+		return result;
+	}
+
 	private reconnect() {
 		if (this.closed) {
 			return;
 		}
+		this.inflater = null;
+		this.binaryMessages = false;
 
 		ReconnectingCompressingWebSocketConnection.log(`Connecting to ${this.url}`);
 
@@ -88,7 +131,18 @@ export class ReconnectingCompressingWebSocketConnection {
 			ReconnectingCompressingWebSocketConnection.log('WebSocket error: ' + error);
 		};
 		this.connection.onmessage = (e) => {
-			let json: string = e.data as string;
+			let json: string;
+			try {
+				if (e.data instanceof ArrayBuffer) {
+					// binary frames contain (possibly compressed) UTF-8 encoded JSON
+					json = ReconnectingCompressingWebSocketConnection.textDecoder.decode(this.inflater != null ? this.inflate(e.data) : e.data);
+				} else {
+					json = e.data as string;
+				}
+			} catch (err) {
+				ReconnectingCompressingWebSocketConnection.log("Error while decoding binary message: " + err);
+				return;
+			}
 			if (json) {
 				try {
 					this.listener.onMessage(JSON.parse(json));
@@ -25,6 +25,7 @@ import {INIT_NOKConfig} from "../../generated/INIT_NOKConfig";
 import {REINIT_NOKConfig} from "../../generated/REINIT_NOKConfig";
 import {REINITConfig} from "../../generated/REINITConfig";
 import {CMD_REQUESTConfig} from "../../generated/CMD_REQUESTConfig";
+import {CMD_WINDOWConfig} from "../../generated/CMD_WINDOWConfig";
 import {INIT_OKConfig} from "../../generated/INIT_OKConfig";
 import {REINIT_OKConfig} from "../../generated/REINIT_OKConfig";
 import {MULTI_CMDConfig} from "../../generated/MULTI_CMDConfig";
@@ -50,6 +51,8 @@ enum TeamAppsProtocolStatus {
 
 export class TeamAppsConnectionImpl implements TeamAppsConnection {
 
+	private static SUPPORTED_COMPRESSIONS = ["deflate-dict"];
+
 	private sentEventsMinBufferSize = 500;
 	private minRequestedCommands = 3;
 	private maxRequestedCommands = 20;
@@ -66,6 +69,7 @@ export class TeamAppsConnectionImpl implements TeamAppsConnection {
 
 	private maxRequestedCommandId = 0;
 	private lastReceivedCommandId: number;
+	private compressionDictionary: string;
 
 	constructor(url: string, private sessionId: string, clientInfo: UiClientInfoConfig, commandHandler: TeamAppsConnectionListener) {
 		if (sessionId == null) {
@@ -78,7 +82,8 @@ export class TeamAppsConnectionImpl implements TeamAppsConnection {
 					_type: "INIT",
 					sessionId,
 					clientInfo,
-					maxRequestedCommandId: this.maxRequestedCommands
+					maxRequestedCommandId: this.maxRequestedCommands,
+					supportedCompressions: TeamAppsConnectionImpl.SUPPORTED_COMPRESSIONS
 				} as INITConfig)
 			},
 			onMessage: async (message) => {
@@ -106,12 +111,25 @@ export class TeamAppsConnectionImpl implements TeamAppsConnection {
 					this.initKeepAlive(message.keepaliveInterval ?? 25_000);
 					this.minRequestedCommands = message.minRequestedCommands;
 					this.maxRequestedCommands = message.maxRequestedCommands;
+					if (message.compression != null) {
+						this.compressionDictionary = message.compressionDictionary;
+						this.connection.enableDecompression(this.compressionDictionary);
+					}
+					if (message.binaryClientMessages) {
+						this.connection.enableBinaryMessages();
+					}
 					this.log("Connection accepted.");
 					this.flushPayloadMessages();
 					commandHandler.onConnectionInitialized();
 				} else if (TeamAppsConnectionImpl.isREINIT_OK(message)) {
 					this.protocolStatus = TeamAppsProtocolStatus.ESTABLISHED;
 					this.log("Reconnect accepted.");
+					if (message.compression != null) {
+						this.connection.enableDecompression(this.compressionDictionary);
+					}
+					if (message.binaryClientMessages) {
+						this.connection.enableBinaryMessages();
+					}
 
 					let lastReceivedEventIndex: number;
 					for (let i = 0; i < this.sentEventsBuffer.length; i++) {
@@ -134,6 +152,10 @@ export class TeamAppsConnectionImpl implements TeamAppsConnection {
 					this.log("Reconnect refused. Reason: " + UiSessionClosingReason[message.reason]);
 					commandHandler.onConnectionErrorOrBroken(message.reason);
 					this.connection.stopReconnecting(); // give the server the chance to send more commands, but if it disconnected, do not attempt to reconnect.
+				} else if (TeamAppsConnectionImpl.isCMD_WINDOW(message)) {
+					this.minRequestedCommands = message.minRequestedCommands;
+					this.maxRequestedCommands = message.maxRequestedCommands;
+					this.ensureEnoughCommandsRequested();
 				} else if (TeamAppsConnectionImpl.isPING(message)) {
 					this.log("Got PING from server.");
 					this.connection.send({_type: "KEEPALIVE", sessionId: this.sessionId});
@@ -155,7 +177,8 @@ export class TeamAppsConnectionImpl implements TeamAppsConnection {
 					_type: "REINIT",
 					sessionId,
 					lastReceivedCommandId: this.lastReceivedCommandId || -1,
-					maxRequestedCommandId: this.lastReceivedCommandId + this.maxRequestedCommands
+					maxRequestedCommandId: this.lastReceivedCommandId + this.maxRequestedCommands,
+					supportedCompressions: this.compressionDictionary != null ? TeamAppsConnectionImpl.SUPPORTED_COMPRESSIONS : []
 				} as REINITConfig)
 			}
 		});
@@ -202,6 +225,10 @@ export class TeamAppsConnectionImpl implements TeamAppsConnection {
 		return message._type === 'REINIT_NOK';
 	}
 
+	private static isCMD_WINDOW(message: any): message is CMD_WINDOWConfig {
+		return message._type === 'CMD_WINDOW';
+	}
+
 	private static isPING(message: any): message is REINIT_NOKConfig {
 		return message._type === 'PING';
 	}
@@ -20,26 +20,20 @@
 package org.teamapps.icons;
 
 import org.teamapps.icons.cache.IconCache;
-import org.teamapps.icons.cache.FileIconCache;
+import org.teamapps.icons.cache.TwoTierIconCache;
 import org.teamapps.icons.spi.IconDecoder;
 import org.teamapps.icons.spi.IconEncoder;
 import org.teamapps.icons.spi.IconLoader;
 
-import java.io.IOException;
-import java.nio.file.Files;
-
 public class IconProvider implements IconLoaderContext, IconDecoderContext {
 
+	public static final long DEFAULT_MAX_MEMORY_CACHE_BYTES = 32 * 1024 * 1024;
+
 	private final IconLibraryRegistry iconLibraryRegistry;
 	private final IconCache iconCache;
 
 	public IconProvider(IconLibraryRegistry iconLibraryRegistry) {
-		this.iconLibraryRegistry = iconLibraryRegistry;
-		try {
-			this.iconCache = new FileIconCache(Files.createTempDirectory("teamapps-icon-cache").toFile());
-		} catch (IOException e) {
-			throw new RuntimeException(e);
-		}
+		this(iconLibraryRegistry, TwoTierIconCache.createWithTemporaryDirectory(DEFAULT_MAX_MEMORY_CACHE_BYTES));
 	}
 
 	public IconProvider(IconLibraryRegistry iconLibraryRegistry, IconCache iconCache) {
@@ -47,6 +41,10 @@ public class IconProvider implements IconLoaderContext, IconDecoderContext {
 		this.iconCache = iconCache;
 	}
 
+	public IconCache getIconCache() {
+		return iconCache;
+	}
+
 	/**
 	 * Encodes the given icon. Does not provide any fallback style mechanism. If the icon's style is null, it is encoded without style.
 	 * @return the encoded icon
@@ -88,9 +86,13 @@ public class IconProvider implements IconLoaderContext, IconDecoderContext {
 		return iconResource;
 	}
 
+	/**
+	 * Loads the icon through the cache (like {@link #loadIcon(String, int)}), so icons used by other icons
+	 * (e.g. the sub-icons of composite icons) are rendered and resized only once per size.
+	 */
 	@Override
 	public IconResource loadIcon(Icon<?, ?> icon, int size) {
-		return loadIconWithoutCaching(icon, size);
+		return loadIcon(encodeIcon(icon), size);
 	}
 
 	private IconResource loadIconWithoutCaching(Icon<?, ?> icon, int size) {
@@ -19,20 +19,34 @@
  */
 package org.teamapps.icons;
 
+import org.teamapps.icons.util.HashUtil;
+
+import java.util.Base64;
+
 public class IconResource {
 
     private final byte[] bytes;
     private final IconType iconType;
     private final int size;
+    private volatile String eTag;
+    private volatile String dataUrl;
 
     public IconResource(byte[] bytes, IconType iconType) {
         this(bytes, iconType, -1);
     }
 
     public IconResource(byte[] bytes, IconType iconType, int size) {
+        this(bytes, iconType, size, null);
+    }
+
+    /**
+     * @param eTag a previously computed {@link #getETag() ETag} of the same bytes, or null
+     */
+    public IconResource(byte[] bytes, IconType iconType, int size, String eTag) {
         this.bytes = bytes;
         this.iconType = iconType;
         this.size = size;
+        this.eTag = eTag;
 
         if (iconType.isRasterImage() && size <= 0) {
             throw new IllegalArgumentException("iconSize is required for non-scalable icons.");
@@ -58,4 +72,28 @@ public class IconResource {
     public int getSize() {
         return size;
     }
+
+    /**
+     * @return a strong HTTP entity tag (including the quotes) derived from the bytes of this icon. Computed on first access.
+     */
+    public String getETag() {
+        String eTag = this.eTag;
+        if (eTag == null) {
+            eTag = "\"" + HashUtil.sha256Hex(bytes, 32) + "\"";
+            this.eTag = eTag;
+        }
+        return eTag;
+    }
+
+    /**
+     * @return a <code>data:</code> URL containing this icon, for embedding it without an additional HTTP request. Computed on first access.
+     */
+    public String getDataUrl() {
+        String dataUrl = this.dataUrl;
+        if (dataUrl == null) {
+            dataUrl = "data:" + iconType.getMimeType() + ";base64," + Base64.getEncoder().encodeToString(bytes);
+            this.dataUrl = dataUrl;
+        }
+        return dataUrl;
+    }
 }
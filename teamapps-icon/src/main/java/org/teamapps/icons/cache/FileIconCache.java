@@ -23,10 +23,14 @@ import org.apache.commons.io.IOUtils;
 import org.teamapps.icons.IconResource;
 import org.teamapps.icons.IconType;
 
+import java.io.BufferedInputStream;
+import java.io.BufferedOutputStream;
 import java.io.File;
 import java.io.FileInputStream;
 import java.io.FileOutputStream;
 import java.io.IOException;
+import java.io.InputStream;
+import java.io.OutputStream;
 import java.nio.charset.StandardCharsets;
 import java.util.Map;
 import java.util.Objects;
@@ -68,8 +72,7 @@ public class FileIconCache implements IconCache {
 
 	private static IconResource readFromFile(File file) {
 		if (file.exists()) {
-			try {
-				FileInputStream inputStream = new FileInputStream(file);
+			try (InputStream inputStream = new BufferedInputStream(new FileInputStream(file))) {
 				int typeLength = inputStream.read();
 				String typeString = new String(inputStream.readNBytes(typeLength), StandardCharsets.US_ASCII);
 				IconType iconType = IconType.valueOf(typeString);
@@ -83,8 +86,7 @@ public class FileIconCache implements IconCache {
 	}
 
 	private boolean writeToFile(IconResource iconResource, File file) {
-		try {
-			FileOutputStream fos = new FileOutputStream(file);
+		try (OutputStream fos = new BufferedOutputStream(new FileOutputStream(file))) {
 			fos.write(iconResource.getIconType().name().length());
 			fos.write(iconResource.getIconType().name().getBytes(StandardCharsets.US_ASCII));
 			fos.write(iconResource.getBytes());
@@ -0,0 +1,254 @@
+/*-
+ * ========================LICENSE_START=================================
+ * TeamApps
+ * ---
+ * Copyright (C) 2014 - 2025 TeamApps.org
+ * ---
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ * 
+ *      http://www.apache.org/licenses/LICENSE-2.0
+ * 
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ * =========================LICENSE_END==================================
+ */
+package org.teamapps.icons.cache;
+
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.teamapps.icons.IconResource;
+import org.teamapps.icons.IconType;
+import org.teamapps.icons.util.HashUtil;
+
+import java.io.ByteArrayInputStream;
+import java.io.ByteArrayOutputStream;
+import java.io.DataInputStream;
+import java.io.DataOutputStream;
+import java.io.File;
+import java.io.IOException;
+import java.lang.invoke.MethodHandles;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.StandardCopyOption;
+import java.util.Iterator;
+import java.util.LinkedHashMap;
+import java.util.Set;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.atomic.LongAdder;
+import java.util.stream.Stream;
+
+/**
+ * Icon cache with two tiers:
+ * <ul>
+ *     <li>A bounded in-memory tier, holding the most recently used icons. Its size is measured in icon bytes.
+ *     Least recently used icons get evicted when the limit is exceeded.</li>
+ *     <li>An unbounded disk tier, holding every icon put into this cache. Icons evicted from the memory tier are reloaded from here.
+ *     The file names are derived from the cache keys, so the disk tier survives restarts if the same directory is used again.</li>
+ * </ul>
+ * The cached {@link IconResource}s carry their precomputed {@link IconResource#getETag() ETag}.
+ * <p>
+ * Note that a persistent cache directory must be cleared when icon libraries change in a way that changes the icons rendered for the same encoded icon strings.
+ * <p>
+ * This cache is thread-safe. One instance is meant to be shared by all users of an {@link org.teamapps.icons.IconProvider}.
+ */
+public class TwoTierIconCache implements IconCache {
+
+	private static final Logger LOGGER = LoggerFactory.getLogger(MethodHandles.lookup().lookupClass());
+	private static final String FILE_SUFFIX = ".icon";
+	private static final int FILE_FORMAT_VERSION = 1;
+
+	private final Path directory;
+	private final long maxMemoryTierBytes;
+
+	private final LinkedHashMap<CacheKey, IconResource> memoryTier = new LinkedHashMap<>(256, 0.75f, true); // access-order, guarded by itself
+	private long memoryTierBytes; // guarded by memoryTier
+	private final Set<String> diskTierFileNames = ConcurrentHashMap.newKeySet();
+
+	private final LongAdder memoryTierHits = new LongAdder();
+	private final LongAdder diskTierHits = new LongAdder();
+	private final LongAdder misses = new LongAdder();
+	private final LongAdder evictions = new LongAdder();
+
+	/**
+	 * @param directory          the directory for the disk tier. Gets created if it does not exist. Icons already stored in it are reused.
+	 * @param maxMemoryTierBytes the maximum number of icon bytes to keep in memory
+	 */
+	public TwoTierIconCache(File directory, long maxMemoryTierBytes) {
+		this.directory = directory.toPath();
+		this.maxMemoryTierBytes = maxMemoryTierBytes;
+		try {
+			Files.createDirectories(this.directory);
+			try (Stream<Path> files = Files.list(this.directory)) {
+				files.map(path -> path.getFileName().toString())
+						.filter(fileName -> fileName.endsWith(FILE_SUFFIX))
+						.forEach(diskTierFileNames::add);
+			}
+		} catch (IOException e) {
+			throw new RuntimeException("Could not initialize icon cache directory " + directory, e);
+		}
+	}
+
+	/**
+	 * Creates a cache with its disk tier in a new temporary directory, so nothing is reused from previous runs.
+	 */
+	public static TwoTierIconCache createWithTemporaryDirectory(long maxMemoryTierBytes) {
+		try {
+			return new TwoTierIconCache(Files.createTempDirectory("teamapps-icon-cache").toFile(), maxMemoryTierBytes);
+		} catch (IOException e) {
+			throw new RuntimeException(e);
+		}
+	}
+
+	@Override
+	public IconResource getIcon(String encodedIconString, int size) {
+		CacheKey key = new CacheKey(encodedIconString, size);
+		IconResource iconResource;
+		synchronized (memoryTier) {
+			iconResource = memoryTier.get(key);
+		}
+		if (iconResource != null) {
+			memoryTierHits.increment();
+			return iconResource;
+		}
+
+		String fileName = key.getFileName();
+		if (diskTierFileNames.contains(fileName)) {
+			iconResource = readFromFile(directory.resolve(fileName));
+			if (iconResource != null) {
+				diskTierHits.increment();
+				putIntoMemoryTier(key, iconResource);
+				return iconResource;
+			} else {
+				diskTierFileNames.remove(fileName);
+			}
+		}
+
+		misses.increment();
+		return null;
+	}
+
+	@Override
+	public void putIcon(String encodedIconString, int size, IconResource iconResource) {
+		if (iconResource == null || iconResource.getBytes().length == 0) {
+			return;
+		}
+		CacheKey key = new CacheKey(encodedIconString, size);
+		iconResource.getETag(); // compute it once, before the icon is shared
+		putIntoMemoryTier(key, iconResource);
+		String fileName = key.getFileName();
+		if (writeToFile(iconResource, directory.resolve(fileName))) {
+			diskTierFileNames.add(fileName);
+		}
+	}
+
+	private void putIntoMemoryTier(CacheKey key, IconResource iconResource) {
+		long length = iconResource.getLength();
+		if (length > maxMemoryTierBytes) {
+			return;
+		}
+		synchronized (memoryTier) {
+			IconResource previous = memoryTier.put(key, iconResource);
+			memoryTierBytes += length - (previous != null ? previous.getLength() : 0);
+			Iterator<IconResource> iterator = memoryTier.values().iterator();
+			while (memoryTierBytes > maxMemoryTierBytes && iterator.hasNext()) {
+				IconResource evicted = iterator.next();
+				iterator.remove();
+				memoryTierBytes -= evicted.getLength();
+				evictions.increment();
+			}
+		}
+	}
+
+	private static IconResource readFromFile(Path file) {
+		try {
+			byte[] fileBytes = Files.readAllBytes(file);
+			DataInputStream in = new DataInputStream(new ByteArrayInputStream(fileBytes));
+			if (in.readInt() != FILE_FORMAT_VERSION) {
+				return null;
+			}
+			IconType iconType = IconType.valueOf(in.readUTF());
+			int size = in.readInt();
+			String eTag = in.readUTF();
+			byte[] iconBytes = in.readAllBytes();
+			return new IconResource(iconBytes, iconType, size, eTag);
+		} catch (IOException | IllegalArgumentException e) {
+			LOGGER.warn("Could not read cached icon from {}", file, e);
+			return null;
+		}
+	}
+
+	private static boolean writeToFile(IconResource iconResource, Path file) {
+		try {
+			ByteArrayOutputStream byteArrayOutputStream = new ByteArrayOutputStream(iconResource.getBytes().length + 64);
+			DataOutputStream out = new DataOutputStream(byteArrayOutputStream);
+			out.writeInt(FILE_FORMAT_VERSION);
+			out.writeUTF(iconResource.getIconType().name());
+			out.writeInt(iconResource.getSize());
+			out.writeUTF(iconResource.getETag());
+			out.write(iconResource.getBytes());
+			out.flush();
+
+			// write to a temp file first, so concurrent readers (or a restart) never see a partially written file
+			Path tempFile = Files.createTempFile(file.getParent(), file.getFileName().toString(), ".tmp");
+			try {
+				Files.write(tempFile, byteArrayOutputStream.toByteArray());
+				Files.move(tempFile, file, StandardCopyOption.REPLACE_EXISTING, StandardCopyOption.ATOMIC_MOVE);
+			} finally {
+				Files.deleteIfExists(tempFile);
+			}
+			return true;
+		} catch (IOException e) {
+			LOGGER.warn("Could not write icon to cache file {}", file, e);
+			return false;
+		}
+	}
+
+	public long getMemoryTierHitCount() {
+		return memoryTierHits.sum();
+	}
+
+	public long getDiskTierHitCount() {
+		return diskTierHits.sum();
+	}
+
+	public long getMissCount() {
+		return misses.sum();
+	}
+
+	public long getEvictionCount() {
+		return evictions.sum();
+	}
+
+	public long getMemoryTierBytes() {
+		synchronized (memoryTier) {
+			return memoryTierBytes;
+		}
+	}
+
+	public int getMemoryTierIconCount() {
+		synchronized (memoryTier) {
+			return memoryTier.size();
+		}
+	}
+
+	public int getDiskTierIconCount() {
+		return diskTierFileNames.size();
+	}
+
+	public long getMaxMemoryTierBytes() {
+		return maxMemoryTierBytes;
+	}
+
+	private record CacheKey(String encodedIconString, int size) {
+		String getFileName() {
+			return HashUtil.sha256Hex((encodedIconString + "@" + size).getBytes(StandardCharsets.UTF_8), 40) + FILE_SUFFIX;
+		}
+	}
+
+}
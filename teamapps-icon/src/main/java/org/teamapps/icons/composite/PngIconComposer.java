@@ -19,42 +19,64 @@
  */
 package org.teamapps.icons.composite;
 
-import net.coobird.thumbnailator.Thumbnails;
-import net.coobird.thumbnailator.geometry.Positions;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
 
 import javax.imageio.ImageIO;
+import java.awt.Graphics2D;
+import java.awt.RenderingHints;
 import java.awt.image.BufferedImage;
 import java.io.ByteArrayInputStream;
 import java.io.ByteArrayOutputStream;
 import java.io.IOException;
+import java.lang.invoke.MethodHandles;
 
+/**
+ * Composes PNG icons by drawing the base icon and the sub-icons onto one canvas, which is encoded once.
+ */
 public class PngIconComposer {
 
+	private static final Logger LOGGER = LoggerFactory.getLogger(MethodHandles.lookup().lookupClass());
+
 	public byte[] compose(int size, byte[] baseIcon, byte[] bottomRight, byte[] bottomLeft, byte[] topLeft, byte[] topRight) {
 		try {
-			BufferedImage image = ImageIO.read(new ByteArrayInputStream(baseIcon));
-			if (bottomRight != null) {
-				BufferedImage subIcon = ImageIO.read(new ByteArrayInputStream(bottomRight));
-				image = Thumbnails.of(image).size(size, size).watermark(Positions.BOTTOM_RIGHT, subIcon, 1.0f).asBufferedImage();
-			}
-			if (bottomLeft != null) {
-				BufferedImage subIcon = ImageIO.read(new ByteArrayInputStream(bottomLeft));
-				image = Thumbnails.of(image).size(size, size).watermark(Positions.BOTTOM_LEFT, subIcon, 1.0f).asBufferedImage();
-			}
-			if (topLeft != null) {
-				BufferedImage subIcon = ImageIO.read(new ByteArrayInputStream(topLeft));
-				image = Thumbnails.of(image).size(size, size).watermark(Positions.TOP_LEFT, subIcon, 1.0f).asBufferedImage();
-			}
-			if (topRight != null) {
-				BufferedImage subIcon = ImageIO.read(new ByteArrayInputStream(topRight));
-				image = Thumbnails.of(image).size(size, size).watermark(Positions.TOP_RIGHT, subIcon, 1.0f).asBufferedImage();
+			BufferedImage image = new BufferedImage(size, size, BufferedImage.TYPE_INT_ARGB);
+			Graphics2D g = image.createGraphics();
+			try {
+				g.setRenderingHint(RenderingHints.KEY_INTERPOLATION, RenderingHints.VALUE_INTERPOLATION_BICUBIC);
+				g.setRenderingHint(RenderingHints.KEY_RENDERING, RenderingHints.VALUE_RENDER_QUALITY);
+				drawIcon(g, baseIcon, 0, 0, size);
+				int subIconSize = size / 2;
+				drawIcon(g, bottomRight, size - subIconSize, size - subIconSize, subIconSize);
+				drawIcon(g, bottomLeft, 0, size - subIconSize, subIconSize);
+				drawIcon(g, topLeft, 0, 0, subIconSize);
+				drawIcon(g, topRight, size - subIconSize, 0, subIconSize);
+			} finally {
+				g.dispose();
 			}
 			ByteArrayOutputStream bos = new ByteArrayOutputStream();
-			Thumbnails.of(image).size(size, size).outputFormat("PNG").toOutputStream(bos);
+			ImageIO.write(image, "PNG", bos);
 			return bos.toByteArray();
 		} catch (IOException e) {
-			e.printStackTrace();
+			LOGGER.error("Could not compose PNG icon", e);
 		}
 		return null;
 	}
+
+	/**
+	 * Draws the icon scaled to fit into the given square, preserving its aspect ratio (like the icon resizing does).
+	 */
+	private static void drawIcon(Graphics2D g, byte[] iconBytes, int x, int y, int size) throws IOException {
+		if (iconBytes == null) {
+			return;
+		}
+		BufferedImage icon = ImageIO.read(new ByteArrayInputStream(iconBytes));
+		if (icon == null) {
+			return;
+		}
+		double scale = Math.min((double) size / icon.getWidth(), (double) size / icon.getHeight());
+		int width = (int) Math.round(icon.getWidth() * scale);
+		int height = (int) Math.round(icon.getHeight() * scale);
+		g.drawImage(icon, x + (size - width) / 2, y + (size - height) / 2, width, height, null);
+	}
 }
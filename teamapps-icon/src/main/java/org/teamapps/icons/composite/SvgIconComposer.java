@@ -19,39 +19,98 @@
  */
 package org.teamapps.icons.composite;
 
+import java.io.ByteArrayOutputStream;
 import java.nio.charset.StandardCharsets;
 
+/**
+ * Composes SVG icons by writing the bytes of the base icon and the (scaled down) sub-icons into one buffer.
+ * The icons are neither decoded to Strings nor parsed.
+ */
 public class SvgIconComposer {
 
+	private static final byte[] SVG_END_TAG = bytes("</svg>");
+	private static final byte[] COLOR_CLASS_PREFIX = bytes("teamapps-color");
+	private static final byte[] GROUP_END_TAG = bytes("</g>\n");
+
+	private static final byte[] BOTTOM_RIGHT_GROUP_START_TAG = bytes("\n<g style=\"transform:translate(50%, 50%) scale(0.5)\">");
+	private static final byte[] BOTTOM_LEFT_GROUP_START_TAG = bytes("\n<g style=\"transform:translate(0, 50%) scale(0.5)\">");
+	private static final byte[] TOP_LEFT_GROUP_START_TAG = bytes("\n<g style=\"transform:translate(0, 0) scale(0.5)\">");
+	private static final byte[] TOP_RIGHT_GROUP_START_TAG = bytes("\n<g style=\"transform:translate(50%, 0) scale(0.5)\">");
+
+	private static final byte[] BOTTOM_RIGHT_COLOR_CLASS_PREFIX = bytes("teamapps-color-bottom-right");
+	private static final byte[] BOTTOM_LEFT_COLOR_CLASS_PREFIX = bytes("teamapps-color-bottom-left");
+	private static final byte[] TOP_LEFT_COLOR_CLASS_PREFIX = bytes("teamapps-color-top-left");
+	private static final byte[] TOP_RIGHT_COLOR_CLASS_PREFIX = bytes("teamapps-color-top-right");
+
+	private static final ThreadLocal<ByteArrayOutputStream> BUFFER = ThreadLocal.withInitial(() -> new ByteArrayOutputStream(16 * 1024));
+	private static final int MAX_RETAINED_BUFFER_SIZE = 256 * 1024;
+
 	public byte[] compose(byte[] baseIcon, byte[] bottomRight, byte[] bottomLeft, byte[] topLeft, byte[] topRight) {
-		String svg = createSvg(baseIcon);
-		svg = svg.substring(0, svg.lastIndexOf("</svg>"));
+		ByteArrayOutputStream out = BUFFER.get();
+		out.reset();
 
-		if (bottomRight != null) {
-			String svgBottomRight = createSvg(bottomRight).replaceAll("teamapps-color", "teamapps-color-bottom-right");
-			svg += "\n" + "<g style=\"transform:translate(50%, 50%) scale(0.5)\">" + svgBottomRight + "</g>\n";
-		}
+		int baseIconEnd = lastIndexOf(baseIcon, SVG_END_TAG);
+		out.write(baseIcon, 0, baseIconEnd >= 0 ? baseIconEnd : baseIcon.length);
+		writeSubIcon(out, bottomRight, BOTTOM_RIGHT_GROUP_START_TAG, BOTTOM_RIGHT_COLOR_CLASS_PREFIX);
+		writeSubIcon(out, bottomLeft, BOTTOM_LEFT_GROUP_START_TAG, BOTTOM_LEFT_COLOR_CLASS_PREFIX);
+		writeSubIcon(out, topLeft, TOP_LEFT_GROUP_START_TAG, TOP_LEFT_COLOR_CLASS_PREFIX);
+		writeSubIcon(out, topRight, TOP_RIGHT_GROUP_START_TAG, TOP_RIGHT_COLOR_CLASS_PREFIX);
+		out.writeBytes(SVG_END_TAG);
 
-		if (bottomLeft != null) {
-			String svgBottomLeft = createSvg(bottomLeft).replaceAll("teamapps-color", "teamapps-color-bottom-left");
-			svg += "\n" + "<g style=\"transform:translate(0, 50%) scale(0.5)\">" + svgBottomLeft + "</g>\n";
+		byte[] result = out.toByteArray();
+		if (out.size() > MAX_RETAINED_BUFFER_SIZE) {
+			BUFFER.remove(); // do not retain huge buffers
 		}
+		return result;
+	}
 
-		if (topLeft != null) {
-			String svgBottomRight = createSvg(topLeft).replaceAll("teamapps-color", "teamapps-color-top-left");
-			svg += "\n" + "<g style=\"transform:translate(0, 0) scale(0.5)\">" + svgBottomRight + "</g>\n";
+	/**
+	 * Writes the sub-icon, renaming its color classes, so they can be styled independently from the base icon.
+	 */
+	private static void writeSubIcon(ByteArrayOutputStream out, byte[] subIcon, byte[] groupStartTag, byte[] colorClassPrefix) {
+		if (subIcon == null) {
+			return;
+		}
+		out.writeBytes(groupStartTag);
+		int start = 0;
+		int index;
+		while ((index = indexOf(subIcon, COLOR_CLASS_PREFIX, start)) >= 0) {
+			out.write(subIcon, start, index - start);
+			out.writeBytes(colorClassPrefix);
+			start = index + COLOR_CLASS_PREFIX.length;
 		}
+		out.write(subIcon, start, subIcon.length - start);
+		out.writeBytes(GROUP_END_TAG);
+	}
 
-		if (topRight != null) {
-			String svgTopRight = createSvg(topRight).replaceAll("teamapps-color", "teamapps-color-top-right");
-			svg += "\n" + "<g style=\"transform:translate(50%, 0) scale(0.5)\">" + svgTopRight + "</g>\n";
+	static int indexOf(byte[] bytes, byte[] pattern, int fromIndex) {
+		outer:
+		for (int i = fromIndex; i <= bytes.length - pattern.length; i++) {
+			for (int j = 0; j < pattern.length; j++) {
+				if (bytes[i + j] != pattern[j]) {
+					continue outer;
+				}
+			}
+			return i;
 		}
+		return -1;
+	}
 
-		return (svg + "</svg>").getBytes(StandardCharsets.UTF_8);
+	static int lastIndexOf(byte[] bytes, byte[] pattern) {
+		outer:
+		for (int i = bytes.length - pattern.length; i >= 0; i--) {
+			for (int j = 0; j < pattern.length; j++) {
+				if (bytes[i + j] != pattern[j]) {
+					continue outer;
+				}
+			}
+			return i;
+		}
+		return -1;
 	}
 
-	private String createSvg(byte[] bytes) {
-		return new String(bytes, StandardCharsets.UTF_8);
+	private static byte[] bytes(String s) {
+		return s.getBytes(StandardCharsets.UTF_8);
 	}
 
 }
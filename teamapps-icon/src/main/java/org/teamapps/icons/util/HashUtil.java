@@ -0,0 +1,48 @@
+/*-
+ * ========================LICENSE_START=================================
+ * TeamApps
+ * ---
+ * Copyright (C) 2014 - 2025 TeamApps.org
+ * ---
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ * 
+ *      http://www.apache.org/licenses/LICENSE-2.0
+ * 
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ * =========================LICENSE_END==================================
+ */
+package org.teamapps.icons.util;
+
+import java.security.MessageDigest;
+import java.security.NoSuchAlgorithmException;
+
+public class HashUtil {
+
+	private static final char[] HEX_DIGITS = "0123456789abcdef".toCharArray();
+
+	/**
+	 * @param hexLength the number of hex digits to return (at most 64)
+	 * @return the first <code>hexLength</code> hex digits of the SHA-256 hash of the given bytes
+	 */
+	public static String sha256Hex(byte[] bytes, int hexLength) {
+		byte[] hash;
+		try {
+			hash = MessageDigest.getInstance("SHA-256").digest(bytes);
+		} catch (NoSuchAlgorithmException e) {
+			throw new IllegalStateException(e); // every Java platform is required to support SHA-256
+		}
+		char[] chars = new char[hexLength];
+		for (int i = 0; i < hexLength; i++) {
+			int b = hash[i / 2];
+			chars[i] = HEX_DIGITS[(i % 2 == 0 ? b >> 4 : b) & 0xf];
+		}
+		return new String(chars);
+	}
+
+}
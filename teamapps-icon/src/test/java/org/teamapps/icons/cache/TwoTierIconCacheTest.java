@@ -0,0 +1,96 @@
+/*-
+ * ========================LICENSE_START=================================
+ * TeamApps
+ * ---
+ * Copyright (C) 2014 - 2025 TeamApps.org
+ * ---
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ * 
+ *      http://www.apache.org/licenses/LICENSE-2.0
+ * 
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ * =========================LICENSE_END==================================
+ */
+package org.teamapps.icons.cache;
+
+import org.junit.Rule;
+import org.junit.Test;
+import org.junit.rules.TemporaryFolder;
+import org.teamapps.icons.IconResource;
+import org.teamapps.icons.IconType;
+
+import java.io.File;
+import java.nio.charset.StandardCharsets;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+public class TwoTierIconCacheTest {
+
+	@Rule
+	public TemporaryFolder temporaryFolder = new TemporaryFolder();
+
+	private static IconResource svg(String content) {
+		return new IconResource(content.getBytes(StandardCharsets.UTF_8), IconType.SVG);
+	}
+
+	@Test
+	public void servesIconsFromMemoryTier() throws Exception {
+		TwoTierIconCache cache = new TwoTierIconCache(temporaryFolder.newFolder(), 1000);
+		IconResource icon = svg("<svg/>");
+		cache.putIcon("lib.a", 24, icon);
+
+		assertThat(cache.getIcon("lib.a", 24)).isSameAs(icon);
+		assertThat(cache.getIcon("lib.a", 32)).isNull();
+		assertThat(cache.getMemoryTierHitCount()).isEqualTo(1);
+		assertThat(cache.getMissCount()).isEqualTo(1);
+	}
+
+	@Test
+	public void evictsLeastRecentlyUsedIconsAndReloadsThemFromDisk() throws Exception {
+		TwoTierIconCache cache = new TwoTierIconCache(temporaryFolder.newFolder(), 10);
+		cache.putIcon("lib.a", 24, svg("aaaaa"));
+		cache.putIcon("lib.b", 24, svg("bbbbb"));
+		cache.getIcon("lib.a", 24); // a is now more recently used than b
+		cache.putIcon("lib.c", 24, svg("ccccc"));
+
+		assertThat(cache.getEvictionCount()).isEqualTo(1);
+		assertThat(cache.getMemoryTierBytes()).isEqualTo(10);
+		assertThat(cache.getMemoryTierIconCount()).isEqualTo(2);
+		assertThat(cache.getDiskTierIconCount()).isEqualTo(3);
+
+		IconResource b = cache.getIcon("lib.b", 24);
+		assertThat(new String(b.getBytes(), StandardCharsets.UTF_8)).isEqualTo("bbbbb");
+		assertThat(cache.getDiskTierHitCount()).isEqualTo(1);
+	}
+
+	@Test
+	public void diskTierSurvivesRestarts() throws Exception {
+		File directory = temporaryFolder.newFolder();
+		IconResource icon = new IconResource(new byte[]{1, 2, 3}, IconType.PNG, 16);
+		new TwoTierIconCache(directory, 1000).putIcon("lib.a", 16, icon);
+
+		TwoTierIconCache restartedCache = new TwoTierIconCache(directory, 1000);
+		IconResource reloadedIcon = restartedCache.getIcon("lib.a", 16);
+		assertThat(reloadedIcon.getBytes()).containsExactly(1, 2, 3);
+		assertThat(reloadedIcon.getIconType()).isEqualTo(IconType.PNG);
+		assertThat(reloadedIcon.getSize()).isEqualTo(16);
+		assertThat(reloadedIcon.getETag()).isEqualTo(icon.getETag());
+	}
+
+	@Test
+	public void doesNotKeepIconsLargerThanTheMemoryTierInMemory() throws Exception {
+		TwoTierIconCache cache = new TwoTierIconCache(temporaryFolder.newFolder(), 3);
+		cache.putIcon("lib.a", 24, svg("aaaaa"));
+
+		assertThat(cache.getMemoryTierIconCount()).isEqualTo(0);
+		assertThat(cache.getIcon("lib.a", 24)).isNotNull();
+		assertThat(cache.getDiskTierHitCount()).isEqualTo(1);
+	}
+
+}
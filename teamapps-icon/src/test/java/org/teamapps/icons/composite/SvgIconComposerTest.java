@@ -0,0 +1,56 @@
+/*-
+ * ========================LICENSE_START=================================
+ * TeamApps
+ * ---
+ * Copyright (C) 2014 - 2025 TeamApps.org
+ * ---
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ * 
+ *      http://www.apache.org/licenses/LICENSE-2.0
+ * 
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ * =========================LICENSE_END==================================
+ */
+package org.teamapps.icons.composite;
+
+import org.junit.Test;
+
+import java.nio.charset.StandardCharsets;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+public class SvgIconComposerTest {
+
+	private static byte[] bytes(String s) {
+		return s.getBytes(StandardCharsets.UTF_8);
+	}
+
+	@Test
+	public void composesSubIconsIntoBaseIcon() {
+		byte[] composed = new SvgIconComposer().compose(
+				bytes("<svg><path class=\"teamapps-color-1\"/></svg>"),
+				bytes("<svg class=\"teamapps-color-1 teamapps-color-2\"/>"),
+				null,
+				null,
+				bytes("<svg class=\"teamapps-color-1\"/>")
+		);
+
+		assertThat(new String(composed, StandardCharsets.UTF_8)).isEqualTo("<svg><path class=\"teamapps-color-1\"/>"
+				+ "\n<g style=\"transform:translate(50%, 50%) scale(0.5)\"><svg class=\"teamapps-color-bottom-right-1 teamapps-color-bottom-right-2\"/></g>\n"
+				+ "\n<g style=\"transform:translate(50%, 0) scale(0.5)\"><svg class=\"teamapps-color-top-right-1\"/></g>\n"
+				+ "</svg>");
+	}
+
+	@Test
+	public void returnsBaseIconWithoutSubIcons() {
+		byte[] composed = new SvgIconComposer().compose(bytes("<svg>ä</svg>"), null, null, null, null);
+		assertThat(new String(composed, StandardCharsets.UTF_8)).isEqualTo("<svg>ä</svg>");
+	}
+
+}
@@ -19,7 +19,8 @@
  */
 package org.teamapps.icon.material;
 
-import org.apache.commons.io.IOUtils;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
 import org.teamapps.icons.IconLoaderContext;
 import org.teamapps.icons.IconResource;
 import org.teamapps.icons.IconType;
@@ -27,10 +28,23 @@ import org.teamapps.icons.spi.IconLoader;
 
 import java.io.IOException;
 import java.io.InputStream;
+import java.lang.invoke.MethodHandles;
 import java.nio.charset.StandardCharsets;
+import java.util.Map;
+import java.util.Optional;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.regex.Pattern;
 
 public class MaterialIconLoader implements IconLoader<MaterialIcon> {
 
+	private static final Logger LOGGER = LoggerFactory.getLogger(MethodHandles.lookup().lookupClass());
+	private static final Pattern DESC_PATTERN = Pattern.compile("<desc>.*?</desc>", Pattern.DOTALL);
+
+	/**
+	 * Parsed once per style type and icon name. Empty if there is no such icon.
+	 */
+	private final Map<String, Optional<SvgTemplate>> templatesByPath = new ConcurrentHashMap<>();
+
 	@Override
 	public IconResource loadIcon(MaterialIcon icon, int size, IconLoaderContext context) {
 		return new IconResource(getSVG(icon.getIconName(), icon.getStyle()), IconType.SVG);
@@ -40,19 +54,46 @@ public class MaterialIconLoader implements IconLoader<MaterialIcon> {
 		if (!iconName.endsWith(".svg")) {
 			iconName += ".svg";
 		}
+		String path = "/org/teamapps/icon/material/" + style.getStyleType().getPackageName() + "/" + iconName;
+		return templatesByPath.computeIfAbsent(path, this::loadTemplate)
+				.map(template -> template.render(style.getStyleTagBytes()))
+				.orElse(null);
+	}
 
-		try (InputStream inputStream = getClass().getResourceAsStream("/org/teamapps/icon/material/" + style.getStyleType().getPackageName() + "/" + iconName)){
+	private Optional<SvgTemplate> loadTemplate(String path) {
+		try (InputStream inputStream = getClass().getResourceAsStream(path)) {
 			if (inputStream == null) {
-				return null;
+				return Optional.empty();
 			}
-			String svg = IOUtils.toString(inputStream, StandardCharsets.UTF_8);
-			svg = svg.replace("<desc>add icon - Licensed under Apache License v2.0 (http://www.apache.org/licenses/LICENSE-2.0) - Created with Iconfu.com - Derivative work of Material icons (Copyright Google Inc.)</desc>", "");
-			svg = style.applyStyle(svg);
-			return svg.getBytes(StandardCharsets.UTF_8);
+			String svg = new String(inputStream.readAllBytes(), StandardCharsets.UTF_8);
+			svg = DESC_PATTERN.matcher(svg).replaceFirst("");
+			return Optional.of(SvgTemplate.parse(svg));
 		} catch (IOException e) {
-			e.printStackTrace();
+			LOGGER.error("Could not load material icon " + path, e);
+			return Optional.empty();
+		}
+	}
+
+	/**
+	 * An SVG document with a slot for the style tags right after the opening svg tag.
+	 */
+	private record SvgTemplate(byte[] head, byte[] tail) {
+
+		static SvgTemplate parse(String svg) {
+			int pos = svg.indexOf('>');
+			return new SvgTemplate(
+					svg.substring(0, pos + 2).getBytes(StandardCharsets.UTF_8),
+					svg.substring(pos + 1).getBytes(StandardCharsets.UTF_8)
+			);
+		}
+
+		byte[] render(byte[] styleTags) {
+			byte[] svg = new byte[head.length + styleTags.length + tail.length];
+			System.arraycopy(head, 0, svg, 0, head.length);
+			System.arraycopy(styleTags, 0, svg, head.length, styleTags.length);
+			System.arraycopy(tail, 0, svg, head.length + styleTags.length, tail.length);
+			return svg;
 		}
-		return null;
 	}
 
 }
@@ -21,12 +21,14 @@ package org.teamapps.icon.material;
 
 import org.teamapps.common.format.Color;
 
+import java.nio.charset.StandardCharsets;
 import java.util.Arrays;
 
 public class MaterialIconStyle {
 
 	private final MaterialIconStyleType styleType;
 	private final String[] colors;
+	private volatile byte[] styleTagBytes;
 
 	public MaterialIconStyle(MaterialIconStyleType styleType, String... colors) {
 		this.styleType = styleType;
@@ -53,6 +55,18 @@ public class MaterialIconStyle {
 		return applyStyle(svg, styleTags);
 	}
 
+	/**
+	 * @return the UTF-8 encoded style tags applying this style (see {@link #applyStyle(String)}). Computed on first access.
+	 */
+	byte[] getStyleTagBytes() {
+		byte[] styleTagBytes = this.styleTagBytes;
+		if (styleTagBytes == null) {
+			styleTagBytes = createStyleTags(colors).getBytes(StandardCharsets.UTF_8);
+			this.styleTagBytes = styleTagBytes;
+		}
+		return styleTagBytes;
+	}
+
 	private String applyStyle(String svg, String styleTags) {
 		int pos = svg.indexOf('>');
 		return svg.substring(0, pos + 2) + styleTags + svg.substring(pos + 1);
@@ -29,7 +29,6 @@ import org.eclipse.jetty.server.handler.gzip.GzipHandler;
 import org.teamapps.client.ClientCodeExtractor;
 import org.teamapps.config.TeamAppsConfiguration;
 import org.teamapps.core.TeamAppsCore;
-import org.teamapps.util.threading.CompletableFutureChainSequentialExecutorFactory;
 import org.teamapps.ux.servlet.TeamAppsServletContextListener;
 import org.teamapps.webcontroller.WebController;
 
@@ -51,7 +50,7 @@ public class TeamAppsJettyEmbeddedServer {
 	private final WebAppContext webapp;
 
 	public TeamAppsJettyEmbeddedServer(WebController webController, Path webAppDirectory, TeamAppsConfiguration config, int port, boolean globalGzipCompression) {
-		teamAppsCore = new TeamAppsCore(config, new CompletableFutureChainSequentialExecutorFactory(config.getMaxNumberOfSessionExecutorThreads()), webController);
+		teamAppsCore = new TeamAppsCore(config, config.createSessionExecutorFactory(), webController);
 		this.webAppDirectory = webAppDirectory;
 
 		server = new Server(port);
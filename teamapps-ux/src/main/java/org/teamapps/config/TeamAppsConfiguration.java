@@ -22,7 +22,9 @@ package org.teamapps.config;
 import jakarta.servlet.http.HttpSession;
 import jakarta.servlet.http.HttpSessionListener;
 import org.teamapps.event.Event;
+import org.teamapps.uisession.commandbuffer.CommandBufferType;
 import org.teamapps.util.threading.SequentialExecutorFactory;
+import org.teamapps.util.threading.SequentialExecutorType;
 import org.teamapps.ux.session.SessionContext;
 import org.teamapps.ux.session.navigation.RouteHandler;
 
@@ -123,6 +125,71 @@ public class TeamAppsConfiguration {
 	 */
 	private int commandBufferTotalSize = 5_000_000;
 
+	/**
+	 * The way the command buffer of a session stores the commands until they are acknowledged by the client.
+	 * <p>
+	 * {@link CommandBufferType#HEAP_SLAB} and {@link CommandBufferType#DIRECT_SLAB} store the commands UTF-8 encoded in a compact buffer,
+	 * which considerably reduces the memory footprint of sessions. Note that with these, {@link #commandBufferTotalSize} is measured in bytes
+	 * instead of characters.
+	 */
+	private CommandBufferType commandBufferType = CommandBufferType.OBJECT_ARRAY;
+
+	/**
+	 * If true, a command that is declared as coalescable in the UI DSL (typically property setters like setVisible)
+	 * removes any earlier command of the same type for the same component that has not been sent to the client yet.
+	 * This reduces the number of commands sent to (and executed by) the client for chatty UIs.
+	 */
+	private boolean commandCoalescing = true;
+
+	/**
+	 * Commands queued while a task is executed within a SessionContext (see SessionContext.runWithContext()) are not sent
+	 * one by one but flushed to the client as a batch when the task has finished.
+	 * This is the maximum number of commands that get deferred before a batch is flushed anyway.
+	 * Set to 1 to send every command immediately.
+	 */
+	private int commandFlushMaxBatchSize = 1000;
+
+	/**
+	 * The maximum time (in milliseconds) a command queued within a SessionContext task is deferred before the
+	 * commands queued so far are flushed to the client, even though the task has not finished yet.
+	 * Enforced by a scheduled flush, so this also holds while the task is busy without queueing further commands.
+	 *
+	 * @see #commandFlushMaxBatchSize
+	 */
+	private int commandFlushMaxDelayMillis = 100;
+
+	/**
+	 * If true, every UI command is serialized to UTF-8 bytes exactly once, when it is queued.
+	 * MULTI_CMD messages are then assembled by concatenating these pre-encoded commands and sent as binary WebSocket frames,
+	 * instead of serializing each command to a String and serializing the wrapping MULTI_CMD message again.
+	 * <p>
+	 * Note that in this mode, {@link #commandBufferTotalSize} is measured in bytes instead of characters.
+	 */
+	private boolean binaryCommandFrames = false;
+
+	/**
+	 * If true, the client is told to send its messages as binary WebSocket frames (UTF-8 encoded JSON).
+	 * These are parsed incrementally while they arrive, without assembling the whole message as a String first.
+	 * <p>
+	 * Note that in this mode, {@link #maxUiClientMessageSize} is measured in bytes instead of characters.
+	 */
+	private boolean binaryClientMessages = false;
+
+	/**
+	 * If true, clients supporting it will receive all messages (after INIT_OK/REINIT_OK) as binary frames compressed
+	 * with a per-connection deflate stream that is primed with a preset dictionary of the UI protocol's type ids.
+	 * The compression context is kept for the whole connection, so repetitive messages compress very well.
+	 * <p>
+	 * This mainly pays off for slow client connections. Note that the servlet container's permessage-deflate extension
+	 * will not be able to compress these messages any further.
+	 */
+	private boolean applicationLevelCompression = false;
+
+	/**
+	 * The deflate compression level (0-9) used for {@link #applicationLevelCompression}.
+	 */
+	private int applicationLevelCompressionLevel = 6;
+
 	/**
 	 * This is a client back pressure protocol parameter.
 	 * The number of remaining requested commands at which the client will request new commands from the server.
@@ -138,6 +205,20 @@ public class TeamAppsConfiguration {
 	 */
 	private int clientMaxRequestedCommands = 20;
 
+	/**
+	 * This is a client back pressure protocol parameter.
+	 * If true, the number of commands a client requests at once is adapted per session, starting with {@link #clientMaxRequestedCommands}
+	 * and bounded by {@link #clientMaxAdaptiveRequestedCommands}, based on the round-trip times of the commands (AIMD).
+	 * So fast clients will request more commands at once, while slow clients will request fewer.
+	 */
+	private boolean clientAdaptiveRequestedCommands = false;
+
+	/**
+	 * This is a client back pressure protocol parameter.
+	 * The maximum number of commands a client may request at once if {@link #clientAdaptiveRequestedCommands} is enabled.
+	 */
+	private int clientMaxAdaptiveRequestedCommands = 200;
+
 	/**
 	 * The number of client/UI events the client will buffer before invalidating its connection (buffer overflow on the client side).
 	 */
@@ -154,6 +235,32 @@ public class TeamAppsConfiguration {
 	 */
 	private File uploadDirectory = new File(System.getProperty("java.io.tmpdir"));
 
+	/**
+	 * The maximum number of bytes a session may upload in total (see UploadServlet). Negative for no limit.
+	 * <p>
+	 * If set, uploads that are not attributable to a session (see {@link org.teamapps.ux.session.SessionContext#resolveUploadUrl(String)})
+	 * are rejected with status 403. Exceeding uploads are aborted with status 413.
+	 */
+	private long maxUploadBytesPerSession = -1;
+
+	/**
+	 * The maximum duration of an upload request (see UploadServlet). Stalled uploads are aborted after this time.
+	 */
+	private long uploadTimeoutMillis = 30 * 60_000;
+
+	/**
+	 * The directory for the disk tier of the icon cache (see {@link org.teamapps.icons.cache.TwoTierIconCache}).
+	 * If null, a new temporary directory is used on every start.
+	 * <p>
+	 * If set, rendered icons survive restarts. The directory must be cleared when icon libraries change.
+	 */
+	private File iconCacheDirectory = null;
+
+	/**
+	 * The maximum number of icon bytes the icon cache keeps in memory. Less recently used icons are reloaded from the disk tier.
+	 */
+	private long iconCacheMaxMemoryBytes = 32 * 1024 * 1024;
+
 	/**
 	 * Max number of threads that should be used for changing session state.
 	 * Note that you can also choose to write an own {@link SequentialExecutorFactory},
@@ -163,6 +270,13 @@ public class TeamAppsConfiguration {
 	 */
 	private int maxNumberOfSessionExecutorThreads = Runtime.getRuntime().availableProcessors() * 2;
 
+	/**
+	 * The kind of {@link SequentialExecutorFactory} used for session executors by the embedded TeamApps servers.
+	 * <p>
+	 * {@link SequentialExecutorType#VIRTUAL_THREADS} requires Java 21 or later and does not use {@link #maxNumberOfSessionExecutorThreads}.
+	 */
+	private SequentialExecutorType sessionExecutorType = SequentialExecutorType.COMPLETABLE_FUTURE_CHAIN;
+
 	/**
 	 * Path prefix to be ignored when routing and added when creating URLs.
 	 *
@@ -280,6 +394,118 @@ public class TeamAppsConfiguration {
 		this.commandBufferTotalSize = commandBufferTotalSize;
 	}
 
+	/**
+	 * @see #commandBufferType
+	 */
+	public CommandBufferType getCommandBufferType() {
+		return commandBufferType;
+	}
+
+	/**
+	 * @see #commandBufferType
+	 */
+	public void setCommandBufferType(CommandBufferType commandBufferType) {
+		this.commandBufferType = commandBufferType;
+	}
+
+	/**
+	 * @see #commandCoalescing
+	 */
+	public boolean isCommandCoalescing() {
+		return commandCoalescing;
+	}
+
+	/**
+	 * @see #commandCoalescing
+	 */
+	public void setCommandCoalescing(boolean commandCoalescing) {
+		this.commandCoalescing = commandCoalescing;
+	}
+
+	/**
+	 * @see #commandFlushMaxBatchSize
+	 */
+	public int getCommandFlushMaxBatchSize() {
+		return commandFlushMaxBatchSize;
+	}
+
+	/**
+	 * @see #commandFlushMaxBatchSize
+	 */
+	public void setCommandFlushMaxBatchSize(int commandFlushMaxBatchSize) {
+		this.commandFlushMaxBatchSize = commandFlushMaxBatchSize;
+	}
+
+	/**
+	 * @see #commandFlushMaxDelayMillis
+	 */
+	public int getCommandFlushMaxDelayMillis() {
+		return commandFlushMaxDelayMillis;
+	}
+
+	/**
+	 * @see #commandFlushMaxDelayMillis
+	 */
+	public void setCommandFlushMaxDelayMillis(int commandFlushMaxDelayMillis) {
+		this.commandFlushMaxDelayMillis = commandFlushMaxDelayMillis;
+	}
+
+	/**
+	 * @see #binaryCommandFrames
+	 */
+	public boolean isBinaryCommandFrames() {
+		return binaryCommandFrames;
+	}
+
+	/**
+	 * @see #binaryCommandFrames
+	 */
+	public void setBinaryCommandFrames(boolean binaryCommandFrames) {
+		this.binaryCommandFrames = binaryCommandFrames;
+	}
+
+	/**
+	 * @see #binaryClientMessages
+	 */
+	public boolean isBinaryClientMessages() {
+		return binaryClientMessages;
+	}
+
+	/**
+	 * @see #binaryClientMessages
+	 */
+	public void setBinaryClientMessages(boolean binaryClientMessages) {
+		this.binaryClientMessages = binaryClientMessages;
+	}
+
+	/**
+	 * @see #applicationLevelCompression
+	 */
+	public boolean isApplicationLevelCompression() {
+		return applicationLevelCompression;
+	}
+
+	/**
+	 * @see #applicationLevelCompression
+	 */
+	public void setApplicationLevelCompression(boolean applicationLevelCompression) {
+		this.applicationLevelCompression = applicationLevelCompression;
+	}
+
+	/**
+	 * @see #applicationLevelCompressionLevel
+	 */
+	public int getApplicationLevelCompressionLevel() {
+		return applicationLevelCompressionLevel;
+	}
+
+	/**
+	 * @see #applicationLevelCompressionLevel
+	 */
+	public void setApplicationLevelCompressionLevel(int applicationLevelCompressionLevel) {
+		this.applicationLevelCompressionLevel = applicationLevelCompressionLevel;
+	}
+
 	/**
 	 * @see #clientMinRequestedCommands
 	 */
@@ -308,6 +534,34 @@ public class TeamAppsConfiguration {
 		this.clientMaxRequestedCommands = clientMaxRequestedCommands;
 	}
 
+	/**
+	 * @see #clientAdaptiveRequestedCommands
+	 */
+	public boolean isClientAdaptiveRequestedCommands() {
+		return clientAdaptiveRequestedCommands;
+	}
+
+	/**
+	 * @see #clientAdaptiveRequestedCommands
+	 */
+	public void setClientAdaptiveRequestedCommands(boolean clientAdaptiveRequestedCommands) {
+		this.clientAdaptiveRequestedCommands = clientAdaptiveRequestedCommands;
+	}
+
+	/**
+	 * @see #clientMaxAdaptiveRequestedCommands
+	 */
+	public int getClientMaxAdaptiveRequestedCommands() {
+		return clientMaxAdaptiveRequestedCommands;
+	}
+
+	/**
+	 * @see #clientMaxAdaptiveRequestedCommands
+	 */
+	public void setClientMaxAdaptiveRequestedCommands(int clientMaxAdaptiveRequestedCommands) {
+		this.clientMaxAdaptiveRequestedCommands = clientMaxAdaptiveRequestedCommands;
+	}
+
 	/**
 	 * @see #clientEventsBufferSize
 	 */
@@ -350,6 +604,62 @@ public class TeamAppsConfiguration {
 		this.uploadDirectory = uploadDirectory;
 	}
 
+	/**
+	 * @see #maxUploadBytesPerSession
+	 */
+	public long getMaxUploadBytesPerSession() {
+		return maxUploadBytesPerSession;
+	}
+
+	/**
+	 * @see #maxUploadBytesPerSession
+	 */
+	public void setMaxUploadBytesPerSession(long maxUploadBytesPerSession) {
+		this.maxUploadBytesPerSession = maxUploadBytesPerSession;
+	}
+
+	/**
+	 * @see #uploadTimeoutMillis
+	 */
+	public long getUploadTimeoutMillis() {
+		return uploadTimeoutMillis;
+	}
+
+	/**
+	 * @see #uploadTimeoutMillis
+	 */
+	public void setUploadTimeoutMillis(long uploadTimeoutMillis) {
+		this.uploadTimeoutMillis = uploadTimeoutMillis;
+	}
+
+	/**
+	 * @see #iconCacheDirectory
+	 */
+	public File getIconCacheDirectory() {
+		return iconCacheDirectory;
+	}
+
+	/**
+	 * @see #iconCacheDirectory
+	 */
+	public void setIconCacheDirectory(File iconCacheDirectory) {
+		this.iconCacheDirectory = iconCacheDirectory;
+	}
+
+	/**
+	 * @see #iconCacheMaxMemoryBytes
+	 */
+	public long getIconCacheMaxMemoryBytes() {
+		return iconCacheMaxMemoryBytes;
+	}
+
+	/**
+	 * @see #iconCacheMaxMemoryBytes
+	 */
+	public void setIconCacheMaxMemoryBytes(long iconCacheMaxMemoryBytes) {
+		this.iconCacheMaxMemoryBytes = iconCacheMaxMemoryBytes;
+	}
+
 	/**
 	 * @see #maxNumberOfSessionExecutorThreads
 	 */
@@ -364,6 +674,27 @@ public class TeamAppsConfiguration {
 		this.maxNumberOfSessionExecutorThreads = maxNumberOfSessionExecutorThreads;
 	}
 
+	/**
+	 * @see #sessionExecutorType
+	 */
+	public SequentialExecutorType getSessionExecutorType() {
+		return sessionExecutorType;
+	}
+
+	/**
+	 * @see #sessionExecutorType
+	 */
+	public void setSessionExecutorType(SequentialExecutorType sessionExecutorType) {
+		this.sessionExecutorType = sessionExecutorType;
+	}
+
+	/**
+	 * Creates a new {@link SequentialExecutorFactory} according to {@link #sessionExecutorType} and {@link #maxNumberOfSessionExecutorThreads}.
+	 */
+	public SequentialExecutorFactory createSessionExecutorFactory() {
+		return sessionExecutorType.createFactory(maxNumberOfSessionExecutorThreads);
+	}
+
 	public String getNavigationPathPrefix() {
 		return navigationPathPrefix;
 	}
@@ -23,6 +23,7 @@ import com.fasterxml.jackson.databind.ObjectMapper;
 import org.teamapps.config.TeamAppsConfiguration;
 import org.teamapps.icons.IconLibraryRegistry;
 import org.teamapps.icons.IconProvider;
+import org.teamapps.icons.cache.TwoTierIconCache;
 import org.teamapps.json.TeamAppsObjectMapperFactory;
 import org.teamapps.uisession.TeamAppsSessionManager;
 import org.teamapps.util.threading.SequentialExecutorFactory;
@@ -47,7 +48,10 @@ public class TeamAppsCore {
 		this.iconLibraryRegistry = new IconLibraryRegistry();
 		this.uploadManager = new TeamAppsUploadManager();
 
-		this.iconProvider = new IconProvider(iconLibraryRegistry);
+		TwoTierIconCache iconCache = config.getIconCacheDirectory() != null
+				? new TwoTierIconCache(config.getIconCacheDirectory(), config.getIconCacheMaxMemoryBytes())
+				: TwoTierIconCache.createWithTemporaryDirectory(config.getIconCacheMaxMemoryBytes());
+		this.iconProvider = new IconProvider(iconLibraryRegistry, iconCache);
 		this.sessionManager = new TeamAppsSessionManager(config, objectMapper, sessionExecutorFactory, webController, iconProvider, uploadManager);
 		this.webSocketCommunicationEndpoint = new WebSocketCommunicationEndpoint(sessionManager, config);
 	}
@@ -0,0 +1,146 @@
+/*-
+ * ========================LICENSE_START=================================
+ * TeamApps
+ * ---
+ * Copyright (C) 2014 - 2025 TeamApps.org
+ * ---
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ * 
+ *      http://www.apache.org/licenses/LICENSE-2.0
+ * 
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ * =========================LICENSE_END==================================
+ */
+package org.teamapps.data.extract;
+
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.teamapps.util.ReflectionUtil;
+
+import java.lang.invoke.CallSite;
+import java.lang.invoke.LambdaMetafactory;
+import java.lang.invoke.MethodHandle;
+import java.lang.invoke.MethodHandles;
+import java.lang.invoke.MethodType;
+import java.lang.reflect.Field;
+import java.lang.reflect.Method;
+import java.util.function.BiConsumer;
+import java.util.function.Function;
+
+/**
+ * Creates {@link ValueExtractor}s and {@link ValueInjector}s for getters, setters and fields that do not use
+ * reflection on invocation.
+ * <p>
+ * Getters and setters are bound to functional interfaces using {@link LambdaMetafactory}, so they get inlined by the
+ * JIT just like hand-written lambdas. Fields are accessed using {@link MethodHandle}s. If the target class is not
+ * accessible this way (e.g. classes in modules that are not opened), this falls back to reflection.
+ */
+final class AccessorCompiler {
+
+	private static final Logger LOGGER = LoggerFactory.getLogger(AccessorCompiler.class);
+	private static final MethodHandles.Lookup LOOKUP = MethodHandles.lookup();
+
+	private AccessorCompiler() {
+	}
+
+	@SuppressWarnings("unchecked")
+	static <RECORD> ValueExtractor<RECORD, Object> compileGetter(Method getter) {
+		try {
+			MethodHandles.Lookup lookup = MethodHandles.privateLookupIn(getter.getDeclaringClass(), LOOKUP);
+			MethodHandle getterHandle = lookup.unreflect(getter);
+			CallSite callSite = LambdaMetafactory.metafactory(lookup, "apply",
+					MethodType.methodType(Function.class),
+					MethodType.methodType(Object.class, Object.class),
+					getterHandle,
+					getterHandle.type().wrap());
+			Function<Object, Object> function = (Function<Object, Object>) callSite.getTarget().invokeExact();
+			return function::apply;
+		} catch (Throwable t) {
+			LOGGER.debug("Could not compile getter {}. Using reflection.", getter, t);
+			return record -> ReflectionUtil.invokeMethod(record, getter);
+		}
+	}
+
+	@SuppressWarnings("unchecked")
+	static <RECORD> ValueInjector<RECORD, Object> compileSetter(Method setter) {
+		try {
+			MethodHandles.Lookup lookup = MethodHandles.privateLookupIn(setter.getDeclaringClass(), LOOKUP);
+			MethodHandle setterHandle = lookup.unreflect(setter);
+			CallSite callSite = LambdaMetafactory.metafactory(lookup, "accept",
+					MethodType.methodType(BiConsumer.class),
+					MethodType.methodType(void.class, Object.class, Object.class),
+					setterHandle,
+					setterHandle.type().wrap().changeReturnType(void.class));
+			BiConsumer<Object, Object> consumer = (BiConsumer<Object, Object>) callSite.getTarget().invokeExact();
+			return (record, value) -> {
+				try {
+					consumer.accept(record, value);
+				} catch (ClassCastException | NullPointerException e) {
+					if (isAssignable(setter.getParameterTypes()[0], value)) {
+						throw e; // thrown by the setter itself
+					}
+					// let reflection apply widening conversions or produce a meaningful exception
+					ReflectionUtil.invokeMethod(record, setter, value);
+				}
+			};
+		} catch (Throwable t) {
+			LOGGER.debug("Could not compile setter {}. Using reflection.", setter, t);
+			return (record, value) -> ReflectionUtil.invokeMethod(record, setter, value);
+		}
+	}
+
+	static <RECORD> ValueExtractor<RECORD, Object> compileFieldReader(Field field) {
+		try {
+			MethodHandle handle = MethodHandles.privateLookupIn(field.getDeclaringClass(), LOOKUP).unreflectGetter(field)
+					.asType(MethodType.methodType(Object.class, Object.class));
+			return record -> {
+				try {
+					return handle.invokeExact((Object) record);
+				} catch (RuntimeException | Error e) {
+					throw e;
+				} catch (Throwable t) {
+					throw new RuntimeException(t);
+				}
+			};
+		} catch (Throwable t) {
+			LOGGER.debug("Could not compile reader for field {}. Using reflection.", field, t);
+			return record -> ReflectionUtil.readField(record, field, true);
+		}
+	}
+
+	static <RECORD> ValueInjector<RECORD, Object> compileFieldWriter(Field field) {
+		try {
+			MethodHandle handle = MethodHandles.privateLookupIn(field.getDeclaringClass(), LOOKUP).unreflectSetter(field)
+					.asType(MethodType.methodType(void.class, Object.class, Object.class));
+			return (record, value) -> {
+				try {
+					handle.invokeExact((Object) record, value);
+				} catch (ClassCastException | NullPointerException e) {
+					// let reflection apply widening conversions or produce a meaningful exception
+					ReflectionUtil.setField(record, field, value, true);
+				} catch (RuntimeException | Error e) {
+					throw e;
+				} catch (Throwable t) {
+					throw new RuntimeException(t);
+				}
+			};
+		} catch (Throwable t) {
+			LOGGER.debug("Could not compile writer for field {}. Using reflection.", field, t);
+			return (record, value) -> ReflectionUtil.setField(record, field, value, true);
+		}
+	}
+
+	private static boolean isAssignable(Class<?> parameterType, Object value) {
+		if (value == null) {
+			return !parameterType.isPrimitive();
+		}
+		return MethodType.methodType(parameterType).wrap().returnType().isInstance(value);
+	}
+
+}
@@ -25,17 +25,19 @@ import org.teamapps.util.ReflectionUtil;
 
 import java.lang.reflect.Field;
 import java.lang.reflect.Method;
+import java.util.Collection;
 import java.util.HashMap;
 import java.util.Map;
-import java.util.concurrent.ConcurrentHashMap;
 
 public class BeanPropertyExtractor<RECORD> implements PropertyExtractor<RECORD> {
 
 	private static final Logger LOGGER = LoggerFactory.getLogger(BeanPropertyExtractor.class);
-	private static final Map<ClassAndPropertyName, ValueExtractor> valueExtractorsByClassAndPropertyName = new ConcurrentHashMap<>();
+	private static final ClassValue<Map<String, ValueExtractor>> valueExtractorsByPropertyName = new ConcurrentHashMapClassValue<>();
+	private static final ClassValue<Map<String, ValueExtractor>> valueExtractorsWithFieldFallbackByPropertyName = new ConcurrentHashMapClassValue<>();
 
 	private final Map<String, ValueExtractor<RECORD, ?>> customExtractors = new HashMap<>(0);
 	private final boolean fallbackToFields;
+	private volatile BulkValueExtractor lastBulkValueExtractor;
 
 	public BeanPropertyExtractor() {
 		this(false);
@@ -51,14 +53,55 @@ public class BeanPropertyExtractor<RECORD> implements PropertyExtractor<RECORD>
 		return valueExtractor.extract(record);
 	}
 
+	/**
+	 * Resolves the value extractors only once for consecutive calls with the same record class and the same (identical)
+	 * property names collection, which is the typical case when rendering many records with the same template.
+	 */
+	@Override
+	public Map<String, Object> getValues(RECORD record, Collection<String> propertyNames) {
+		BulkValueExtractor bulkValueExtractor = this.lastBulkValueExtractor;
+		if (bulkValueExtractor == null || bulkValueExtractor.clazz != record.getClass() || bulkValueExtractor.propertyNamesCollection != propertyNames) {
+			bulkValueExtractor = new BulkValueExtractor(record.getClass(), propertyNames);
+			this.lastBulkValueExtractor = bulkValueExtractor;
+		}
+		return bulkValueExtractor.extract(record);
+	}
+
+	private class BulkValueExtractor {
+		private final Class<?> clazz;
+		private final Collection<String> propertyNamesCollection;
+		private final String[] propertyNames;
+		private final ValueExtractor<RECORD, ?>[] valueExtractors;
+
+		@SuppressWarnings("unchecked")
+		public BulkValueExtractor(Class<?> clazz, Collection<String> propertyNamesCollection) {
+			this.clazz = clazz;
+			this.propertyNamesCollection = propertyNamesCollection;
+			this.propertyNames = propertyNamesCollection.toArray(new String[0]);
+			this.valueExtractors = new ValueExtractor[propertyNames.length];
+			for (int i = 0; i < propertyNames.length; i++) {
+				valueExtractors[i] = getValueExtractor(clazz, propertyNames[i]);
+			}
+		}
+
+		public Map<String, Object> extract(RECORD record) {
+			Map<String, Object> values = new HashMap<>((int) (propertyNames.length / 0.75f) + 1);
+			for (int i = 0; i < propertyNames.length; i++) {
+				values.put(propertyNames[i], valueExtractors[i].extract(record)); // nullable values!
+			}
+			return values;
+		}
+	}
+
 	protected ValueExtractor<RECORD, ?> getValueExtractor(Class clazz, String propertyName) {
 		ValueExtractor<RECORD, ?> valueExtractor = customExtractors.get(propertyName);
 		if (valueExtractor != null) {
 			return valueExtractor;
 		} else {
-			return valueExtractorsByClassAndPropertyName.computeIfAbsent(
-					new ClassAndPropertyName(clazz, propertyName, fallbackToFields),
-					classAndPropertyName -> createValueExtractor(classAndPropertyName)
+			Map<String, ValueExtractor> valueExtractors = (fallbackToFields ? valueExtractorsWithFieldFallbackByPropertyName : valueExtractorsByPropertyName).get(clazz);
+			return valueExtractors.computeIfAbsent(
+					propertyName,
+					name -> createValueExtractor(new ClassAndPropertyName(clazz, name, fallbackToFields))
 			);
 		}
 	}
@@ -67,13 +110,13 @@ public class BeanPropertyExtractor<RECORD> implements PropertyExtractor<RECORD>
 		Method getter = ReflectionUtil.findGetter(classAndPropertyName.clazz, classAndPropertyName.propertyName);
 		Method recordGetter = ReflectionUtil.findMethodByName(classAndPropertyName.clazz, classAndPropertyName.propertyName);
 		if (getter != null) {
-			return record -> ReflectionUtil.invokeMethod(record, getter);
+			return AccessorCompiler.compileGetter(getter);
 		} else if (recordGetter != null) {
-			return record -> ReflectionUtil.invokeMethod(record, recordGetter);
+			return AccessorCompiler.compileGetter(recordGetter);
 		} else if (fallbackToFields) {
 			Field field = ReflectionUtil.findField(classAndPropertyName.clazz, classAndPropertyName.propertyName);
 			if (field != null) {
-				return record -> ReflectionUtil.readField(record, field, true);
+				return AccessorCompiler.compileFieldReader(field);
 			}
 		}
 		LOGGER.debug("Could not find getter " + (fallbackToFields ? "or field " : "") + "for property {} on class {}!", classAndPropertyName.propertyName, classAndPropertyName.getClass().getCanonicalName());
@@ -82,6 +125,7 @@ public class BeanPropertyExtractor<RECORD> implements PropertyExtractor<RECORD>
 
 	public BeanPropertyExtractor<RECORD> addProperty(String propertyName, ValueExtractor<RECORD, ?> valueExtractor) {
 		this.customExtractors.put(propertyName, valueExtractor);
+		this.lastBulkValueExtractor = null;
 		return this;
 	}
 
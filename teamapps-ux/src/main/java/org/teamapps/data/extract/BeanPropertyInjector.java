@@ -28,12 +28,12 @@ import java.lang.reflect.Method;
 import java.lang.reflect.Modifier;
 import java.util.HashMap;
 import java.util.Map;
-import java.util.concurrent.ConcurrentHashMap;
 
 public class BeanPropertyInjector<RECORD> implements PropertyInjector<RECORD> {
 
 	private static final Logger LOGGER = LoggerFactory.getLogger(BeanPropertyInjector.class);
-	private static final Map<ClassAndPropertyName, ValueInjector> settersByClassAndPropertyName = new ConcurrentHashMap<>();
+	private static final ClassValue<Map<String, ValueInjector>> settersByPropertyName = new ConcurrentHashMapClassValue<>();
+	private static final ClassValue<Map<String, ValueInjector>> settersWithFieldFallbackByPropertyName = new ConcurrentHashMapClassValue<>();
 
 	private final Map<String, ValueInjector> customInjectors = new HashMap<>(0);
 	private final boolean fallbackToFields;
@@ -57,9 +57,10 @@ public class BeanPropertyInjector<RECORD> implements PropertyInjector<RECORD> {
 		if (ValueInjector != null) {
 			return ValueInjector;
 		} else {
-			return settersByClassAndPropertyName.computeIfAbsent(
-					new ClassAndPropertyName(clazz, propertyName, fallbackToFields),
-					classAndPropertyName -> createValueInjector(classAndPropertyName)
+			Map<String, ValueInjector> setters = (fallbackToFields ? settersWithFieldFallbackByPropertyName : settersByPropertyName).get(clazz);
+			return setters.computeIfAbsent(
+					propertyName,
+					name -> createValueInjector(new ClassAndPropertyName(clazz, name, fallbackToFields))
 			);
 		}
 	}
@@ -67,11 +68,11 @@ public class BeanPropertyInjector<RECORD> implements PropertyInjector<RECORD> {
 	private ValueInjector<RECORD, ?> createValueInjector(ClassAndPropertyName classAndPropertyName) {
 		Method setter = ReflectionUtil.findSetter(classAndPropertyName.clazz, classAndPropertyName.propertyName);
 		if (setter != null) {
-			return (record, value) -> ReflectionUtil.invokeMethod(record, setter, value);
+			return AccessorCompiler.compileSetter(setter);
 		} else if (fallbackToFields) {
 			Field field = ReflectionUtil.findField(classAndPropertyName.clazz, classAndPropertyName.propertyName);
 			if (field != null && !Modifier.isFinal(field.getModifiers())) {
-				return (record, value) -> ReflectionUtil.setField(record, field, value, true);
+				return AccessorCompiler.compileFieldWriter(field);
 			}
 		}
 		LOGGER.debug("Could not find setter or field for property {} on class {}!", classAndPropertyName.propertyName, classAndPropertyName.getClass().getCanonicalName());
@@ -0,0 +1,36 @@
+/*-
+ * ========================LICENSE_START=================================
+ * TeamApps
+ * ---
+ * Copyright (C) 2014 - 2025 TeamApps.org
+ * ---
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ * 
+ *      http://www.apache.org/licenses/LICENSE-2.0
+ * 
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ * =========================LICENSE_END==================================
+ */
+package org.teamapps.data.extract;
+
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+
+/**
+ * Associates an initially empty {@link ConcurrentHashMap} with each class. Unlike a map keyed by class and property name,
+ * lookups do not need to allocate a composite key.
+ */
+class ConcurrentHashMapClassValue<K, V> extends ClassValue<Map<K, V>> {
+
+	@Override
+	protected Map<K, V> computeValue(Class<?> type) {
+		return new ConcurrentHashMap<>();
+	}
+
+}
@@ -19,15 +19,16 @@
  */
 package org.teamapps.event;
 
+import com.google.common.annotations.VisibleForTesting;
 import org.slf4j.Logger;
 import org.slf4j.LoggerFactory;
 import org.teamapps.ux.session.CurrentSessionContext;
 import org.teamapps.ux.session.SessionContext;
 
 import java.lang.ref.WeakReference;
+import java.util.Arrays;
 import java.util.List;
 import java.util.Objects;
-import java.util.concurrent.CopyOnWriteArrayList;
 import java.util.concurrent.atomic.AtomicReference;
 import java.util.function.Consumer;
 import java.util.function.Function;
@@ -47,20 +48,43 @@ import java.util.function.Function;
  * </ul>
  * You can prevent a listener from being bound to the current SessionContext,
  * by using one of the {@link #addListener(Consumer, boolean) addListener(..., boolean bindToSessionContext)} methods.
+ * <p>
+ * Notifications of SessionContext-bound listeners are batched per SessionContext (see {@link SessionContext#enqueueEventNotification(Runnable)}),
+ * so firing an event that has listeners in thousands of sessions does not flood the session executors with tasks.
+ * <p>
+ * <h2>Debugging</h2>
+ * Set the system property <code>teamapps.event.captureSource</code> to <code>true</code> to make every event remember
+ * where it has been created. This is disabled by default, since capturing the source is expensive and components create lots of events.
  *
  * @param <EVENT_DATA> The type of data this event fires.
  */
 public class Event<EVENT_DATA> {
 
 	private static final Logger LOGGER = LoggerFactory.getLogger(Event.class);
-	private final String source; // for debugging
+	private static final boolean CAPTURE_SOURCE = Boolean.getBoolean("teamapps.event.captureSource");
+	private static final Consumer<?>[] NO_LISTENERS = new Consumer<?>[0];
 
-	private final List<Consumer<EVENT_DATA>> listeners = new CopyOnWriteArrayList<>();
+	private final String source; // for debugging. Only captured if CAPTURE_SOURCE is set.
+
+	/**
+	 * Copy-on-write (modifications are rare compared to firing). Shared empty array until the first listener gets added.
+	 */
+	@SuppressWarnings("unchecked")
+	private volatile Consumer<EVENT_DATA>[] listeners = (Consumer<EVENT_DATA>[]) NO_LISTENERS;
 	private EVENT_DATA lastEventData;
 
 	public Event() {
-		StackTraceElement stackTraceElement = new Exception().getStackTrace()[1];
-		this.source = stackTraceElement.getFileName() + stackTraceElement.getLineNumber();
+		this.source = CAPTURE_SOURCE ? captureSource() : null;
+	}
+
+	@VisibleForTesting
+	static String captureSource() {
+		return StackWalker.getInstance(StackWalker.Option.RETAIN_CLASS_REFERENCE).walk(frames -> frames
+				.dropWhile(frame -> !frame.getMethodName().equals("<init>"))
+				.dropWhile(frame -> frame.getMethodName().equals("<init>") && Event.class.isAssignableFrom(frame.getDeclaringClass()))
+				.findFirst()
+				.map(frame -> frame.getFileName() + frame.getLineNumber())
+				.orElse(null));
 	}
 
 	public Disposable addListener(Consumer<EVENT_DATA> listener) {
@@ -70,11 +94,11 @@ public class Event<EVENT_DATA> {
 	public Disposable addListener(Consumer<EVENT_DATA> listener, boolean bindToSessionContext) {
 		SessionContext currentSessionContext;
 		if (bindToSessionContext && (currentSessionContext = CurrentSessionContext.getOrNull()) != null) {
-			listeners.add(new SessionContextAwareEventListener<>(currentSessionContext, listener));
+			addListenerInternal(new SessionContextAwareEventListener<>(currentSessionContext, listener));
 			removeWhenSessionDestroyed(listener, currentSessionContext);
 		} else {
 			// just add the listener. It will get called with whatever context is active at firing time
-			listeners.add(listener);
+			addListenerInternal(listener);
 		}
 		return () -> removeListener(listener);
 	}
@@ -99,8 +123,29 @@ public class Event<EVENT_DATA> {
 		return addListener(new RunnableWrapper<>(listener), bindToSessionContext);
 	}
 
+	private synchronized void addListenerInternal(Consumer<EVENT_DATA> listener) {
+		Consumer<EVENT_DATA>[] listeners = Arrays.copyOf(this.listeners, this.listeners.length + 1);
+		listeners[listeners.length - 1] = listener;
+		this.listeners = listeners;
+	}
+
+	/**
+	 * Removes the first listener that equals the given one.
+	 */
+	private synchronized void removeListenerInternal(Consumer<EVENT_DATA> listener) {
+		Consumer<EVENT_DATA>[] listeners = this.listeners;
+		for (int i = 0; i < listeners.length; i++) {
+			if (listener.equals(listeners[i])) {
+				Consumer<EVENT_DATA>[] newListeners = Arrays.copyOf(listeners, listeners.length - 1);
+				System.arraycopy(listeners, i + 1, newListeners, i, listeners.length - i - 1);
+				this.listeners = newListeners;
+				return;
+			}
+		}
+	}
+
 	List<Consumer<EVENT_DATA>> getListeners() {
-		return listeners;
+		return List.of(listeners);
 	}
 
 	/**
@@ -116,8 +161,8 @@ public class Event<EVENT_DATA> {
 	 */
 	@Deprecated
 	public void removeListener(Consumer<EVENT_DATA> listener) {
-		listeners.remove(listener); // in case it is not bound to a session
-		listeners.remove(new SessionContextAwareEventListener<>(listener));
+		removeListenerInternal(listener); // in case it is not bound to a session
+		removeListenerInternal(new SessionContextAwareEventListener<>(listener));
 	}
 
 	/**
@@ -128,7 +173,7 @@ public class Event<EVENT_DATA> {
 			// use a weak reference here, so the fact that this is registered to the sessionContext's destroyed event
 			// does not mean it has to survive (not being garbage collected) as long as the session context.
 			WeakReference<Consumer<EVENT_DATA>> listenerWeakReference = new WeakReference<>(listener);
-			currentSessionContext.onDestroyed.listeners.add(aVoid -> {
+			currentSessionContext.onDestroyed.addListenerInternal(aVoid -> {
 				Consumer<EVENT_DATA> l = listenerWeakReference.get();
 				if (l != null) {
 					removeListener(l);
@@ -195,7 +240,11 @@ public class Event<EVENT_DATA> {
 		@Override
 		public void accept(EVENT_DATA eventData) {
 			if (sessionContext != null) {
-				sessionContext.runWithContext(() -> delegate.accept(eventData));
+				if (CurrentSessionContext.getOrNull() == sessionContext) {
+					delegate.accept(eventData);
+				} else {
+					sessionContext.enqueueEventNotification(() -> delegate.accept(eventData));
+				}
 			} else {
 				delegate.accept(eventData);
 			}
@@ -0,0 +1,161 @@
+/*-
+ * ========================LICENSE_START=================================
+ * TeamApps
+ * ---
+ * Copyright (C) 2014 - 2025 TeamApps.org
+ * ---
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ * 
+ *      http://www.apache.org/licenses/LICENSE-2.0
+ * 
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ * =========================LICENSE_END==================================
+ */
+package org.teamapps.uisession;
+
+/**
+ * Adapts the number of commands a client requests at once (see {@link org.teamapps.dto.CMD_WINDOW}) using AIMD
+ * (additive increase, multiplicative decrease).
+ * <p>
+ * The round-trip time of a command batch is the time between sending it and the client's CMD_REQUEST acknowledging its last command.
+ * Since clients request new commands only after executing the received ones, this includes the client's processing time.
+ * <ul>
+ *     <li>If the round-trip time is much higher than the minimum observed one, the client (or its connection) is not keeping up,
+ *     so the window is decreased multiplicatively.</li>
+ *     <li>Otherwise, if commands had to wait on the server because the client's window was exhausted, the window is increased additively.</li>
+ * </ul>
+ * <p>
+ * NOT THREAD-SAFE! Synchronization must be provided by client code.
+ */
+class AdaptiveCommandWindow {
+
+	private static final int ADDITIVE_INCREASE = 2;
+	private static final double MULTIPLICATIVE_DECREASE = 0.7;
+	private static final double CONGESTION_RTT_FACTOR = 2;
+	private static final long CONGESTION_RTT_SLACK_MILLIS = 20;
+	private static final long MIN_RTT_MAX_AGE_MILLIS = 30_000;
+	private static final int MAX_TRACKED_BATCHES = 64;
+
+	private final int minWindowSize;
+	private final int maxWindowSize;
+	private final double minRequestedCommandsRatio;
+
+	private int windowSize;
+	private long smoothedRoundTripTimeMillis = -1;
+	private long minRoundTripTimeMillis = -1;
+	private long minRoundTripTimeTimestamp;
+
+	// ring buffer of the last command ids and send timestamps of sent batches
+	private final int[] batchLastCommandIds = new int[MAX_TRACKED_BATCHES];
+	private final long[] batchSendTimestamps = new long[MAX_TRACKED_BATCHES];
+	private int batchesStart = 0;
+	private int batchesCount = 0;
+
+	/**
+	 * @param minRequestedCommands the initial number of remaining requested commands at which the client requests new commands
+	 * @param maxRequestedCommands the initial window size
+	 * @param maxWindowSize        the maximum window size
+	 */
+	public AdaptiveCommandWindow(int minRequestedCommands, int maxRequestedCommands, int maxWindowSize) {
+		this.minRequestedCommandsRatio = maxRequestedCommands > 0 ? (double) minRequestedCommands / maxRequestedCommands : 0;
+		this.minWindowSize = Math.min(maxRequestedCommands, Math.max(minRequestedCommands + 1, 2));
+		this.maxWindowSize = Math.max(maxWindowSize, maxRequestedCommands);
+		this.windowSize = maxRequestedCommands;
+	}
+
+	public void commandsSent(int lastCommandId, long now) {
+		if (batchesCount == MAX_TRACKED_BATCHES) {
+			removeFirstBatch();
+		}
+		int index = (batchesStart + batchesCount) % MAX_TRACKED_BATCHES;
+		batchLastCommandIds[index] = lastCommandId;
+		batchSendTimestamps[index] = now;
+		batchesCount++;
+	}
+
+	/**
+	 * @param lastReceivedCommandId the last command id the client acknowledged
+	 * @param windowLimited         whether commands were waiting on the server because the client's window was exhausted
+	 * @return true if the window size changed
+	 */
+	public boolean commandsAcknowledged(int lastReceivedCommandId, boolean windowLimited, long now) {
+		long sendTimestamp = -1;
+		while (batchesCount > 0) {
+			int batchLastCommandId = batchLastCommandIds[batchesStart];
+			if (batchLastCommandId >= lastReceivedCommandId) {
+				// this is the batch containing the acknowledged command, which made the client request new commands
+				sendTimestamp = batchSendTimestamps[batchesStart];
+				if (batchLastCommandId == lastReceivedCommandId) {
+					removeFirstBatch();
+				}
+				break;
+			}
+			removeFirstBatch();
+		}
+		if (sendTimestamp < 0) {
+			return false;
+		}
+		long roundTripTime = Math.max(0, now - sendTimestamp);
+		smoothedRoundTripTimeMillis = smoothedRoundTripTimeMillis < 0 ? roundTripTime : (7 * smoothedRoundTripTimeMillis + roundTripTime) / 8;
+		if (minRoundTripTimeMillis < 0 || roundTripTime <= minRoundTripTimeMillis || now - minRoundTripTimeTimestamp > MIN_RTT_MAX_AGE_MILLIS) {
+			minRoundTripTimeMillis = roundTripTime;
+			minRoundTripTimeTimestamp = now;
+		}
+
+		int oldWindowSize = windowSize;
+		if (roundTripTime > minRoundTripTimeMillis * CONGESTION_RTT_FACTOR + CONGESTION_RTT_SLACK_MILLIS) {
+			windowSize = Math.max(minWindowSize, (int) (windowSize * MULTIPLICATIVE_DECREASE));
+		} else if (windowLimited) {
+			windowSize = Math.min(maxWindowSize, windowSize + ADDITIVE_INCREASE);
+		}
+		return windowSize != oldWindowSize;
+	}
+
+	/**
+	 * Forgets all sent batches, e.g. when commands get sent again after a reconnect.
+	 */
+	public void clearSentBatches() {
+		batchesStart = 0;
+		batchesCount = 0;
+	}
+
+	private void removeFirstBatch() {
+		batchesStart = (batchesStart + 1) % MAX_TRACKED_BATCHES;
+		batchesCount--;
+	}
+
+	/**
+	 * Should be invoked when sending commands failed (e.g. due to a broken connection).
+	 */
+	public void sendingFailed() {
+		windowSize = Math.max(minWindowSize, windowSize / 2);
+	}
+
+	/**
+	 * @return the number of commands the client should request at once
+	 */
+	public int getWindowSize() {
+		return windowSize;
+	}
+
+	/**
+	 * @return the number of remaining requested commands at which the client should request new commands
+	 */
+	public int getMinRequestedCommands() {
+		return Math.min(windowSize - 1, (int) Math.round(windowSize * minRequestedCommandsRatio));
+	}
+
+	/**
+	 * @return the smoothed round-trip time or -1, if not yet measured
+	 */
+	public long getSmoothedRoundTripTimeMillis() {
+		return smoothedRoundTripTimeMillis;
+	}
+
+}
@@ -19,9 +19,12 @@
  */
 package org.teamapps.uisession;
 
+import com.fasterxml.jackson.annotation.JsonIgnore;
 import com.fasterxml.jackson.annotation.JsonProperty;
 import com.fasterxml.jackson.annotation.JsonRawValue;
 
+import java.nio.charset.StandardCharsets;
+
 public class CMD {
 
 	private int id;
@@ -30,6 +33,13 @@ public class CMD {
 	@JsonProperty("c")
 	private String uiCommand;
 
+	/**
+	 * The UTF-8 encoded JSON of the ui command, if this command was pre-encoded (binary command frames).
+	 * Exactly one of uiCommand and encodedUiCommand is non-null.
+	 */
+	@JsonIgnore
+	private byte[] encodedUiCommand;
+
 	@JsonProperty("r")
 	private Boolean awaitsResponse; // nullable! (for message size reasons)
 
@@ -46,8 +56,17 @@ public class CMD {
 		this.uiCommand = uiCommand;
 	}
 
+	/**
+	 * @param encodedUiCommand the UTF-8 encoded JSON representation of the ui command
+	 */
+	public CMD(int id, byte[] encodedUiCommand) {
+		this.id = id;
+		this.encodedUiCommand = encodedUiCommand;
+	}
+
 	@Override
 	public String toString() {
+		String uiCommand = getUiCommand();
 		return "CMD{uiCommand='" + uiCommand.substring(0, Math.min(uiCommand.length(), 20)) + '\'' + ", id=" + id + '}';
 	}
 
@@ -56,7 +75,28 @@ public class CMD {
 	}
 
 	public String getUiCommand() {
-		return uiCommand;
+		return uiCommand != null ? uiCommand : new String(encodedUiCommand, StandardCharsets.UTF_8);
+	}
+
+	/**
+	 * @return the UTF-8 encoded JSON representation of the ui command or null, if this command is not pre-encoded.
+	 */
+	@JsonIgnore
+	public byte[] getEncodedUiCommand() {
+		return encodedUiCommand;
+	}
+
+	@JsonIgnore
+	public boolean isPreEncoded() {
+		return encodedUiCommand != null;
+	}
+
+	/**
+	 * @return the size of the ui command. This is the number of characters for String commands and the number of bytes for pre-encoded commands.
+	 */
+	@JsonIgnore
+	public int getSize() {
+		return uiCommand != null ? uiCommand.length() : encodedUiCommand.length;
 	}
 
 	public Boolean getAwaitsResponse() {
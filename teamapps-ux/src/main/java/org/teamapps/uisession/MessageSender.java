@@ -20,12 +20,23 @@
 package org.teamapps.uisession;
 
 import org.teamapps.dto.AbstractServerMessage;
+import org.teamapps.dto.MULTI_CMD;
 import org.teamapps.dto.UiSessionClosingReason;
 
+import java.util.List;
+
 public interface MessageSender {
 
 	void sendMessageAsynchronously(AbstractServerMessage message, SendingErrorHandler sendingErrorHandler);
 
+	/**
+	 * Sends the given commands as one MULTI_CMD message.
+	 * Implementations may send {@link CMD#isPreEncoded() pre-encoded} commands without serializing them again.
+	 */
+	default void sendCommandsAsynchronously(List<CMD> cmds, SendingErrorHandler sendingErrorHandler) {
+		sendMessageAsynchronously(new MULTI_CMD(cmds), sendingErrorHandler);
+	}
+
 	void close(UiSessionClosingReason closingReason, String message);
 
 	long getDataReceived();
@@ -0,0 +1,94 @@
+/*-
+ * ========================LICENSE_START=================================
+ * TeamApps
+ * ---
+ * Copyright (C) 2014 - 2025 TeamApps.org
+ * ---
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *      http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ * =========================LICENSE_END==================================
+ */
+package org.teamapps.uisession;
+
+import java.nio.ByteBuffer;
+import java.nio.charset.StandardCharsets;
+import java.util.List;
+
+/**
+ * Assembles a MULTI_CMD message from pre-encoded {@link CMD}s by concatenating their UTF-8 encoded ui commands
+ * into a single {@link ByteBuffer}. The ui commands themselves are not serialized again.
+ * <p>
+ * The result is JSON-equivalent to serializing a {@link org.teamapps.dto.MULTI_CMD} containing the same commands.
+ */
+public final class MultiCmdBinaryEncoder {
+
+	private static final byte[] PREFIX = "{\"_type\":\"MULTI_CMD\",\"cmds\":[".getBytes(StandardCharsets.UTF_8);
+	private static final byte[] SUFFIX = "]}".getBytes(StandardCharsets.UTF_8);
+	private static final byte[] ID_PREFIX = "{\"id\":".getBytes(StandardCharsets.UTF_8);
+	private static final byte[] COMMAND_PREFIX = ",\"c\":".getBytes(StandardCharsets.UTF_8);
+	private static final byte[] AWAITS_RESPONSE_SUFFIX = ",\"r\":true}".getBytes(StandardCharsets.UTF_8);
+	private static final int MAX_INT_DIGITS = 11;
+
+	private MultiCmdBinaryEncoder() {
+	}
+
+	/**
+	 * @param cmds pre-encoded commands (see {@link CMD#isPreEncoded()})
+	 * @return a flipped buffer, ready to be sent
+	 */
+	public static ByteBuffer encode(List<CMD> cmds) {
+		int maxSize = PREFIX.length + SUFFIX.length;
+		for (CMD cmd : cmds) {
+			maxSize += ID_PREFIX.length + MAX_INT_DIGITS + COMMAND_PREFIX.length + cmd.getEncodedUiCommand().length + AWAITS_RESPONSE_SUFFIX.length + 1;
+		}
+		ByteBuffer buffer = ByteBuffer.allocate(maxSize);
+		buffer.put(PREFIX);
+		for (int i = 0; i < cmds.size(); i++) {
+			CMD cmd = cmds.get(i);
+			if (i > 0) {
+				buffer.put((byte) ',');
+			}
+			buffer.put(ID_PREFIX);
+			putInt(buffer, cmd.getId());
+			buffer.put(COMMAND_PREFIX);
+			buffer.put(cmd.getEncodedUiCommand());
+			if (Boolean.TRUE.equals(cmd.getAwaitsResponse())) {
+				buffer.put(AWAITS_RESPONSE_SUFFIX);
+			} else {
+				buffer.put((byte) '}');
+			}
+		}
+		buffer.put(SUFFIX);
+		buffer.flip();
+		return buffer;
+	}
+
+	private static void putInt(ByteBuffer buffer, int value) {
+		if (value < 0) {
+			buffer.put((byte) '-');
+			if (value == Integer.MIN_VALUE) {
+				buffer.put("2147483648".getBytes(StandardCharsets.US_ASCII));
+				return;
+			}
+			value = -value;
+		}
+		int divisor = 1;
+		while (value / divisor >= 10) {
+			divisor *= 10;
+		}
+		while (divisor > 0) {
+			buffer.put((byte) ('0' + (value / divisor) % 10));
+			divisor /= 10;
+		}
+	}
+
+}
@@ -0,0 +1,283 @@
+/*-
+ * ========================LICENSE_START=================================
+ * TeamApps
+ * ---
+ * Copyright (C) 2014 - 2025 TeamApps.org
+ * ---
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ * 
+ *      http://www.apache.org/licenses/LICENSE-2.0
+ * 
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ * =========================LICENSE_END==================================
+ */
+package org.teamapps.uisession;
+
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.teamapps.dto.UiSessionClosingReason;
+
+import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Queue;
+import java.util.concurrent.ConcurrentLinkedQueue;
+import java.util.concurrent.atomic.AtomicBoolean;
+
+import static org.teamapps.uisession.UiSessionState.*;
+
+/**
+ * Takes care of the inactivity and timeout state transitions of {@link UiSession}s.
+ * <p>
+ * Sessions are distributed over a number of stripes, each of which has its own lock and its own hashed timer wheel.
+ * Every session is scheduled in the wheel slot of its next possible state transition (computed from the timestamp of the
+ * last message from the client). A {@link #tick(long)} therefore only visits the sessions whose deadline has passed,
+ * instead of all registered sessions. When a deadline is reached and the client has sent a message in the meantime, the
+ * session is simply rescheduled.
+ * <p>
+ * Sessions that are {@link UiSessionState#NEARLY_INACTIVE NEARLY_INACTIVE} or {@link UiSessionState#INACTIVE INACTIVE}
+ * and receive a message from the client are queued for re-evaluation, so they get active again with the next tick.
+ */
+class SessionHousekeeping {
+
+	private static final Logger LOGGER = LoggerFactory.getLogger(SessionHousekeeping.class);
+	private static final int MAX_WHEEL_SIZE = 4096;
+
+	private final long nearlyInactiveTimeoutMillis;
+	private final long inactivityTimeoutMillis;
+	private final long sessionTimeoutMillis;
+	private final long tickMillis;
+	private final long originMillis;
+	private final Stripe[] stripes;
+
+	SessionHousekeeping(long nearlyInactiveTimeoutMillis, long inactivityTimeoutMillis, long sessionTimeoutMillis, long tickMillis, int stripeCount, long now) {
+		if (tickMillis <= 0) {
+			throw new IllegalArgumentException("tickMillis must be positive!");
+		}
+		this.nearlyInactiveTimeoutMillis = nearlyInactiveTimeoutMillis;
+		this.inactivityTimeoutMillis = inactivityTimeoutMillis;
+		this.sessionTimeoutMillis = sessionTimeoutMillis;
+		this.tickMillis = tickMillis;
+		this.originMillis = now;
+		int wheelSize = nextPowerOfTwo((int) Math.min(MAX_WHEEL_SIZE, Math.max(nearlyInactiveTimeoutMillis, Math.max(inactivityTimeoutMillis, sessionTimeoutMillis)) / tickMillis + 2));
+		this.stripes = new Stripe[nextPowerOfTwo(Math.max(1, stripeCount))];
+		for (int i = 0; i < stripes.length; i++) {
+			stripes[i] = new Stripe(wheelSize, toTick(now));
+		}
+	}
+
+	public void register(UiSession session) {
+		getStripe(session.getSessionId()).register(session);
+	}
+
+	public void unregister(UiSession session) {
+		getStripe(session.getSessionId()).unregister(session.getSessionId());
+	}
+
+	public int size() {
+		int size = 0;
+		for (Stripe stripe : stripes) {
+			size += stripe.size();
+		}
+		return size;
+	}
+
+	/**
+	 * Applies all state transitions that are due at the given time.
+	 *
+	 * @return the number of sessions that were evaluated
+	 */
+	public int tick(long now) {
+		int evaluatedCount = 0;
+		for (Stripe stripe : stripes) {
+			List<Entry> dueEntries = stripe.pollDueEntries(now);
+			for (Entry entry : dueEntries) {
+				long nextDeadline = evaluate(entry.session, now);
+				if (nextDeadline >= 0) {
+					stripe.schedule(entry, nextDeadline);
+				}
+			}
+			evaluatedCount += dueEntries.size();
+		}
+		return evaluatedCount;
+	}
+
+	/**
+	 * @return the time at which the session needs to be evaluated again, or -1 if the session got closed
+	 */
+	private long evaluate(UiSession session, long now) {
+		if (session.getState() == CLOSED) {
+			return -1;
+		}
+		long timestampOfLastMessageFromClient = session.getTimestampOfLastMessageFromClient();
+		long timeSinceLastMessage = now - timestampOfLastMessageFromClient;
+		if (timeSinceLastMessage > sessionTimeoutMillis) {
+			LOGGER.info("Closing session: {} ({})", session.getName(), session.getSessionId());
+			session.close(UiSessionClosingReason.SESSION_TIMEOUT);
+			return -1;
+		} else if (timeSinceLastMessage > inactivityTimeoutMillis) {
+			if (session.getState() != INACTIVE) {
+				LOGGER.info("Marking session inactive: {} ({})", session.getName(), session.getSessionId());
+				session.setInactive();
+			}
+		} else if (timeSinceLastMessage > nearlyInactiveTimeoutMillis) {
+			if (session.getState() != NEARLY_INACTIVE) {
+				LOGGER.info("Marking session nearly inactive and sending PING to client: {} ({})", session.getName(), session.getSessionId());
+				session.setNearlyInactive();
+				session.ping();
+			}
+		} else if (session.getState() != ACTIVE) {
+			LOGGER.info("Marking session active: {} ({})", session.getName(), session.getSessionId());
+			session.setActive();
+		}
+
+		if (session.getTimestampOfLastMessageFromClient() != timestampOfLastMessageFromClient) {
+			// the client sent a message while we were changing the state
+			return now;
+		}
+		long nextThreshold = timeSinceLastMessage <= nearlyInactiveTimeoutMillis ? nearlyInactiveTimeoutMillis
+				: timeSinceLastMessage <= inactivityTimeoutMillis ? inactivityTimeoutMillis
+				: sessionTimeoutMillis;
+		return timestampOfLastMessageFromClient + nextThreshold + 1;
+	}
+
+	private Stripe getStripe(String sessionId) {
+		int hash = sessionId.hashCode();
+		return stripes[(hash ^ (hash >>> 16)) & (stripes.length - 1)];
+	}
+
+	private long toTick(long timeMillis) {
+		return Math.floorDiv(timeMillis - originMillis, tickMillis);
+	}
+
+	private static int nextPowerOfTwo(int value) {
+		return value <= 1 ? 1 : Integer.highestOneBit(value - 1) << 1;
+	}
+
+	private static class Entry {
+		private final UiSession session;
+		private final AtomicBoolean reevaluationPending = new AtomicBoolean();
+		private long deadlineTick;
+		private int slot = -1; // -1 if not linked into the wheel
+		private Entry previous;
+		private Entry next;
+		private boolean registered = true;
+
+		public Entry(UiSession session) {
+			this.session = session;
+		}
+	}
+
+	private class Stripe {
+		private final Entry[] wheel;
+		private final int mask;
+		private final Map<String, Entry> entriesBySessionId = new HashMap<>();
+		private final Queue<Entry> reevaluationQueue = new ConcurrentLinkedQueue<>();
+		private long lastProcessedTick;
+
+		public Stripe(int wheelSize, long currentTick) {
+			this.wheel = new Entry[wheelSize];
+			this.mask = wheelSize - 1;
+			this.lastProcessedTick = currentTick;
+		}
+
+		public synchronized int size() {
+			return entriesBySessionId.size();
+		}
+
+		public void register(UiSession session) {
+			Entry entry = new Entry(session);
+			session.setClientActivityWhileNotActiveHandler(() -> {
+				if (entry.reevaluationPending.compareAndSet(false, true)) {
+					reevaluationQueue.add(entry);
+				}
+			});
+			synchronized (this) {
+				Entry previousEntry = entriesBySessionId.put(session.getSessionId(), entry);
+				if (previousEntry != null) {
+					previousEntry.registered = false;
+					unlink(previousEntry);
+				}
+				link(entry, toTick(session.getTimestampOfLastMessageFromClient() + nearlyInactiveTimeoutMillis + 1) + 1);
+			}
+		}
+
+		public synchronized void unregister(String sessionId) {
+			Entry entry = entriesBySessionId.remove(sessionId);
+			if (entry != null) {
+				entry.registered = false;
+				unlink(entry);
+			}
+		}
+
+		public synchronized void schedule(Entry entry, long deadlineMillis) {
+			if (entry.registered) {
+				link(entry, toTick(deadlineMillis) + 1);
+			}
+		}
+
+		public synchronized List<Entry> pollDueEntries(long now) {
+			List<Entry> dueEntries = new ArrayList<>();
+			long currentTick = toTick(now);
+			long lastTickToVisit = Math.min(currentTick, lastProcessedTick + wheel.length);
+			for (long tick = lastProcessedTick + 1; tick <= lastTickToVisit; tick++) {
+				Entry entry = wheel[(int) (tick & mask)];
+				while (entry != null) {
+					Entry next = entry.next;
+					if (entry.deadlineTick <= currentTick) {
+						unlink(entry);
+						dueEntries.add(entry);
+					}
+					entry = next;
+				}
+			}
+			lastProcessedTick = Math.max(lastProcessedTick, currentTick);
+
+			Entry entry;
+			while ((entry = reevaluationQueue.poll()) != null) {
+				entry.reevaluationPending.set(false);
+				if (entry.registered && entry.slot != -1) {
+					unlink(entry);
+					dueEntries.add(entry);
+				}
+			}
+			return dueEntries;
+		}
+
+		private void link(Entry entry, long deadlineTick) {
+			unlink(entry);
+			entry.deadlineTick = Math.max(deadlineTick, lastProcessedTick + 1);
+			entry.slot = (int) (entry.deadlineTick & mask);
+			entry.next = wheel[entry.slot];
+			if (entry.next != null) {
+				entry.next.previous = entry;
+			}
+			wheel[entry.slot] = entry;
+		}
+
+		private void unlink(Entry entry) {
+			if (entry.slot == -1) {
+				return;
+			}
+			if (entry.previous != null) {
+				entry.previous.next = entry.next;
+			} else {
+				wheel[entry.slot] = entry.next;
+			}
+			if (entry.next != null) {
+				entry.next.previous = entry.previous;
+			}
+			entry.previous = null;
+			entry.next = null;
+			entry.slot = -1;
+		}
+	}
+
+}
@@ -36,6 +36,8 @@ import org.teamapps.event.Event;
 import org.teamapps.icons.IconProvider;
 import org.teamapps.icons.SessionIconProvider;
 import org.teamapps.server.UxServerContext;
+import org.teamapps.uisession.statistics.LatencyStats;
+import org.teamapps.uisession.statistics.RunningUiSessionStats;
 import org.teamapps.uisession.statistics.SessionStatsUpdatedEventData;
 import org.teamapps.uisession.statistics.UiSessionStats;
 import org.teamapps.util.threading.SequentialExecutorFactory;
@@ -52,7 +54,7 @@ import java.util.stream.Collectors;
 
 import static org.teamapps.common.TeamAppsVersion.TEAMAPPS_DEV_SERVER_VERSION;
 import static org.teamapps.common.TeamAppsVersion.TEAMAPPS_VERSION;
-import static org.teamapps.uisession.UiSessionState.*;
+import static org.teamapps.uisession.UiSessionState.CLOSED;
 
 /**
  * Implements a cache for {@link UiSession} instances.
@@ -64,6 +66,8 @@ public class TeamAppsSessionManager implements HttpSessionListener {
 	private static final Logger LOGGER = LoggerFactory.getLogger(TeamAppsSessionManager.class);
 	public static final String TEAMAPPS_VERSION_REFRESH_PARAMETER = "teamappsRefresh"; // keep in-sync with JavaScript!!!
 
+	private static final int HOUSEKEEPING_STRIPE_COUNT = 16;
+
 	public final Event<SessionStatsUpdatedEventData> onStatsUpdated = new Event<>();
 
 	private final ScheduledExecutorService houseKeepingScheduledExecutor;
@@ -71,6 +75,8 @@ public class TeamAppsSessionManager implements HttpSessionListener {
 	private final TeamAppsConfiguration config;
 
 	private final Map<String, SessionPair> sessionsById = new ConcurrentHashMap<>();
+	private final SessionHousekeeping sessionHousekeeping;
+	private volatile UiSessionTimingListener timingListener = UiSessionTimingListener.NOOP;
 	private final Deque<UiSessionStats> closedSessionsStatistics = Queues.synchronizedDeque(new ArrayDeque<>());
 
 	private final SequentialExecutorFactory sessionExecutorFactory;
@@ -103,6 +109,14 @@ public class TeamAppsSessionManager implements HttpSessionListener {
 
 		long sessionStateHouseKeepingInterval = Math.min(config.getUiSessionPreInactivityPingMillis() / 2, config.getUiSessionInactivityTimeoutMillis() / 4);
 		LOGGER.info("sessionStateHouseKeepingInterval: {}ms", sessionStateHouseKeepingInterval);
+		this.sessionHousekeeping = new SessionHousekeeping(
+				config.getUiSessionInactivityTimeoutMillis() - config.getUiSessionPreInactivityPingMillis(),
+				config.getUiSessionInactivityTimeoutMillis(),
+				config.getUiSessionTimeoutMillis(),
+				sessionStateHouseKeepingInterval,
+				HOUSEKEEPING_STRIPE_COUNT,
+				System.currentTimeMillis()
+		);
 		this.houseKeepingScheduledExecutor.scheduleAtFixedRate(
 				() -> {
 					try {
@@ -169,6 +183,52 @@ public class TeamAppsSessionManager implements HttpSessionListener {
 				.sum();
 	}
 
+	public UiSessionTimingListener getTimingListener() {
+		return timingListener;
+	}
+
+	/**
+	 * Sets the listener for timings of all current and future sessions.
+	 */
+	public void setTimingListener(UiSessionTimingListener timingListener) {
+		this.timingListener = timingListener;
+		sessionsById.values().forEach(sessionPair -> sessionPair.getUiSession().setTimingListener(timingListener));
+	}
+
+	/**
+	 * @return the event latencies of all current sessions combined
+	 */
+	public LatencyStats getEventLatencyStats() {
+		return RunningUiSessionStats.combineEventLatencyStats(getAllRunningSessionStats());
+	}
+
+	/**
+	 * @return the command send latencies of all current sessions combined
+	 */
+	public LatencyStats getCommandSendLatencyStats() {
+		return RunningUiSessionStats.combineCommandSendLatencyStats(getAllRunningSessionStats());
+	}
+
+	/**
+	 * @return the event latencies of all current sessions during the last completed minute combined
+	 */
+	public LatencyStats getEventLatencyStatsLastMinute() {
+		return RunningUiSessionStats.combineEventLatencyStatsLastMinute(getAllRunningSessionStats());
+	}
+
+	/**
+	 * @return the command send latencies of all current sessions during the last completed minute combined
+	 */
+	public LatencyStats getCommandSendLatencyStatsLastMinute() {
+		return RunningUiSessionStats.combineCommandSendLatencyStatsLastMinute(getAllRunningSessionStats());
+	}
+
+	private List<RunningUiSessionStats> getAllRunningSessionStats() {
+		return sessionsById.values().stream()
+				.map(sessionPair -> sessionPair.getUiSession().getStatistics())
+				.collect(Collectors.toList());
+	}
+
 	public int getNumberOfAvailableClosedSessionStatistics() {
 		return closedSessionsStatistics.size();
 	}
@@ -190,11 +250,14 @@ public class TeamAppsSessionManager implements HttpSessionListener {
 				+ "maxRequestedCommandId = [" + maxRequestedCommandId + "], messageSender = [" + messageSender + "]");
 
 		UiSession uiSession = new UiSession(sessionId, System.currentTimeMillis(), config, objectMapper, messageSender);
+		uiSession.setTimingListener(timingListener);
+		uiSession.setCommandFlushScheduler(houseKeepingScheduledExecutor);
 		uiSession.addSessionListener(new UiSessionListener() {
 			@Override
 			public void onStateChanged(String sessionId, UiSessionState state) {
 				if (state == CLOSED) {
 					sessionsById.remove(uiSession.getSessionId());
+					sessionHousekeeping.unregister(uiSession);
 					closedSessionsStatistics.addLast(uiSession.getStatistics().immutableCopy());
 					while (closedSessionsStatistics.size() > 10_000) {
 						closedSessionsStatistics.removeFirst();
@@ -222,6 +285,7 @@ public class TeamAppsSessionManager implements HttpSessionListener {
 		}
 
 		sessionsById.put(sessionId, new SessionPair(uiSession, sessionContext));
+		sessionHousekeeping.register(uiSession);
 
 		uiSession.sendInitOk();
 
@@ -243,46 +307,11 @@ public class TeamAppsSessionManager implements HttpSessionListener {
 		se.getSession().setMaxInactiveInterval(config.getHttpSessionTimeoutSeconds());
 	}
 
+	/**
+	 * Applies all inactivity and timeout state transitions that are due. Only sessions whose deadline has passed are visited.
+	 */
 	public void updateSessionStates() {
-		long now = System.currentTimeMillis();
-		Map<UiSessionState, List<UiSession>> sessionsByActivity;
-		List<UiSession> sessionsToClose;
-		long nearlyInactiveTimeout = config.getUiSessionInactivityTimeoutMillis() - config.getUiSessionPreInactivityPingMillis();
-		sessionsByActivity = sessionsById.values().stream()
-				.map(SessionPair::getUiSession)
-				.collect(Collectors.groupingBy(session -> {
-					long timeSinceLastMessage = now - session.getTimestampOfLastMessageFromClient();
-					return timeSinceLastMessage > config.getUiSessionInactivityTimeoutMillis() ? INACTIVE
-							: timeSinceLastMessage > nearlyInactiveTimeout ? NEARLY_INACTIVE
-							: ACTIVE;
-				}));
-		sessionsToClose = sessionsById.values().stream()
-				.map(SessionPair::getUiSession)
-				.filter(session -> now - session.getTimestampOfLastMessageFromClient() > config.getUiSessionTimeoutMillis())
-				.collect(Collectors.toList());
-		for (UiSession inactiveSession : sessionsByActivity.getOrDefault(INACTIVE, List.of())) {
-			if (inactiveSession.getState() != INACTIVE) {
-				LOGGER.info("Marking session inactive: {} ({})", inactiveSession.getName(), inactiveSession.getSessionId());
-				inactiveSession.setInactive();
-			}
-		}
-		for (UiSession criticalSession : sessionsByActivity.getOrDefault(NEARLY_INACTIVE, List.of())) {
-			if (criticalSession.getState() != NEARLY_INACTIVE) {
-				LOGGER.info("Marking session nearly inactive and sending PING to client: {} ({})", criticalSession.getName(), criticalSession.getSessionId());
-				criticalSession.setNearlyInactive();
-				criticalSession.ping();
-			}
-		}
-		for (UiSession activeSession : sessionsByActivity.getOrDefault(ACTIVE, List.of())) {
-			if (activeSession.getState() != ACTIVE) {
-				LOGGER.info("Marking session active: {} ({})", activeSession.getName(), activeSession.getSessionId());
-				activeSession.setActive();
-			}
-		}
-		for (UiSession sessionToClose : sessionsToClose) {
-			LOGGER.info("Closing session: {} ({})", sessionToClose.getName(), sessionToClose.getSessionId());
-			sessionToClose.close(UiSessionClosingReason.SESSION_TIMEOUT);
-		}
+		sessionHousekeeping.tick(System.currentTimeMillis());
 	}
 
 	public void destroy() {
@@ -25,16 +25,20 @@ import org.slf4j.Logger;
 import org.slf4j.LoggerFactory;
 import org.teamapps.config.TeamAppsConfiguration;
 import org.teamapps.dto.*;
-import org.teamapps.uisession.commandbuffer.CommandBuffer;
 import org.teamapps.uisession.commandbuffer.CommandBufferException;
+import org.teamapps.uisession.commandbuffer.ReplayableCommandBuffer;
 import org.teamapps.uisession.statistics.RunningUiSessionStats;
 
 import java.lang.invoke.MethodHandles;
 import java.util.ArrayList;
+import java.util.HashMap;
 import java.util.List;
 import java.util.Map;
 import java.util.concurrent.ConcurrentHashMap;
 import java.util.concurrent.CopyOnWriteArrayList;
+import java.util.concurrent.RejectedExecutionException;
+import java.util.concurrent.ScheduledExecutorService;
+import java.util.concurrent.TimeUnit;
 import java.util.concurrent.atomic.AtomicInteger;
 import java.util.concurrent.atomic.AtomicLong;
 import java.util.function.Consumer;
@@ -51,17 +55,20 @@ public class UiSession {
 
 	private MessageSender messageSender;
 
-	private final CommandBuffer commandBuffer;
+	private final ReplayableCommandBuffer commandBuffer;
 	private final AtomicInteger commandIdCounter = new AtomicInteger();
 
 	private final AtomicLong timestampOfLastMessageFromClient = new AtomicLong();
 	private int lastReceivedClientMessageId;
 	private boolean clientReadyToReceiveCommands = true;
-	private UiSessionState state = UiSessionState.ACTIVE;
+	private volatile UiSessionState state = UiSessionState.ACTIVE;
+	private volatile Runnable clientActivityWhileNotActiveHandler;
 
 	private int maxRequestedCommandId = 0;
 	private int lastSentCommandId;
 	private long requestedCommandsZeroTimestamp = -1;
+	private final AdaptiveCommandWindow commandWindow; // null if the client's command window is not adaptive
+	private int announcedCommandWindowSize;
 
 	private class ResultCallbackWithCommandClass {
 		private final Consumer<Object> callback;
@@ -75,6 +82,29 @@ public class UiSession {
 
 	private final Map<Integer, ResultCallbackWithCommandClass> resultCallbacksByCmdId = new ConcurrentHashMap<>();
 
+	private record CoalescingKey(String componentId, Class<?> commandClass) {
+	}
+
+	/**
+	 * @param handle see {@link ReplayableCommandBuffer#addCommand(CMD)}
+	 */
+	private record BufferedCommand(int id, long handle) {
+	}
+
+	/**
+	 * The latest coalescable commands per component and command type. May contain commands that have already been sent.
+	 */
+	private final Map<CoalescingKey, BufferedCommand> coalescableCommandIds = new HashMap<>();
+	private int commandBatchDepth; // guarded by this
+	private int deferredCommandsCount; // guarded by this
+	private long firstDeferredCommandNanos; // guarded by this
+	private volatile ScheduledExecutorService commandFlushScheduler; // null if deferred commands are only flushed when the next command is queued
+	private long oldestUnsentCommandNanos = -1; // guarded by this
+	private int sampledCommandId = -1; // guarded by this
+	private long sampledCommandNanos; // guarded by this
+	private Class<? extends UiCommand> sampledCommandClass; // guarded by this
+	private volatile UiSessionTimingListener timingListener = UiSessionTimingListener.NOOP;
+
 	private final RunningUiSessionStats statistics;
 
 	public UiSession(String sessionId, long creationTime, TeamAppsConfiguration config, ObjectMapper objectMapper, MessageSender messageSender) {
@@ -86,7 +116,12 @@ public class UiSession {
 		this.messageSender = messageSender;
 
 		statistics = new RunningUiSessionStats(System.currentTimeMillis(), sessionId, name);
-		commandBuffer = new CommandBuffer(config.getCommandBufferLength(), config.getCommandBufferTotalSize());
+		commandBuffer = config.getCommandBufferType().createBuffer(config.getCommandBufferLength(), config.getCommandBufferTotalSize());
+		commandWindow = config.isClientAdaptiveRequestedCommands()
+				? new AdaptiveCommandWindow(config.getClientMinRequestedCommands(), config.getClientMaxRequestedCommands(), config.getClientMaxAdaptiveRequestedCommands())
+				: null;
+		announcedCommandWindowSize = config.getClientMaxRequestedCommands();
+		statistics.commandWindowUpdated(announcedCommandWindowSize, -1);
 	}
 
 	public void updateStats() {
@@ -110,6 +145,23 @@ public class UiSession {
 		return timestampOfLastMessageFromClient.get();
 	}
 
+	private void updateTimestampOfLastMessageFromClient() {
+		this.timestampOfLastMessageFromClient.set(System.currentTimeMillis());
+		UiSessionState state = this.state;
+		Runnable handler = this.clientActivityWhileNotActiveHandler;
+		if (handler != null && (state == UiSessionState.NEARLY_INACTIVE || state == UiSessionState.INACTIVE)) {
+			handler.run();
+		}
+	}
+
+	/**
+	 * Sets the handler that gets invoked when a message from the client is received while this session is
+	 * {@link UiSessionState#NEARLY_INACTIVE NEARLY_INACTIVE} or {@link UiSessionState#INACTIVE INACTIVE}.
+	 */
+	void setClientActivityWhileNotActiveHandler(Runnable clientActivityWhileNotActiveHandler) {
+		this.clientActivityWhileNotActiveHandler = clientActivityWhileNotActiveHandler;
+	}
+
 	public void setMessageSender(MessageSender messageSender) {
 		this.messageSender = messageSender;
 	}
@@ -125,26 +177,145 @@ public class UiSession {
 		statistics.commandSent(commandWithCallback.getUiCommand());
 		CMD cmd = createCMD(commandWithCallback);
 		synchronized (this) {
+			if (oldestUnsentCommandNanos < 0) {
+				oldestUnsentCommandNanos = System.nanoTime();
+			}
+			if (sampledCommandId < 0 && timingListener != UiSessionTimingListener.NOOP) {
+				sampledCommandId = cmd.getId();
+				sampledCommandNanos = System.nanoTime();
+				sampledCommandClass = commandWithCallback.getUiCommand().getClass();
+			}
+			long handle;
 			try {
-				commandBuffer.addCommand(cmd);
+				handle = commandBuffer.addCommand(cmd);
 			} catch (CommandBufferException e) {
 				LOGGER.error("Exception while adding command to CommandBuffer!", e);
 				close(UiSessionClosingReason.COMMANDS_OVERFLOW);
 				return -1;
 			}
-			sendAllQueuedCommandsIfPossible();
+			if (config.isCommandCoalescing()) {
+				removeSupersededCommand(commandWithCallback, new BufferedCommand(cmd.getId(), handle));
+			}
+			if (commandBatchDepth == 0 || isCommandBatchDue()) {
+				deferredCommandsCount = 0;
+				sendAllQueuedCommandsIfPossible();
+			}
 			return commandBuffer.getUnconsumedCommandsCount();
 		}
 	}
 
+	/**
+	 * Must be called while holding the lock on this session.
+	 */
+	private boolean isCommandBatchDue() {
+		long now = System.nanoTime();
+		if (deferredCommandsCount++ == 0) {
+			firstDeferredCommandNanos = now;
+			scheduleDeferredCommandsFlush();
+		}
+		return deferredCommandsCount >= config.getCommandFlushMaxBatchSize() || isMaxDelayOfDeferredCommandsReached(now);
+	}
+
+	private boolean isMaxDelayOfDeferredCommandsReached(long nowNanos) {
+		return nowNanos - firstDeferredCommandNanos >= TimeUnit.MILLISECONDS.toNanos(config.getCommandFlushMaxDelayMillis());
+	}
+
+	/**
+	 * Makes sure the first deferred command gets sent after the max delay, even if no further command gets queued
+	 * and the batch does not end in time (e.g. while the task is busy with something else).
+	 * Must be called while holding the lock on this session.
+	 */
+	private void scheduleDeferredCommandsFlush() {
+		ScheduledExecutorService scheduler = this.commandFlushScheduler;
+		if (scheduler == null) {
+			return;
+		}
+		try {
+			scheduler.schedule(() -> {
+				synchronized (this) {
+					// the batch may have been flushed in the meantime, and a new one may have been started
+					if (deferredCommandsCount > 0 && isMaxDelayOfDeferredCommandsReached(System.nanoTime())) {
+						flushDeferredCommands();
+					}
+				}
+			}, config.getCommandFlushMaxDelayMillis(), TimeUnit.MILLISECONDS);
+		} catch (RejectedExecutionException e) {
+			LOGGER.debug("Could not schedule flushing deferred commands (scheduler shut down?)", e);
+		}
+	}
+
+	/**
+	 * Sets the scheduler used to flush deferred commands when they reach the max delay
+	 * (see {@link TeamAppsConfiguration#getCommandFlushMaxDelayMillis()}).
+	 * Without a scheduler, the max delay is only checked when a command gets queued.
+	 */
+	public void setCommandFlushScheduler(ScheduledExecutorService commandFlushScheduler) {
+		this.commandFlushScheduler = commandFlushScheduler;
+	}
+
+	/**
+	 * Starts deferring the sending of commands until {@link #endCommandBatch()} is called, so all commands queued in
+	 * between are sent to the client using as few messages as possible.
+	 * The batch is flushed early when it exceeds the configured maximum size or delay
+	 * (see {@link TeamAppsConfiguration#getCommandFlushMaxBatchSize()} and {@link TeamAppsConfiguration#getCommandFlushMaxDelayMillis()}).
+	 * <p>
+	 * Calls may be nested. Every call must be followed by a call to {@link #endCommandBatch()}.
+	 */
+	public void startCommandBatch() {
+		synchronized (this) {
+			commandBatchDepth++;
+		}
+	}
+
+	/**
+	 * Ends a command batch started using {@link #startCommandBatch()}.
+	 * Ending the outermost batch sends all commands queued in the meantime.
+	 */
+	public void endCommandBatch() {
+		synchronized (this) {
+			if (commandBatchDepth > 0 && --commandBatchDepth == 0 && deferredCommandsCount > 0) {
+				deferredCommandsCount = 0;
+				sendAllQueuedCommandsIfPossible();
+			}
+		}
+	}
+
+	/**
+	 * Sends the commands deferred by the current command batch (if any) without ending the batch.
+	 */
+	private void flushDeferredCommands() {
+		synchronized (this) {
+			if (deferredCommandsCount > 0) {
+				deferredCommandsCount = 0;
+				sendAllQueuedCommandsIfPossible();
+			}
+		}
+	}
+
+	/**
+	 * Removes the unsent command of the same type for the same component, if the command is {@link UiCommand#isCoalescable() coalescable}.
+	 * Must be called while holding the lock on this session.
+	 */
+	private void removeSupersededCommand(UiCommandWithResultCallback commandWithCallback, BufferedCommand command) {
+		UiCommand<?> uiCommand = commandWithCallback.getUiCommand();
+		if (!uiCommand.isCoalescable() || commandWithCallback.getResultCallback() != null) {
+			return;
+		}
+		BufferedCommand supersededCommand = coalescableCommandIds.put(new CoalescingKey(uiCommand.getComponentId(), uiCommand.getClass()), command);
+		if (supersededCommand != null && supersededCommand.id() > lastSentCommandId
+				&& commandBuffer.removeUnconsumedCommand(supersededCommand.id(), supersededCommand.handle())) {
+			LOGGER.trace("Coalesced command {} (superseded by {})", supersededCommand.id(), command.id());
+		}
+	}
+
 	public ClientBackPressureInfo getClientBackPressureInfo() {
 		synchronized (this) {
 			return new ClientBackPressureInfo(
 					config.getCommandBufferLength(),
 					commandBuffer.getBufferedCommandsCount(),
 					commandBuffer.getUnconsumedCommandsCount(),
-					config.getClientMinRequestedCommands(),
-					config.getClientMaxRequestedCommands(),
+					commandWindow != null ? commandWindow.getMinRequestedCommands() : config.getClientMinRequestedCommands(),
+					commandWindow != null ? commandWindow.getWindowSize() : config.getClientMaxRequestedCommands(),
 					maxRequestedCommandId - lastSentCommandId,
 					requestedCommandsZeroTimestamp
 			);
@@ -155,7 +326,11 @@ public class UiSession {
 		CMD cmd;
 		try {
 			int cmdId = commandIdCounter.incrementAndGet();
-			cmd = new CMD(cmdId, objectMapper.writeValueAsString(commandWithCallback.getUiCommand()));
+			if (config.isBinaryCommandFrames()) {
+				cmd = new CMD(cmdId, objectMapper.writeValueAsBytes(commandWithCallback.getUiCommand()));
+			} else {
+				cmd = new CMD(cmdId, objectMapper.writeValueAsString(commandWithCallback.getUiCommand()));
+			}
 
 			if (commandWithCallback.getResultCallback() != null) {
 				cmd.setAwaitsResponse(true);
@@ -170,6 +345,11 @@ public class UiSession {
 	public boolean rewindToCommand(int commandId) {
 		synchronized (this) {
 			this.lastSentCommandId = commandId - 1;
+			coalescableCommandIds.clear(); // never remove commands that might already have been sent
+			sampledCommandId = -1;
+			if (commandWindow != null) {
+				commandWindow.clearSentBatches();
+			}
 			return commandBuffer.rewindToCommand(commandId);
 		}
 	}
@@ -197,9 +377,26 @@ public class UiSession {
 						break;
 					}
 				}
+				if (!cmdsToSend.isEmpty() && oldestUnsentCommandNanos >= 0) {
+					long now = System.nanoTime();
+					statistics.commandsSent(now - oldestUnsentCommandNanos);
+					// commands left unsent are measured from now on (we do not keep timestamps per command)
+					oldestUnsentCommandNanos = commandBuffer.getUnconsumedCommandsCount() > 0 ? now : -1;
+				}
+				if (sampledCommandId >= 0 && lastSentCommandId >= sampledCommandId) {
+					// if the sampled command got coalesced, this measures the command that superseded it
+					timingListener.onCommandSent(sampledCommandClass, System.nanoTime() - sampledCommandNanos);
+					sampledCommandId = -1;
+				}
+				if (commandBuffer.getUnconsumedCommandsCount() == 0) {
+					coalescableCommandIds.clear();
+				}
+				if (commandWindow != null && !cmdsToSend.isEmpty()) {
+					commandWindow.commandsSent(lastSentCommandId, System.currentTimeMillis());
+				}
 			}
 			if (!cmdsToSend.isEmpty()) {
-				sendAsyncWithErrorHandler(new MULTI_CMD(cmdsToSend));
+				sendCommandsAsyncWithErrorHandler(cmdsToSend);
 			}
 		}
 	}
@@ -213,16 +410,33 @@ public class UiSession {
 
 	public void handleCommandRequest(int maxRequestedCommandId, Integer lastReceivedCommandIdOrNull) {
 		LOGGER.trace("UiSession.requestCommands: maxRequestedCommandId = [" + maxRequestedCommandId + "]");
-		this.timestampOfLastMessageFromClient.set(System.currentTimeMillis());
+		updateTimestampOfLastMessageFromClient();
 		synchronized (this) {
 			if (lastReceivedCommandIdOrNull != null) {
 				this.commandBuffer.purgeTillCommand(lastReceivedCommandIdOrNull);
+				if (commandWindow != null) {
+					boolean windowLimited = lastSentCommandId >= this.maxRequestedCommandId && commandBuffer.getUnconsumedCommandsCount() > 0;
+					commandWindow.commandsAcknowledged(lastReceivedCommandIdOrNull, windowLimited, System.currentTimeMillis());
+					updateCommandWindow();
+				}
 			}
 			this.maxRequestedCommandId = Math.max(maxRequestedCommandId, this.maxRequestedCommandId);
 			reviveConnection();
 		}
 	}
 
+	/**
+	 * Tells the client about a changed command window. Must be called while holding the lock on this session.
+	 */
+	private void updateCommandWindow() {
+		int windowSize = commandWindow.getWindowSize();
+		if (windowSize != announcedCommandWindowSize) {
+			announcedCommandWindowSize = windowSize;
+			sendAsyncWithErrorHandler(new CMD_WINDOW(commandWindow.getMinRequestedCommands(), windowSize));
+		}
+		statistics.commandWindowUpdated(windowSize, commandWindow.getSmoothedRoundTripTimeMillis());
+	}
+
 	public void sendInitOk() {
 		LOGGER.debug("Sending INIT_OK for {}", sessionId);
 		sendAsyncWithErrorHandler(new INIT_OK(
@@ -230,7 +444,7 @@ public class UiSession {
 				config.getClientMaxRequestedCommands(),
 				config.getClientEventsBufferSize(),
 				config.getKeepaliveMessageIntervalMillis()
-		));
+		).setBinaryClientMessages(config.isBinaryClientMessages()));
 	}
 
 	/**
@@ -248,7 +462,7 @@ public class UiSession {
 
 	public void handleEvent(int clientMessageId, UiEvent event) {
 		statistics.eventReceived(event);
-		this.timestampOfLastMessageFromClient.set(System.currentTimeMillis());
+		updateTimestampOfLastMessageFromClient();
 		if (LOGGER.isDebugEnabled()) {
 			LOGGER.debug("Recieved event ({}): {}", sessionId.toString().substring(0, 8), event.getUiEventType());
 		}
@@ -258,8 +472,9 @@ public class UiSession {
 	}
 
 	public void handleQuery(int clientMessageId, UiQuery query) {
+		long receivedNanos = System.nanoTime();
 		statistics.queryReceived(query);
-		this.timestampOfLastMessageFromClient.set(System.currentTimeMillis());
+		updateTimestampOfLastMessageFromClient();
 		if (LOGGER.isDebugEnabled()) {
 			LOGGER.debug("Recieved query ({}): {}", sessionId.toString().substring(0, 8), query.getUiQueryType());
 		}
@@ -269,14 +484,17 @@ public class UiSession {
 				sessionId,
 				query,
 				result -> {
+					// the result may refer to things created by commands of the same batch (e.g. templates), so these must arrive first
+					flushDeferredCommands();
 					sendAsyncWithErrorHandler(new QUERY_RESULT(clientMessageId, result));
 					statistics.queryResultSentFor(query);
+					timingListener.onQueryAnswered(query.getUiQueryType(), System.nanoTime() - receivedNanos);
 				}
 		));
 	}
 
 	public void handleCommandResult(int clientMessageId, int cmdId, Object result) {
-		this.timestampOfLastMessageFromClient.set(System.currentTimeMillis());
+		updateTimestampOfLastMessageFromClient();
 		if (LOGGER.isDebugEnabled()) {
 			LOGGER.debug("Recieved command result ({}): {}", sessionId.toString().substring(0, 8), result);
 		}
@@ -306,7 +524,7 @@ public class UiSession {
 			synchronized (this) {
 				this.maxRequestedCommandId = Math.max(maxRequestedCommandId, this.maxRequestedCommandId);
 			}
-			sendAsyncWithErrorHandler(new REINIT_OK(lastReceivedClientMessageId));
+			sendAsyncWithErrorHandler(new REINIT_OK(lastReceivedClientMessageId).setBinaryClientMessages(config.isBinaryClientMessages()));
 			reviveConnection();
 		} else {
 			LOGGER.warn("Could not reinit. Command with id " + lastReceivedCommandId + "not found in command buffer.");
@@ -315,16 +533,29 @@ public class UiSession {
 	}
 
 	public void sendAsyncWithErrorHandler(AbstractServerMessage message) {
+		this.messageSender.sendMessageAsynchronously(message, createSendingErrorHandler());
+	}
+
+	private void sendCommandsAsyncWithErrorHandler(List<CMD> cmds) {
+		this.messageSender.sendCommandsAsynchronously(cmds, createSendingErrorHandler());
+	}
+
+	private SendingErrorHandler createSendingErrorHandler() {
 		final long sendTime = System.currentTimeMillis();
-		this.messageSender.sendMessageAsynchronously(message, (exception) -> {
+		return (exception) -> {
 			if (timestampOfLastMessageFromClient.get() <= sendTime) {
 				clientReadyToReceiveCommands = false;
 			}
-		});
+			if (commandWindow != null) {
+				synchronized (this) {
+					commandWindow.sendingFailed();
+				}
+			}
+		};
 	}
 
 	public void handleKeepAlive() {
-		this.timestampOfLastMessageFromClient.set(System.currentTimeMillis());
+		updateTimestampOfLastMessageFromClient();
 		this.reviveConnection();
 	}
 
@@ -348,6 +579,7 @@ public class UiSession {
 		if (this.state == UiSessionState.CLOSED) {
 			return; // already closed. nothing to do
 		}
+		flushDeferredCommands(); // e.g. if the session is closed within a command batch, the client should still get the commands queued before
 		setState(UiSessionState.CLOSED);
 		failsafeInvokeSessionListeners(sl -> sl.onClosed(sessionId, reason)); // note that this is executed AFTER the state change handlers!
 		this.messageSender.close(reason, null);
@@ -370,4 +602,12 @@ public class UiSession {
 		return statistics;
 	}
 
+	public UiSessionTimingListener getTimingListener() {
+		return timingListener;
+	}
+
+	public void setTimingListener(UiSessionTimingListener timingListener) {
+		this.timingListener = timingListener;
+	}
+
 }
@@ -0,0 +1,79 @@
+/*-
+ * ========================LICENSE_START=================================
+ * TeamApps
+ * ---
+ * Copyright (C) 2014 - 2025 TeamApps.org
+ * ---
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ * 
+ *      http://www.apache.org/licenses/LICENSE-2.0
+ * 
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ * =========================LICENSE_END==================================
+ */
+package org.teamapps.uisession;
+
+import org.teamapps.dto.UiCommand;
+import org.teamapps.dto.UiEventType;
+import org.teamapps.dto.UiQueryType;
+
+/**
+ * Receives timings of the processing of client messages and commands, e.g. for exporting them as metrics
+ * (see {@link org.teamapps.ux.session.TeamAppsPipelineMetrics}).
+ * <p>
+ * Methods are invoked on the hot path, by arbitrary threads. Implementations must therefore be thread-safe and fast.
+ */
+public interface UiSessionTimingListener {
+
+	UiSessionTimingListener NOOP = new UiSessionTimingListener() {
+	};
+
+	/**
+	 * @param queueDelayNanos the time from receiving the event until its handling task started on the session's executor
+	 */
+	default void onEventHandlingStarted(UiEventType eventType, long queueDelayNanos) {
+	}
+
+	/**
+	 * @param executionNanos the time the event handler took
+	 */
+	default void onEventHandled(UiEventType eventType, long executionNanos) {
+	}
+
+	/**
+	 * Invoked when a batch of SessionContext-bound event listener notifications starts executing
+	 * (see {@link org.teamapps.ux.session.SessionContext#enqueueEventNotification(Runnable)}).
+	 *
+	 * @param notificationCount the number of listener notifications in the batch
+	 * @param fanOutDelayNanos  the time from enqueuing the first notification of the batch until its execution started
+	 */
+	default void onEventNotificationsStarted(int notificationCount, long fanOutDelayNanos) {
+	}
+
+	/**
+	 * Invoked for a sample of the commands sent (at most one command per session is being measured at a time).
+	 *
+	 * @param bufferNanos the time the command spent unconsumed in the command buffer
+	 */
+	default void onCommandSent(Class<? extends UiCommand> commandClass, long bufferNanos) {
+	}
+
+	/**
+	 * @param nanos the time from handing a message to the WebSocket container until the sending was completed
+	 */
+	default void onMessageSendingCompleted(boolean success, long nanos) {
+	}
+
+	/**
+	 * @param nanos the time from receiving the query until the result was sent
+	 */
+	default void onQueryAnswered(UiQueryType queryType, long nanos) {
+	}
+
+}
@@ -26,13 +26,14 @@ import org.teamapps.uisession.CMD;
 /**
  * NOT THREAD-SAFE! Synchronization must be provided by client code.
  */
-public class CommandBuffer {
+public class CommandBuffer implements ReplayableCommandBuffer {
 
 	private static final Logger LOGGER = LoggerFactory.getLogger(CommandBuffer.class);
+	private static final CMD REMOVED = new CMD(Integer.MIN_VALUE, ""); // replaces removed commands, see removeUnconsumedCommand()
 
 	private final int maxFillableCapacity;
 	/**
-	 * The total number of characters that all commands in the command buffer of a session may hold.
+	 * The total number of characters (or bytes, for pre-encoded commands) that all commands in the command buffer of a session may hold.
 	 * Keep in mind that every character in Java takes 1 or 2 bytes of heap space (prior Java 9 always 2 bytes).
 	 */
 	private final int maxTotalSize;
@@ -41,7 +42,8 @@ public class CommandBuffer {
 	private int nextConsumable = 0;
 	private int tail = 0;
 	private boolean bufferFlippedAtLeastOnce;
-	private int totalSize = 0; // in characters
+	private int totalSize = 0; // in characters or bytes (see CMD.getSize())
+	private int unconsumedRemovedCount = 0;
 
 	public CommandBuffer(int maxLength, int maxTotalSize) {
 		this.maxFillableCapacity = maxLength;
@@ -49,26 +51,30 @@ public class CommandBuffer {
 		buffer = new CMD[maxFillableCapacity + 1];
 	}
 
+	@Override
 	public int getBufferedCommandsCount() {
 		return head - tail + (head < tail ? buffer.length : 0);
 	}
 
+	@Override
 	public int getUnconsumedCommandsCount() {
-		return head - nextConsumable + (head < nextConsumable ? buffer.length : 0);
+		return head - nextConsumable + (head < nextConsumable ? buffer.length : 0) - unconsumedRemovedCount;
 	}
 
+	@Override
 	public int getCommandsSize() {
 		int size = 0;
 		for (int i = 0; i < buffer.length; i++) {
 			if (buffer[i] != null) {
-				size += buffer[i].getUiCommand().length();
+				size += buffer[i].getSize();
 			}
 		}
 		return size;
 	}
 
-	public void addCommand(CMD command) throws CommandBufferException {
-		while (totalSize + command.getUiCommand().length() > maxTotalSize) {
+	@Override
+	public long addCommand(CMD command) throws CommandBufferException {
+		while (totalSize + command.getSize() > maxTotalSize) {
 			if (!tryPurgingNextCommandFromTail()) {
 				throw new CommandBufferSizeOverflowException("Command buffer SIZE overflow. Max total size: " + maxTotalSize + " characters");
 			}
@@ -78,24 +84,30 @@ public class CommandBuffer {
 				throw new CommandBufferLengthOverflowException("Command buffer LENGTH overflow. Max capacity: " + maxFillableCapacity);
 			}
 		}
+		int position = head;
 		buffer[head] = command;
 		if (head + 1 == buffer.length) {
 			bufferFlippedAtLeastOnce = true;
 		}
 		head = (head + 1) % buffer.length;
-		totalSize += command.getUiCommand().length();
+		totalSize += command.getSize();
+		return position;
 	}
 
+	@Override
 	public CMD consumeCommand() {
-		if (getBufferedCommandsCount() > 0 && nextConsumable != head) {
+		while (nextConsumable != head) {
 			CMD command = buffer[nextConsumable];
 			nextConsumable = (nextConsumable + 1) % buffer.length;
-			return command;
-		} else {
-			return null;
+			if (command != REMOVED) {
+				return command;
+			}
+			unconsumedRemovedCount--;
 		}
+		return null;
 	}
 
+	@Override
 	public void purgeTillCommand(int commandIdExclusive) {
 		while (buffer[tail].getId() != commandIdExclusive) {
 			if (!tryPurgingNextCommandFromTail()) {
@@ -112,16 +124,18 @@ public class CommandBuffer {
 		CMD cmd = buffer[tail];
 		buffer[tail] = null;
 		tail = (tail + 1) % buffer.length;
-		totalSize -= cmd.getUiCommand().length();
+		totalSize -= cmd.getSize();
 		return true;
 	}
 
+	@Override
 	public boolean rewindToCommand(long commandId) {
 		if (commandId == -1) {
 			if (bufferFlippedAtLeastOnce) {
 				return false;
 			} else {
 				nextConsumable = 0;
+				unconsumedRemovedCount = countUnconsumedRemovedCommands();
 				return true;
 			}
 		} else {
@@ -132,6 +146,7 @@ public class CommandBuffer {
 				}
 				if (command.getId() == commandId) {
 					nextConsumable = (i + 1) % buffer.length;
+					unconsumedRemovedCount = countUnconsumedRemovedCommands();
 					return true;
 				}
 			}
@@ -139,13 +154,48 @@ public class CommandBuffer {
 		}
 	}
 
+	private int countUnconsumedRemovedCommands() {
+		int count = 0;
+		for (int i = nextConsumable; i != head; i = (i + 1) % buffer.length) {
+			if (buffer[i] == REMOVED) {
+				count++;
+			}
+		}
+		return count;
+	}
+
+	@Override
+	public boolean removeUnconsumedCommand(int commandId, long handle) {
+		int position = (int) handle;
+		if (position < 0 || position >= buffer.length || !isUnconsumed(position) || buffer[position].getId() != commandId) {
+			return false;
+		}
+		totalSize -= buffer[position].getSize();
+		buffer[position] = REMOVED;
+		unconsumedRemovedCount++;
+		return true;
+	}
+
+	private boolean isUnconsumed(int position) {
+		return nextConsumable <= head
+				? position >= nextConsumable && position < head
+				: position >= nextConsumable || position < head;
+	}
+
+	@Override
 	public long getNextCommandId() {
-		return buffer[nextConsumable].getId();
+		int position = nextConsumable;
+		while (buffer[position] == REMOVED && position != head) {
+			position = (position + 1) % buffer.length;
+		}
+		return buffer[position].getId();
 	}
 
+	@Override
 	public void clear() {
 		head = 0;
 		nextConsumable = 0;
 		tail = 0;
+		unconsumedRemovedCount = 0;
 	}
 }
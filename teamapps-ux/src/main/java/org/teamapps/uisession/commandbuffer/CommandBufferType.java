@@ -0,0 +1,67 @@
+/*-
+ * ========================LICENSE_START=================================
+ * TeamApps
+ * ---
+ * Copyright (C) 2014 - 2025 TeamApps.org
+ * ---
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ * 
+ *      http://www.apache.org/licenses/LICENSE-2.0
+ * 
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ * =========================LICENSE_END==================================
+ */
+package org.teamapps.uisession.commandbuffer;
+
+/**
+ * The {@link ReplayableCommandBuffer} implementations available for UI sessions.
+ *
+ * @see org.teamapps.config.TeamAppsConfiguration#getCommandBufferType()
+ */
+public enum CommandBufferType {
+
+	/**
+	 * Keeps the {@link org.teamapps.uisession.CMD} objects.
+	 *
+	 * @see CommandBuffer
+	 */
+	OBJECT_ARRAY {
+		@Override
+		public ReplayableCommandBuffer createBuffer(int maxLength, int maxTotalSize) {
+			return new CommandBuffer(maxLength, maxTotalSize);
+		}
+	},
+
+	/**
+	 * Keeps the commands UTF-8 encoded in a compact heap buffer.
+	 *
+	 * @see SlabCommandBuffer
+	 */
+	HEAP_SLAB {
+		@Override
+		public ReplayableCommandBuffer createBuffer(int maxLength, int maxTotalSize) {
+			return new SlabCommandBuffer(maxLength, maxTotalSize, false);
+		}
+	},
+
+	/**
+	 * Keeps the commands UTF-8 encoded in a direct (off-heap) buffer.
+	 *
+	 * @see SlabCommandBuffer
+	 */
+	DIRECT_SLAB {
+		@Override
+		public ReplayableCommandBuffer createBuffer(int maxLength, int maxTotalSize) {
+			return new SlabCommandBuffer(maxLength, maxTotalSize, true);
+		}
+	};
+
+	public abstract ReplayableCommandBuffer createBuffer(int maxLength, int maxTotalSize);
+
+}
@@ -0,0 +1,84 @@
+/*-
+ * ========================LICENSE_START=================================
+ * TeamApps
+ * ---
+ * Copyright (C) 2014 - 2025 TeamApps.org
+ * ---
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ * 
+ *      http://www.apache.org/licenses/LICENSE-2.0
+ * 
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ * =========================LICENSE_END==================================
+ */
+package org.teamapps.uisession.commandbuffer;
+
+import org.teamapps.uisession.CMD;
+
+/**
+ * Buffers the commands of a UI session until they are acknowledged by the client, so they can be replayed
+ * after a reconnect (REINIT).
+ * <p>
+ * Commands are added at the head, consumed (sent) in order, and purged from the tail when acknowledged.
+ * Consumed but not yet purged commands can be consumed again after {@link #rewindToCommand(long) rewinding}.
+ * <p>
+ * Implementations are NOT THREAD-SAFE! Synchronization must be provided by client code.
+ *
+ * @see CommandBufferType
+ */
+public interface ReplayableCommandBuffer {
+
+	int getBufferedCommandsCount();
+
+	int getUnconsumedCommandsCount();
+
+	/**
+	 * @return the total size of all buffered commands (see {@link CMD#getSize()} and the implementation's documentation)
+	 */
+	int getCommandsSize();
+
+	/**
+	 * @return a handle for {@link #removeUnconsumedCommand(int, long)}
+	 */
+	long addCommand(CMD command) throws CommandBufferException;
+
+	/**
+	 * @return the next command to send or null, if there is no unconsumed command
+	 */
+	CMD consumeCommand();
+
+	/**
+	 * Purges all commands from the tail, up to (excluding) the command with the given id. Unconsumed commands are never purged.
+	 */
+	void purgeTillCommand(int commandIdExclusive);
+
+	/**
+	 * Makes the commands after the command with the given id consumable again.
+	 *
+	 * @param commandId the id of the last command received by the client or -1, if the client did not receive any command
+	 * @return false if the command was not found (anymore)
+	 */
+	boolean rewindToCommand(long commandId);
+
+	/**
+	 * Removes a command that has not been consumed yet, e.g. because it got superseded by a later command.
+	 * <p>
+	 * The command is only marked as removed (in constant time) and skipped by {@link #consumeCommand()}. It does not count as
+	 * unconsumed anymore and its size is released immediately, but it occupies its slot until it gets purged.
+	 *
+	 * @param handle the handle returned by {@link #addCommand(CMD)} for this command
+	 * @return false if there is no unconsumed command with the given id at the given handle
+	 */
+	boolean removeUnconsumedCommand(int commandId, long handle);
+
+	long getNextCommandId();
+
+	void clear();
+
+}
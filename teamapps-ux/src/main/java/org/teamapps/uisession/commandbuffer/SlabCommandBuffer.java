@@ -0,0 +1,302 @@
+/*-
+ * ========================LICENSE_START=================================
+ * TeamApps
+ * ---
+ * Copyright (C) 2014 - 2025 TeamApps.org
+ * ---
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ * 
+ *      http://www.apache.org/licenses/LICENSE-2.0
+ * 
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ * =========================LICENSE_END==================================
+ */
+package org.teamapps.uisession.commandbuffer;
+
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.teamapps.uisession.CMD;
+
+import java.nio.ByteBuffer;
+import java.nio.charset.StandardCharsets;
+
+/**
+ * A {@link ReplayableCommandBuffer} that does not keep any {@link CMD} objects but stores the commands as length-prefixed
+ * UTF-8 in a single growable {@link ByteBuffer} (heap or direct memory). {@link #consumeCommand()} creates a new {@link CMD}
+ * each time, in the same form (String or pre-encoded) as it was added.
+ * <p>
+ * Each command is stored as: id (int), flags (byte), length (int), UTF-8 bytes. The slab is compacted when it is full and
+ * shrunk when most of its capacity has been purged, so idle sessions with acknowledged commands only need a small buffer.
+ * Removed commands are only flagged and stay in the slab until they get purged. Handles (see {@link #addCommand(CMD)})
+ * are positions relative to the start of the very first slab, so they stay valid when the slab is compacted.
+ * <p>
+ * Note that the total size of the commands is always measured in bytes.
+ * <p>
+ * NOT THREAD-SAFE! Synchronization must be provided by client code.
+ */
+public class SlabCommandBuffer implements ReplayableCommandBuffer {
+
+	private static final Logger LOGGER = LoggerFactory.getLogger(SlabCommandBuffer.class);
+
+	private static final int HEADER_SIZE = 9;
+	private static final int LENGTH_OFFSET = 5;
+	private static final byte FLAG_AWAITS_RESPONSE = 1;
+	private static final byte FLAG_PRE_ENCODED = 2;
+	private static final byte FLAG_REMOVED = 4;
+	static final int INITIAL_CAPACITY = 1024;
+
+	private final int maxLength;
+	private final int maxTotalSize;
+	private final boolean direct;
+
+	private ByteBuffer slab;
+	private int tail = 0; // position of the oldest command
+	private int nextConsumable = 0; // position of the next command to consume
+	private int head = 0; // position where the next command will be written
+	private int bufferedCommandsCount = 0;
+	private int unconsumedCommandsCount = 0;
+	private int totalSize = 0; // in bytes, without headers
+	private boolean anyCommandPurged;
+	private long slabOffset = 0; // the handle of position 0 of the current slab
+
+	public SlabCommandBuffer(int maxLength, int maxTotalSize, boolean direct) {
+		this.maxLength = maxLength;
+		this.maxTotalSize = maxTotalSize;
+		this.direct = direct;
+		this.slab = allocate(INITIAL_CAPACITY);
+	}
+
+	@Override
+	public int getBufferedCommandsCount() {
+		return bufferedCommandsCount;
+	}
+
+	@Override
+	public int getUnconsumedCommandsCount() {
+		return unconsumedCommandsCount;
+	}
+
+	/**
+	 * @return the total number of bytes of all buffered commands
+	 */
+	@Override
+	public int getCommandsSize() {
+		return totalSize;
+	}
+
+	/**
+	 * @return the number of bytes currently reserved for this buffer
+	 */
+	public int getCapacity() {
+		return slab.capacity();
+	}
+
+	@Override
+	public long addCommand(CMD command) throws CommandBufferException {
+		byte[] bytes = command.isPreEncoded() ? command.getEncodedUiCommand() : command.getUiCommand().getBytes(StandardCharsets.UTF_8);
+		while (totalSize + bytes.length > maxTotalSize) {
+			if (!tryPurgingNextCommandFromTail()) {
+				throw new CommandBufferSizeOverflowException("Command buffer SIZE overflow. Max total size: " + maxTotalSize + " bytes");
+			}
+		}
+		if (bufferedCommandsCount == maxLength) {
+			if (!tryPurgingNextCommandFromTail()) {
+				throw new CommandBufferLengthOverflowException("Command buffer LENGTH overflow. Max capacity: " + maxLength);
+			}
+		}
+		ensureWritable(HEADER_SIZE + bytes.length);
+		byte flags = (byte) ((Boolean.TRUE.equals(command.getAwaitsResponse()) ? FLAG_AWAITS_RESPONSE : 0) | (command.isPreEncoded() ? FLAG_PRE_ENCODED : 0));
+		slab.putInt(head, command.getId());
+		slab.put(head + 4, flags);
+		slab.putInt(head + LENGTH_OFFSET, bytes.length);
+		slab.put(head + HEADER_SIZE, bytes);
+		long handle = slabOffset + head;
+		head += HEADER_SIZE + bytes.length;
+		bufferedCommandsCount++;
+		unconsumedCommandsCount++;
+		totalSize += bytes.length;
+		return handle;
+	}
+
+	@Override
+	public CMD consumeCommand() {
+		skipRemovedCommands();
+		if (nextConsumable == head) {
+			return null;
+		}
+		int id = slab.getInt(nextConsumable);
+		byte flags = slab.get(nextConsumable + 4);
+		int length = slab.getInt(nextConsumable + LENGTH_OFFSET);
+		byte[] bytes = new byte[length];
+		slab.get(nextConsumable + HEADER_SIZE, bytes);
+		nextConsumable += HEADER_SIZE + length;
+		unconsumedCommandsCount--;
+
+		CMD cmd = (flags & FLAG_PRE_ENCODED) != 0 ? new CMD(id, bytes) : new CMD(id, new String(bytes, StandardCharsets.UTF_8));
+		if ((flags & FLAG_AWAITS_RESPONSE) != 0) {
+			cmd.setAwaitsResponse(true);
+		}
+		return cmd;
+	}
+
+	private void skipRemovedCommands() {
+		while (nextConsumable != head && (slab.get(nextConsumable + 4) & FLAG_REMOVED) != 0) {
+			nextConsumable += HEADER_SIZE + slab.getInt(nextConsumable + LENGTH_OFFSET);
+		}
+	}
+
+	@Override
+	public void purgeTillCommand(int commandIdExclusive) {
+		while (tail != head && (slab.getInt(tail) != commandIdExclusive || (slab.get(tail + 4) & FLAG_REMOVED) != 0)) {
+			if (!tryPurgingNextCommandFromTail()) {
+				LOGGER.error("Will not purge next consumable command!");
+				break;
+			}
+		}
+		shrinkIfMostlyUnused();
+	}
+
+	private boolean tryPurgingNextCommandFromTail() {
+		if (tail == nextConsumable) {
+			return false;
+		}
+		int length = slab.getInt(tail + LENGTH_OFFSET);
+		if ((slab.get(tail + 4) & FLAG_REMOVED) == 0) {
+			totalSize -= length; // already released for removed commands
+		}
+		tail += HEADER_SIZE + length;
+		bufferedCommandsCount--;
+		anyCommandPurged = true;
+		if (tail == head) {
+			slabOffset += head;
+			tail = 0;
+			nextConsumable = 0;
+			head = 0;
+		}
+		return true;
+	}
+
+	@Override
+	public boolean rewindToCommand(long commandId) {
+		if (commandId == -1) {
+			if (anyCommandPurged) {
+				return false;
+			} else {
+				nextConsumable = tail;
+				unconsumedCommandsCount = countUnremovedCommands(tail);
+				return true;
+			}
+		} else {
+			int position = tail;
+			while (position != nextConsumable) {
+				int length = slab.getInt(position + LENGTH_OFFSET);
+				if (slab.getInt(position) == commandId && (slab.get(position + 4) & FLAG_REMOVED) == 0) {
+					nextConsumable = position + HEADER_SIZE + length;
+					unconsumedCommandsCount = countUnremovedCommands(nextConsumable);
+					return true;
+				}
+				position += HEADER_SIZE + length;
+			}
+			return false;
+		}
+	}
+
+	private int countUnremovedCommands(int from) {
+		int count = 0;
+		for (int position = from; position != head; position += HEADER_SIZE + slab.getInt(position + LENGTH_OFFSET)) {
+			if ((slab.get(position + 4) & FLAG_REMOVED) == 0) {
+				count++;
+			}
+		}
+		return count;
+	}
+
+	@Override
+	public boolean removeUnconsumedCommand(int commandId, long handle) {
+		long position = handle - slabOffset;
+		if (position < nextConsumable || position >= head) {
+			return false;
+		}
+		int intPosition = (int) position;
+		byte flags = slab.get(intPosition + 4);
+		if (slab.getInt(intPosition) != commandId || (flags & FLAG_REMOVED) != 0) {
+			return false;
+		}
+		slab.put(intPosition + 4, (byte) (flags | FLAG_REMOVED));
+		unconsumedCommandsCount--;
+		totalSize -= slab.getInt(intPosition + LENGTH_OFFSET);
+		return true;
+	}
+
+	@Override
+	public long getNextCommandId() {
+		skipRemovedCommands();
+		if (nextConsumable == head) {
+			throw new IllegalStateException("No consumable command!");
+		}
+		return slab.getInt(nextConsumable);
+	}
+
+	@Override
+	public void clear() {
+		slabOffset += head;
+		tail = 0;
+		nextConsumable = 0;
+		head = 0;
+		bufferedCommandsCount = 0;
+		unconsumedCommandsCount = 0;
+		totalSize = 0;
+		if (slab.capacity() > INITIAL_CAPACITY) {
+			slab = allocate(INITIAL_CAPACITY);
+		}
+	}
+
+	private void ensureWritable(int bytes) {
+		if (head + bytes <= slab.capacity()) {
+			return;
+		}
+		int usedBytes = head - tail;
+		if (usedBytes + bytes <= slab.capacity() && tail >= slab.capacity() / 2) {
+			moveTo(slab);
+		} else {
+			long capacity = Math.max((long) usedBytes + bytes, slab.capacity() + slab.capacity() / 2L); // growing by 50% wastes less memory than doubling
+			moveTo(allocate((int) Math.min(capacity, Integer.MAX_VALUE)));
+		}
+	}
+
+	private void shrinkIfMostlyUnused() {
+		int usedBytes = head - tail;
+		int capacity = slab.capacity();
+		if (capacity > INITIAL_CAPACITY && usedBytes < capacity / 4) {
+			int newCapacity = capacity;
+			while (newCapacity > INITIAL_CAPACITY && usedBytes < newCapacity / 4) {
+				newCapacity /= 2;
+			}
+			moveTo(allocate(newCapacity));
+		}
+	}
+
+	/**
+	 * Moves the buffered commands to the beginning of the given buffer (which may be the current one) and makes it the current one.
+	 */
+	private void moveTo(ByteBuffer target) {
+		int usedBytes = head - tail;
+		target.put(0, slab, tail, usedBytes);
+		slabOffset += tail;
+		nextConsumable -= tail;
+		head = usedBytes;
+		tail = 0;
+		slab = target;
+	}
+
+	private ByteBuffer allocate(int capacity) {
+		return direct ? ByteBuffer.allocateDirect(capacity) : ByteBuffer.allocate(capacity);
+	}
+
+}
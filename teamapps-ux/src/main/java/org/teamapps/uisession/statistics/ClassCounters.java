@@ -0,0 +1,114 @@
+/*-
+ * ========================LICENSE_START=================================
+ * TeamApps
+ * ---
+ * Copyright (C) 2014 - 2025 TeamApps.org
+ * ---
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ * 
+ *      http://www.apache.org/licenses/LICENSE-2.0
+ * 
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ * =========================LICENSE_END==================================
+ */
+package org.teamapps.uisession.statistics;
+
+import it.unimi.dsi.fastutil.objects.Object2LongMap;
+import it.unimi.dsi.fastutil.objects.Object2LongOpenHashMap;
+
+import java.util.Arrays;
+import java.util.concurrent.atomic.AtomicReferenceArray;
+import java.util.concurrent.atomic.LongAdder;
+
+/**
+ * Lock-free counters per class. May be incremented by any number of threads concurrently.
+ * <p>
+ * Counters are addressed by {@link StatsClassIds class id}. They are kept in chunks that are allocated lazily,
+ * since a session usually only ever uses a small fraction of all UI API classes.
+ */
+class ClassCounters {
+
+	private static final int CHUNK_BITS = 6;
+	private static final int CHUNK_SIZE = 1 << CHUNK_BITS;
+
+	private volatile AtomicReferenceArray<LongAdder>[] chunks = createChunksArray(StatsClassIds.getCount());
+
+	public void increment(Class<?> clazz) {
+		getOrCreateCounter(StatsClassIds.getId(clazz)).increment();
+	}
+
+	private LongAdder getOrCreateCounter(int classId) {
+		AtomicReferenceArray<LongAdder> chunk = getOrCreateChunk(classId >>> CHUNK_BITS);
+		int index = classId & (CHUNK_SIZE - 1);
+		LongAdder counter = chunk.get(index);
+		if (counter == null) {
+			chunk.compareAndSet(index, null, new LongAdder());
+			counter = chunk.get(index);
+		}
+		return counter;
+	}
+
+	private AtomicReferenceArray<LongAdder> getOrCreateChunk(int chunkIndex) {
+		AtomicReferenceArray<LongAdder>[] chunks = this.chunks;
+		AtomicReferenceArray<LongAdder> chunk = chunkIndex < chunks.length ? chunks[chunkIndex] : null;
+		return chunk != null ? chunk : createChunk(chunkIndex);
+	}
+
+	/**
+	 * Chunks are rarely created, so this is done copy-on-write. This way, reading never needs any synchronization.
+	 */
+	private synchronized AtomicReferenceArray<LongAdder> createChunk(int chunkIndex) {
+		AtomicReferenceArray<LongAdder>[] chunks = this.chunks;
+		if (chunkIndex < chunks.length && chunks[chunkIndex] != null) {
+			return chunks[chunkIndex];
+		}
+		AtomicReferenceArray<LongAdder>[] newChunks = Arrays.copyOf(chunks, Math.max(chunks.length, chunkIndex + 1));
+		newChunks[chunkIndex] = new AtomicReferenceArray<>(CHUNK_SIZE);
+		this.chunks = newChunks;
+		return newChunks[chunkIndex];
+	}
+
+	public long get(Class<?> clazz) {
+		int classId = StatsClassIds.getId(clazz);
+		AtomicReferenceArray<LongAdder>[] chunks = this.chunks;
+		int chunkIndex = classId >>> CHUNK_BITS;
+		if (chunkIndex >= chunks.length || chunks[chunkIndex] == null) {
+			return 0;
+		}
+		LongAdder counter = chunks[chunkIndex].get(classId & (CHUNK_SIZE - 1));
+		return counter != null ? counter.sum() : 0;
+	}
+
+	/**
+	 * @return the current counts of all classes that have been counted at least once
+	 */
+	public Object2LongMap<Class<?>> snapshot() {
+		Object2LongOpenHashMap<Class<?>> countByClass = new Object2LongOpenHashMap<>();
+		AtomicReferenceArray<LongAdder>[] chunks = this.chunks;
+		for (int chunkIndex = 0; chunkIndex < chunks.length; chunkIndex++) {
+			AtomicReferenceArray<LongAdder> chunk = chunks[chunkIndex];
+			if (chunk == null) {
+				continue;
+			}
+			for (int i = 0; i < CHUNK_SIZE; i++) {
+				LongAdder counter = chunk.get(i);
+				if (counter != null) {
+					countByClass.put(StatsClassIds.getClass((chunkIndex << CHUNK_BITS) + i), counter.sum());
+				}
+			}
+		}
+		return countByClass;
+	}
+
+	@SuppressWarnings("unchecked")
+	private static AtomicReferenceArray<LongAdder>[] createChunksArray(int classCount) {
+		return new AtomicReferenceArray[(classCount + CHUNK_SIZE - 1) >>> CHUNK_BITS];
+	}
+
+}
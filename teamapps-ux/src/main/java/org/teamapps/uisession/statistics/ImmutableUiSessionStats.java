@@ -20,6 +20,7 @@
 package org.teamapps.uisession.statistics;
 
 import it.unimi.dsi.fastutil.objects.Object2LongMap;
+import org.HdrHistogram.AbstractHistogram;
 import org.teamapps.uisession.UiSessionState;
 
 public class ImmutableUiSessionStats implements UiSessionStats {
@@ -36,6 +37,10 @@ public class ImmutableUiSessionStats implements UiSessionStats {
 	private final ImmutableCountStats queryResultStats;
 	private final ImmutableSumStats sentDataStats;
 	private final ImmutableSumStats receivedDataStats;
+	private final ImmutableLatencyStats eventLatencyStats;
+	private final ImmutableLatencyStats commandSendLatencyStats;
+	private final int commandWindowSize;
+	private final long commandRoundTripTimeMillis;
 
 	public static class ImmutableCountStats implements CountStats {
 		private final long count;
@@ -98,6 +103,37 @@ public class ImmutableUiSessionStats implements UiSessionStats {
 		}
 	}
 
+	public static class ImmutableLatencyStats implements LatencyStats {
+		private final AbstractHistogram histogram;
+
+		/**
+		 * @param histogram latencies in microseconds. Must not be modified anymore.
+		 */
+		public ImmutableLatencyStats(AbstractHistogram histogram) {
+			this.histogram = histogram;
+		}
+
+		@Override
+		public long getCount() {
+			return histogram.getTotalCount();
+		}
+
+		@Override
+		public long getValueAtPercentile(double percentile) {
+			return histogram.getValueAtPercentile(percentile);
+		}
+
+		@Override
+		public long getMaxValue() {
+			return histogram.getMaxValue();
+		}
+
+		@Override
+		public double getMean() {
+			return histogram.getMean();
+		}
+	}
+
 	public ImmutableUiSessionStats(long startTime, long endTime,
 								   String sessionId, String name, UiSessionState state,
 								   ImmutableCountStats commandStats         ,
@@ -106,7 +142,11 @@ public class ImmutableUiSessionStats implements UiSessionStats {
 								   ImmutableCountStats queryStats           ,
 								   ImmutableCountStats queryResultStats     ,
 								   ImmutableSumStats sentDataStats,
-								   ImmutableSumStats receivedDataStats
+								   ImmutableSumStats receivedDataStats,
+								   ImmutableLatencyStats eventLatencyStats,
+								   ImmutableLatencyStats commandSendLatencyStats,
+								   int commandWindowSize,
+								   long commandRoundTripTimeMillis
 	) {
 		this.startTime = startTime;
 		this.endTime = endTime;
@@ -120,6 +160,10 @@ public class ImmutableUiSessionStats implements UiSessionStats {
 		this.queryResultStats = queryResultStats;
 		this.sentDataStats = sentDataStats;
 		this.receivedDataStats = receivedDataStats;
+		this.eventLatencyStats = eventLatencyStats;
+		this.commandSendLatencyStats = commandSendLatencyStats;
+		this.commandWindowSize = commandWindowSize;
+		this.commandRoundTripTimeMillis = commandRoundTripTimeMillis;
 	}
 
 	@Override
@@ -181,4 +225,24 @@ public class ImmutableUiSessionStats implements UiSessionStats {
 	public SumStats getReceivedDataStats() {
 		return receivedDataStats;
 	}
+
+	@Override
+	public LatencyStats getEventLatencyStats() {
+		return eventLatencyStats;
+	}
+
+	@Override
+	public LatencyStats getCommandSendLatencyStats() {
+		return commandSendLatencyStats;
+	}
+
+	@Override
+	public int getCommandWindowSize() {
+		return commandWindowSize;
+	}
+
+	@Override
+	public long getCommandRoundTripTimeMillis() {
+		return commandRoundTripTimeMillis;
+	}
 }
@@ -20,37 +20,51 @@
 package org.teamapps.uisession.statistics;
 
 import it.unimi.dsi.fastutil.objects.Object2LongMap;
-import it.unimi.dsi.fastutil.objects.Object2LongOpenHashMap;
+import org.HdrHistogram.AbstractHistogram;
+import org.HdrHistogram.Histogram;
+import org.HdrHistogram.PackedConcurrentHistogram;
+import org.HdrHistogram.Recorder;
 import org.teamapps.dto.UiCommand;
 import org.teamapps.dto.UiEvent;
 import org.teamapps.dto.UiQuery;
 import org.teamapps.uisession.UiSessionState;
 
 import java.util.ArrayDeque;
+import java.util.Collection;
 import java.util.Deque;
-import java.util.concurrent.atomic.AtomicLong;
-
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.LongAdder;
+import java.util.function.Function;
+
+/**
+ * Statistics of a running session.
+ * <p>
+ * Recording (counting commands, events, etc.) is lock-free and may happen on any thread. {@link #update(long, long)}
+ * must only be called by one thread at a time.
+ */
 public class RunningUiSessionStats implements UiSessionStats {
 
+	private static final int LATENCY_SIGNIFICANT_DIGITS = 2;
+
 	private static class RunningCountStats implements CountStats {
-		private final AtomicLong count = new AtomicLong();
-		private final AtomicLong currentChunkCount = new AtomicLong();
+		private final LongAdder count = new LongAdder();
+		private final LongAdder currentChunkCount = new LongAdder();
 		private final Deque<Long> count10sChunks = new ArrayDeque<>(6); // 1 minute
-		private long countLast10Seconds;
-		private long countLastMinute;
-		private final Object2LongMap<Class<?>> countByClass = new Object2LongOpenHashMap<>();
+		private volatile long countLast10Seconds;
+		private volatile long countLastMinute;
+		private final ClassCounters countByClass = new ClassCounters();
 
 		public void add(Class<?> aClass) {
-			count.incrementAndGet();
-			currentChunkCount.incrementAndGet();
-			countByClass.computeLong(aClass, (clazz, count) -> count != null ? count + 1 : 1);
+			count.increment();
+			currentChunkCount.increment();
+			countByClass.increment(aClass);
 		}
 
 		public void flush() {
 			while (count10sChunks.size() >= 6) {
 				count10sChunks.removeFirst();
 			}
-			long currentChunkCount = this.currentChunkCount.getAndSet(0);
+			long currentChunkCount = this.currentChunkCount.sumThenReset();
 			count10sChunks.addLast(currentChunkCount);
 			countLastMinute = count10sChunks.stream().mapToLong(value -> value).sum();
 			countLast10Seconds = currentChunkCount;
@@ -58,7 +72,7 @@ public class RunningUiSessionStats implements UiSessionStats {
 
 		@Override
 		public long getCount() {
-			return count.get();
+			return count.sum();
 		}
 
 		@Override
@@ -71,13 +85,81 @@ public class RunningUiSessionStats implements UiSessionStats {
 			return countLast10Seconds;
 		}
 
+		/**
+		 * @return a snapshot of the current counts
+		 */
 		@Override
 		public Object2LongMap<Class<?>> getCountByClass() {
-			return countByClass;
+			return countByClass.snapshot();
 		}
 
 		public ImmutableUiSessionStats.ImmutableCountStats toImmutable() {
-			return new ImmutableUiSessionStats.ImmutableCountStats(count.get(), getCountLastMinute(), getCountLast10Seconds(), countByClass);
+			return new ImmutableUiSessionStats.ImmutableCountStats(count.sum(), getCountLastMinute(), getCountLast10Seconds(), countByClass.snapshot());
+		}
+	}
+
+	/**
+	 * Records latencies for the whole lifetime of the session (see {@link #getValueAtPercentile(double)} etc.) and,
+	 * separately, per minute, so recent latencies can be reported (see {@link #addLastMinuteTo(AbstractHistogram)}).
+	 * <p>
+	 * The per-minute histograms are recycled, so an instance holds four packed histograms (about 5 KB).
+	 */
+	private static class RunningLatencyStats implements LatencyStats {
+		private static final int FLUSHES_PER_MINUTE = 6;
+
+		// packed, so the memory footprint corresponds to the number of distinct values recorded
+		private final PackedConcurrentHistogram histogram = new PackedConcurrentHistogram(LATENCY_SIGNIFICANT_DIGITS);
+		private final Recorder minuteRecorder = new Recorder(LATENCY_SIGNIFICANT_DIGITS, true);
+		private Histogram lastMinuteHistogram = minuteRecorder.getIntervalHistogram(); // guarded by this
+		private int flushCount; // only accessed by the thread calling flush()
+
+		public void record(long nanos) {
+			long micros = Math.max(0, TimeUnit.NANOSECONDS.toMicros(nanos));
+			histogram.recordValue(micros);
+			minuteRecorder.recordValue(micros);
+		}
+
+		/**
+		 * Called every 10 seconds. Completes a minute every {@value #FLUSHES_PER_MINUTE} calls.
+		 */
+		public void flush() {
+			if (++flushCount % FLUSHES_PER_MINUTE == 0) {
+				synchronized (this) {
+					// the histogram of the minute before gets reset and reused for recording the next minute
+					lastMinuteHistogram = minuteRecorder.getIntervalHistogram(lastMinuteHistogram);
+				}
+			}
+		}
+
+		/**
+		 * Adds the latencies recorded during the last completed minute to the given histogram.
+		 */
+		public synchronized void addLastMinuteTo(AbstractHistogram target) {
+			target.add(lastMinuteHistogram);
+		}
+
+		@Override
+		public long getCount() {
+			return histogram.getTotalCount();
+		}
+
+		@Override
+		public long getValueAtPercentile(double percentile) {
+			return histogram.getValueAtPercentile(percentile);
+		}
+
+		@Override
+		public long getMaxValue() {
+			return histogram.getMaxValue();
+		}
+
+		@Override
+		public double getMean() {
+			return histogram.getMean();
+		}
+
+		public ImmutableUiSessionStats.ImmutableLatencyStats toImmutable() {
+			return new ImmutableUiSessionStats.ImmutableLatencyStats(histogram.copy());
 		}
 	}
 
@@ -133,6 +215,12 @@ public class RunningUiSessionStats implements UiSessionStats {
 	private final RunningSumStats sentDataStats = new RunningSumStats();
 	private final RunningSumStats receivedDataStats = new RunningSumStats();
 
+	private final RunningLatencyStats eventLatencyStats = new RunningLatencyStats();
+	private final RunningLatencyStats commandSendLatencyStats = new RunningLatencyStats();
+
+	private volatile int commandWindowSize;
+	private volatile long commandRoundTripTimeMillis = -1;
+
 
 	public RunningUiSessionStats(long startTime, String sessionId, String name) {
 		this.startTime = startTime;
@@ -200,6 +288,26 @@ public class RunningUiSessionStats implements UiSessionStats {
 		return receivedDataStats;
 	}
 
+	@Override
+	public LatencyStats getEventLatencyStats() {
+		return eventLatencyStats;
+	}
+
+	@Override
+	public LatencyStats getCommandSendLatencyStats() {
+		return commandSendLatencyStats;
+	}
+
+	@Override
+	public int getCommandWindowSize() {
+		return commandWindowSize;
+	}
+
+	@Override
+	public long getCommandRoundTripTimeMillis() {
+		return commandRoundTripTimeMillis;
+	}
+
 	public void nameChanged(String name) {
 		this.name = name;
 	}
@@ -224,6 +332,20 @@ public class RunningUiSessionStats implements UiSessionStats {
 		queryResultStats.add(query.getClass());
 	}
 
+	/**
+	 * @param latencyNanos the time from receiving the event until its handling has finished
+	 */
+	public void eventHandled(long latencyNanos) {
+		eventLatencyStats.record(latencyNanos);
+	}
+
+	/**
+	 * @param latencyNanos the time the oldest command of a message waited before being sent
+	 */
+	public void commandsSent(long latencyNanos) {
+		commandSendLatencyStats.record(latencyNanos);
+	}
+
 
 	public void stateChanged(UiSessionState sessionState) {
 		state = sessionState;
@@ -232,6 +354,11 @@ public class RunningUiSessionStats implements UiSessionStats {
 		}
 	}
 
+	public void commandWindowUpdated(int windowSize, long roundTripTimeMillis) {
+		this.commandWindowSize = windowSize;
+		this.commandRoundTripTimeMillis = roundTripTimeMillis;
+	}
+
 	public ImmutableUiSessionStats immutableCopy() {
 		return new ImmutableUiSessionStats(startTime, endTime, sessionId, name, state,
 				commandStats.toImmutable(),
@@ -240,7 +367,55 @@ public class RunningUiSessionStats implements UiSessionStats {
 				queryStats.toImmutable(),
 				queryResultStats.toImmutable(),
 				sentDataStats.toImmutable(),
-				receivedDataStats.toImmutable());
+				receivedDataStats.toImmutable(),
+				eventLatencyStats.toImmutable(),
+				commandSendLatencyStats.toImmutable(),
+				commandWindowSize,
+				commandRoundTripTimeMillis);
+	}
+
+	/**
+	 * @return the event latencies of all given sessions combined
+	 */
+	public static LatencyStats combineEventLatencyStats(Collection<RunningUiSessionStats> stats) {
+		return combineLatencyStats(stats, s -> s.eventLatencyStats);
+	}
+
+	/**
+	 * @return the command send latencies of all given sessions combined
+	 */
+	public static LatencyStats combineCommandSendLatencyStats(Collection<RunningUiSessionStats> stats) {
+		return combineLatencyStats(stats, s -> s.commandSendLatencyStats);
+	}
+
+	/**
+	 * @return the event latencies of all given sessions during the last completed minute combined
+	 */
+	public static LatencyStats combineEventLatencyStatsLastMinute(Collection<RunningUiSessionStats> stats) {
+		return combineLastMinute(stats, s -> s.eventLatencyStats);
+	}
+
+	/**
+	 * @return the command send latencies of all given sessions during the last completed minute combined
+	 */
+	public static LatencyStats combineCommandSendLatencyStatsLastMinute(Collection<RunningUiSessionStats> stats) {
+		return combineLastMinute(stats, s -> s.commandSendLatencyStats);
+	}
+
+	private static LatencyStats combineLatencyStats(Collection<RunningUiSessionStats> stats, Function<RunningUiSessionStats, RunningLatencyStats> latencyStatsExtractor) {
+		return combineHistograms(stats, s -> latencyStatsExtractor.apply(s).histogram);
+	}
+
+	private static LatencyStats combineLastMinute(Collection<RunningUiSessionStats> stats, Function<RunningUiSessionStats, RunningLatencyStats> latencyStatsExtractor) {
+		AbstractHistogram combinedHistogram = new Histogram(LATENCY_SIGNIFICANT_DIGITS);
+		stats.forEach(s -> latencyStatsExtractor.apply(s).addLastMinuteTo(combinedHistogram));
+		return new ImmutableUiSessionStats.ImmutableLatencyStats(combinedHistogram);
+	}
+
+	private static LatencyStats combineHistograms(Collection<RunningUiSessionStats> stats, Function<RunningUiSessionStats, AbstractHistogram> histogramExtractor) {
+		AbstractHistogram combinedHistogram = new Histogram(LATENCY_SIGNIFICANT_DIGITS);
+		stats.forEach(s -> combinedHistogram.add(histogramExtractor.apply(s)));
+		return new ImmutableUiSessionStats.ImmutableLatencyStats(combinedHistogram);
 	}
 
 	public void update(long totalDataSent, long totalDataReceived) {
@@ -251,6 +426,8 @@ public class RunningUiSessionStats implements UiSessionStats {
 		queryResultStats.flush();
 		sentDataStats.update(totalDataSent);
 		receivedDataStats.update(totalDataReceived);
+		eventLatencyStats.flush();
+		commandSendLatencyStats.flush();
 	}
 
 }
@@ -0,0 +1,78 @@
+/*-
+ * ========================LICENSE_START=================================
+ * TeamApps
+ * ---
+ * Copyright (C) 2014 - 2025 TeamApps.org
+ * ---
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ * 
+ *      http://www.apache.org/licenses/LICENSE-2.0
+ * 
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ * =========================LICENSE_END==================================
+ */
+package org.teamapps.uisession.statistics;
+
+import org.teamapps.dto.UiObjectJacksonTypeIdMaps;
+
+import java.util.Arrays;
+import java.util.Comparator;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+
+/**
+ * Assigns dense int ids to classes, so statistics per class can be kept in arrays instead of maps.
+ * <p>
+ * All UI API classes get their ids upfront (see {@link UiObjectJacksonTypeIdMaps}). Other classes (e.g. of UI API extensions)
+ * get theirs when they are counted for the first time.
+ */
+final class StatsClassIds {
+
+	private static final Map<Class<?>, Integer> ID_BY_CLASS = new ConcurrentHashMap<>();
+	private static volatile Class<?>[] classById;
+
+	static {
+		classById = UiObjectJacksonTypeIdMaps.ID_BY_CLASS.keySet().stream()
+				.sorted(Comparator.comparing(Class::getName))
+				.toArray(Class<?>[]::new);
+		for (int id = 0; id < classById.length; id++) {
+			ID_BY_CLASS.put(classById[id], id);
+		}
+	}
+
+	private StatsClassIds() {
+	}
+
+	public static int getId(Class<?> clazz) {
+		Integer id = ID_BY_CLASS.get(clazz);
+		return id != null ? id : assignId(clazz);
+	}
+
+	private static synchronized int assignId(Class<?> clazz) {
+		Integer existingId = ID_BY_CLASS.get(clazz);
+		if (existingId != null) {
+			return existingId;
+		}
+		int id = classById.length;
+		Class<?>[] newClassById = Arrays.copyOf(classById, id + 1);
+		newClassById[id] = clazz;
+		classById = newClassById;
+		ID_BY_CLASS.put(clazz, id);
+		return id;
+	}
+
+	public static Class<?> getClass(int id) {
+		return classById[id];
+	}
+
+	public static int getCount() {
+		return classById.length;
+	}
+
+}
@@ -38,4 +38,26 @@ public interface UiSessionStats {
 	SumStats getSentDataStats();
 	SumStats getReceivedDataStats();
 
+	/**
+	 * @return the time from receiving an event until its handling has finished (including the time the event waited to be handled)
+	 */
+	LatencyStats getEventLatencyStats();
+
+	/**
+	 * @return the time commands waited to be sent to the client, sampled once per message by the oldest command in it.
+	 * This includes the time the client was not ready to receive commands. Commands that were left unsent when the
+	 * previous message was sent are measured from that point in time.
+	 */
+	LatencyStats getCommandSendLatencyStats();
+
+	/**
+	 * @return the number of commands the client requests at once
+	 */
+	int getCommandWindowSize();
+
+	/**
+	 * @return the smoothed round-trip time of commands (including the client's processing time) or -1, if not measured
+	 */
+	long getCommandRoundTripTimeMillis();
+
 }
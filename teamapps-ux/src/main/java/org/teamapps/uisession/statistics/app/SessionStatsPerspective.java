@@ -27,6 +27,7 @@ import org.teamapps.icons.Icon;
 import org.teamapps.icons.composite.CompositeIcon;
 import org.teamapps.uisession.UiSessionState;
 import org.teamapps.uisession.statistics.CountStats;
+import org.teamapps.uisession.statistics.LatencyStats;
 import org.teamapps.uisession.statistics.SumStats;
 import org.teamapps.uisession.statistics.UiSessionStats;
 import org.teamapps.ux.component.Component;
@@ -98,6 +99,10 @@ public class SessionStatsPerspective {
 				.setValueExtractor(record -> record.getClientBackPressureInfo() != null ? record.getClientBackPressureInfo().getUnconsumedCommandsCount() : null);
 		table.addColumn("readyToReceive", "Ready To Receive", new CheckBox()).setDefaultWidth(40)
 				.setValueExtractor(record -> record.getClientBackPressureInfo() != null && record.getClientBackPressureInfo().getRemainingRequestedCommands() > 0);
+		table.addColumn("commandWindow", "Cmd Window", new NumberField(0)).setDefaultWidth(90)
+				.setValueExtractor(record -> record.getStatistics().getCommandWindowSize());
+		table.addColumn("commandRoundTripTime", "Cmd RTT (ms)", new NumberField(0)).setDefaultWidth(90)
+				.setValueExtractor(record -> record.getStatistics().getCommandRoundTripTimeMillis() >= 0 ? record.getStatistics().getCommandRoundTripTimeMillis() : null);
 
 		addSumStatsColumns(table, "sentData", "Data Sent", record -> record.getStatistics().getSentDataStats());
 		addSumStatsColumns(table, "receivedData", "Data Recvd.", record -> record.getStatistics().getReceivedDataStats());
@@ -108,6 +113,9 @@ public class SessionStatsPerspective {
 		addCountStatsColumns(table, "query", "Queries", record -> record.getStatistics().getQueryStats());
 		addCountStatsColumns(table, "queryResult", "QuResults", record -> record.getStatistics().getQueryResultStats());
 
+		addLatencyStatsColumns(table, "eventLatency", "Event Lat.", record -> record.getStatistics().getEventLatencyStats());
+		addLatencyStatsColumns(table, "commandSendLatency", "Cmd Send Lat.", record -> record.getStatistics().getCommandSendLatencyStats());
+
 		table.setModel(new StatsTableModel(baseTableModel));
 
 		table.onSingleRowSelected.addListener((record) -> {
@@ -139,6 +147,13 @@ public class SessionStatsPerspective {
 //				.setValueExtractor(record -> sumStatsExtractor.apply(record).getSumLast10Seconds());
 	}
 
+	private void addLatencyStatsColumns(Table<SessionStatsTableRecord> table, String propertyNamePrefix, String displayNameInfix, Function<SessionStatsTableRecord, LatencyStats> latencyStatsExtractor) {
+		table.addColumn(propertyNamePrefix + "Median", displayNameInfix + " p50 (ms)", new NumberField(1)).setDefaultWidth(110)
+				.setValueExtractor(record -> latencyStatsExtractor.apply(record).getValueAtPercentile(50) / 1000d);
+		table.addColumn(propertyNamePrefix + "P99", displayNameInfix + " p99 (ms)", new NumberField(1)).setDefaultWidth(110)
+				.setValueExtractor(record -> latencyStatsExtractor.apply(record).getValueAtPercentile(99) / 1000d);
+	}
+
 	public Table<SessionStatsTableRecord> getTable() {
 		return table;
 	}
@@ -248,6 +263,12 @@ public class SessionStatsPerspective {
 					case "readyToReceive":
 						comparator = Comparator.comparing(record -> record.getClientBackPressureInfo() != null && record.getClientBackPressureInfo().getRemainingRequestedCommands() > 0);
 						break;
+					case "commandWindow":
+						comparator = Comparator.comparing(record -> record.getStatistics().getCommandWindowSize());
+						break;
+					case "commandRoundTripTime":
+						comparator = Comparator.comparing(record -> record.getStatistics().getCommandRoundTripTimeMillis());
+						break;
 					case "sentDataTotal":
 						comparator = Comparator.comparing(record -> record.getStatistics().getSentDataStats().getSum());
 						break;
@@ -290,6 +311,18 @@ public class SessionStatsPerspective {
 					case "queryResultLastMinute":
 						comparator = Comparator.comparing(record -> record.getStatistics().getQueryResultStats().getCountLastMinute());
 						break;
+					case "eventLatencyMedian":
+						comparator = Comparator.comparing(record -> record.getStatistics().getEventLatencyStats().getValueAtPercentile(50));
+						break;
+					case "eventLatencyP99":
+						comparator = Comparator.comparing(record -> record.getStatistics().getEventLatencyStats().getValueAtPercentile(99));
+						break;
+					case "commandSendLatencyMedian":
+						comparator = Comparator.comparing(record -> record.getStatistics().getCommandSendLatencyStats().getValueAtPercentile(50));
+						break;
+					case "commandSendLatencyP99":
+						comparator = Comparator.comparing(record -> record.getStatistics().getCommandSendLatencyStats().getValueAtPercentile(99));
+						break;
 
 				}
 				if (sorting.getSortDirection() == SortDirection.DESC) {
@@ -25,7 +25,6 @@ import org.slf4j.LoggerFactory;
 import java.util.List;
 import java.util.concurrent.*;
 import java.util.concurrent.atomic.AtomicInteger;
-import java.util.concurrent.atomic.AtomicReference;
 
 import static org.teamapps.common.util.ExceptionUtil.softenExceptions;
 
@@ -33,8 +32,7 @@ public class CompletableFutureChainSequentialExecutorFactory implements Sequenti
 
 	private static final Logger LOGGER = LoggerFactory.getLogger(CompletableFutureChainSequentialExecutorFactory.class);
 
-	private final AtomicReference<MinMaxAverageStats> delayStats = new AtomicReference<>(new MinMaxAverageStats());
-	private final AtomicReference<MinMaxAverageStats> executionTimeStats = new AtomicReference<>(new MinMaxAverageStats());
+	private final SequentialExecutionStats stats = new SequentialExecutionStats(LOGGER);
 
 	private final ExecutorService pool;
 
@@ -44,18 +42,6 @@ public class CompletableFutureChainSequentialExecutorFactory implements Sequenti
 
 	public CompletableFutureChainSequentialExecutorFactory(ExecutorService executorService) {
 		pool = executorService;
-
-		ScheduledExecutorService statsLogExecutorService = Executors.newSingleThreadScheduledExecutor();
-		statsLogExecutorService.scheduleAtFixedRate(() -> {
-			MinMaxAverageStats delayStats = this.delayStats.getAndSet(new MinMaxAverageStats());
-			MinMaxAverageStats executionTimeStats = this.executionTimeStats.getAndSet(new MinMaxAverageStats());
-			if (delayStats.getMax() > 3000) {
-				LOGGER.warn("Delays critical: min: {}, max: {}, avg: {}, count: {}", delayStats.getMin(), delayStats.getMax(), delayStats.getAvg(), delayStats.getCount());
-			}
-			if (executionTimeStats.getMax() > 1000) {
-				LOGGER.warn("Execution times critical: min: {}, max: {}, avg: {}, count: {}", executionTimeStats.getMin(), executionTimeStats.getMax(), executionTimeStats.getAvg(), executionTimeStats.getCount());
-			}
-		}, 1, 1, TimeUnit.SECONDS);
 	}
 
 	public ExecutorService createExecutor() {
@@ -86,13 +72,13 @@ public class CompletableFutureChainSequentialExecutorFactory implements Sequenti
 			lastFuture = lastFuture.thenApplyAsync(o -> {
 				long executionStartTime = System.currentTimeMillis();
 				long delay = executionStartTime - submitTime;
-				delayStats.getAndUpdate(minMaxAverageStats -> minMaxAverageStats.push(delay));
+				stats.pushDelay(delay);
 				Object result = softenExceptions(() -> {
 					command.run();
 					return null;
 				});
 				long executionTime = System.currentTimeMillis() - executionStartTime;
-				executionTimeStats.getAndUpdate(minMaxAverageStats -> minMaxAverageStats.push(executionTime));
+				stats.pushExecutionTime(executionTime);
 				this.queueSize.decrementAndGet();
 				return result;
 			}, pool).exceptionally(throwable -> {
@@ -0,0 +1,169 @@
+/*-
+ * ========================LICENSE_START=================================
+ * TeamApps
+ * ---
+ * Copyright (C) 2014 - 2025 TeamApps.org
+ * ---
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ * 
+ *      http://www.apache.org/licenses/LICENSE-2.0
+ * 
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ * =========================LICENSE_END==================================
+ */
+package org.teamapps.util.threading;
+
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+
+import java.util.List;
+import java.util.Queue;
+import java.util.concurrent.AbstractExecutorService;
+import java.util.concurrent.ConcurrentLinkedQueue;
+import java.util.concurrent.Executor;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicBoolean;
+import java.util.concurrent.atomic.AtomicInteger;
+
+/**
+ * Actor style {@link SequentialExecutorFactory}: Every executor has a lock-free multi-producer mailbox and an atomic "scheduled" flag.
+ * Only the producer that sets the flag submits a drain run to the underlying executor. A drain run executes up to
+ * {@code maxBatchSize} tasks before it re-submits itself, so busy executors do not starve others.
+ * <p>
+ * In contrast to {@link CompletableFutureChainSequentialExecutorFactory}, submitting a task neither locks nor allocates
+ * more than one task object, and many queued tasks are executed with a single pool submission.
+ */
+public class MailboxSequentialExecutorFactory implements SequentialExecutorFactory {
+
+	private static final Logger LOGGER = LoggerFactory.getLogger(MailboxSequentialExecutorFactory.class);
+
+	public static final int DEFAULT_MAX_BATCH_SIZE = 32;
+
+	private final SequentialExecutionStats stats = new SequentialExecutionStats(LOGGER);
+	private final Executor executor;
+	private final int maxBatchSize;
+
+	public MailboxSequentialExecutorFactory(int nThreads) {
+		this(Executors.newFixedThreadPool(nThreads), DEFAULT_MAX_BATCH_SIZE);
+	}
+
+	/**
+	 * @param executor     executes the drain runs of all executors
+	 * @param maxBatchSize the maximum number of tasks executed per drain run
+	 */
+	public MailboxSequentialExecutorFactory(Executor executor, int maxBatchSize) {
+		this.executor = executor;
+		this.maxBatchSize = maxBatchSize;
+	}
+
+	public ExecutorService createExecutor() {
+		return createExecutor("unnamed");
+	}
+
+	@Override
+	public ExecutorService createExecutor(String name) {
+		return new SequentialExecutor(name);
+	}
+
+	private static class Task {
+		private final Runnable runnable;
+		private final long submitTime;
+
+		public Task(Runnable runnable, long submitTime) {
+			this.runnable = runnable;
+			this.submitTime = submitTime;
+		}
+	}
+
+	public class SequentialExecutor extends AbstractExecutorService {
+		private final String name;
+		private final Queue<Task> mailbox = new ConcurrentLinkedQueue<>();
+		private final AtomicBoolean scheduled = new AtomicBoolean();
+		private final AtomicInteger queueSize = new AtomicInteger(0);
+		private final Runnable drainRun = this::drain;
+
+		public SequentialExecutor(String name) {
+			this.name = name;
+		}
+
+		@Override
+		public void execute(Runnable command) {
+			int queueSize = this.queueSize.incrementAndGet();
+			LOGGER.trace("{}: Queue size: {}", name, queueSize);
+			if (queueSize >= 500 && queueSize % 10 == 0) { // the queue gets quite long when destroying a session, since there are very many listeners to the destroyed event
+				LOGGER.warn("{}: Queue is very long: {}", name, queueSize);
+			}
+			mailbox.offer(new Task(command, System.currentTimeMillis()));
+			if (scheduled.compareAndSet(false, true)) {
+				executor.execute(drainRun);
+			}
+		}
+
+		private void drain() {
+			int executed = 0;
+			while (true) {
+				Task task;
+				while (executed < maxBatchSize && (task = mailbox.poll()) != null) {
+					run(task);
+					executed++;
+				}
+				if (executed >= maxBatchSize && !mailbox.isEmpty()) {
+					executor.execute(drainRun); // still scheduled. give other executors a chance.
+					return;
+				}
+				scheduled.set(false);
+				// a task might have been offered after the last poll, but before resetting the flag
+				if (mailbox.isEmpty() || !scheduled.compareAndSet(false, true)) {
+					return;
+				}
+			}
+		}
+
+		private void run(Task task) {
+			long executionStartTime = System.currentTimeMillis();
+			stats.pushDelay(executionStartTime - task.submitTime);
+			try {
+				task.runnable.run();
+			} catch (Throwable t) {
+				LOGGER.error("{}: Error while executing: ", name, t); // do not interrupt the execution of the following tasks!!
+			}
+			stats.pushExecutionTime(System.currentTimeMillis() - executionStartTime);
+			this.queueSize.decrementAndGet();
+		}
+
+		@Override
+		public void shutdown() {
+			// nothing to do here
+		}
+
+		@Override
+		public List<Runnable> shutdownNow() {
+			return List.of();
+		}
+
+		@Override
+		public boolean isShutdown() {
+			return false;
+		}
+
+		@Override
+		public boolean isTerminated() {
+			return false;
+		}
+
+		@Override
+		public boolean awaitTermination(long timeout, TimeUnit unit) throws InterruptedException {
+			Thread.sleep(10);
+			return false;
+		}
+	}
+
+}
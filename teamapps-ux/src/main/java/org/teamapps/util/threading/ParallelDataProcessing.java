@@ -0,0 +1,145 @@
+/*-
+ * ========================LICENSE_START=================================
+ * TeamApps
+ * ---
+ * Copyright (C) 2014 - 2025 TeamApps.org
+ * ---
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ * 
+ *      http://www.apache.org/licenses/LICENSE-2.0
+ * 
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ * =========================LICENSE_END==================================
+ */
+package org.teamapps.util.threading;
+
+import it.unimi.dsi.fastutil.ints.IntArrays;
+import it.unimi.dsi.fastutil.ints.IntComparator;
+
+import java.util.List;
+import java.util.concurrent.ForkJoinPool;
+import java.util.concurrent.ForkJoinWorkerThread;
+import java.util.function.IntConsumer;
+import java.util.function.IntPredicate;
+import java.util.function.Predicate;
+import java.util.stream.Collectors;
+import java.util.stream.IntStream;
+
+/**
+ * Filters and sorts large amounts of data in parallel, using a {@link ForkJoinPool} that is separate from the
+ * session executors and the common pool.
+ * <p>
+ * Data sizes below the threshold are processed sequentially on the calling thread, since splitting them up costs
+ * more than it saves. The calling thread blocks until the work is done.
+ * <p>
+ * Note that predicates, comparators and consumers passed to this class must be thread-safe if the data size exceeds
+ * the threshold.
+ */
+public class ParallelDataProcessing {
+
+	public static final int DEFAULT_THRESHOLD = 50_000;
+
+	/**
+	 * Processes everything sequentially on the calling thread.
+	 */
+	public static final ParallelDataProcessing SEQUENTIAL = new ParallelDataProcessing(null, Integer.MAX_VALUE);
+
+	private static volatile ParallelDataProcessing defaultInstance;
+
+	private final ForkJoinPool pool;
+	private final int threshold;
+
+	/**
+	 * @return a shared instance with {@link #DEFAULT_THRESHOLD}, using one thread per available processor
+	 */
+	public static ParallelDataProcessing getDefault() {
+		if (defaultInstance == null) {
+			synchronized (ParallelDataProcessing.class) {
+				if (defaultInstance == null) {
+					defaultInstance = new ParallelDataProcessing(DEFAULT_THRESHOLD);
+				}
+			}
+		}
+		return defaultInstance;
+	}
+
+	public ParallelDataProcessing(int threshold) {
+		this(createPool(Runtime.getRuntime().availableProcessors()), threshold);
+	}
+
+	public ParallelDataProcessing(ForkJoinPool pool, int threshold) {
+		this.pool = pool;
+		this.threshold = threshold;
+	}
+
+	private static ForkJoinPool createPool(int parallelism) {
+		return new ForkJoinPool(parallelism, pool -> {
+			ForkJoinWorkerThread thread = ForkJoinPool.defaultForkJoinWorkerThreadFactory.newThread(pool);
+			thread.setName("teamapps-data-processing-" + thread.getPoolIndex());
+			thread.setDaemon(true);
+			return thread;
+		}, null, false);
+	}
+
+	public boolean isParallel(int size) {
+		return size >= threshold;
+	}
+
+	/**
+	 * @return the indexes in [0, size) that match the predicate, in ascending order
+	 */
+	public int[] filterIndexes(int size, IntPredicate predicate) {
+		if (isParallel(size)) {
+			return pool.submit(() -> IntStream.range(0, size).parallel().filter(predicate).toArray()).join();
+		} else {
+			return IntStream.range(0, size).filter(predicate).toArray();
+		}
+	}
+
+	/**
+	 * @return the elements of the list that match the predicate, in list order
+	 */
+	public <T> List<T> filter(List<T> list, Predicate<T> predicate) {
+		if (isParallel(list.size())) {
+			return pool.submit(() -> list.parallelStream().filter(predicate).collect(Collectors.toList())).join();
+		} else {
+			return list.stream().filter(predicate).collect(Collectors.toList());
+		}
+	}
+
+	public void forEachIndex(int size, IntConsumer consumer) {
+		if (isParallel(size)) {
+			pool.submit(() -> IntStream.range(0, size).parallel().forEach(consumer)).join();
+		} else {
+			for (int i = 0; i < size; i++) {
+				consumer.accept(i);
+			}
+		}
+	}
+
+	/**
+	 * Sorts the given range of the array. The parallel sort is NOT stable, so the comparator should not consider
+	 * any two distinct values equal if stability matters.
+	 */
+	public void sort(int[] a, int from, int to, IntComparator comparator) {
+		if (isParallel(to - from)) {
+			pool.submit(() -> IntArrays.parallelQuickSort(a, from, to, comparator)).join();
+		} else {
+			IntArrays.mergeSort(a, from, to, comparator);
+		}
+	}
+
+	public int getThreshold() {
+		return threshold;
+	}
+
+	public ForkJoinPool getPool() {
+		return pool;
+	}
+}
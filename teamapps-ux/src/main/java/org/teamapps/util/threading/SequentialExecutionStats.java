@@ -0,0 +1,82 @@
+/*-
+ * ========================LICENSE_START=================================
+ * TeamApps
+ * ---
+ * Copyright (C) 2014 - 2025 TeamApps.org
+ * ---
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ * 
+ *      http://www.apache.org/licenses/LICENSE-2.0
+ * 
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ * =========================LICENSE_END==================================
+ */
+package org.teamapps.util.threading;
+
+import org.slf4j.Logger;
+
+import java.util.concurrent.Executors;
+import java.util.concurrent.ScheduledExecutorService;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.LongAccumulator;
+import java.util.concurrent.atomic.LongAdder;
+
+/**
+ * Delay (time between submission and start of execution) and execution time statistics of a {@link SequentialExecutorFactory}.
+ * The statistics are logged and reset every second, if they exceed critical values.
+ * <p>
+ * Values are recorded into striped accumulators, so threads of all sessions can record concurrently without contention.
+ * A snapshot may therefore be slightly inconsistent when values are recorded while it is taken, which is acceptable for logging.
+ */
+class SequentialExecutionStats {
+
+	private final StripedMinMaxAverageStats delayStats = new StripedMinMaxAverageStats();
+	private final StripedMinMaxAverageStats executionTimeStats = new StripedMinMaxAverageStats();
+
+	public SequentialExecutionStats(Logger logger) {
+		ScheduledExecutorService statsLogExecutorService = Executors.newSingleThreadScheduledExecutor();
+		statsLogExecutorService.scheduleAtFixedRate(() -> {
+			MinMaxAverageStats delayStats = this.delayStats.getThenReset();
+			MinMaxAverageStats executionTimeStats = this.executionTimeStats.getThenReset();
+			if (delayStats.getMax() > 3000) {
+				logger.warn("Delays critical: min: {}, max: {}, avg: {}, count: {}", delayStats.getMin(), delayStats.getMax(), delayStats.getAvg(), delayStats.getCount());
+			}
+			if (executionTimeStats.getMax() > 1000) {
+				logger.warn("Execution times critical: min: {}, max: {}, avg: {}, count: {}", executionTimeStats.getMin(), executionTimeStats.getMax(), executionTimeStats.getAvg(), executionTimeStats.getCount());
+			}
+		}, 1, 1, TimeUnit.SECONDS);
+	}
+
+	public void pushDelay(long delay) {
+		delayStats.push(delay);
+	}
+
+	public void pushExecutionTime(long executionTime) {
+		executionTimeStats.push(executionTime);
+	}
+
+	private static class StripedMinMaxAverageStats {
+		private final LongAccumulator min = new LongAccumulator(Math::min, Long.MAX_VALUE);
+		private final LongAccumulator max = new LongAccumulator(Math::max, 0);
+		private final LongAdder total = new LongAdder();
+		private final LongAdder count = new LongAdder();
+
+		public void push(long value) {
+			min.accumulate(value);
+			max.accumulate(value);
+			total.add(value);
+			count.increment();
+		}
+
+		public MinMaxAverageStats getThenReset() {
+			return new MinMaxAverageStats(min.getThenReset(), max.getThenReset(), total.sumThenReset(), count.sumThenReset());
+		}
+	}
+
+}
@@ -0,0 +1,63 @@
+/*-
+ * ========================LICENSE_START=================================
+ * TeamApps
+ * ---
+ * Copyright (C) 2014 - 2025 TeamApps.org
+ * ---
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ * 
+ *      http://www.apache.org/licenses/LICENSE-2.0
+ * 
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ * =========================LICENSE_END==================================
+ */
+package org.teamapps.util.threading;
+
+/**
+ * The {@link SequentialExecutorFactory} implementations available for session executors.
+ *
+ * @see org.teamapps.config.TeamAppsConfiguration#getSessionExecutorType()
+ */
+public enum SequentialExecutorType {
+
+	/**
+	 * @see CompletableFutureChainSequentialExecutorFactory
+	 */
+	COMPLETABLE_FUTURE_CHAIN {
+		@Override
+		public SequentialExecutorFactory createFactory(int maxNumberOfThreads) {
+			return new CompletableFutureChainSequentialExecutorFactory(maxNumberOfThreads);
+		}
+	},
+
+	/**
+	 * @see MailboxSequentialExecutorFactory
+	 */
+	MAILBOX {
+		@Override
+		public SequentialExecutorFactory createFactory(int maxNumberOfThreads) {
+			return new MailboxSequentialExecutorFactory(maxNumberOfThreads);
+		}
+	},
+
+	/**
+	 * Requires Java 21 or later. The number of threads is not limited.
+	 *
+	 * @see VirtualThreadSequentialExecutorFactory
+	 */
+	VIRTUAL_THREADS {
+		@Override
+		public SequentialExecutorFactory createFactory(int maxNumberOfThreads) {
+			return new VirtualThreadSequentialExecutorFactory();
+		}
+	};
+
+	public abstract SequentialExecutorFactory createFactory(int maxNumberOfThreads);
+
+}
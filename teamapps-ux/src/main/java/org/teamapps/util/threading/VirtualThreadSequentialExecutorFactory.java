@@ -0,0 +1,69 @@
+/*-
+ * ========================LICENSE_START=================================
+ * TeamApps
+ * ---
+ * Copyright (C) 2014 - 2025 TeamApps.org
+ * ---
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ * 
+ *      http://www.apache.org/licenses/LICENSE-2.0
+ * 
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ * =========================LICENSE_END==================================
+ */
+package org.teamapps.util.threading;
+
+import java.util.concurrent.ThreadFactory;
+
+/**
+ * Gives every executor a lock-free mailbox that gets drained by a virtual thread, whenever there are tasks to execute
+ * (see {@link MailboxSequentialExecutorFactory}).
+ * <p>
+ * Since virtual threads are cheap, blocking calls (JDBC, REST, ...) in one session's task do not starve other sessions,
+ * and there is no pool size to be tuned.
+ * <p>
+ * Virtual threads require Java 21 or later. Since TeamApps is compiled for Java 17, they are looked up reflectively.
+ * Use {@link #isVirtualThreadsSupported()} to check for support.
+ * Any other {@link ThreadFactory} can be used with {@link #VirtualThreadSequentialExecutorFactory(ThreadFactory)}.
+ */
+public class VirtualThreadSequentialExecutorFactory extends MailboxSequentialExecutorFactory {
+
+	/**
+	 * @throws UnsupportedOperationException if the JVM does not support virtual threads
+	 */
+	public VirtualThreadSequentialExecutorFactory() {
+		this(createVirtualThreadFactory());
+	}
+
+	public VirtualThreadSequentialExecutorFactory(ThreadFactory threadFactory) {
+		// a thread per drain run, so there is no need to limit the number of tasks per run
+		super(runnable -> threadFactory.newThread(runnable).start(), Integer.MAX_VALUE);
+	}
+
+	public static boolean isVirtualThreadsSupported() {
+		try {
+			createVirtualThreadFactory();
+			return true;
+		} catch (UnsupportedOperationException e) {
+			return false;
+		}
+	}
+
+	private static ThreadFactory createVirtualThreadFactory() {
+		try {
+			Class<?> builderClass = Class.forName("java.lang.Thread$Builder");
+			Object builder = Thread.class.getMethod("ofVirtual").invoke(null);
+			builder = builderClass.getMethod("name", String.class, long.class).invoke(builder, "teamapps-session-", 0L);
+			return (ThreadFactory) builderClass.getMethod("factory").invoke(builder);
+		} catch (ReflectiveOperationException e) {
+			throw new UnsupportedOperationException("Virtual threads are not supported by this JVM (Java 21 or later required).", e);
+		}
+	}
+
+}
@@ -19,6 +19,8 @@
  */
 package org.teamapps.ux.cache.record;
 
+import it.unimi.dsi.fastutil.ints.Int2ObjectMap;
+import it.unimi.dsi.fastutil.ints.Int2ObjectOpenHashMap;
 import org.slf4j.Logger;
 import org.slf4j.LoggerFactory;
 import org.teamapps.dto.UiIdentifiableClientRecord;
@@ -27,174 +29,246 @@ import org.teamapps.ux.component.table.CustomEqualsAndHashCodeMap;
 import java.lang.invoke.MethodHandles;
 import java.util.*;
 import java.util.stream.Collectors;
-import java.util.stream.IntStream;
+import java.util.stream.Stream;
 
+/**
+ * Caches the records currently rendered by an infinite list component, together with their client records.
+ * <p>
+ * All lookups by record or ui record id are backed by hash maps. Every entry knows its absolute index.
+ * Since only {@link #insertShifting(int, List)} and {@link #removeNoShift(int, int)} change the absolute indexes of
+ * other entries, these indexes are not updated eagerly, but lazily on the next index-dependent lookup.
+ * This way, a batch of structural changes followed by lookups costs O(n) instead of O(n) per lookup.
+ */
 public class RenderedRecordsCache<RECORD> {
 	private static final Logger LOGGER = LoggerFactory.getLogger(MethodHandles.lookup().lookupClass());
 
-	private final CustomEqualsAndHashCodeMap<RECORD, UiIdentifiableClientRecord> uiRecordsByRecord;
-	private final List<RecordAndClientRecord<RECORD>> recordPairs = new ArrayList<>();
-	private final EqualsAndHashCode<RECORD> customEqualsAndHashCode;
+	private static final int NONE_OUTDATED = Integer.MAX_VALUE;
+
+	private final CustomEqualsAndHashCodeMap<RECORD, Entry<RECORD>> entriesByRecord;
+	private final Int2ObjectMap<Entry<RECORD>> entriesByUiRecordId = new Int2ObjectOpenHashMap<>();
+	private final List<Entry<RECORD>> entries = new ArrayList<>();
 	private int startIndex = 0;
 
+	/**
+	 * The absolute indexes of the entries at this list index and after are outdated.
+	 */
+	private int firstOutdatedListIndex = NONE_OUTDATED;
+
+	private static class Entry<RECORD> {
+		private RECORD record;
+		private UiIdentifiableClientRecord uiRecord;
+		private int index;
+
+		public Entry(RECORD record, UiIdentifiableClientRecord uiRecord) {
+			this.record = record;
+			this.uiRecord = uiRecord;
+		}
+	}
+
 	public RenderedRecordsCache() {
 		this(EqualsAndHashCode.bypass());
 	}
 
 	public RenderedRecordsCache(EqualsAndHashCode<RECORD> customEqualsAndHashCode) {
-		this.customEqualsAndHashCode = customEqualsAndHashCode;
-		this.uiRecordsByRecord = new CustomEqualsAndHashCodeMap<>(customEqualsAndHashCode);
+		this.entriesByRecord = new CustomEqualsAndHashCodeMap<>(customEqualsAndHashCode);
 	}
 
 	public UiIdentifiableClientRecord getUiRecord(RECORD record) {
-		return record != null ? uiRecordsByRecord.get(record) : null;
+		if (record == null) {
+			return null;
+		}
+		Entry<RECORD> entry = entriesByRecord.get(record);
+		return entry != null ? entry.uiRecord : null;
 	}
 
 	public int getIndex(RECORD record) {
-		int index = getRelativeIndex(record);
-		if (index >= 0) {
-			return startIndex + index;
+		Entry<RECORD> entry = entriesByRecord.get(record);
+		if (entry != null) {
+			updateOutdatedIndexes();
+			return entry.index;
 		} else {
 			return -1;
 		}
 	}
 
-	private int getRelativeIndex(RECORD record) {
-		return IntStream.range(0, recordPairs.size())
-				.filter(i -> customEqualsAndHashCode.getEquals().test(record, recordPairs.get(i).getRecord()))
-				.findFirst().orElse(-1);
-	}
-
 	public List<RECORD> getRecords() {
-		return recordPairs.stream()
-				.map(RecordAndClientRecord::getRecord)
+		return entries.stream()
+				.map(entry -> entry.record)
 				.collect(Collectors.toList());
 	}
 
 	public RECORD getRecord(int uiRecordId) {
-		// no fast implementation needed! only called on user click
-		return recordPairs.stream()
-				.filter(rr -> rr.getUiRecord().getId() == uiRecordId)
-				.map(RecordAndClientRecord::getRecord)
-				.findFirst().orElse(null);
+		Entry<RECORD> entry = entriesByUiRecordId.get(uiRecordId);
+		return entry != null ? entry.record : null;
 	}
 
 	public RECORD getRecordByIndex(int index) {
-		return recordPairs.get(index - startIndex).getRecord();
+		return entries.get(index - startIndex).record;
 	}
 
+	/**
+	 * @return the records with the given ui record ids, in the order of this cache
+	 */
 	public List<RECORD> getRecords(List<Integer> uiRecordIds) {
-		HashSet<Integer> recordIdsSet = new HashSet<>(uiRecordIds);
-		return recordPairs.stream()
-				.filter(rr -> recordIdsSet.contains(rr.getUiRecord().getId()))
-				.map(RecordAndClientRecord::getRecord)
+		return sortedByIndex(uiRecordIds.stream()
+				.map(entriesByUiRecordId::get))
+				.map(entry -> entry.record)
 				.collect(Collectors.toList());
 	}
 
 	public List<Integer> getUiRecordIds() {
-		return recordPairs.stream()
-				.map(rr -> rr.getUiRecord().getId())
+		return entries.stream()
+				.map(entry -> entry.uiRecord.getId())
 				.collect(Collectors.toList());
 	}
 
+	/**
+	 * @return the ui record ids of the given records, in the order of this cache
+	 */
 	public List<Integer> getUiRecordIds(List<RECORD> records) {
-		Set<EqualsHashCodeWrapper<RECORD>> recordsAsSet = records.stream()
-				.map(this::withCustomEqualsHashCode)
-				.collect(Collectors.toSet());
-		return recordPairs.stream()
-				.filter(rp -> recordsAsSet.contains(withCustomEqualsHashCode(rp.getRecord())))
-				.map(rr -> rr.getUiRecord().getId())
+		return sortedByIndex(records.stream()
+				.map(entriesByRecord::get))
+				.map(entry -> entry.uiRecord.getId())
 				.collect(Collectors.toList());
 	}
 
+	private Stream<Entry<RECORD>> sortedByIndex(Stream<Entry<RECORD>> entries) {
+		updateOutdatedIndexes();
+		return entries
+				.filter(Objects::nonNull)
+				.distinct()
+				.sorted(Comparator.comparingInt(entry -> entry.index));
+	}
+
 	public void addNoShift(int startIndex, List<RecordAndClientRecord<RECORD>> newClientRecordPairs) {
 		LOGGER.debug("inserting at {}: {}", startIndex, newClientRecordPairs.size());
 		if (newClientRecordPairs.size() == 0) {
 			return; // this is important! if the startIndex is completely of, this might otherwise throw an "unattached records" exception
 		}
-		if (this.recordPairs.size() == 0) { // fresh record cache!
+		if (this.entries.size() == 0) { // fresh record cache!
 			this.startIndex = startIndex;
 		}
 		if (startIndex + newClientRecordPairs.size() < this.startIndex
-				|| startIndex > this.startIndex + recordPairs.size()) {
-			String errorMessage = String.format("Cannot addNoShift unattached records! %d, %d, %d, %d", startIndex, newClientRecordPairs.size(), this.startIndex, recordPairs.size());
+				|| startIndex > this.startIndex + entries.size()) {
+			String errorMessage = String.format("Cannot addNoShift unattached records! %d, %d, %d, %d", startIndex, newClientRecordPairs.size(), this.startIndex, entries.size());
 			LOGGER.error(errorMessage);
 			throw new IllegalArgumentException(errorMessage);
 		}
 		int listInsertIndex = Math.max(0, startIndex - this.startIndex);
-		if (newClientRecordPairs.stream().anyMatch(rp -> uiRecordsByRecord.containsKey(rp.getRecord()))) {
-			throw new DuplicateEntriesException("List components MUST NOT contains the same item several times!");
-		}
-		recordPairs.addAll(listInsertIndex, newClientRecordPairs);
-		for (RecordAndClientRecord<RECORD> rr : newClientRecordPairs) {
-			uiRecordsByRecord.put(rr.getRecord(), rr.getUiRecord());
-		}
+		boolean prependsSeamlessly = listInsertIndex == 0 && startIndex + newClientRecordPairs.size() == this.startIndex;
+		List<Entry<RECORD>> newEntries = createEntries(newClientRecordPairs);
+		entries.addAll(listInsertIndex, newEntries);
 		this.startIndex = Math.min(this.startIndex, startIndex);
+		if (prependsSeamlessly) {
+			// typical when scrolling up: the absolute indexes of the existing entries do not change
+			for (int i = 0; i < newEntries.size(); i++) {
+				newEntries.get(i).index = startIndex + i;
+			}
+			if (firstOutdatedListIndex != NONE_OUTDATED) {
+				firstOutdatedListIndex += newEntries.size();
+			}
+		} else {
+			markIndexesOutdated(listInsertIndex);
+		}
 	}
 
 	public void insertShifting(int startIndex, List<RecordAndClientRecord<RECORD>> newClientRecordPairs) {
-		if (startIndex < this.startIndex || startIndex > this.startIndex + this.recordPairs.size()) {
-			String errorMessage = String.format("Cannot insertShifting unattached records! %d, %d, %d, %d", startIndex, newClientRecordPairs.size(), this.startIndex, recordPairs.size());
+		if (startIndex < this.startIndex || startIndex > this.startIndex + this.entries.size()) {
+			String errorMessage = String.format("Cannot insertShifting unattached records! %d, %d, %d, %d", startIndex, newClientRecordPairs.size(), this.startIndex, entries.size());
 			LOGGER.error(errorMessage);
 			throw new IllegalArgumentException(errorMessage);
 		}
 		int listInsertIndex = startIndex - this.startIndex;
-		if (newClientRecordPairs.stream().anyMatch(rp -> uiRecordsByRecord.containsKey(rp.getRecord()))) {
-			throw new DuplicateEntriesException("List components MUST NOT contains the same item several times! ");
+		entries.addAll(listInsertIndex, createEntries(newClientRecordPairs));
+		markIndexesOutdated(listInsertIndex);
+	}
+
+	private List<Entry<RECORD>> createEntries(List<RecordAndClientRecord<RECORD>> newClientRecordPairs) {
+		if (newClientRecordPairs.stream().anyMatch(rp -> entriesByRecord.containsKey(rp.getRecord()))) {
+			throw new DuplicateEntriesException("List components MUST NOT contains the same item several times!");
 		}
-		recordPairs.addAll(listInsertIndex, newClientRecordPairs);
+		List<Entry<RECORD>> newEntries = new ArrayList<>(newClientRecordPairs.size());
 		for (RecordAndClientRecord<RECORD> rr : newClientRecordPairs) {
-			uiRecordsByRecord.put(rr.getRecord(), rr.getUiRecord());
+			Entry<RECORD> entry = new Entry<>(rr.getRecord(), rr.getUiRecord());
+			newEntries.add(entry);
+			entriesByRecord.put(rr.getRecord(), entry);
+			entriesByUiRecordId.put(rr.getUiRecord().getId(), entry);
 		}
+		return newEntries;
 	}
 
 	public void removeNoShift(int startIndex, int endIndex) {
 		int length = endIndex - startIndex;
 		int listStartIndex = startIndex - this.startIndex;
-		int listEndIndex = listStartIndex + Math.min(length, recordPairs.size());
+		int listEndIndex = listStartIndex + Math.min(length, entries.size());
 		removeNoShiftInternal(listStartIndex, listEndIndex);
-
+		markIndexesOutdated(listStartIndex); // the following entries move up
 	}
 
 	public void removeBeforeNoShift(int index) {
 		if (index > startIndex) {
-			removeNoShiftInternal(0, Math.min(index - this.startIndex, recordPairs.size()));
+			removeNoShiftInternal(0, Math.min(index - this.startIndex, entries.size()));
 			this.startIndex = index;
 		}
 	}
 
 	public void removeAfterNoShift(int index) {
-		if (index < startIndex + recordPairs.size()) {
-			removeNoShiftInternal(Math.max(0, index - this.startIndex), recordPairs.size());
+		if (index < startIndex + entries.size()) {
+			removeNoShiftInternal(Math.max(0, index - this.startIndex), entries.size());
 		}
 	}
 
 	private void removeNoShiftInternal(int startIndex, int endIndex) {
-		List<RecordAndClientRecord<RECORD>> recordsToBeRemoved = recordPairs.subList(startIndex, endIndex);
-		for (RecordAndClientRecord<RECORD> rr : recordsToBeRemoved) {
-			uiRecordsByRecord.remove(rr.getRecord());
+		List<Entry<RECORD>> entriesToBeRemoved = entries.subList(startIndex, endIndex);
+		for (Entry<RECORD> entry : entriesToBeRemoved) {
+			entriesByRecord.remove(entry.record);
+			entriesByUiRecordId.remove(entry.uiRecord.getId());
+		}
+		int removedCount = entriesToBeRemoved.size();
+		entriesToBeRemoved.clear();
+		if (firstOutdatedListIndex != NONE_OUTDATED) {
+			if (firstOutdatedListIndex >= endIndex) {
+				firstOutdatedListIndex -= removedCount;
+			} else if (firstOutdatedListIndex > startIndex) {
+				firstOutdatedListIndex = startIndex;
+			}
 		}
-		recordsToBeRemoved.clear();
 	}
 
 	public void updateRecord(RECORD record, UiIdentifiableClientRecord clientRecord) {
-		int index = getRelativeIndex(record);
-		recordPairs.set(index, new RecordAndClientRecord<>(record, clientRecord));
-		uiRecordsByRecord.put(record, clientRecord);
+		Entry<RECORD> entry = entriesByRecord.get(record);
+		if (entry == null) {
+			throw new IllegalArgumentException("Record is not cached: " + record);
+		}
+		entriesByUiRecordId.remove(entry.uiRecord.getId());
+		entriesByRecord.remove(entry.record);
+		entry.record = record;
+		entry.uiRecord = clientRecord;
+		entriesByRecord.put(record, entry);
+		entriesByUiRecordId.put(clientRecord.getId(), entry);
 	}
 
-	private EqualsHashCodeWrapper<RECORD> withCustomEqualsHashCode(RECORD rp) {
-		return new EqualsHashCodeWrapper<>(rp, customEqualsAndHashCode);
+	private void markIndexesOutdated(int listIndex) {
+		firstOutdatedListIndex = Math.min(firstOutdatedListIndex, listIndex);
+	}
+
+	private void updateOutdatedIndexes() {
+		for (int i = firstOutdatedListIndex; i < entries.size(); i++) {
+			entries.get(i).index = startIndex + i;
+		}
+		firstOutdatedListIndex = NONE_OUTDATED;
 	}
 
 	public void clear() {
 		this.startIndex = 0;
-		uiRecordsByRecord.clear();
-		recordPairs.clear();
+		entriesByRecord.clear();
+		entriesByUiRecordId.clear();
+		entries.clear();
+		firstOutdatedListIndex = NONE_OUTDATED;
 	}
 
 	public int size() {
-		return recordPairs.size();
+		return entries.size();
 	}
 
 	public int getStartIndex() {
@@ -202,10 +276,10 @@ public class RenderedRecordsCache<RECORD> {
 	}
 
 	public int getEndIndex() {
-		return startIndex + recordPairs.size();
+		return startIndex + entries.size();
 	}
 
 	public ItemRange getRange() {
-		return ItemRange.startLength(startIndex, recordPairs.size());
+		return ItemRange.startLength(startIndex, entries.size());
 	}
 }
@@ -45,7 +45,7 @@ public class ChatInput extends AbstractComponent {
 		UiChatInput uiChatInput = new UiChatInput(getSessionContext().resolveIcon(defaultAttachmentIcon));
 		mapAbstractUiComponentProperties(uiChatInput);
 		uiChatInput.setMaxBytesPerUpload(maxBytesPerUpload);
-		uiChatInput.setUploadUrl(uploadUrl);
+		uiChatInput.setUploadUrl(getSessionContext().resolveUploadUrl(uploadUrl));
 		uiChatInput.setMessageLengthLimit(messageLengthLimit);
 		uiChatInput.setAttachmentsEnabled(attachmentsEnabled);
 		return uiChatInput;
@@ -66,7 +66,7 @@ public class RichTextEditor extends AbstractField<String> {
 		mapAbstractFieldAttributesToUiField(field);
 		field.setToolbarVisibilityMode(this.toolbarVisibilityMode.toToolbarVisibilityMode());
 		field.setImageUploadEnabled(imageUploadEnabled);
-		field.setUploadUrl(uploadUrl);
+		field.setUploadUrl(getSessionContext().resolveUploadUrl(uploadUrl));
 		field.setMaxImageFileSizeInBytes(maxImageFileSizeInBytes);
 		field.setMinHeight(minHeight);
 		field.setMaxHeight(maxHeight);
@@ -146,7 +146,7 @@ public class RichTextEditor extends AbstractField<String> {
 
 	public void setUploadUrl(String uploadUrl) {
 		this.uploadUrl = uploadUrl;
-		queueCommandIfRendered(() -> new UiRichTextEditor.SetUploadUrlCommand(getId(), uploadUrl));
+		queueCommandIfRendered(() -> new UiRichTextEditor.SetUploadUrlCommand(getId(), getSessionContext().resolveUploadUrl(uploadUrl)));
 	}
 
 	public int getMaxImageFileSizeInBytes() {
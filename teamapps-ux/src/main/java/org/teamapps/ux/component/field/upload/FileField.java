@@ -93,7 +93,7 @@ public class FileField<RECORD> extends AbstractField<List<RECORD>> {
 		UiFileField uiField = new UiFileField(fileItemTemplate.createUiTemplate(), uploadButtonTemplate.createUiTemplate(), uploadButtonData);
 		mapAbstractFieldAttributesToUiField(uiField);
 		uiField.setMaxBytesPerFile(maxBytesPerFile);
-		uiField.setUploadUrl(uploadUrl);
+		uiField.setUploadUrl(getSessionContext().resolveUploadUrl(uploadUrl));
 
 		uiField.setFileTooLargeMessage(getSessionContext().getLocalized(TeamAppsDictionary.FILE_TOO_LARGE_SHORT_MESSAGE.getKey(), FileSizeFormatter.humanReadableByteCount(maxBytesPerFile, true, 1)));
 		uiField.setUploadErrorMessage(getSessionContext().getLocalized(TeamAppsDictionary.UPLOAD_ERROR_MESSAGE.getKey()));
@@ -250,7 +250,7 @@ public class FileField<RECORD> extends AbstractField<List<RECORD>> {
 
 	public void setUploadUrl(String uploadUrl) {
 		this.uploadUrl = uploadUrl;
-		queueCommandIfRendered(() -> new UiFileField.SetUploadUrlCommand(getId(), uploadUrl));
+		queueCommandIfRendered(() -> new UiFileField.SetUploadUrlCommand(getId(), getSessionContext().resolveUploadUrl(uploadUrl)));
 	}
 
 	public Template getUploadButtonTemplate() {
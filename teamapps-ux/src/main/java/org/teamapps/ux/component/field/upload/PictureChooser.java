@@ -153,7 +153,7 @@ public class PictureChooser extends AbstractField<Resource> {
 	public UiField createUiComponent() {
 		UiPictureChooser uiField = new UiPictureChooser();
 		mapAbstractFieldAttributesToUiField(uiField);
-		uiField.setUploadUrl(uploadUrl);
+		uiField.setUploadUrl(getSessionContext().resolveUploadUrl(uploadUrl));
 		uiField.setMaxFileSize(maxFileSize);
 		uiField.setFileTooLargeMessage(fileTooLargeMessage);
 		uiField.setUploadErrorMessage(uploadErrorMessage);
@@ -231,7 +231,7 @@ public class PictureChooser extends AbstractField<Resource> {
 
 	public void setUploadUrl(String uploadUrl) {
 		this.uploadUrl = uploadUrl;
-		queueCommandIfRendered(() -> new UiPictureChooser.SetUploadUrlCommand(getId(), uploadUrl));
+		queueCommandIfRendered(() -> new UiPictureChooser.SetUploadUrlCommand(getId(), getSessionContext().resolveUploadUrl(uploadUrl)));
 	}
 
 	public String getFileTooLargeMessage() {
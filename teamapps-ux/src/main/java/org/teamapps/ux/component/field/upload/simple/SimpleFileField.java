@@ -116,7 +116,7 @@ public class SimpleFileField extends AbstractField<List<FileItem>> {
 		mapAbstractFieldAttributesToUiField(field);
 		field.setBrowseButtonIcon(getSessionContext().resolveIcon(browseButtonIcon));
 		field.setBrowseButtonCaption(browseButtonCaption);
-		field.setUploadUrl(uploadUrl);
+		field.setUploadUrl(getSessionContext().resolveUploadUrl(uploadUrl));
 		field.setMaxBytesPerFile(maxBytesPerFile);
 		field.setFileTooLargeMessage(getSessionContext().getLocalized(TeamAppsDictionary.FILE_TOO_LARGE_SHORT_MESSAGE.getKey(), FileSizeFormatter.humanReadableByteCount(maxBytesPerFile, true, 1)));
 		field.setUploadErrorMessage(getSessionContext().getLocalized(TeamAppsDictionary.UPLOAD_ERROR_MESSAGE.getKey()));
@@ -247,7 +247,7 @@ public class SimpleFileField extends AbstractField<List<FileItem>> {
 
 	public void setUploadUrl(String uploadUrl) {
 		this.uploadUrl = uploadUrl;
-		queueCommandIfRendered(() -> new UiSimpleFileField.SetUploadUrlCommand(getId(), uploadUrl));
+		queueCommandIfRendered(() -> new UiSimpleFileField.SetUploadUrlCommand(getId(), getSessionContext().resolveUploadUrl(uploadUrl)));
 	}
 
 	public Icon getBrowseButtonIcon() {
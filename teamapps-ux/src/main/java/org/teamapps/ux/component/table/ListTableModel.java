@@ -22,26 +22,56 @@ package org.teamapps.ux.component.table;
 import org.teamapps.data.extract.BeanPropertyExtractor;
 import org.teamapps.data.extract.PropertyExtractor;
 import org.teamapps.data.value.SortDirection;
+import org.teamapps.util.threading.ParallelDataProcessing;
 import org.teamapps.ux.component.infiniteitemview.RecordsAddedEvent;
 
 import java.util.ArrayList;
+import java.util.Arrays;
 import java.util.Collections;
-import java.util.Comparator;
 import java.util.List;
 import java.util.function.Predicate;
-import java.util.stream.Collectors;
-import java.util.stream.Stream;
 
+/**
+ * A table model backed by a list.
+ * <p>
+ * If a filter or sorting is set, the filtered and sorted view of the list is computed once and cached as a permutation
+ * of list indexes, together with the extracted sort keys. Page requests and {@link #getCount()} are answered from that
+ * permutation. It is recomputed lazily after {@link #onAllDataChanged} or {@link #onRecordUpdated} have been fired
+ * (which includes {@link #setList(List)}, {@link #addRecords(List)}, {@link #setFilter(Predicate)} and
+ * {@link #setSorting(org.teamapps.data.value.Sorting)}). Single records added via {@link #addRecord(Object)} are
+ * inserted into the cached permutation directly, if there is one. Otherwise, adding a record is as cheap as adding it
+ * to the list and the view stays lazy. Since the position of the record in the view is not known in that case,
+ * {@link #onAllDataChanged} is fired instead of {@link #onRecordAdded} (if the record is visible).
+ * <p>
+ * The cached view is replaced as a whole, never modified in place, so readers on other threads (e.g. sessions sharing
+ * the model) always see a consistent view.
+ * <p>
+ * If records get modified in a way that affects filtering or sorting, fire {@link #onRecordUpdated} or
+ * {@link #onAllDataChanged}.
+ * <p>
+ * For very large lists, filtering, sort key extraction and sorting can be parallelized using
+ * {@link #setParallelDataProcessing(ParallelDataProcessing)}. The filter and the sorting property extractor must be
+ * thread-safe in that case.
+ */
 public class ListTableModel<RECORD> extends AbstractTableModel<RECORD> {
 
+	private static final Predicate<Object> NO_FILTER = record -> true; // the default. Treated like null.
+
 	private List<RECORD> list = new ArrayList<>();
-	private Predicate<RECORD> filter = record -> true;
+	@SuppressWarnings("unchecked")
+	private Predicate<RECORD> filter = (Predicate<RECORD>) NO_FILTER;
 	private PropertyExtractor<RECORD> sortingPropertyExtractor = new BeanPropertyExtractor<>();
+	private ParallelDataProcessing parallelDataProcessing = ParallelDataProcessing.SEQUENTIAL;
+
+	private volatile View view; // null if not computed or outdated. Replaced as a whole, guarded by this for writing.
 
 	public ListTableModel() {
+		onAllDataChanged.addListener(this::invalidateView, false);
+		onRecordUpdated.addListener(this::invalidateView, false);
 	}
 
 	public ListTableModel(List<RECORD> list) {
+		this();
 		this.list.addAll(list);
 	}
 
@@ -58,8 +88,53 @@ public class ListTableModel<RECORD> extends AbstractTableModel<RECORD> {
 	}
 
 	public void addRecord(RECORD record) {
-		list.add(record);
-		onRecordAdded.fire(new RecordsAddedEvent<>(list.size() - 1, List.of(record)));
+		int viewIndex;
+		synchronized (this) {
+			list.add(record);
+			int listIndex = list.size() - 1;
+			View view = this.view;
+			if (!isViewNeeded()) {
+				viewIndex = listIndex;
+			} else if (hasFilter() && !filter.test(record)) {
+				return; // not visible
+			} else if (view == null) {
+				viewIndex = -1; // the view index is unknown until the view gets computed
+			} else {
+				Object[] sortKeys = view.sortKeysByListIndex;
+				viewIndex = view.count;
+				if (isSorted()) {
+					if (sortKeys.length <= listIndex) {
+						sortKeys = Arrays.copyOf(sortKeys, Math.max(16, listIndex + (listIndex >> 1)));
+					}
+					// this slot is not referenced by the current view, so it can be written while the view is being read
+					sortKeys[listIndex] = extractSortKey(record);
+					viewIndex = findInsertionIndex(view, sortKeys, listIndex);
+				}
+				this.view = view.withInsertedListIndex(viewIndex, listIndex, sortKeys);
+			}
+		}
+		if (viewIndex >= 0) {
+			onRecordAdded.fire(new RecordsAddedEvent<>(viewIndex, List.of(record)));
+		} else {
+			onAllDataChanged.fire(null);
+		}
+	}
+
+	/**
+	 * @return the view index after all records that are less than the record at the given list index
+	 */
+	private int findInsertionIndex(View view, Object[] sortKeys, int listIndex) {
+		int low = 0;
+		int high = view.count;
+		while (low < high) {
+			int mid = (low + high) >>> 1;
+			if (compareListIndexes(sortKeys, view.listIndexes[mid], listIndex) <= 0) {
+				low = mid + 1;
+			} else {
+				high = mid;
+			}
+		}
+		return low;
 	}
 
 	public void addRecords(List<RECORD> records) {
@@ -69,60 +144,103 @@ public class ListTableModel<RECORD> extends AbstractTableModel<RECORD> {
 
 	@Override
 	public int getCount() {
-		if (filter == null) {
+		if (!hasFilter()) {
 			return list.size();
 		} else {
-			return (int) list.stream()
-					.filter(filter)
-					.count();
+			return getView().count;
 		}
 	}
 
 	@Override
 	public List<RECORD> getRecords(int startIndex, int length) {
-		if (filter == null && sorting == null) {
+		if (!isViewNeeded()) {
 			return list.subList(startIndex, Math.min(list.size(), startIndex + length));
 		} else {
-			Stream<RECORD> stream = list.stream();
-			if (filter != null) {
-				stream = stream.filter(filter);
+			View view = getView();
+			int endIndex = Math.min(view.count, startIndex + length);
+			List<RECORD> records = new ArrayList<>(Math.max(0, endIndex - startIndex));
+			for (int i = startIndex; i < endIndex; i++) {
+				records.add(list.get(view.listIndexes[i]));
 			}
-			if (sorting != null && sortingPropertyExtractor != null) {
-				stream = stream.sorted(valueExtractingComparator());
+			return records;
+		}
+	}
+
+	private boolean isViewNeeded() {
+		return hasFilter() || sorting != null;
+	}
+
+	private boolean hasFilter() {
+		return filter != null && filter != NO_FILTER;
+	}
+
+	private boolean isSorted() {
+		return sorting != null && sortingPropertyExtractor != null;
+	}
+
+	private void invalidateView() {
+		synchronized (this) {
+			view = null;
+		}
+	}
+
+	/**
+	 * Computing the view is guarded by this, so a view computed from outdated data cannot replace an invalidation.
+	 */
+	private View getView() {
+		View view = this.view;
+		if (view != null) {
+			return view;
+		}
+		synchronized (this) {
+			if (this.view == null) {
+				this.view = computeView();
 			}
-			return stream
-					.skip(startIndex)
-					.limit(length)
-					.collect(Collectors.toList());
+			return this.view;
+		}
+	}
+
+	private View computeView() {
+		int[] listIndexes = parallelDataProcessing.filterIndexes(list.size(), i -> !hasFilter() || filter.test(list.get(i)));
+		Object[] sortKeys = null;
+		if (isSorted()) {
+			Object[] keys = new Object[list.size()];
+			parallelDataProcessing.forEachIndex(listIndexes.length, i -> keys[listIndexes[i]] = extractSortKey(list.get(listIndexes[i])));
+			parallelDataProcessing.sort(listIndexes, 0, listIndexes.length, (listIndex1, listIndex2) -> compareListIndexes(keys, listIndex1, listIndex2));
+			sortKeys = keys;
 		}
+		return new View(listIndexes, listIndexes.length, sortKeys);
 	}
 
-	private Comparator<RECORD> valueExtractingComparator() {
-		Comparator<RECORD> comparator = (o1, o2) -> {
-			Object v1 = sortingPropertyExtractor.getValue(o1, sorting.getFieldName());
-			Object v2 = sortingPropertyExtractor.getValue(o2, sorting.getFieldName());
-			if (v1 == null && v2 == null) {
+	private Object extractSortKey(RECORD record) {
+		return sortingPropertyExtractor.getValue(record, sorting.getFieldName());
+	}
+
+	private int compareListIndexes(Object[] sortKeysByListIndex, int listIndex1, int listIndex2) {
+		Object v1 = sortKeysByListIndex[listIndex1];
+		Object v2 = sortKeysByListIndex[listIndex2];
+		int result = sorting.getSortDirection() == SortDirection.DESC ? compareSortKeys(v2, v1) : compareSortKeys(v1, v2);
+		return result != 0 ? result : Integer.compare(listIndex1, listIndex2); // keep the list order for equal values
+	}
+
+	private static int compareSortKeys(Object v1, Object v2) {
+		if (v1 == null && v2 == null) {
+			return 0;
+		} else if (v1 == null) {
+			return 1;
+		} else if (v2 == null) {
+			return -1;
+		} else { // both are not null
+			if (!(v1 instanceof Comparable) && !(v2 instanceof Comparable)) {
 				return 0;
-			} else if (v1 == null) {
+			} else if (!(v1 instanceof Comparable)) {
 				return 1;
-			} else if (v2 == null) {
+			} else if (!(v2 instanceof Comparable)) {
 				return -1;
-			} else { // both are not null
-				if (!(v1 instanceof Comparable) && !(v2 instanceof Comparable)) {
-					return 0;
-				} else if (!(v1 instanceof Comparable)) {
-					return 1;
-				} else if (!(v2 instanceof Comparable)) {
-					return -1;
-				} else {
-					return ((Comparable) v1).compareTo(v2);
-				}
+			} else {
+				return ((Comparable) v1).compareTo(v2);
 			}
-		};
-		if (sorting.getSortDirection() == SortDirection.DESC) {
-			comparator = comparator.reversed();
 		}
-		return comparator;
 	}
 
 	public List<RECORD> getAllRecords() {
@@ -144,5 +262,45 @@ public class ListTableModel<RECORD> extends AbstractTableModel<RECORD> {
 
 	public void setSortingPropertyExtractor(PropertyExtractor<RECORD> sortingPropertyExtractor) {
 		this.sortingPropertyExtractor = sortingPropertyExtractor;
+		invalidateView();
+	}
+
+	public ParallelDataProcessing getParallelDataProcessing() {
+		return parallelDataProcessing;
+	}
+
+	/**
+	 * @param parallelDataProcessing e.g. {@link ParallelDataProcessing#getDefault()}. null for sequential processing.
+	 */
+	public void setParallelDataProcessing(ParallelDataProcessing parallelDataProcessing) {
+		this.parallelDataProcessing = parallelDataProcessing != null ? parallelDataProcessing : ParallelDataProcessing.SEQUENTIAL;
+	}
+
+	/**
+	 * The filtered and sorted view of the list. Immutable once published, except for slots of listIndexes and
+	 * sortKeysByListIndex that it does not reference. Appending to the view therefore does not need to copy the arrays.
+	 */
+	private static class View {
+		private final int[] listIndexes; // list indexes of the filtered and sorted records. Only the first count are valid.
+		private final int count;
+		private final Object[] sortKeysByListIndex; // only set for records in the view, only if sorted
+
+		public View(int[] listIndexes, int count, Object[] sortKeysByListIndex) {
+			this.listIndexes = listIndexes;
+			this.count = count;
+			this.sortKeysByListIndex = sortKeysByListIndex;
+		}
+
+		public View withInsertedListIndex(int viewIndex, int listIndex, Object[] sortKeysByListIndex) {
+			int[] listIndexes = this.listIndexes;
+			if (viewIndex < count || count == listIndexes.length) {
+				// referenced slots must not change, so shifting them requires a copy
+				listIndexes = new int[count == this.listIndexes.length ? Math.max(16, count + (count >> 1)) : this.listIndexes.length];
+				System.arraycopy(this.listIndexes, 0, listIndexes, 0, viewIndex);
+				System.arraycopy(this.listIndexes, viewIndex, listIndexes, viewIndex + 1, count - viewIndex);
+			}
+			listIndexes[viewIndex] = listIndex;
+			return new View(listIndexes, count + 1, sortKeysByListIndex);
+		}
 	}
 }
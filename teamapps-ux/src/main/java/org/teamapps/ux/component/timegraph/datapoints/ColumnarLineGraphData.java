@@ -0,0 +1,189 @@
+/*-
+ * ========================LICENSE_START=================================
+ * TeamApps
+ * ---
+ * Copyright (C) 2014 - 2025 TeamApps.org
+ * ---
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ * 
+ *      http://www.apache.org/licenses/LICENSE-2.0
+ * 
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ * =========================LICENSE_END==================================
+ */
+package org.teamapps.ux.component.timegraph.datapoints;
+
+import org.teamapps.ux.component.timegraph.Interval;
+
+import java.io.IOException;
+import java.nio.ByteBuffer;
+import java.nio.ByteOrder;
+import java.nio.DoubleBuffer;
+import java.nio.LongBuffer;
+import java.nio.channels.FileChannel;
+import java.nio.file.Path;
+import java.nio.file.StandardOpenOption;
+import java.util.Arrays;
+
+/**
+ * Line graph data stored in two primitive columns: x values as {@code long}s (usually epoch millis) and y values as
+ * {@code double}s. No object is allocated per data point.
+ * <p>
+ * The columns are either backed by arrays or by a memory-mapped file (see {@link #map(Path, Interval)} and
+ * {@link #writeTo(Path)}). The file format is all x values followed by all y values, both little-endian.
+ * <p>
+ * Data points must be sorted by x.
+ */
+public class ColumnarLineGraphData implements LineGraphData {
+
+	private static final int BYTES_PER_DATA_POINT = Long.BYTES + Double.BYTES;
+
+	private final LongBuffer xs;
+	private final DoubleBuffer ys;
+	private final Interval interval;
+
+	public ColumnarLineGraphData(long[] xs, double[] ys, Interval interval) {
+		this(xs, ys, xs.length, interval);
+	}
+
+	public ColumnarLineGraphData(long[] xs, double[] ys, int size, Interval interval) {
+		this(LongBuffer.wrap(xs, 0, size).slice(), DoubleBuffer.wrap(ys, 0, size).slice(), interval);
+	}
+
+	public ColumnarLineGraphData(LongBuffer xs, DoubleBuffer ys, Interval interval) {
+		if (xs.remaining() != ys.remaining()) {
+			throw new IllegalArgumentException("x and y columns must have the same size! " + xs.remaining() + " != " + ys.remaining());
+		}
+		this.xs = xs;
+		this.ys = ys;
+		this.interval = interval;
+	}
+
+	/**
+	 * Maps a file written by {@link #writeTo(Path)} into memory. The data is read lazily by the operating system.
+	 */
+	public static ColumnarLineGraphData map(Path path, Interval interval) throws IOException {
+		try (FileChannel channel = FileChannel.open(path, StandardOpenOption.READ)) {
+			int size = (int) (channel.size() / BYTES_PER_DATA_POINT);
+			ByteBuffer buffer = channel.map(FileChannel.MapMode.READ_ONLY, 0, (long) size * BYTES_PER_DATA_POINT);
+			LongBuffer xs = buffer.slice(0, size * Long.BYTES).order(ByteOrder.LITTLE_ENDIAN).asLongBuffer();
+			DoubleBuffer ys = buffer.slice(size * Long.BYTES, size * Double.BYTES).order(ByteOrder.LITTLE_ENDIAN).asDoubleBuffer();
+			return new ColumnarLineGraphData(xs, ys, interval);
+		}
+	}
+
+	public void writeTo(Path path) throws IOException {
+		try (FileChannel channel = FileChannel.open(path, StandardOpenOption.CREATE, StandardOpenOption.WRITE, StandardOpenOption.TRUNCATE_EXISTING)) {
+			ByteBuffer buffer = ByteBuffer.allocate(8192).order(ByteOrder.LITTLE_ENDIAN);
+			for (int i = 0; i < size(); i++) {
+				if (!buffer.hasRemaining()) {
+					writeFully(channel, buffer);
+				}
+				buffer.putLong(xs.get(i));
+			}
+			for (int i = 0; i < size(); i++) {
+				if (!buffer.hasRemaining()) {
+					writeFully(channel, buffer);
+				}
+				buffer.putDouble(ys.get(i));
+			}
+			writeFully(channel, buffer);
+		}
+	}
+
+	private static void writeFully(FileChannel channel, ByteBuffer buffer) throws IOException {
+		buffer.flip();
+		while (buffer.hasRemaining()) {
+			channel.write(buffer);
+		}
+		buffer.clear();
+	}
+
+	@Override
+	public int size() {
+		return xs.limit();
+	}
+
+	@Override
+	public double getX(int index) {
+		return xs.get(index);
+	}
+
+	public long getXAsLong(int index) {
+		return xs.get(index);
+	}
+
+	@Override
+	public double getY(int index) {
+		return ys.get(index);
+	}
+
+	@Override
+	public LineGraphDataPoint getDataPoint(int index) {
+		return new LineGraphDataPoint(xs.get(index), ys.get(index));
+	}
+
+	@Override
+	public int findFirstIndexNotBefore(long x) {
+		int low = 0;
+		int high = size();
+		while (low < high) {
+			int mid = (low + high) >>> 1;
+			if (xs.get(mid) < x) {
+				low = mid + 1;
+			} else {
+				high = mid;
+			}
+		}
+		return low;
+	}
+
+	@Override
+	public Interval getInterval() {
+		return interval;
+	}
+
+	/**
+	 * Collects data points into growing primitive arrays. The builder must not be used anymore after calling
+	 * {@link #build(Interval)}, since the arrays are not copied.
+	 */
+	public static class Builder {
+		private long[] xs;
+		private double[] ys;
+		private int size;
+
+		public Builder() {
+			this(16);
+		}
+
+		public Builder(int initialCapacity) {
+			xs = new long[Math.max(1, initialCapacity)];
+			ys = new double[Math.max(1, initialCapacity)];
+		}
+
+		public Builder add(long x, double y) {
+			if (size == xs.length) {
+				xs = Arrays.copyOf(xs, size * 2);
+				ys = Arrays.copyOf(ys, size * 2);
+			}
+			xs[size] = x;
+			ys[size] = y;
+			size++;
+			return this;
+		}
+
+		public int size() {
+			return size;
+		}
+
+		public ColumnarLineGraphData build(Interval interval) {
+			return new ColumnarLineGraphData(xs, ys, size, interval);
+		}
+	}
+}
@@ -36,6 +36,26 @@ public interface LineGraphData extends GraphData {
 
 	LineGraphDataPoint getDataPoint(int index);
 
+	/**
+	 * Requires the data points to be sorted by x.
+	 *
+	 * @return the index of the first data point with an x value greater than or equal to the given one, or
+	 * {@link #size()} if there is no such data point
+	 */
+	default int findFirstIndexNotBefore(long x) {
+		int low = 0;
+		int high = size();
+		while (low < high) {
+			int mid = (low + high) >>> 1;
+			if (getX(mid) < x) {
+				low = mid + 1;
+			} else {
+				high = mid;
+			}
+		}
+		return low;
+	}
+
 	default DoubleStream streamX() {
 		int[] i = {0};
 		return DoubleStream.generate(() -> getX(i[0]++))
@@ -44,7 +64,7 @@ public interface LineGraphData extends GraphData {
 
 	default DoubleStream streamY() {
 		int[] i = {0};
-		return DoubleStream.generate(() -> getX(i[0]++))
+		return DoubleStream.generate(() -> getY(i[0]++))
 				.limit(size());
 	}
 
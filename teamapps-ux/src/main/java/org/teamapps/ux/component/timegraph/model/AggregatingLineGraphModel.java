@@ -21,15 +21,12 @@ package org.teamapps.ux.component.timegraph.model;
 
 import org.teamapps.ux.component.timegraph.Interval;
 import org.teamapps.ux.component.timegraph.TimePartitioning;
+import org.teamapps.ux.component.timegraph.datapoints.ColumnarLineGraphData;
 import org.teamapps.ux.component.timegraph.datapoints.LineGraphData;
-import org.teamapps.ux.component.timegraph.datapoints.LineGraphDataPoint;
-import org.teamapps.ux.component.timegraph.datapoints.ListLineGraphData;
 
 import java.time.Instant;
 import java.time.ZoneId;
 import java.time.ZonedDateTime;
-import java.util.ArrayList;
-import java.util.List;
 
 public class AggregatingLineGraphModel extends AbstractLineGraphModel {
 
@@ -58,9 +55,7 @@ public class AggregatingLineGraphModel extends AbstractLineGraphModel {
 
 	@Override
 	public LineGraphData getData(TimePartitioning zoomLevel, ZoneId zoneId, Interval neededIntervalX, Interval displayedInterval) {
-		final long queryStart = getPartitionStartMilli(displayedInterval.getMin(), zoomLevel, zoneId);
-		final long queryEnd = getPartitionEndMilli(displayedInterval.getMax(), zoomLevel, zoneId);
-		return getAggregateDataPoints(graphData, zoomLevel, new Interval(queryStart, queryEnd), aggregationType, zoneId, addDataPointBeforeAndAfterQueryResult);
+		return getAggregateDataPoints(graphData, zoomLevel, getAlignedQueryInterval(displayedInterval, zoomLevel, zoneId), aggregationType, zoneId, addDataPointBeforeAndAfterQueryResult);
 	}
 
 	public static LineGraphData getAggregateDataPoints(
@@ -71,51 +66,63 @@ public class AggregatingLineGraphModel extends AbstractLineGraphModel {
 			ZoneId timeZone,
 			boolean addDataPointBeforeAndAfterQueryResult
 	) {
-		List<LineGraphDataPoint> result = new ArrayList<>();
-		long startPartitionStartMilli = alignedInterval.getMin();
 		if (addDataPointBeforeAndAfterQueryResult) {
-			startPartitionStartMilli = zoomLevel.decrement(ZonedDateTime.ofInstant(Instant.ofEpochMilli(startPartitionStartMilli), timeZone)).toInstant().toEpochMilli();
+			alignedInterval = extendByOnePartition(alignedInterval, zoomLevel, timeZone);
 		}
+		long startPartitionStartMilli = alignedInterval.getMin();
 		long endPartitionEndMilli = alignedInterval.getMax();
-		if (addDataPointBeforeAndAfterQueryResult) {
-			endPartitionEndMilli = zoomLevel.increment(Instant.ofEpochMilli(alignedInterval.getMax()).atZone(timeZone)).toInstant().toEpochMilli();
-		}
+		ColumnarLineGraphData.Builder result = new ColumnarLineGraphData.Builder();
 		long currentPartitionStartMilli = startPartitionStartMilli;
 		long nextPartitionStartMilli = zoomLevel.increment(ZonedDateTime.ofInstant(Instant.ofEpochMilli(currentPartitionStartMilli), timeZone)).toInstant().toEpochMilli();
-		int i = 0;
+		int size = dataPoints.size();
+		int i = dataPoints.findFirstIndexNotBefore(startPartitionStartMilli);
 		do {
-			Double aggregateValue = null;
+			double aggregateValue = 0;
 			int count = 0;
-			for (; i < dataPoints.size(); i++) {
+			for (; i < size; i++) {
 				long tsMilli = (long) dataPoints.getX(i);
 				if (tsMilli >= nextPartitionStartMilli) {
 					break;
 				}
 				if (tsMilli >= currentPartitionStartMilli) {
-					count++;
 					double y = dataPoints.getY(i);
-					if (aggregationType == AggregationType.FIRST_VALUE) {
-						aggregateValue = aggregateValue == null ? y : aggregateValue;
-						break;
+					if (count == 0) {
+						aggregateValue = y;
 					} else if (aggregationType == AggregationType.MAX) {
-						aggregateValue = aggregateValue == null || aggregateValue < y ? y : aggregateValue;
+						aggregateValue = aggregateValue < y ? y : aggregateValue;
 					} else if (aggregationType == AggregationType.MIN) {
-						aggregateValue = aggregateValue == null || aggregateValue > y ? y : aggregateValue;
+						aggregateValue = aggregateValue > y ? y : aggregateValue;
 					} else if (aggregationType == AggregationType.AVERAGE) {
-						aggregateValue = aggregateValue == null ? y : aggregateValue + y;
+						aggregateValue += y;
+					}
+					count++;
+					if (aggregationType == AggregationType.FIRST_VALUE) {
+						i = dataPoints.findFirstIndexNotBefore(nextPartitionStartMilli);
+						break;
 					}
 				}
 			}
 
-			if (count > 0 && aggregateValue != null /*double-checking for no reason except preventing compiler warnings*/) {
+			if (count > 0) {
 				double y = aggregationType == AggregationType.AVERAGE ? aggregateValue / count : aggregateValue;
-				result.add(new LineGraphDataPoint(currentPartitionStartMilli, y));
+				result.add(currentPartitionStartMilli, y);
 			}
 
 			currentPartitionStartMilli = nextPartitionStartMilli;
 			nextPartitionStartMilli = zoomLevel.increment(getPartitionStart(nextPartitionStartMilli, zoomLevel, timeZone)).toInstant().toEpochMilli();
 		} while (currentPartitionStartMilli < endPartitionEndMilli);
-		return new ListLineGraphData(result, new Interval(startPartitionStartMilli, endPartitionEndMilli));
+		return result.build(new Interval(startPartitionStartMilli, endPartitionEndMilli));
+	}
+
+	static Interval getAlignedQueryInterval(Interval displayedInterval, TimePartitioning zoomLevel, ZoneId zoneId) {
+		return new Interval(getPartitionStartMilli(displayedInterval.getMin(), zoomLevel, zoneId), getPartitionEndMilli(displayedInterval.getMax(), zoomLevel, zoneId));
+	}
+
+	static Interval extendByOnePartition(Interval alignedInterval, TimePartitioning zoomLevel, ZoneId zoneId) {
+		return new Interval(
+				zoomLevel.decrement(Instant.ofEpochMilli(alignedInterval.getMin()).atZone(zoneId)).toInstant().toEpochMilli(),
+				zoomLevel.increment(Instant.ofEpochMilli(alignedInterval.getMax()).atZone(zoneId)).toInstant().toEpochMilli()
+		);
 	}
 
 	private static ZonedDateTime getPartitionStart(long timestampMillis, TimePartitioning partitionUnit, ZoneId timeZone) {
@@ -132,13 +139,10 @@ public class AggregatingLineGraphModel extends AbstractLineGraphModel {
 
 	@Override
 	public Interval getDomainX() {
-		long minX = graphData.streamX()
-				.mapToLong(x -> (long) x)
-				.min().orElse(0);
-		long maxX = graphData.streamX()
-				.mapToLong(x -> (long) x)
-				.max().orElse(1);
-		return new Interval(minX, maxX);
+		if (graphData.size() == 0) {
+			return new Interval(0, 1);
+		}
+		return new Interval((long) graphData.getX(0), (long) graphData.getX(graphData.size() - 1)); // data points are sorted by x
 	}
 
 	public boolean isAddDataPointBeforeAndAfterQueryResult() {
@@ -0,0 +1,389 @@
+/*-
+ * ========================LICENSE_START=================================
+ * TeamApps
+ * ---
+ * Copyright (C) 2014 - 2025 TeamApps.org
+ * ---
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ * 
+ *      http://www.apache.org/licenses/LICENSE-2.0
+ * 
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ * =========================LICENSE_END==================================
+ */
+package org.teamapps.ux.component.timegraph.model;
+
+import org.teamapps.event.Disposable;
+import org.teamapps.event.Event;
+import org.teamapps.event.SelfDisposingEventListener;
+import org.teamapps.ux.component.timegraph.Interval;
+import org.teamapps.ux.component.timegraph.TimePartitioning;
+import org.teamapps.ux.component.timegraph.datapoints.ColumnarLineGraphData;
+import org.teamapps.ux.component.timegraph.datapoints.HoseGraphData;
+import org.teamapps.ux.component.timegraph.datapoints.LineGraphData;
+
+import java.lang.ref.WeakReference;
+import java.time.Instant;
+import java.time.ZoneId;
+import java.util.Arrays;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Objects;
+import java.util.function.Consumer;
+
+/**
+ * A time series that maintains pre-aggregated buckets (first value, min, max, sum and count) for each
+ * {@link TimePartitioning} and {@link ZoneId} it gets queried with. Each of these levels is built from the raw data on
+ * first use (or eagerly using {@link #prepareLevels(List, ZoneId)}) and updated incrementally when data points are added.
+ * Queries on a level take O(log(buckets) + buckets returned).
+ * <p>
+ * Levels that would not reduce the amount of data significantly (less than {@value #MIN_DATA_POINTS_PER_BUCKET} data
+ * points per bucket on average) are not materialized. These are answered by aggregating the raw data in the requested
+ * interval, which is about as cheap as reading the buckets would be.
+ * <p>
+ * Data points must be added in ascending x order. x values are epoch milliseconds. This class is thread-safe, so data
+ * points may be added from any thread. Models using this time series fire their {@code onDataChanged} event when
+ * data points get added.
+ *
+ * @see PreAggregatingLineGraphModel
+ * @see PreAggregatingHoseGraphModel
+ */
+public class PreAggregatedTimeSeries {
+
+	private static final int MIN_DATA_POINTS_PER_BUCKET = 4;
+
+	private long[] xs = new long[16];
+	private double[] ys = new double[16];
+	private int size;
+
+	private final Map<LevelKey, Level> levels = new HashMap<>();
+
+	public final Event<Void> onDataAdded = new Event<>();
+
+	public PreAggregatedTimeSeries() {
+	}
+
+	public PreAggregatedTimeSeries(LineGraphData data) {
+		for (int i = 0; i < data.size(); i++) {
+			addDataPointInternal((long) data.getX(i), data.getY(i));
+		}
+	}
+
+	/**
+	 * Adds a listener to {@link #onDataAdded} that only holds the given owner weakly, so owners (e.g. models of graphs that
+	 * are not displayed anymore) can be garbage collected while this time series lives on. The listener is removed once
+	 * the owner has been garbage collected.
+	 *
+	 * @param listener must not reference the owner itself
+	 */
+	<T> Disposable addWeakDataAddedListener(T owner, Consumer<T> listener) {
+		WeakReference<T> ownerReference = new WeakReference<>(owner);
+		return onDataAdded.addListener((SelfDisposingEventListener<Void>) (aVoid, disposable) -> {
+			T currentOwner = ownerReference.get();
+			if (currentOwner != null) {
+				listener.accept(currentOwner);
+			} else {
+				disposable.dispose();
+			}
+		});
+	}
+
+	public void addDataPoint(long x, double y) {
+		addDataPointInternal(x, y);
+		onDataAdded.fire();
+	}
+
+	public void addDataPoints(LineGraphData data) {
+		synchronized (this) {
+			for (int i = 0; i < data.size(); i++) {
+				addDataPointInternal((long) data.getX(i), data.getY(i));
+			}
+		}
+		onDataAdded.fire();
+	}
+
+	private synchronized void addDataPointInternal(long x, double y) {
+		if (size > 0 && x < xs[size - 1]) {
+			throw new IllegalArgumentException("Data points must be added in ascending order! " + x + " < " + xs[size - 1]);
+		}
+		if (size == xs.length) {
+			xs = Arrays.copyOf(xs, size * 2);
+			ys = Arrays.copyOf(ys, size * 2);
+		}
+		xs[size] = x;
+		ys[size] = y;
+		size++;
+		for (Level level : levels.values()) {
+			level.add(x, y);
+		}
+	}
+
+	public synchronized int size() {
+		return size;
+	}
+
+	/**
+	 * @return the interval between the first and last x value, or [0, 1] if there are no data points
+	 */
+	public synchronized Interval getDomainX() {
+		return size > 0 ? new Interval(xs[0], xs[size - 1]) : new Interval(0, 1);
+	}
+
+	/**
+	 * Builds the levels for the given zoom levels (e.g. {@link org.teamapps.ux.component.timegraph.TimeGraph#getZoomLevels()})
+	 * in advance, so the first query on each of them does not need to aggregate the raw data.
+	 */
+	public synchronized void prepareLevels(List<TimePartitioning> zoomLevels, ZoneId zoneId) {
+		for (TimePartitioning zoomLevel : zoomLevels) {
+			getLevel(zoomLevel, zoneId);
+		}
+	}
+
+	/**
+	 * @param alignedInterval the interval to query. Both bounds must be partition boundaries.
+	 * @return one data point per non-empty partition in the interval, located at the partition start
+	 */
+	public synchronized LineGraphData getAggregateDataPoints(TimePartitioning zoomLevel, ZoneId zoneId, Interval alignedInterval, AggregationType aggregationType) {
+		Level level = getLevel(zoomLevel, zoneId);
+		if (level == null) {
+			return AggregatingLineGraphModel.getAggregateDataPoints(new ColumnarLineGraphData(xs, ys, size, getDomainX()), zoomLevel, alignedInterval, aggregationType, zoneId, false);
+		}
+		int from = level.findFirstBucketNotBefore(alignedInterval.getMin());
+		int to = level.findFirstBucketNotBefore(alignedInterval.getMax());
+		return new ColumnarLineGraphData(Arrays.copyOfRange(level.starts, from, to), level.getValues(aggregationType, from, to), alignedInterval);
+	}
+
+	/**
+	 * Queries the min, average and max values at once, so they are consistent with each other even if data points get
+	 * added concurrently.
+	 *
+	 * @param alignedInterval the interval to query. Both bounds must be partition boundaries.
+	 * @return the min (lower), average (middle) and max (upper) value of each non-empty partition in the interval
+	 */
+	public synchronized HoseGraphData getMinAvgMaxDataPoints(TimePartitioning zoomLevel, ZoneId zoneId, Interval alignedInterval) {
+		Level level = getLevel(zoomLevel, zoneId);
+		if (level == null) {
+			return aggregateMinAvgMax(zoomLevel, zoneId, alignedInterval);
+		}
+		int from = level.findFirstBucketNotBefore(alignedInterval.getMin());
+		int to = level.findFirstBucketNotBefore(alignedInterval.getMax());
+		long[] starts = Arrays.copyOfRange(level.starts, from, to);
+		return new MinAvgMaxData(
+				new ColumnarLineGraphData(starts, level.getValues(AggregationType.MIN, from, to), alignedInterval),
+				new ColumnarLineGraphData(starts, level.getValues(AggregationType.AVERAGE, from, to), alignedInterval),
+				new ColumnarLineGraphData(starts, level.getValues(AggregationType.MAX, from, to), alignedInterval)
+		);
+	}
+
+	private HoseGraphData aggregateMinAvgMax(TimePartitioning zoomLevel, ZoneId zoneId, Interval alignedInterval) {
+		ColumnarLineGraphData.Builder mins = new ColumnarLineGraphData.Builder();
+		ColumnarLineGraphData.Builder averages = new ColumnarLineGraphData.Builder();
+		ColumnarLineGraphData.Builder maxs = new ColumnarLineGraphData.Builder();
+		int i = findFirstIndexNotBefore(alignedInterval.getMin());
+		long partitionStart = alignedInterval.getMin();
+		do {
+			long partitionEnd = zoomLevel.increment(zoomLevel.getPartitionStart(Instant.ofEpochMilli(partitionStart).atZone(zoneId))).toInstant().toEpochMilli();
+			if (i < size && xs[i] < partitionEnd) {
+				double min = ys[i];
+				double max = ys[i];
+				double sum = 0;
+				int count = 0;
+				for (; i < size && xs[i] < partitionEnd; i++) {
+					double y = ys[i];
+					min = min > y ? y : min;
+					max = max < y ? y : max;
+					sum += y;
+					count++;
+				}
+				mins.add(partitionStart, min);
+				averages.add(partitionStart, sum / count);
+				maxs.add(partitionStart, max);
+			}
+			partitionStart = partitionEnd;
+		} while (partitionStart < alignedInterval.getMax());
+		return new MinAvgMaxData(mins.build(alignedInterval), averages.build(alignedInterval), maxs.build(alignedInterval));
+	}
+
+	private int findFirstIndexNotBefore(long x) {
+		int low = 0;
+		int high = size;
+		while (low < high) {
+			int mid = (low + high) >>> 1;
+			if (xs[mid] < x) {
+				low = mid + 1;
+			} else {
+				high = mid;
+			}
+		}
+		return low;
+	}
+
+	private Level getLevel(TimePartitioning zoomLevel, ZoneId zoneId) {
+		LevelKey key = new LevelKey(zoomLevel, zoneId);
+		Level level = levels.get(key);
+		if (level == null) {
+			long estimatedBucketCount = estimateBucketCount(zoomLevel);
+			if (size > 0 && estimatedBucketCount * MIN_DATA_POINTS_PER_BUCKET <= size) {
+				level = new Level(zoomLevel, zoneId, (int) estimatedBucketCount + 1);
+				for (int i = 0; i < size; i++) {
+					level.add(xs[i], ys[i]);
+				}
+				levels.put(key, level);
+			}
+		}
+		return level;
+	}
+
+	private long estimateBucketCount(TimePartitioning zoomLevel) {
+		return size > 0 ? (xs[size - 1] - xs[0]) / zoomLevel.getApproximateMillisecondsPerPartition() + 1 : 0;
+	}
+
+	private static class Level {
+		private final TimePartitioning partitioning;
+		private final ZoneId zoneId;
+
+		private long[] starts;
+		private double[] firsts;
+		private double[] mins;
+		private double[] maxs;
+		private double[] sums;
+		private int[] counts;
+		private int size;
+		private long currentBucketEnd; // exclusive
+
+		public Level(TimePartitioning partitioning, ZoneId zoneId, int initialCapacity) {
+			this.partitioning = partitioning;
+			this.zoneId = zoneId;
+			int capacity = Math.max(16, initialCapacity);
+			starts = new long[capacity];
+			firsts = new double[capacity];
+			mins = new double[capacity];
+			maxs = new double[capacity];
+			sums = new double[capacity];
+			counts = new int[capacity];
+		}
+
+		public void add(long x, double y) {
+			if (size > 0 && x < currentBucketEnd) {
+				int i = size - 1;
+				mins[i] = mins[i] > y ? y : mins[i];
+				maxs[i] = maxs[i] < y ? y : maxs[i];
+				sums[i] += y;
+				counts[i]++;
+			} else {
+				if (size == starts.length) {
+					int capacity = size * 2;
+					starts = Arrays.copyOf(starts, capacity);
+					firsts = Arrays.copyOf(firsts, capacity);
+					mins = Arrays.copyOf(mins, capacity);
+					maxs = Arrays.copyOf(maxs, capacity);
+					sums = Arrays.copyOf(sums, capacity);
+					counts = Arrays.copyOf(counts, capacity);
+				}
+				long start = partitioning.getPartitionStart(Instant.ofEpochMilli(x).atZone(zoneId)).toInstant().toEpochMilli();
+				currentBucketEnd = partitioning.increment(Instant.ofEpochMilli(start).atZone(zoneId)).toInstant().toEpochMilli();
+				starts[size] = start;
+				firsts[size] = y;
+				mins[size] = y;
+				maxs[size] = y;
+				sums[size] = y;
+				counts[size] = 1;
+				size++;
+			}
+		}
+
+		public int findFirstBucketNotBefore(long x) {
+			int low = 0;
+			int high = size;
+			while (low < high) {
+				int mid = (low + high) >>> 1;
+				if (starts[mid] < x) {
+					low = mid + 1;
+				} else {
+					high = mid;
+				}
+			}
+			return low;
+		}
+
+		public double[] getValues(AggregationType aggregationType, int from, int to) {
+			switch (aggregationType) {
+				case FIRST_VALUE:
+					return Arrays.copyOfRange(firsts, from, to);
+				case MIN:
+					return Arrays.copyOfRange(mins, from, to);
+				case MAX:
+					return Arrays.copyOfRange(maxs, from, to);
+				case AVERAGE:
+					double[] averages = new double[to - from];
+					for (int i = from; i < to; i++) {
+						averages[i - from] = sums[i] / counts[i];
+					}
+					return averages;
+				default:
+					throw new IllegalArgumentException("Unknown aggregation type: " + aggregationType);
+			}
+		}
+	}
+
+	private static class MinAvgMaxData implements HoseGraphData {
+		private final LineGraphData mins;
+		private final LineGraphData averages;
+		private final LineGraphData maxs;
+
+		public MinAvgMaxData(LineGraphData mins, LineGraphData averages, LineGraphData maxs) {
+			this.mins = mins;
+			this.averages = averages;
+			this.maxs = maxs;
+		}
+
+		@Override
+		public LineGraphData getMiddleLineData() {
+			return averages;
+		}
+
+		@Override
+		public LineGraphData getLowerLineData() {
+			return mins;
+		}
+
+		@Override
+		public LineGraphData getUpperLineData() {
+			return maxs;
+		}
+	}
+
+	private static class LevelKey {
+		private final TimePartitioning partitioning;
+		private final ZoneId zoneId;
+
+		public LevelKey(TimePartitioning partitioning, ZoneId zoneId) {
+			this.partitioning = partitioning;
+			this.zoneId = zoneId;
+		}
+
+		@Override
+		public boolean equals(Object o) {
+			if (this == o) {
+				return true;
+			}
+			if (o == null || getClass() != o.getClass()) {
+				return false;
+			}
+			LevelKey levelKey = (LevelKey) o;
+			return Objects.equals(partitioning, levelKey.partitioning) && Objects.equals(zoneId, levelKey.zoneId);
+		}
+
+		@Override
+		public int hashCode() {
+			return Objects.hash(partitioning, zoneId);
+		}
+	}
+}
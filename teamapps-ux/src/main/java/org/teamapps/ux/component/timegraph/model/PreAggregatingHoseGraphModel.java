@@ -0,0 +1,93 @@
+/*-
+ * ========================LICENSE_START=================================
+ * TeamApps
+ * ---
+ * Copyright (C) 2014 - 2025 TeamApps.org
+ * ---
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ * 
+ *      http://www.apache.org/licenses/LICENSE-2.0
+ * 
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ * =========================LICENSE_END==================================
+ */
+package org.teamapps.ux.component.timegraph.model;
+
+import org.teamapps.event.Disposable;
+import org.teamapps.ux.component.timegraph.Interval;
+import org.teamapps.ux.component.timegraph.TimePartitioning;
+import org.teamapps.ux.component.timegraph.datapoints.HoseGraphData;
+import org.teamapps.ux.component.timegraph.datapoints.LineGraphData;
+
+import java.time.ZoneId;
+
+/**
+ * A hose graph model showing the min, average and max values of each partition of a {@link PreAggregatedTimeSeries}.
+ */
+public class PreAggregatingHoseGraphModel extends AbstractHoseGraphModel {
+
+	private final PreAggregatedTimeSeries timeSeries;
+	private final Disposable timeSeriesListener;
+
+	private boolean addDataPointBeforeAndAfterQueryResult = true;
+
+	public PreAggregatingHoseGraphModel() {
+		this(new PreAggregatedTimeSeries());
+	}
+
+	/**
+	 * @param timeSeries may be shared with other models, e.g. with a {@link PreAggregatingLineGraphModel} (see {@link #dispose()})
+	 */
+	public PreAggregatingHoseGraphModel(PreAggregatedTimeSeries timeSeries) {
+		this.timeSeries = timeSeries;
+		this.timeSeriesListener = timeSeries.addWeakDataAddedListener(this, model -> model.onDataChanged().fire());
+	}
+
+	public PreAggregatedTimeSeries getTimeSeries() {
+		return timeSeries;
+	}
+
+	/**
+	 * Stops listening to the time series, which may outlive this model if it is shared.
+	 * Otherwise, the listener is only removed after this model has been garbage collected.
+	 */
+	public void dispose() {
+		timeSeriesListener.dispose();
+	}
+
+	public void addDataPoint(long x, double y) {
+		timeSeries.addDataPoint(x, y);
+	}
+
+	public void addDataPoints(LineGraphData data) {
+		timeSeries.addDataPoints(data);
+	}
+
+	@Override
+	public HoseGraphData getData(TimePartitioning zoomLevel, ZoneId zoneId, Interval neededInterval, Interval displayedInterval) {
+		Interval queryInterval = AggregatingLineGraphModel.getAlignedQueryInterval(displayedInterval, zoomLevel, zoneId);
+		if (addDataPointBeforeAndAfterQueryResult) {
+			queryInterval = AggregatingLineGraphModel.extendByOnePartition(queryInterval, zoomLevel, zoneId);
+		}
+		return timeSeries.getMinAvgMaxDataPoints(zoomLevel, zoneId, queryInterval);
+	}
+
+	@Override
+	public Interval getDomainX() {
+		return timeSeries.getDomainX();
+	}
+
+	public boolean isAddDataPointBeforeAndAfterQueryResult() {
+		return addDataPointBeforeAndAfterQueryResult;
+	}
+
+	public void setAddDataPointBeforeAndAfterQueryResult(boolean addDataPointBeforeAndAfterQueryResult) {
+		this.addDataPointBeforeAndAfterQueryResult = addDataPointBeforeAndAfterQueryResult;
+	}
+}
@@ -0,0 +1,101 @@
+/*-
+ * ========================LICENSE_START=================================
+ * TeamApps
+ * ---
+ * Copyright (C) 2014 - 2025 TeamApps.org
+ * ---
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ * 
+ *      http://www.apache.org/licenses/LICENSE-2.0
+ * 
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ * =========================LICENSE_END==================================
+ */
+package org.teamapps.ux.component.timegraph.model;
+
+import org.teamapps.event.Disposable;
+import org.teamapps.ux.component.timegraph.Interval;
+import org.teamapps.ux.component.timegraph.TimePartitioning;
+import org.teamapps.ux.component.timegraph.datapoints.LineGraphData;
+
+import java.time.ZoneId;
+
+/**
+ * Like {@link AggregatingLineGraphModel}, but answers zoom requests from pre-aggregated buckets
+ * (see {@link PreAggregatedTimeSeries}) instead of aggregating the raw data for each request.
+ * Suited for large and live-updated time series.
+ */
+public class PreAggregatingLineGraphModel extends AbstractLineGraphModel {
+
+	private final PreAggregatedTimeSeries timeSeries;
+	private final Disposable timeSeriesListener;
+	private AggregationType aggregationType;
+
+	private boolean addDataPointBeforeAndAfterQueryResult = true;
+
+	public PreAggregatingLineGraphModel(AggregationType aggregationType) {
+		this(new PreAggregatedTimeSeries(), aggregationType);
+	}
+
+	/**
+	 * @param timeSeries may be shared with other models, e.g. with a {@link PreAggregatingHoseGraphModel} (see {@link #dispose()})
+	 */
+	public PreAggregatingLineGraphModel(PreAggregatedTimeSeries timeSeries, AggregationType aggregationType) {
+		this.timeSeries = timeSeries;
+		this.timeSeriesListener = timeSeries.addWeakDataAddedListener(this, model -> model.onDataChanged().fire());
+		this.aggregationType = aggregationType;
+	}
+
+	public PreAggregatedTimeSeries getTimeSeries() {
+		return timeSeries;
+	}
+
+	/**
+	 * Stops listening to the time series, which may outlive this model if it is shared.
+	 * Otherwise, the listener is only removed after this model has been garbage collected.
+	 */
+	public void dispose() {
+		timeSeriesListener.dispose();
+	}
+
+	public void addDataPoint(long x, double y) {
+		timeSeries.addDataPoint(x, y);
+	}
+
+	public void addDataPoints(LineGraphData data) {
+		timeSeries.addDataPoints(data);
+	}
+
+	public void setAggregationPolicy(AggregationType aggregationType) {
+		this.aggregationType = aggregationType;
+		onDataChanged.fire(null);
+	}
+
+	@Override
+	public LineGraphData getData(TimePartitioning zoomLevel, ZoneId zoneId, Interval neededIntervalX, Interval displayedInterval) {
+		Interval queryInterval = AggregatingLineGraphModel.getAlignedQueryInterval(displayedInterval, zoomLevel, zoneId);
+		if (addDataPointBeforeAndAfterQueryResult) {
+			queryInterval = AggregatingLineGraphModel.extendByOnePartition(queryInterval, zoomLevel, zoneId);
+		}
+		return timeSeries.getAggregateDataPoints(zoomLevel, zoneId, queryInterval, aggregationType);
+	}
+
+	@Override
+	public Interval getDomainX() {
+		return timeSeries.getDomainX();
+	}
+
+	public boolean isAddDataPointBeforeAndAfterQueryResult() {
+		return addDataPointBeforeAndAfterQueryResult;
+	}
+
+	public void setAddDataPointBeforeAndAfterQueryResult(boolean addDataPointBeforeAndAfterQueryResult) {
+		this.addDataPointBeforeAndAfterQueryResult = addDataPointBeforeAndAfterQueryResult;
+	}
+}
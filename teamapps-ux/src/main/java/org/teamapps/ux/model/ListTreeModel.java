@@ -20,19 +20,20 @@
 package org.teamapps.ux.model;
 
 import org.apache.commons.lang3.StringUtils;
+import org.teamapps.util.threading.ParallelDataProcessing;
 import org.teamapps.ux.component.tree.TreeNodeInfo;
 
 import java.util.ArrayList;
 import java.util.List;
 import java.util.function.BiPredicate;
 import java.util.function.Function;
-import java.util.stream.Collectors;
 
 public class ListTreeModel<RECORD> extends AbstractTreeModel<RECORD> implements ComboBoxModel<RECORD> {
 
 	private final List<RECORD> records = new ArrayList<>();
 	private BiPredicate<RECORD, String> searchPredicate = (record, queryString) -> record.toString() != null && record.toString().toLowerCase().contains(queryString.toLowerCase());
 	private Function<RECORD, TreeNodeInfo> treeNodeInfoFunction;
+	private ParallelDataProcessing parallelDataProcessing = ParallelDataProcessing.SEQUENTIAL;
 
 	public ListTreeModel(List<RECORD> records) {
 		this(records, null);
@@ -68,9 +69,7 @@ public class ListTreeModel<RECORD> extends AbstractTreeModel<RECORD> implements
 		if (StringUtils.isBlank(query)) {
 			return records;
 		} else {
-			return records.stream()
-					.filter(r -> searchPredicate.test(r, query))
-					.collect(Collectors.toList());
+			return parallelDataProcessing.filter(records, r -> searchPredicate.test(r, query));
 		}
 	}
 
@@ -87,4 +86,17 @@ public class ListTreeModel<RECORD> extends AbstractTreeModel<RECORD> implements
 	public void setSearchPredicate(BiPredicate<RECORD, String> searchPredicate) {
 		this.searchPredicate = searchPredicate;
 	}
+
+	public ParallelDataProcessing getParallelDataProcessing() {
+		return parallelDataProcessing;
+	}
+
+	/**
+	 * Allows searching very large record lists in parallel. The search predicate must be thread-safe in that case.
+	 *
+	 * @param parallelDataProcessing e.g. {@link ParallelDataProcessing#getDefault()}. null for sequential processing.
+	 */
+	public void setParallelDataProcessing(ParallelDataProcessing parallelDataProcessing) {
+		this.parallelDataProcessing = parallelDataProcessing != null ? parallelDataProcessing : ParallelDataProcessing.SEQUENTIAL;
+	}
 }
@@ -29,6 +29,7 @@ public class ByteArrayResource implements Resource {
 	private final byte[] data;
 	private final String name;
 	private final String mimeType;
+	private volatile String eTag;
 
 	public ByteArrayResource(byte[] data, String name) {
 		this(data, name, null);
@@ -64,6 +65,16 @@ public class ByteArrayResource implements Resource {
 		return data.length;
 	}
 
+	@Override
+	public String getETag() {
+		String eTag = this.eTag;
+		if (eTag == null) {
+			eTag = ContentETags.of(data);
+			this.eTag = eTag;
+		}
+		return eTag;
+	}
+
 	@Override
 	public boolean equals(Object o) {
 		if (this == o) return true;
@@ -19,16 +19,32 @@
  */
 package org.teamapps.ux.resource;
 
+import org.apache.commons.io.IOUtils;
+
+import java.io.ByteArrayOutputStream;
+import java.io.IOException;
 import java.io.InputStream;
+import java.net.URL;
+import java.util.Map;
 import java.util.Objects;
+import java.util.Optional;
+import java.util.Set;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.zip.GZIPOutputStream;
 
 public class ClassPathResource implements Resource {
 
+	private static final Map<String, String> FILE_SUFFIX_BY_CONTENT_ENCODING = Map.of("br", ".br", "gzip", ".gz");
+	private static final Set<String> COMPRESSIBLE_FILE_EXTENSIONS = Set.of("js", "mjs", "css", "html", "htm", "json", "map", "svg", "txt", "xml");
+	private static final long MAX_COMPRESSION_LENGTH = 10 * 1024 * 1024;
+
 	private final String resourceName;
 	private final String name;
 	private final ClassLoader classLoader;
 	private final String mimeType;
 	private long length = -1;
+	private volatile String eTag;
+	private final Map<String, Optional<Resource>> encodedVariants = new ConcurrentHashMap<>();
 
 	public ClassPathResource(String resourceName) {
 		this(resourceName, null, null);
@@ -63,6 +79,77 @@ public class ClassPathResource implements Resource {
 		return is;
 	}
 
+	/**
+	 * @return true if this resource exists on the class path
+	 */
+	public boolean exists() {
+		return getUrl(resourceName) != null;
+	}
+
+	private URL getUrl(String resourceName) {
+		if (classLoader != null) {
+			return classLoader.getResource(resourceName);
+		} else {
+			URL url = getClass().getResource(resourceName);
+			return url != null ? url : ClassLoader.getSystemResource(resourceName);
+		}
+	}
+
+	@Override
+	public String getETag() {
+		String eTag = this.eTag;
+		if (eTag == null) {
+			try {
+				eTag = ContentETags.of(getInputStream());
+			} catch (IOException e) {
+				LOGGER.warn("Could not compute ETag of " + this, e);
+				return null;
+			}
+			this.eTag = eTag;
+		}
+		return eTag;
+	}
+
+	/**
+	 * Returns precompressed variants placed next to the resource (e.g. <code>app.js.br</code> and <code>app.js.gz</code> for <code>app.js</code>).
+	 * If there is no precompressed gzip variant, compressible resources (by file extension) are compressed on first request and kept in memory.
+	 */
+	@Override
+	public Resource getEncodedVariant(String contentEncoding) {
+		return encodedVariants.computeIfAbsent(contentEncoding, this::createEncodedVariant).orElse(null);
+	}
+
+	private Optional<Resource> createEncodedVariant(String contentEncoding) {
+		String fileSuffix = FILE_SUFFIX_BY_CONTENT_ENCODING.get(contentEncoding);
+		if (fileSuffix == null) {
+			return Optional.empty();
+		}
+		String variantResourceName = resourceName + fileSuffix;
+		if (getUrl(variantResourceName) != null) {
+			return Optional.of(new ClassPathResource(variantResourceName, classLoader, mimeType));
+		}
+		if (contentEncoding.equals("gzip") && isCompressible() && exists() && getLength() <= MAX_COMPRESSION_LENGTH) {
+			try (InputStream inputStream = getInputStream()) {
+				if (inputStream == null) {
+					return Optional.empty();
+				}
+				ByteArrayOutputStream bytes = new ByteArrayOutputStream();
+				try (GZIPOutputStream gzipOutputStream = new GZIPOutputStream(bytes)) {
+					IOUtils.copy(inputStream, gzipOutputStream);
+				}
+				return Optional.of(new ByteArrayResource(bytes.toByteArray(), name + fileSuffix, mimeType));
+			} catch (IOException e) {
+				LOGGER.warn("Could not compress " + this, e);
+			}
+		}
+		return Optional.empty();
+	}
+
+	private boolean isCompressible() {
+		int pos = name.lastIndexOf('.');
+		return pos >= 0 && COMPRESSIBLE_FILE_EXTENSIONS.contains(name.substring(pos + 1).toLowerCase());
+	}
+
 	@Override
 	public String getName() {
 		return name;
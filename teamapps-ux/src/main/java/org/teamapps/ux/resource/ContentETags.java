@@ -0,0 +1,64 @@
+/*-
+ * ========================LICENSE_START=================================
+ * TeamApps
+ * ---
+ * Copyright (C) 2014 - 2025 TeamApps.org
+ * ---
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ * 
+ *      http://www.apache.org/licenses/LICENSE-2.0
+ * 
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ * =========================LICENSE_END==================================
+ */
+package org.teamapps.ux.resource;
+
+import com.google.common.hash.Hasher;
+import com.google.common.hash.Hashing;
+
+import java.io.IOException;
+import java.io.InputStream;
+
+/**
+ * Strong entity tags derived from the content of resources.
+ */
+final class ContentETags {
+
+	private static final int HASH_HEX_LENGTH = 32;
+
+	private ContentETags() {
+	}
+
+	static String of(byte[] content) {
+		return toETag(Hashing.sha256().hashBytes(content).toString());
+	}
+
+	/**
+	 * @return the entity tag of the stream's content, or null if the stream is null. Closes the stream.
+	 */
+	static String of(InputStream inputStream) throws IOException {
+		if (inputStream == null) {
+			return null;
+		}
+		try (inputStream) {
+			Hasher hasher = Hashing.sha256().newHasher();
+			byte[] buffer = new byte[8192];
+			int length;
+			while ((length = inputStream.read(buffer)) != -1) {
+				hasher.putBytes(buffer, 0, length);
+			}
+			return toETag(hasher.hash().toString());
+		}
+	}
+
+	private static String toETag(String hash) {
+		return "\"" + hash.substring(0, HASH_HEX_LENGTH) + "\"";
+	}
+
+}
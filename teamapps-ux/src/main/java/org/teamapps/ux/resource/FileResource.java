@@ -26,6 +26,7 @@ import java.io.File;
 import java.io.FileInputStream;
 import java.io.IOException;
 import java.io.InputStream;
+import java.nio.file.Path;
 import java.util.Date;
 import java.util.HashMap;
 import java.util.Map;
@@ -106,6 +107,11 @@ public class FileResource implements Resource {
 		return file;
 	}
 
+	@Override
+	public Path getPath() {
+		return file.toPath();
+	}
+
 	@Override
 	public String toString() {
 		return "FileResource{" +
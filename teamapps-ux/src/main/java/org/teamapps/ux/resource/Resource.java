@@ -24,6 +24,7 @@ import org.slf4j.Logger;
 import org.slf4j.LoggerFactory;
 
 import java.io.*;
+import java.nio.file.Path;
 import java.util.Date;
 import java.util.function.Supplier;
 
@@ -68,6 +69,32 @@ public interface Resource {
 		return null;
 	}
 
+	/**
+	 * @return a strong HTTP entity tag (including the quotes) derived from the content of this resource, or null if not available.
+	 * If null, a weak entity tag is derived from the name and the last modification date.
+	 * Implementations should compute this only once.
+	 */
+	default String getETag() {
+		return null;
+	}
+
+	/**
+	 * @return the file containing the content of this resource, or null if it is not file-backed.
+	 * File-backed resources are sent directly from the file (without going through {@link #getInputStream()}).
+	 */
+	default Path getPath() {
+		return null;
+	}
+
+	/**
+	 * @param contentEncoding an HTTP content coding, e.g. "br" or "gzip"
+	 * @return the content of this resource, encoded with the given content coding, or null if there is no such variant.
+	 * Only the content (input stream, length, path) of the returned resource is used.
+	 */
+	default Resource getEncodedVariant(String contentEncoding) {
+		return null;
+	}
+
 	/**
 	 * @return true if this resource should be handled by the browser by showing a "Save As" dialogue (HTTP header Content-Disposition: attachment),
 	 * false if the browser should attempt to embed or display the resource directly (HTTP header Content-Disposition: inline).
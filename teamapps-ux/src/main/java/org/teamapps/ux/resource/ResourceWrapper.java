@@ -21,6 +21,7 @@ package org.teamapps.ux.resource;
 
 import java.io.File;
 import java.io.InputStream;
+import java.nio.file.Path;
 import java.util.Date;
 import java.util.Objects;
 
@@ -72,6 +73,21 @@ public class ResourceWrapper implements Resource {
 		return delegate.getAsFile();
 	}
 
+	@Override
+	public String getETag() {
+		return delegate.getETag();
+	}
+
+	@Override
+	public Path getPath() {
+		return delegate.getPath();
+	}
+
+	@Override
+	public Resource getEncodedVariant(String contentEncoding) {
+		return delegate.getEncodedVariant(contentEncoding);
+	}
+
 	@Override
 	public Resource lastModified(Date date) {
 		return delegate.lastModified(date);
@@ -0,0 +1,161 @@
+/*-
+ * ========================LICENSE_START=================================
+ * TeamApps
+ * ---
+ * Copyright (C) 2014 - 2025 TeamApps.org
+ * ---
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ * 
+ *      http://www.apache.org/licenses/LICENSE-2.0
+ * 
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ * =========================LICENSE_END==================================
+ */
+package org.teamapps.ux.servlet;
+
+import com.fasterxml.jackson.core.JsonParser;
+import com.fasterxml.jackson.core.JsonToken;
+import com.fasterxml.jackson.core.async.ByteBufferFeeder;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.fasterxml.jackson.databind.ObjectReader;
+import com.fasterxml.jackson.databind.util.TokenBuffer;
+import org.teamapps.dto.*;
+
+import java.io.IOException;
+import java.nio.ByteBuffer;
+import java.util.Map;
+import java.util.stream.Collectors;
+import java.util.stream.Stream;
+
+/**
+ * Reads client messages from binary WebSocket frames (UTF-8 encoded JSON) that may arrive in several parts.
+ * <p>
+ * Every part is tokenized as soon as it arrives, using one non-blocking {@link JsonParser} per connection.
+ * The tokens are collected in a {@link TokenBuffer}, so neither the raw message nor a String representation of it
+ * needs to be assembled. When the last part has arrived, the message is bound using a reader that was resolved upfront
+ * for the message's type id (see {@link #createReadersByTypeId(ObjectMapper)}), so no polymorphic type resolution
+ * is necessary for the message itself.
+ * <p>
+ * NOT THREAD-SAFE! The parts of a connection's messages must be passed in the order they were received.
+ */
+class ClientMessageStreamReader {
+
+	private static final String TYPE_PROPERTY_NAME = "_type";
+
+	private final ObjectMapper mapper;
+	private final Map<String, ObjectReader> readersByTypeId;
+	private final ObjectReader fallbackReader;
+	private final int maxMessageSize;
+
+	private JsonParser parser;
+	private TokenBuffer tokenBuffer;
+	private int messageSize;
+	private int depth;
+	private boolean complete;
+	private boolean readingTypeId;
+	private String typeId;
+	private boolean discarding;
+
+	/**
+	 * @param readersByTypeId see {@link #createReadersByTypeId(ObjectMapper)}. Should be shared by all connections.
+	 * @param maxMessageSize  the maximum size of a message in bytes
+	 */
+	public ClientMessageStreamReader(ObjectMapper mapper, Map<String, ObjectReader> readersByTypeId, int maxMessageSize) {
+		this.mapper = mapper;
+		this.readersByTypeId = readersByTypeId;
+		this.fallbackReader = mapper.readerFor(AbstractClientMessage.class);
+		this.maxMessageSize = maxMessageSize;
+		reset();
+	}
+
+	public static Map<String, ObjectReader> createReadersByTypeId(ObjectMapper mapper) {
+		return Stream.of(INIT.class, REINIT.class, TERMINATE.class, EVENT.class, QUERY.class, CMD_RESULT.class, CMD_REQUEST.class, KEEPALIVE.class)
+				.collect(Collectors.toUnmodifiableMap(Class::getSimpleName, mapper::readerFor));
+	}
+
+	/**
+	 * @param part the next part of the current message. Gets consumed completely.
+	 * @param last whether this is the last part of the current message
+	 * @return the message, if this was its last part. Otherwise null.
+	 */
+	public AbstractClientMessage read(ByteBuffer part, boolean last) throws IOException {
+		if (discarding) {
+			discarding = !last;
+			return null;
+		}
+		try {
+			messageSize += part.remaining();
+			if (messageSize > maxMessageSize) {
+				throw new TeamAppsCommunicationException("Client message exceeds the maximum size of " + maxMessageSize + " bytes!");
+			}
+			((ByteBufferFeeder) parser.getNonBlockingInputFeeder()).feedInput(part);
+			JsonToken token;
+			while ((token = parser.nextToken()) != null && token != JsonToken.NOT_AVAILABLE) {
+				if (complete) {
+					throw new TeamAppsCommunicationException("Unexpected content after the end of the client message!");
+				}
+				tokenBuffer.copyCurrentEvent(parser);
+				handleToken(token);
+			}
+			if (!last) {
+				return null;
+			} else if (!complete) {
+				throw new TeamAppsCommunicationException("Incomplete client message!");
+			}
+			ObjectReader reader = typeId != null ? readersByTypeId.getOrDefault(typeId, fallbackReader) : fallbackReader;
+			try (JsonParser tokenParser = tokenBuffer.asParser()) {
+				return reader.readValue(tokenParser);
+			} finally {
+				resetMessage();
+			}
+		} catch (IOException | RuntimeException e) {
+			reset();
+			discarding = !last;
+			throw e;
+		}
+	}
+
+	private void handleToken(JsonToken token) throws IOException {
+		if (readingTypeId) {
+			readingTypeId = false;
+			if (token == JsonToken.VALUE_STRING) {
+				typeId = parser.getText();
+			}
+		}
+		if (token.isStructStart()) {
+			depth++;
+		} else if (token.isStructEnd()) {
+			depth--;
+			complete = depth == 0;
+		} else if (depth == 0) {
+			complete = true; // scalar root value. Will be rejected when binding.
+		} else if (token == JsonToken.FIELD_NAME && depth == 1 && typeId == null && TYPE_PROPERTY_NAME.equals(parser.currentName())) {
+			readingTypeId = true;
+		}
+	}
+
+	private void resetMessage() {
+		tokenBuffer = new TokenBuffer(mapper, false);
+		messageSize = 0;
+		depth = 0;
+		complete = false;
+		readingTypeId = false;
+		typeId = null;
+	}
+
+	private void reset() {
+		try {
+			parser = mapper.getFactory().createNonBlockingByteBufferParser();
+		} catch (IOException e) {
+			throw new IllegalStateException(e);
+		}
+		resetMessage();
+	}
+
+}
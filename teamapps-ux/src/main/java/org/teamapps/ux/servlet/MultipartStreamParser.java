@@ -0,0 +1,252 @@
+/*-
+ * ========================LICENSE_START=================================
+ * TeamApps
+ * ---
+ * Copyright (C) 2014 - 2025 TeamApps.org
+ * ---
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ * 
+ *      http://www.apache.org/licenses/LICENSE-2.0
+ * 
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ * =========================LICENSE_END==================================
+ */
+package org.teamapps.ux.servlet;
+
+import java.io.IOException;
+import java.nio.charset.StandardCharsets;
+import java.util.LinkedHashMap;
+import java.util.Locale;
+import java.util.Map;
+import java.util.regex.Matcher;
+import java.util.regex.Pattern;
+
+/**
+ * Incremental parser for multipart/form-data request bodies (RFC 7578).
+ * <p>
+ * The body is pushed in chunks of arbitrary size (see {@link #write(byte[], int, int)}), so it can be fed directly from a
+ * non-blocking {@link jakarta.servlet.ReadListener}. Part contents are passed to the {@link PartHandler} as soon as they are
+ * known not to belong to a delimiter, so only the last {@code delimiter.length} bytes of a chunk may be held back until
+ * the next chunk arrives. Delimiters and headers may be split across any number of chunks.
+ * <p>
+ * NOT THREAD-SAFE! Chunks must be passed in the order they were received.
+ */
+class MultipartStreamParser {
+
+	private static final Pattern BOUNDARY_PATTERN = Pattern.compile("(?i);\\s*boundary=(?:\"([^\"]+)\"|([^;\\s]+))");
+	private static final Pattern FILE_NAME_PATTERN = Pattern.compile("(?i);\\s*filename=\"((?:[^\"\\\\]|\\\\.)*)\"");
+	private static final byte[] CRLF = {'\r', '\n'};
+	private static final byte[] HEADER_TERMINATOR = {'\r', '\n', '\r', '\n'};
+	private static final int MAX_HEADER_SIZE = 16 * 1024;
+
+	public interface PartHandler {
+		/**
+		 * @param headers the part's headers. Header names are lower case.
+		 */
+		void partStarted(Map<String, String> headers) throws IOException;
+
+		void partData(byte[] bytes, int offset, int length) throws IOException;
+
+		void partFinished() throws IOException;
+	}
+
+	private enum State {
+		PREAMBLE, DELIMITER_SUFFIX, HEADERS, BODY, EPILOGUE
+	}
+
+	private final byte[] delimiter; // CRLF "--" boundary
+	private final PartHandler handler;
+
+	private byte[] buffer;
+	private int length;
+	private State state = State.PREAMBLE;
+
+	public MultipartStreamParser(String boundary, PartHandler handler) {
+		this.delimiter = ("\r\n--" + boundary).getBytes(StandardCharsets.ISO_8859_1);
+		this.handler = handler;
+		this.buffer = new byte[Math.max(8 * 1024, delimiter.length * 2)];
+	}
+
+	/**
+	 * @return the boundary of a multipart content type or null if the content type is not multipart or does not declare a boundary
+	 */
+	public static String extractBoundary(String contentType) {
+		if (contentType == null || !contentType.toLowerCase(Locale.ROOT).startsWith("multipart/")) {
+			return null;
+		}
+		Matcher matcher = BOUNDARY_PATTERN.matcher(contentType);
+		if (!matcher.find()) {
+			return null;
+		}
+		return matcher.group(1) != null ? matcher.group(1) : matcher.group(2);
+	}
+
+	/**
+	 * @return the file name declared in a content-disposition header or null if there is none
+	 */
+	public static String extractFileName(String contentDisposition) {
+		if (contentDisposition == null) {
+			return null;
+		}
+		Matcher matcher = FILE_NAME_PATTERN.matcher(contentDisposition);
+		return matcher.find() ? matcher.group(1).replaceAll("\\\\(.)", "$1") : null;
+	}
+
+	public void write(byte[] bytes, int offset, int count) throws IOException {
+		if (state == State.EPILOGUE) {
+			return;
+		}
+		ensureCapacity(length + count);
+		System.arraycopy(bytes, offset, buffer, length, count);
+		length += count;
+		int consumed = process();
+		if (consumed > 0) {
+			System.arraycopy(buffer, consumed, buffer, 0, length - consumed);
+			length -= consumed;
+		}
+	}
+
+	/**
+	 * @throws IOException if the body ended before the closing delimiter
+	 */
+	public void finish() throws IOException {
+		if (state != State.EPILOGUE) {
+			throw new IOException("Multipart body ended unexpectedly (state: " + state + ")");
+		}
+	}
+
+	public boolean isComplete() {
+		return state == State.EPILOGUE;
+	}
+
+	private int process() throws IOException {
+		int position = 0;
+		while (true) {
+			switch (state) {
+				case PREAMBLE: {
+					// the first delimiter may appear at the very beginning, i.e. without leading CRLF
+					int index = indexOf(buffer, position, length, delimiter, 2);
+					if (index < 0) {
+						return Math.max(position, length - (delimiter.length - 2) + 1);
+					}
+					position = index + delimiter.length - 2;
+					state = State.DELIMITER_SUFFIX;
+					break;
+				}
+				case DELIMITER_SUFFIX: {
+					if (length - position < 2) {
+						return position;
+					}
+					if (buffer[position] == '-' && buffer[position + 1] == '-') {
+						state = State.EPILOGUE;
+						return length;
+					}
+					// transport padding (linear white space) is allowed after a delimiter
+					int lineEnd = indexOf(buffer, position, length, CRLF, 0);
+					if (lineEnd < 0) {
+						if (length - position > 1024) {
+							throw new IOException("Malformed multipart delimiter line");
+						}
+						return position;
+					}
+					for (int i = position; i < lineEnd; i++) {
+						if (buffer[i] != ' ' && buffer[i] != '\t') {
+							throw new IOException("Malformed multipart delimiter line");
+						}
+					}
+					position = lineEnd + CRLF.length;
+					state = State.HEADERS;
+					break;
+				}
+				case HEADERS: {
+					Map<String, String> headers;
+					if (length - position >= 2 && buffer[position] == '\r' && buffer[position + 1] == '\n') {
+						headers = Map.of();
+						position += 2;
+					} else {
+						int headersEnd = indexOf(buffer, position, length, HEADER_TERMINATOR, 0);
+						if (headersEnd < 0) {
+							if (length - position > MAX_HEADER_SIZE) {
+								throw new IOException("Multipart headers exceed " + MAX_HEADER_SIZE + " bytes");
+							}
+							return position;
+						}
+						headers = parseHeaders(new String(buffer, position, headersEnd - position, StandardCharsets.UTF_8));
+						position = headersEnd + HEADER_TERMINATOR.length;
+					}
+					handler.partStarted(headers);
+					state = State.BODY;
+					break;
+				}
+				case BODY: {
+					int index = indexOf(buffer, position, length, delimiter, 0);
+					if (index < 0) {
+						// everything except a potential delimiter prefix at the end belongs to the part
+						int safeEnd = Math.max(position, length - delimiter.length + 1);
+						if (safeEnd > position) {
+							handler.partData(buffer, position, safeEnd - position);
+						}
+						return safeEnd;
+					}
+					if (index > position) {
+						handler.partData(buffer, position, index - position);
+					}
+					handler.partFinished();
+					position = index + delimiter.length;
+					state = State.DELIMITER_SUFFIX;
+					break;
+				}
+				case EPILOGUE:
+				default:
+					return length;
+			}
+		}
+	}
+
+	private static Map<String, String> parseHeaders(String headerBlock) {
+		Map<String, String> headers = new LinkedHashMap<>();
+		for (String line : headerBlock.split("\r\n")) {
+			int colonIndex = line.indexOf(':');
+			if (colonIndex > 0) {
+				headers.put(line.substring(0, colonIndex).trim().toLowerCase(Locale.ROOT), line.substring(colonIndex + 1).trim());
+			}
+		}
+		return headers;
+	}
+
+	/**
+	 * Finds {@code pattern[patternOffset..]} in {@code bytes[from..to)}.
+	 */
+	private static int indexOf(byte[] bytes, int from, int to, byte[] pattern, int patternOffset) {
+		int patternLength = pattern.length - patternOffset;
+		byte first = pattern[patternOffset];
+		int last = to - patternLength;
+		outer:
+		for (int i = from; i <= last; i++) {
+			if (bytes[i] != first) {
+				continue;
+			}
+			for (int j = 1; j < patternLength; j++) {
+				if (bytes[i + j] != pattern[patternOffset + j]) {
+					continue outer;
+				}
+			}
+			return i;
+		}
+		return -1;
+	}
+
+	private void ensureCapacity(int capacity) {
+		if (capacity > buffer.length) {
+			byte[] newBuffer = new byte[Math.max(capacity, buffer.length * 2)];
+			System.arraycopy(buffer, 0, newBuffer, 0, length);
+			buffer = newBuffer;
+		}
+	}
+}
@@ -0,0 +1,67 @@
+/*-
+ * ========================LICENSE_START=================================
+ * TeamApps
+ * ---
+ * Copyright (C) 2014 - 2025 TeamApps.org
+ * ---
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ * 
+ *      http://www.apache.org/licenses/LICENSE-2.0
+ * 
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ * =========================LICENSE_END==================================
+ */
+package org.teamapps.ux.servlet;
+
+import io.micrometer.core.instrument.Gauge;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.binder.MeterBinder;
+import org.teamapps.icons.cache.TwoTierIconCache;
+
+public class TeamAppsIconCacheMetrics implements MeterBinder {
+
+	private static final String TIER_TAG = "tier";
+
+	private final TwoTierIconCache iconCache;
+
+	public TeamAppsIconCacheMetrics(TwoTierIconCache iconCache) {
+		this.iconCache = iconCache;
+	}
+
+	@Override
+	public void bindTo(MeterRegistry registry) {
+		Gauge.builder("teamapps.icons.cache.hits", iconCache, TwoTierIconCache::getMemoryTierHitCount)
+				.description("Total number of icons served from the in-memory tier of the icon cache.")
+				.tag(TIER_TAG, "memory")
+				.register(registry);
+		Gauge.builder("teamapps.icons.cache.hits", iconCache, TwoTierIconCache::getDiskTierHitCount)
+				.description("Total number of icons served from the disk tier of the icon cache.")
+				.tag(TIER_TAG, "disk")
+				.register(registry);
+		Gauge.builder("teamapps.icons.cache.misses", iconCache, TwoTierIconCache::getMissCount)
+				.description("Total number of icons that had to be rendered, since they were not cached.")
+				.register(registry);
+		Gauge.builder("teamapps.icons.cache.evictions", iconCache, TwoTierIconCache::getEvictionCount)
+				.description("Total number of icons evicted from the in-memory tier of the icon cache.")
+				.register(registry);
+		Gauge.builder("teamapps.icons.cache.size.bytes", iconCache, TwoTierIconCache::getMemoryTierBytes)
+				.description("Number of icon bytes held in the in-memory tier of the icon cache.")
+				.tag(TIER_TAG, "memory")
+				.register(registry);
+		Gauge.builder("teamapps.icons.cache.size.icons", iconCache, TwoTierIconCache::getMemoryTierIconCount)
+				.description("Number of icons held in the in-memory tier of the icon cache.")
+				.tag(TIER_TAG, "memory")
+				.register(registry);
+		Gauge.builder("teamapps.icons.cache.size.icons", iconCache, TwoTierIconCache::getDiskTierIconCount)
+				.description("Number of icons held in the disk tier of the icon cache.")
+				.tag(TIER_TAG, "disk")
+				.register(registry);
+	}
+
+}
@@ -27,7 +27,6 @@ import jakarta.websocket.server.ServerEndpointConfig;
 import org.slf4j.Logger;
 import org.slf4j.LoggerFactory;
 import org.teamapps.core.TeamAppsCore;
-import org.teamapps.icons.IconProvider;
 import org.teamapps.ux.servlet.resourceprovider.IconResourceProvider;
 import org.teamapps.ux.servlet.resourceprovider.ResourceProviderServlet;
 import org.teamapps.ux.servlet.resourceprovider.TeamAppsSessionResourceProvider;
@@ -59,14 +58,16 @@ public class TeamAppsServletContextListener implements ServletContextListener {
 		downloadFilterRegistration.setAsyncSupported(true);
 		downloadFilterRegistration.addMappingForUrlPatterns(EnumSet.of(DispatcherType.REQUEST), true, "*");
 
-		Dynamic uploadServletRegistration = context.addServlet("teamapps-upload-servlet", new UploadServlet(teamAppsCore.getConfig().getUploadDirectory(), teamAppsCore.getUploadManager()::addUploadedFile));
-		uploadServletRegistration.addMapping("/upload/*");
-		uploadServletRegistration.setMultipartConfig(new MultipartConfigElement(System.getProperty("java.io.tmpdir"), -1L, -1L, 1000_000));
+		Dynamic uploadServletRegistration = context.addServlet("teamapps-upload-servlet", new UploadServlet(teamAppsCore.getConfig().getUploadDirectory(), teamAppsCore.getUploadManager()::addUploadedFile,
+				teamAppsCore.getSessionManager()::getSessionContextById, teamAppsCore.getConfig().getMaxUploadBytesPerSession(),
+				teamAppsCore.getConfig().getUploadTimeoutMillis()));
+		uploadServletRegistration.addMapping(UploadServlet.BASE_PATH + "*");
+		uploadServletRegistration.setAsyncSupported(true);
 
 		Dynamic leaveBeaconServletRegistration = context.addServlet("teamapps-leave", new LeaveBeaconServlet(teamAppsCore.getSessionManager()));
 		leaveBeaconServletRegistration.addMapping("/leave/*");
 
-		Dynamic iconServletRegistration = context.addServlet("teamapps-icons", new ResourceProviderServlet(new IconResourceProvider(new IconProvider(teamAppsCore.getIconLibraryRegistry()))));
+		Dynamic iconServletRegistration = context.addServlet("teamapps-icons", new ResourceProviderServlet(new IconResourceProvider(teamAppsCore.getIconProvider())));
 		iconServletRegistration.addMapping("/icons/*");
 
 		Dynamic filesServletRegistration = context.addServlet("teamapps-files", new ResourceProviderServlet(new TeamAppsSessionResourceProvider(teamAppsCore.getSessionManager()::getSessionContextById)));
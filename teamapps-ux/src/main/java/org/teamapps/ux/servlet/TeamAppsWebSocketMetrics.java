@@ -40,11 +40,23 @@ public class TeamAppsWebSocketMetrics implements MeterBinder {
 	@Override
 	public void bindTo(MeterRegistry registry) {
 		Gauge.builder("teamapps.websocket.chars.sent", webSocketCommunicationEndpoint, WebSocketCommunicationEndpoint::getTotalSendCount)
-				.description("Total number of characters (uncompressed) sent through websocket to all clients.")
+				.description("Total number of characters (bytes for binary command frames, uncompressed) sent through websocket to all clients.")
 				.register(registry);
 		Gauge.builder("teamapps.websocket.chars.received", webSocketCommunicationEndpoint, WebSocketCommunicationEndpoint::getTotalReceiveCount)
 				.description("Total number of characters (uncompressed) received through websocket to all clients.")
 				.register(registry);
+		Gauge.builder("teamapps.websocket.messages.sent", webSocketCommunicationEndpoint, WebSocketCommunicationEndpoint::getTotalSentMessageCount)
+				.description("Total number of websocket messages (frames) sent to all clients.")
+				.register(registry);
+		Gauge.builder("teamapps.websocket.commands.sent", webSocketCommunicationEndpoint, WebSocketCommunicationEndpoint::getTotalSentCommandCount)
+				.description("Total number of UI commands sent through websocket to all clients. Divided by the number of messages sent, this is the average command batch size.")
+				.register(registry);
+		Gauge.builder("teamapps.websocket.compression.bytes.raw", webSocketCommunicationEndpoint, WebSocketCommunicationEndpoint::getTotalCompressionInputCount)
+				.description("Total number of bytes sent with application-level compression, measured before compression.")
+				.register(registry);
+		Gauge.builder("teamapps.websocket.compression.bytes.compressed", webSocketCommunicationEndpoint, WebSocketCommunicationEndpoint::getTotalCompressionOutputCount)
+				.description("Total number of bytes sent with application-level compression, measured after compression.")
+				.register(registry);
 	}
 
 }
@@ -19,38 +19,76 @@
  */
 package org.teamapps.ux.servlet;
 
+import jakarta.servlet.AsyncContext;
+import jakarta.servlet.AsyncEvent;
+import jakarta.servlet.AsyncListener;
+import jakarta.servlet.ReadListener;
 import jakarta.servlet.ServletException;
+import jakarta.servlet.ServletInputStream;
 import jakarta.servlet.http.HttpServlet;
 import jakarta.servlet.http.HttpServletRequest;
 import jakarta.servlet.http.HttpServletResponse;
-import jakarta.servlet.http.Part;
-import org.apache.commons.io.IOUtils;
 import org.slf4j.Logger;
 import org.slf4j.LoggerFactory;
+import org.teamapps.ux.session.SessionContext;
+import org.teamapps.ux.session.UploadProgressEvent;
 
-import java.io.*;
-import java.util.ArrayList;
-import java.util.Collection;
-import java.util.UUID;
+import java.io.File;
+import java.io.IOException;
+import java.nio.ByteBuffer;
+import java.nio.channels.FileChannel;
+import java.nio.file.Files;
+import java.nio.file.StandardOpenOption;
+import java.util.*;
+import java.util.concurrent.atomic.AtomicLong;
 import java.util.function.BiConsumer;
+import java.util.function.Function;
 import java.util.stream.Collectors;
 
+/**
+ * Receives multipart/form-data uploads and stores every part as a file named by a random UUID inside the upload directory.
+ * Responds with a JSON array of the UUIDs.
+ * <p>
+ * The request body is read non-blockingly (using a {@link ReadListener}) if the request supports async processing,
+ * and parsed while it arrives (see {@link MultipartStreamParser}). Parts are written directly to their final location,
+ * so neither container threads nor a temporary copy of the upload are needed.
+ * <p>
+ * Uploads to {@code /upload/<sessionId>} (see {@link SessionContext#resolveUploadUrl(String)}) are attributed to the
+ * corresponding {@link SessionContext}: Their progress is reported via {@link SessionContext#onUploadProgress} and they are
+ * subject to the per-session upload quota. If a quota is set, uploads that cannot be attributed to a session are rejected.
+ */
 public class UploadServlet extends HttpServlet {
 
-	private static final Logger LOGGER  = LoggerFactory.getLogger(UploadServlet.class);
+	public static final String BASE_PATH = "/upload/";
 
-	private final File uploadDirectory;
+	private static final Logger LOGGER = LoggerFactory.getLogger(UploadServlet.class);
+	private static final int BUFFER_SIZE = 64 * 1024;
+	private static final long PROGRESS_REPORTING_INTERVAL_NANOS = 100_000_000;
+	public static final long DEFAULT_TIMEOUT_MILLIS = 30 * 60_000;
 
+	private final File uploadDirectory;
 	private final BiConsumer<File, String> uploadListener;
+	private final Function<String, SessionContext> sessionContextById;
+	private final long maxUploadBytesPerSession;
+	private final long timeoutMillis;
+	private final Map<SessionContext, AtomicLong> uploadedBytesBySessionContext = Collections.synchronizedMap(new WeakHashMap<>());
 
 	public UploadServlet(File uploadDirectory, BiConsumer<File, String> uploadListener) {
-		this.uploadDirectory = uploadDirectory;
-		this.uploadListener = uploadListener;
+		this(uploadDirectory, uploadListener, sessionId -> null, -1, DEFAULT_TIMEOUT_MILLIS);
 	}
 
-	@Override
-	public void init() throws ServletException {
-		super.init();
+	/**
+	 * @param sessionContextById       resolves the session id given as path info
+	 * @param maxUploadBytesPerSession the maximum number of bytes a session may upload in total. Negative for no limit.
+	 * @param timeoutMillis            the maximum duration of an upload request. Stalled uploads are aborted after this time.
+	 */
+	public UploadServlet(File uploadDirectory, BiConsumer<File, String> uploadListener, Function<String, SessionContext> sessionContextById, long maxUploadBytesPerSession,
+						 long timeoutMillis) {
+		this.uploadDirectory = uploadDirectory;
+		this.uploadListener = uploadListener;
+		this.sessionContextById = sessionContextById;
+		this.maxUploadBytesPerSession = maxUploadBytesPerSession;
+		this.timeoutMillis = timeoutMillis;
 	}
 
 	@Override
@@ -60,34 +98,241 @@ public class UploadServlet extends HttpServlet {
 
 	@Override
 	protected void doPost(HttpServletRequest request, HttpServletResponse response) throws ServletException, IOException {
-		Collection<Part> parts = request.getParts();
-		ArrayList<String> uuids = new ArrayList<>();
+		String boundary = MultipartStreamParser.extractBoundary(request.getContentType());
+		if (boundary == null) {
+			response.sendError(HttpServletResponse.SC_UNSUPPORTED_MEDIA_TYPE);
+			return;
+		}
+
+		SessionContext sessionContext = getSessionContext(request);
+		if (sessionContext == null && maxUploadBytesPerSession >= 0) {
+			// otherwise, the quota could be bypassed by not specifying a session
+			LOGGER.info("Rejecting upload that is not attributable to a session: {}", request.getRequestURI());
+			response.sendError(HttpServletResponse.SC_FORBIDDEN);
+			return;
+		}
+		AtomicLong sessionUploadedBytes = maxUploadBytesPerSession >= 0
+				? uploadedBytesBySessionContext.computeIfAbsent(sessionContext, sc -> new AtomicLong())
+				: null;
+		long contentLength = request.getContentLengthLong();
+		if (sessionUploadedBytes != null && contentLength > maxUploadBytesPerSession - sessionUploadedBytes.get()) {
+			LOGGER.info("Rejecting upload of {} bytes for session {}: quota exceeded", contentLength, sessionContext.getSessionId());
+			response.sendError(HttpServletResponse.SC_REQUEST_ENTITY_TOO_LARGE);
+			return;
+		}
+
+		UploadProcessor processor = new UploadProcessor(request, response, boundary, sessionContext, sessionUploadedBytes, contentLength);
+		if (request.isAsyncSupported()) {
+			AsyncContext asyncContext = request.startAsync();
+			asyncContext.setTimeout(timeoutMillis);
+			asyncContext.addListener(new AsyncListener() {
+				@Override
+				public void onTimeout(AsyncEvent event) {
+					processor.fail(new IOException("Upload timed out after " + timeoutMillis + "ms"));
+				}
+
+				@Override
+				public void onError(AsyncEvent event) {
+					processor.fail(event.getThrowable());
+				}
+
+				@Override
+				public void onComplete(AsyncEvent event) {
+				}
+
+				@Override
+				public void onStartAsync(AsyncEvent event) {
+				}
+			});
+			processor.asyncContext = asyncContext;
+			request.getInputStream().setReadListener(processor);
+		} else {
+			processor.readBlocking();
+		}
+	}
+
+	private SessionContext getSessionContext(HttpServletRequest request) {
+		String pathInfo = request.getPathInfo();
+		if (pathInfo == null || pathInfo.length() <= 1) {
+			return null;
+		}
+		String sessionId = pathInfo.substring(1);
+		int slashIndex = sessionId.indexOf('/');
+		return sessionContextById.apply(slashIndex >= 0 ? sessionId.substring(0, slashIndex) : sessionId);
+	}
+
+	private static class QuotaExceededException extends IOException {
+		public QuotaExceededException(String message) {
+			super(message);
+		}
+	}
+
+	/**
+	 * Callbacks are synchronized, since timeouts may be signaled by another thread than the one reading the request.
+	 */
+	private class UploadProcessor implements ReadListener, MultipartStreamParser.PartHandler {
+
+		private final HttpServletRequest request;
+		private final HttpServletResponse response;
+		private final MultipartStreamParser parser;
+		private final SessionContext sessionContext;
+		private final AtomicLong sessionUploadedBytes;
+		private final long contentLength;
+		private final byte[] buffer = new byte[BUFFER_SIZE];
+		private final List<String> uuids = new ArrayList<>();
+
+		private AsyncContext asyncContext;
+		private long bytesReceived;
+		private long lastProgressReportNanos = System.nanoTime();
 
-		try {
-			for (Part part : parts) {
-				String uuidString = UUID.randomUUID().toString();
-				File tempFile = new File(uploadDirectory, uuidString);
+		private String currentUuid;
+		private String currentFileName;
+		private File currentFile;
+		private FileChannel currentChannel;
+		private boolean done;
 
-				try (InputStream in = part.getInputStream();
-				     OutputStream out = new FileOutputStream(tempFile)) {
-					IOUtils.copy(in, out);
+		public UploadProcessor(HttpServletRequest request, HttpServletResponse response, String boundary, SessionContext sessionContext, AtomicLong sessionUploadedBytes,
+							   long contentLength) {
+			this.request = request;
+			this.response = response;
+			this.parser = new MultipartStreamParser(boundary, this);
+			this.sessionContext = sessionContext;
+			this.sessionUploadedBytes = sessionUploadedBytes;
+			this.contentLength = contentLength;
+		}
+
+		public void readBlocking() throws IOException {
+			ServletInputStream in = request.getInputStream();
+			try {
+				int count;
+				while ((count = in.read(buffer)) != -1) {
+					received(count);
 				}
+			} catch (IOException e) {
+				fail(e);
+				return;
+			}
+			onAllDataRead();
+		}
 
-				uuids.add(uuidString);
+		@Override
+		public synchronized void onDataAvailable() {
+			ServletInputStream in;
+			try {
+				in = request.getInputStream();
+				// isReady() returning false registers for the next onDataAvailable() call
+				while (!done && in.isReady()) {
+					int count = in.read(buffer);
+					if (count == -1) {
+						break;
+					}
+					received(count);
+				}
+			} catch (IOException e) {
+				fail(e);
+			}
+		}
 
-				uploadListener.accept(tempFile, uuidString);
+		private void received(int count) throws IOException {
+			bytesReceived += count;
+			if (sessionUploadedBytes != null && sessionUploadedBytes.addAndGet(count) > maxUploadBytesPerSession) {
+				throw new QuotaExceededException("Upload quota of " + maxUploadBytesPerSession + " bytes exceeded by session " + sessionContext.getSessionId());
+			}
+			parser.write(buffer, 0, count);
+			if (sessionContext != null && currentUuid != null && System.nanoTime() - lastProgressReportNanos >= PROGRESS_REPORTING_INTERVAL_NANOS) {
+				reportProgress(false);
 			}
-		} catch (Exception e) {
-			LOGGER.warn("Error while uploading files" + e);
-			response.setStatus(500);
-			return;
 		}
 
-		response.setStatus(200);
-		response.setHeader("Access-Control-Allow-Origin", request.getHeader("Origin"));
-		response.setContentType("application/json");
-		response.getWriter().println("[" + uuids.stream()
-				.map(uuid -> "\"" + uuid + "\"")
-				.collect(Collectors.joining(",")) + "]");
+		@Override
+		public synchronized void onAllDataRead() throws IOException {
+			if (done) {
+				return;
+			}
+			try {
+				parser.finish();
+			} catch (IOException e) {
+				fail(e);
+				return;
+			}
+			done = true;
+			response.setStatus(HttpServletResponse.SC_OK);
+			response.setHeader("Access-Control-Allow-Origin", request.getHeader("Origin"));
+			response.setContentType("application/json");
+			response.getWriter().println("[" + uuids.stream()
+					.map(uuid -> "\"" + uuid + "\"")
+					.collect(Collectors.joining(",")) + "]");
+			complete();
+		}
+
+		@Override
+		public synchronized void onError(Throwable t) {
+			fail(t);
+		}
+
+		@Override
+		public void partStarted(Map<String, String> headers) throws IOException {
+			currentUuid = UUID.randomUUID().toString();
+			currentFileName = MultipartStreamParser.extractFileName(headers.get("content-disposition"));
+			currentFile = new File(uploadDirectory, currentUuid);
+			currentChannel = FileChannel.open(currentFile.toPath(), StandardOpenOption.CREATE_NEW, StandardOpenOption.WRITE);
+		}
+
+		@Override
+		public void partData(byte[] bytes, int offset, int length) throws IOException {
+			ByteBuffer byteBuffer = ByteBuffer.wrap(bytes, offset, length);
+			while (byteBuffer.hasRemaining()) {
+				currentChannel.write(byteBuffer);
+			}
+		}
+
+		@Override
+		public void partFinished() throws IOException {
+			currentChannel.close();
+			currentChannel = null;
+			uuids.add(currentUuid);
+			uploadListener.accept(currentFile, currentUuid);
+			if (sessionContext != null) {
+				reportProgress(true);
+			}
+			currentUuid = null;
+			currentFileName = null;
+			currentFile = null;
+		}
+
+		private void reportProgress(boolean fileComplete) {
+			lastProgressReportNanos = System.nanoTime();
+			UploadProgressEvent event = new UploadProgressEvent(currentUuid, currentFileName, bytesReceived, contentLength, fileComplete);
+			sessionContext.runWithContext(() -> sessionContext.onUploadProgress.fire(event));
+		}
+
+		private synchronized void fail(Throwable t) {
+			if (done) {
+				return;
+			}
+			done = true;
+			if (currentChannel != null) {
+				try {
+					currentChannel.close();
+					Files.deleteIfExists(currentFile.toPath());
+				} catch (IOException e) {
+					LOGGER.warn("Could not delete incomplete upload {}", currentFile, e);
+				}
+			}
+			if (t instanceof QuotaExceededException) {
+				LOGGER.info(t.getMessage());
+				response.setStatus(HttpServletResponse.SC_REQUEST_ENTITY_TOO_LARGE);
+			} else {
+				LOGGER.warn("Error while uploading files: " + t);
+				response.setStatus(HttpServletResponse.SC_INTERNAL_SERVER_ERROR);
+			}
+			complete();
+		}
+
+		private void complete() {
+			if (asyncContext != null) {
+				asyncContext.complete();
+			}
+		}
 	}
 }
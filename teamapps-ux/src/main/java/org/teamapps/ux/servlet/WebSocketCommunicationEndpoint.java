@@ -21,6 +21,7 @@ package org.teamapps.ux.servlet;
 
 import com.fasterxml.jackson.core.JsonProcessingException;
 import com.fasterxml.jackson.databind.ObjectMapper;
+import com.fasterxml.jackson.databind.ObjectReader;
 import jakarta.servlet.http.HttpSession;
 import jakarta.websocket.*;
 import org.slf4j.Logger;
@@ -31,8 +32,11 @@ import org.teamapps.json.TeamAppsObjectMapperFactory;
 import org.teamapps.uisession.*;
 
 import java.io.IOException;
+import java.nio.ByteBuffer;
+import java.util.List;
 import java.util.Map;
 import java.util.Optional;
+import java.util.concurrent.Callable;
 import java.util.concurrent.Executor;
 import java.util.concurrent.Executors;
 import java.util.concurrent.TimeoutException;
@@ -48,9 +52,14 @@ public class WebSocketCommunicationEndpoint extends Endpoint {
 	 */
 	private final Executor jettyWorkaroundCloseExecutor = Executors.newFixedThreadPool(5);
 	private final ObjectMapper mapper = TeamAppsObjectMapperFactory.create();
+	private final Map<String, ObjectReader> clientMessageReadersByTypeId = ClientMessageStreamReader.createReadersByTypeId(mapper);
 
 	private final AtomicLong totalSendCount = new AtomicLong();
 	private final AtomicLong totalReceiveCount = new AtomicLong();
+	private final AtomicLong totalCompressionInputCount = new AtomicLong();
+	private final AtomicLong totalCompressionOutputCount = new AtomicLong();
+	private final AtomicLong totalSentMessageCount = new AtomicLong();
+	private final AtomicLong totalSentCommandCount = new AtomicLong();
 
 	private final TeamAppsSessionManager sessionManager;
 	private final TeamAppsConfiguration teamAppsConfig;
@@ -64,7 +73,10 @@ public class WebSocketCommunicationEndpoint extends Endpoint {
 	public void onOpen(Session session, EndpointConfig config) {
 		session.setMaxIdleTimeout(teamAppsConfig.getKeepaliveMessageIntervalMillis() * 3);
 		session.setMaxTextMessageBufferSize(teamAppsConfig.getMaxUiClientMessageSize());
-		session.addMessageHandler(new WebSocketHandler(session));
+		session.setMaxBinaryMessageBufferSize(teamAppsConfig.getMaxUiClientMessageSize());
+		WebSocketHandler webSocketHandler = new WebSocketHandler(session);
+		session.addMessageHandler(webSocketHandler);
+		session.addMessageHandler(ByteBuffer.class, (MessageHandler.Partial<ByteBuffer>) webSocketHandler::onBinaryMessagePart);
 	}
 
 	@Override
@@ -79,7 +91,9 @@ public class WebSocketCommunicationEndpoint extends Endpoint {
 
 	@Override
 	public void onClose(Session session, CloseReason closeReason) {
-		// nothing to do...
+		session.getMessageHandlers().stream()
+				.filter(WebSocketHandler.class::isInstance)
+				.forEach(messageHandler -> ((WebSocketHandler) messageHandler).disposeCompressor());
 	}
 
 	private void closeWebSocketSession(Session wsSession) {
@@ -98,6 +112,35 @@ public class WebSocketCommunicationEndpoint extends Endpoint {
 		return totalReceiveCount.get();
 	}
 
+	/**
+	 * @return the total number of websocket messages (frames) sent to all clients
+	 */
+	public long getTotalSentMessageCount() {
+		return totalSentMessageCount.get();
+	}
+
+	/**
+	 * @return the total number of UI commands sent to all clients. Together with {@link #getTotalSentMessageCount()},
+	 * this tells how well commands get batched.
+	 */
+	public long getTotalSentCommandCount() {
+		return totalSentCommandCount.get();
+	}
+
+	/**
+	 * @return the total number of bytes that were compressed using application-level compression (before compression)
+	 */
+	public long getTotalCompressionInputCount() {
+		return totalCompressionInputCount.get();
+	}
+
+	/**
+	 * @return the total number of bytes sent using application-level compression (after compression)
+	 */
+	public long getTotalCompressionOutputCount() {
+		return totalCompressionOutputCount.get();
+	}
+
 	private class WebSocketHandler implements MessageHandler.Whole<String> {
 		private final Session wsSession;
 		private boolean closed;
@@ -106,8 +149,17 @@ public class WebSocketCommunicationEndpoint extends Endpoint {
 		private final AtomicLong sendCount = new AtomicLong();
 		private final AtomicLong receivedCount = new AtomicLong();
 
+		/**
+		 * Negotiated but not yet active. Gets active as soon as INIT_OK or REINIT_OK has been sent.
+		 */
+		private WebSocketMessageCompressor pendingCompressor;
+		private WebSocketMessageCompressor compressor;
+
+		private final ClientMessageStreamReader binaryMessageReader;
+
 		public WebSocketHandler(Session session) {
 			this.wsSession = session;
+			this.binaryMessageReader = new ClientMessageStreamReader(mapper, clientMessageReadersByTypeId, teamAppsConfig.getMaxUiClientMessageSize());
 		}
 
 		private Optional<UiSession> getUiSession(String uiSessionId) {
@@ -128,14 +180,34 @@ public class WebSocketCommunicationEndpoint extends Endpoint {
 		public void onMessage(String payload) {
 			receivedCount.addAndGet(payload.length());
 			totalReceiveCount.addAndGet(payload.length());
+			handleClientMessage(() -> mapper.readValue(payload, AbstractClientMessage.class));
+		}
+
+		/**
+		 * Binary messages are parsed part by part, as they arrive (see {@link ClientMessageStreamReader}).
+		 */
+		public void onBinaryMessagePart(ByteBuffer part, boolean last) {
+			receivedCount.addAndGet(part.remaining());
+			totalReceiveCount.addAndGet(part.remaining());
+			handleClientMessage(() -> binaryMessageReader.read(part, last));
+		}
+
+		/**
+		 * @param clientMessageReader returns the message to handle, or null if it is not complete yet
+		 */
+		private void handleClientMessage(Callable<AbstractClientMessage> clientMessageReader) {
 			try {
+				AbstractClientMessage clientMessage = clientMessageReader.call();
+				if (clientMessage == null) {
+					return;
+				}
 				HttpSession httpSession = (HttpSession) wsSession.getUserProperties().get(WebSocketServerEndpointConfigurator.HTTP_SESSION_PROPERTY_NAME);
-				AbstractClientMessage clientMessage = mapper.readValue(payload, AbstractClientMessage.class);
 
 				String uiSessionId = clientMessage.getSessionId();
 				if (clientMessage instanceof INIT) {
 					ServerSideClientInfo serverSideClientInfo = createServerSideClientInfo(wsSession);
 					INIT init = (INIT) clientMessage;
+					negotiateCompression(init.getSupportedCompressions());
 					init.getClientInfo().setIp(serverSideClientInfo.getIp());
 					init.getClientInfo().setUserAgentString(serverSideClientInfo.getUserAgentString());
 					init.getClientInfo().setPreferredLanguageIso(serverSideClientInfo.getPreferredLanguageIso());
@@ -148,6 +220,7 @@ public class WebSocketCommunicationEndpoint extends Endpoint {
 					);
 				} else if (clientMessage instanceof REINIT) {
 					REINIT reinit = (REINIT) clientMessage;
+					negotiateCompression(reinit.getSupportedCompressions());
 					getUiSession(uiSessionId).ifPresentOrElse(uiSession -> {
 						uiSession.reinit(reinit.getLastReceivedCommandId(), reinit.getMaxRequestedCommandId(), new MessageSenderImpl());
 					}, () -> {
@@ -182,32 +255,61 @@ public class WebSocketCommunicationEndpoint extends Endpoint {
 			}
 		}
 
+		private synchronized void negotiateCompression(List<String> supportedCompressions) {
+			if (teamAppsConfig.isApplicationLevelCompression()
+					&& compressor == null && pendingCompressor == null
+					&& supportedCompressions != null && supportedCompressions.contains(WebSocketMessageCompressor.DEFLATE_WITH_DICTIONARY)) {
+				pendingCompressor = new WebSocketMessageCompressor(teamAppsConfig.getApplicationLevelCompressionLevel());
+			}
+		}
+
+		private synchronized void disposeCompressor() {
+			if (pendingCompressor != null) {
+				pendingCompressor.close();
+				pendingCompressor = null;
+			}
+			if (compressor != null) {
+				compressor.close();
+				compressor = null;
+			}
+		}
+
 		private void send(AbstractServerMessage message, Runnable sendingSuccessHandler, SendingErrorHandler sendingErrorHandler) {
 			if (this.closed) {
 				sendingErrorHandler.onErrorWhileSending(new TeamAppsCommunicationException("Connection closed!"));
 				return;
 			}
 			try {
-				String messageAsString;
-				try {
-					messageAsString = mapper.writeValueAsString(message);
-				} catch (JsonProcessingException e) {
-					throw new TeamAppsCommunicationException(e);
-				}
-				sendCount.addAndGet(messageAsString.length());
-				totalSendCount.addAndGet(messageAsString.length());
-				//noinspection Convert2Lambda
-				wsSession.getAsyncRemote().sendText(messageAsString, new SendHandler() {
-					@Override
-					public void onResult(SendResult result) {
-						if (result.isOK() && sendingSuccessHandler != null) {
-							sendingSuccessHandler.run();
+				totalSentMessageCount.incrementAndGet();
+				// Compression is stateful, so compressing and handing the message to the container must happen atomically.
+				synchronized (this) {
+					if (compressor != null) {
+						byte[] messageBytes;
+						try {
+							messageBytes = mapper.writeValueAsBytes(message);
+						} catch (JsonProcessingException e) {
+							throw new TeamAppsCommunicationException(e);
+						}
+						sendCount.addAndGet(messageBytes.length);
+						totalSendCount.addAndGet(messageBytes.length);
+						sendCompressed(ByteBuffer.wrap(messageBytes), sendingSuccessHandler, sendingErrorHandler);
+					} else {
+						boolean compressionHandshake = pendingCompressor != null && addCompressionHandshakeInfo(message);
+						String messageAsString;
+						try {
+							messageAsString = mapper.writeValueAsString(message);
+						} catch (JsonProcessingException e) {
+							throw new TeamAppsCommunicationException(e);
 						}
-						if (!result.isOK() && sendingErrorHandler != null) {
-							sendingErrorHandler.onErrorWhileSending(result.getException());
+						sendCount.addAndGet(messageAsString.length());
+						totalSendCount.addAndGet(messageAsString.length());
+						wsSession.getAsyncRemote().sendText(messageAsString, createSendHandler(sendingSuccessHandler, sendingErrorHandler));
+						if (compressionHandshake) {
+							compressor = pendingCompressor;
+							pendingCompressor = null;
 						}
 					}
-				});
+				}
 			} catch (Exception e) {
 				if (sendingErrorHandler != null) {
 					sendingErrorHandler.onErrorWhileSending(e);
@@ -215,6 +317,70 @@ public class WebSocketCommunicationEndpoint extends Endpoint {
 			}
 		}
 
+		/**
+		 * @return whether the message tells the client to expect compressed messages from now on
+		 */
+		private boolean addCompressionHandshakeInfo(AbstractServerMessage message) {
+			if (message instanceof INIT_OK) {
+				((INIT_OK) message).setCompression(WebSocketMessageCompressor.DEFLATE_WITH_DICTIONARY)
+						.setCompressionDictionary(WebSocketCompressionDictionary.getDictionary());
+				return true;
+			} else if (message instanceof REINIT_OK) {
+				((REINIT_OK) message).setCompression(WebSocketMessageCompressor.DEFLATE_WITH_DICTIONARY);
+				return true;
+			} else {
+				return false;
+			}
+		}
+
+		private void sendBinary(ByteBuffer message, Runnable sendingSuccessHandler, SendingErrorHandler sendingErrorHandler) {
+			if (this.closed) {
+				sendingErrorHandler.onErrorWhileSending(new TeamAppsCommunicationException("Connection closed!"));
+				return;
+			}
+			try {
+				totalSentMessageCount.incrementAndGet();
+				sendCount.addAndGet(message.remaining());
+				totalSendCount.addAndGet(message.remaining());
+				synchronized (this) {
+					if (compressor != null) {
+						sendCompressed(message, sendingSuccessHandler, sendingErrorHandler);
+					} else {
+						wsSession.getAsyncRemote().sendBinary(message, createSendHandler(sendingSuccessHandler, sendingErrorHandler));
+					}
+				}
+			} catch (Exception e) {
+				if (sendingErrorHandler != null) {
+					sendingErrorHandler.onErrorWhileSending(e);
+				}
+			}
+		}
+
+		private void sendCompressed(ByteBuffer message, Runnable sendingSuccessHandler, SendingErrorHandler sendingErrorHandler) {
+			totalCompressionInputCount.addAndGet(message.remaining());
+			ByteBuffer compressedMessage = compressor.compress(message);
+			totalCompressionOutputCount.addAndGet(compressedMessage.remaining());
+			wsSession.getAsyncRemote().sendBinary(compressedMessage, createSendHandler(sendingSuccessHandler, sendingErrorHandler));
+		}
+
+		private SendHandler createSendHandler(Runnable sendingSuccessHandler, SendingErrorHandler sendingErrorHandler) {
+			UiSessionTimingListener timingListener = sessionManager.getTimingListener();
+			long startNanos = System.nanoTime();
+			//noinspection Convert2Lambda
+			return new SendHandler() {
+				@Override
+				public void onResult(SendResult result) {
+					timingListener.onMessageSendingCompleted(result.isOK(), System.nanoTime() - startNanos);
+					if (result.isOK() && sendingSuccessHandler != null) {
+						sendingSuccessHandler.run();
+					}
+					if (!result.isOK() && sendingErrorHandler != null) {
+						sendingErrorHandler.onErrorWhileSending(result.getException());
+					}
+				}
+			};
+		}
+
 		private ServerSideClientInfo createServerSideClientInfo(Session session) {
 			Map<String, Object> attributes = session.getUserProperties();
 			return new ServerSideClientInfo(
@@ -235,6 +401,16 @@ public class WebSocketCommunicationEndpoint extends Endpoint {
 				send(msg, null, sendingErrorHandler);
 			}
 
+			@Override
+			public void sendCommandsAsynchronously(List<CMD> cmds, SendingErrorHandler sendingErrorHandler) {
+				totalSentCommandCount.addAndGet(cmds.size());
+				if (cmds.stream().allMatch(CMD::isPreEncoded)) {
+					sendBinary(MultiCmdBinaryEncoder.encode(cmds), null, sendingErrorHandler);
+				} else {
+					MessageSender.super.sendCommandsAsynchronously(cmds, sendingErrorHandler);
+				}
+			}
+
 			@Override
 			public void close(UiSessionClosingReason closingReason, String message) {
 				send(
@@ -0,0 +1,89 @@
+/*-
+ * ========================LICENSE_START=================================
+ * TeamApps
+ * ---
+ * Copyright (C) 2014 - 2025 TeamApps.org
+ * ---
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ * 
+ *      http://www.apache.org/licenses/LICENSE-2.0
+ * 
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ * =========================LICENSE_END==================================
+ */
+package org.teamapps.ux.servlet;
+
+import org.teamapps.dto.UiCommand;
+import org.teamapps.dto.UiObjectJacksonTypeIdMaps;
+
+import java.nio.charset.StandardCharsets;
+import java.util.Arrays;
+import java.util.Comparator;
+import java.util.Map;
+
+/**
+ * Preset dictionary for the application-level compression of server messages (see {@link WebSocketMessageCompressor}).
+ * <p>
+ * It consists of the type ids of all DSL generated classes and some frequent JSON fragments of the protocol.
+ * Command type ids and protocol fragments come last, since deflate encodes matches at small distances more efficiently.
+ * <p>
+ * The dictionary is sent to the client in the INIT_OK message, so client and server always use the same dictionary.
+ */
+public final class WebSocketCompressionDictionary {
+
+	/**
+	 * The maximum size of a deflate dictionary (the deflate window size).
+	 */
+	private static final int MAX_DICTIONARY_SIZE = 32 * 1024;
+
+	private static final String[] PROTOCOL_FRAGMENTS = {
+			"\"componentId\":\"",
+			"\"id\":\"",
+			"\"config\":{",
+			"\"records\":[",
+			"\"values\":{",
+			"\"children\":[",
+			"\"displayTemplate\":",
+			"\"templateId\":\"",
+			"\"asString\":\"",
+			":null,",
+			":true,",
+			":false,",
+			"{\"_type\":\"MULTI_CMD\",\"cmds\":[",
+			",\"r\":true}",
+			"{\"id\":",
+			",\"c\":{\"_type\":\""
+	};
+
+	private static final String DICTIONARY = createDictionary();
+	private static final byte[] DICTIONARY_BYTES = DICTIONARY.getBytes(StandardCharsets.UTF_8);
+
+	private WebSocketCompressionDictionary() {
+	}
+
+	public static String getDictionary() {
+		return DICTIONARY;
+	}
+
+	public static byte[] getDictionaryBytes() {
+		return DICTIONARY_BYTES;
+	}
+
+	private static String createDictionary() {
+		StringBuilder sb = new StringBuilder();
+		UiObjectJacksonTypeIdMaps.ID_BY_CLASS.entrySet().stream()
+				.sorted(Comparator.<Map.Entry<Class, String>, Boolean>comparing(e -> UiCommand.class.isAssignableFrom(e.getKey()))
+						.thenComparing(Map.Entry::getValue))
+				.forEach(e -> sb.append('"').append(e.getValue()).append('"'));
+		Arrays.stream(PROTOCOL_FRAGMENTS).forEach(sb::append);
+		// all characters are ASCII, so the number of characters equals the number of UTF-8 bytes
+		return sb.length() > MAX_DICTIONARY_SIZE ? sb.substring(sb.length() - MAX_DICTIONARY_SIZE) : sb.toString();
+	}
+
+}
@@ -0,0 +1,72 @@
+/*-
+ * ========================LICENSE_START=================================
+ * TeamApps
+ * ---
+ * Copyright (C) 2014 - 2025 TeamApps.org
+ * ---
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ * 
+ *      http://www.apache.org/licenses/LICENSE-2.0
+ * 
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ * =========================LICENSE_END==================================
+ */
+package org.teamapps.ux.servlet;
+
+import java.nio.ByteBuffer;
+import java.util.zip.Deflater;
+
+/**
+ * Application-level compression of the messages sent through one WebSocket connection.
+ * <p>
+ * All messages are compressed using one raw deflate stream with a preset dictionary (see {@link WebSocketCompressionDictionary}).
+ * Each message is terminated by a sync flush, so the client can decompress it completely while keeping the compression
+ * context for subsequent messages. Messages must therefore be sent in exactly the order they were compressed.
+ * <p>
+ * NOT THREAD-SAFE! Synchronization must be provided by client code.
+ */
+public class WebSocketMessageCompressor {
+
+	public static final String DEFLATE_WITH_DICTIONARY = "deflate-dict";
+
+	private final Deflater deflater;
+
+	public WebSocketMessageCompressor(int compressionLevel) {
+		deflater = new Deflater(compressionLevel, true);
+		deflater.setDictionary(WebSocketCompressionDictionary.getDictionaryBytes());
+	}
+
+	/**
+	 * @return a flipped buffer containing the compressed message
+	 */
+	public ByteBuffer compress(ByteBuffer message) {
+		deflater.setInput(message);
+		ByteBuffer output = ByteBuffer.allocate(Math.max(64, message.remaining() / 2));
+		while (true) {
+			deflater.deflate(output, Deflater.SYNC_FLUSH);
+			if (output.hasRemaining()) {
+				break;
+			}
+			ByteBuffer largerOutput = ByteBuffer.allocate(output.capacity() * 2);
+			output.flip();
+			largerOutput.put(output);
+			output = largerOutput;
+		}
+		output.flip();
+		return output;
+	}
+
+	/**
+	 * Releases the native resources of the underlying deflater.
+	 */
+	public void close() {
+		deflater.end();
+	}
+
+}
@@ -23,12 +23,19 @@ import com.google.common.annotations.VisibleForTesting;
 import org.teamapps.ux.resource.ClassPathResource;
 import org.teamapps.ux.resource.Resource;
 
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
 import java.util.function.Function;
 
 public class ClassPathResourceProvider implements ResourceProvider {
 
 	private final String basePackage;
 	private final Function<String, String> javaResourceNameToMimeTypeFunction;
+	/**
+	 * Existing resources are reused, so their ETags and compressed variants are only computed once.
+	 * Keyed by the normalized Java resource name, so different spellings of a path share one entry.
+	 */
+	private final Map<String, ClassPathResource> resourcesByJavaResourceName = new ConcurrentHashMap<>();
 
 	public ClassPathResourceProvider(String basePackage) {
 		this(basePackage, s -> null);
@@ -41,12 +48,40 @@ public class ClassPathResourceProvider implements ResourceProvider {
 
 	@Override
 	public Resource getResource(String servletPath, String relativeResourcePath, String httpSessionId) {
-		return new ClassPathResource(getJavaResourceName(relativeResourcePath),
-				javaResourceNameToMimeTypeFunction.apply(relativeResourcePath));
+		String javaResourceName = getJavaResourceName(relativeResourcePath);
+		ClassPathResource cachedResource = resourcesByJavaResourceName.get(javaResourceName);
+		if (cachedResource != null) {
+			return cachedResource;
+		}
+		ClassPathResource resource = new ClassPathResource(javaResourceName, javaResourceNameToMimeTypeFunction.apply(relativeResourcePath));
+		if (resource.exists()) { // do not let requests for non-existing resources fill the map
+			ClassPathResource existingResource = resourcesByJavaResourceName.putIfAbsent(javaResourceName, resource);
+			return existingResource != null ? existingResource : resource;
+		}
+		return resource;
 	}
 
 	private String getJavaResourceName(String resource) {
-		return basePackage + resource;
+		return basePackage + normalizeRelativeResourcePath(resource);
+	}
+
+	/**
+	 * Drops empty and "." segments. ".." segments are kept as they are, so they can never resolve to a resource outside the base package.
+	 *
+	 * @return the path with a leading slash
+	 */
+	@VisibleForTesting
+	static String normalizeRelativeResourcePath(String relativeResourcePath) {
+		StringBuilder sb = new StringBuilder(relativeResourcePath.length() + 1);
+		for (String segment : relativeResourcePath.split("/")) {
+			if (!segment.isEmpty() && !segment.equals(".")) {
+				sb.append('/').append(segment);
+			}
+		}
+		if (sb.length() == 0 || relativeResourcePath.endsWith("/")) {
+			sb.append('/');
+		}
+		return sb.toString();
 	}
 
 	@VisibleForTesting
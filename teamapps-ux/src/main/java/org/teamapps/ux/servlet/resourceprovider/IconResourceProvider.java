@@ -82,6 +82,11 @@ public class IconResourceProvider implements ResourceProvider {
 				public String getMimeType() {
 					return iconResource.getMimeType();
 				}
+
+				@Override
+				public String getETag() {
+					return iconResource.getETag();
+				}
 			};
 		} else {
 			return null;
@@ -30,9 +30,18 @@ import jakarta.servlet.http.HttpServletRequest;
 import jakarta.servlet.http.HttpServletResponse;
 import org.teamapps.ux.resource.Resource;
 
+import java.io.Closeable;
+import java.io.EOFException;
 import java.io.File;
 import java.io.IOException;
+import java.io.InputStream;
+import java.io.OutputStream;
 import java.net.URLEncoder;
+import java.nio.channels.Channels;
+import java.nio.channels.FileChannel;
+import java.nio.channels.WritableByteChannel;
+import java.nio.file.Path;
+import java.nio.file.StandardOpenOption;
 import java.util.ArrayList;
 import java.util.Arrays;
 import java.util.List;
@@ -51,6 +60,7 @@ public class ResourceProviderServlet extends HttpServlet {
 	private static final String ETAG = "W/\"%s-%s\"";
 	private static final Pattern RANGE_PATTERN = Pattern.compile("^bytes=[0-9]*-[0-9]*(,[0-9]*-[0-9]*)*$");
 	private static final String MULTIPART_BOUNDARY = UUID.randomUUID().toString();
+	private static final List<String> PREFERRED_CONTENT_ENCODINGS = List.of("br", "gzip");
 	private static final String CONTENT_DISPOSITION_HEADER = "%s;filename=\"%2$s\"; filename*=UTF-8''%2$s";
 
 	private final ResourceProvider resourceProvider;
@@ -87,19 +97,31 @@ public class ResourceProviderServlet extends HttpServlet {
 			return;
 		}
 
-		if (preconditionFailed(request, resource)) {
+		// Content encodings are only applied to requests for the whole content, so ranges always refer to the identity encoding.
+		String contentEncoding = request.getHeader("Range") == null ? selectContentEncoding(request, resource) : null;
+		Resource content = contentEncoding != null ? resource.getEncodedVariant(contentEncoding) : resource;
+		String eTag = contentEncoding != null ? getETag(resource, contentEncoding) : getETag(resource);
+
+		if (preconditionFailed(request, resource, eTag)) {
 			response.sendError(HttpServletResponse.SC_PRECONDITION_FAILED);
 			return;
 		}
 
-		setCacheHeaders(response, resource, resource.getExpires().getTime());
+		setCacheHeaders(response, resource, eTag, resource.getExpires().getTime());
+		if (contentEncoding != null) {
+			response.setHeader("Content-Encoding", contentEncoding);
+		}
+		if (hasEncodedVariant(resource)) {
+			// caches must not serve one representation to clients that would have gotten another one
+			response.setHeader("Vary", "Accept-Encoding");
+		}
 
-		if (notModified(request, resource)) {
+		if (notModified(request, resource, eTag)) {
 			response.setStatus(HttpServletResponse.SC_NOT_MODIFIED);
 			return;
 		}
 
-		List<Range> ranges = getRanges(request, resource);
+		List<Range> ranges = getRanges(request, resource, eTag);
 
 		if (ranges == null) {
 			response.setHeader("Content-Range", "bytes */" + resource.getLength());
@@ -110,16 +132,58 @@ public class ResourceProviderServlet extends HttpServlet {
 		if (!ranges.isEmpty()) {
 			response.setStatus(HttpServletResponse.SC_PARTIAL_CONTENT);
 		} else {
-			ranges.add(new Range(0, resource.getLength() - 1)); // Full content.
+			ranges.add(new Range(0, content.getLength() - 1)); // Full content.
 		}
 
-		String contentType = setContentHeaders(response, resource, ranges);
+		String contentType = setContentHeaders(response, resource, content.getLength(), ranges);
 
 		if (head) {
 			return;
 		}
 
-		writeContent(response, resource, ranges, contentType);
+		writeContent(response, content, ranges, contentType);
+	}
+
+	/**
+	 * Selects the most preferred content encoding accepted by the client, for which the resource has an encoded variant.
+	 *
+	 * @return the content encoding or null for the identity encoding
+	 */
+	private String selectContentEncoding(HttpServletRequest request, Resource resource) {
+		String acceptEncoding = request.getHeader("Accept-Encoding");
+		if (acceptEncoding == null) {
+			return null;
+		}
+		for (String contentEncoding : PREFERRED_CONTENT_ENCODINGS) {
+			if (acceptsEncoding(acceptEncoding, contentEncoding) && resource.getEncodedVariant(contentEncoding) != null) {
+				return contentEncoding;
+			}
+		}
+		return null;
+	}
+
+	private boolean hasEncodedVariant(Resource resource) {
+		for (String contentEncoding : PREFERRED_CONTENT_ENCODINGS) {
+			if (resource.getEncodedVariant(contentEncoding) != null) {
+				return true;
+			}
+		}
+		return false;
+	}
+
+	static boolean acceptsEncoding(String acceptEncodingHeader, String contentEncoding) {
+		for (String part : acceptEncodingHeader.split(",")) {
+			String[] codingAndParams = part.trim().split("\\s*;\\s*");
+			if (codingAndParams[0].equalsIgnoreCase(contentEncoding)) {
+				for (int i = 1; i < codingAndParams.length; i++) {
+					if (codingAndParams[i].matches("[qQ]\\s*=\\s*0(\\.0*)?")) {
+						return false;
+					}
+				}
+				return true;
+			}
+		}
+		return false;
 	}
 
 	/**
@@ -152,31 +216,31 @@ public class ResourceProviderServlet extends HttpServlet {
 	/**
 	 * Returns true if it's a conditional request which must return 412.
 	 */
-	private boolean preconditionFailed(HttpServletRequest request, Resource resource) {
+	private boolean preconditionFailed(HttpServletRequest request, Resource resource, String eTag) {
 		String match = request.getHeader("If-Match");
 		long unmodified = request.getDateHeader("If-Unmodified-Since");
-		return (match != null) ? !matches(match, getETag(resource)) : (unmodified != -1 && modified(unmodified, resource.getLastModified().getTime()));
+		return (match != null) ? !matches(match, eTag) : (unmodified != -1 && modified(unmodified, resource.getLastModified().getTime()));
 	}
 
-	private void setCacheHeaders(HttpServletResponse response, Resource resource, long expires) {
+	private void setCacheHeaders(HttpServletResponse response, Resource resource, String eTag, long expires) {
 		setCacheHeaders(response, expires);
-		response.setHeader("ETag", getETag(resource));
+		response.setHeader("ETag", eTag);
 		response.setDateHeader("Last-Modified", resource.getLastModified().getTime());
 	}
 
 	/**
 	 * Returns true if it's a conditional request which must return 304.
 	 */
-	private boolean notModified(HttpServletRequest request, Resource resource) {
+	private boolean notModified(HttpServletRequest request, Resource resource, String eTag) {
 		String noMatch = request.getHeader("If-None-Match");
 		long modified = request.getDateHeader("If-Modified-Since");
-		return (noMatch != null) ? matches(noMatch, getETag(resource)) : (modified != -1 && !modified(modified, resource.getLastModified().getTime()));
+		return (noMatch != null) ? matches(noMatch, eTag) : (modified != -1 && !modified(modified, resource.getLastModified().getTime()));
 	}
 
 	/**
 	 * Get requested ranges. If this is null, then we must return 416. If this is empty, then we must return full file.
 	 */
-	private List<Range> getRanges(HttpServletRequest request, Resource resource) {
+	private List<Range> getRanges(HttpServletRequest request, Resource resource, String eTag) {
 		List<Range> ranges = new ArrayList<>(1);
 		String rangeHeader = request.getHeader("Range");
 
@@ -188,7 +252,7 @@ public class ResourceProviderServlet extends HttpServlet {
 
 		String ifRange = request.getHeader("If-Range");
 
-		if (ifRange != null && !ifRange.equals(getETag(resource))) {
+		if (ifRange != null && !ifRange.equals(eTag)) {
 			try {
 				long ifRangeTime = request.getDateHeader("If-Range");
 
@@ -235,7 +299,7 @@ public class ResourceProviderServlet extends HttpServlet {
 		return new Range(start, end);
 	}
 
-	private String setContentHeaders(HttpServletResponse response, Resource resource, List<Range> ranges) {
+	private String setContentHeaders(HttpServletResponse response, Resource resource, long contentLength, List<Range> ranges) {
 		String contentType = resource.getMimeType();
 		String filename = resource.getName();
 		response.setHeader("Content-Disposition", String.format(CONTENT_DISPOSITION_HEADER, (resource.isAttachment() ? "attachment" : "inline"), encodeURI(filename)));
@@ -247,7 +311,7 @@ public class ResourceProviderServlet extends HttpServlet {
 			response.setHeader("Content-Length", String.valueOf(range.length));
 
 			if (response.getStatus() == HttpServletResponse.SC_PARTIAL_CONTENT) {
-				response.setHeader("Content-Range", "bytes " + range.start + "-" + range.end + "/" + resource.getLength());
+				response.setHeader("Content-Range", "bytes " + range.start + "-" + range.end + "/" + contentLength);
 			}
 		} else {
 			response.setContentType("multipart/byteranges; boundary=" + MULTIPART_BOUNDARY);
@@ -261,25 +325,96 @@ public class ResourceProviderServlet extends HttpServlet {
 	 */
 	private void writeContent(HttpServletResponse response, Resource resource, List<Range> ranges, String contentType) throws IOException {
 		ServletOutputStream output = response.getOutputStream();
-
-		if (ranges.size() == 1) {
-			Range range = ranges.get(0);
-			IOUtils.copyLarge(resource.getInputStream(), output, range.start, range.length);
-		} else {
-			// Copy multi part range.
-			for (Range r : ranges) {
-				// Add multipart boundary and header fields for every range.
+		Path path = resource.getPath();
+		try (RangeWriter rangeWriter = path != null ? new FileChannelRangeWriter(path, output) : new InputStreamRangeWriter(resource, output)) {
+			if (ranges.size() == 1) {
+				rangeWriter.write(ranges.get(0));
+			} else {
+				// Copy multi part range.
+				for (Range r : ranges) {
+					// Add multipart boundary and header fields for every range.
+					output.println();
+					output.println("--" + MULTIPART_BOUNDARY);
+					output.println("Content-Type: " + contentType);
+					output.println("Content-Range: bytes " + r.start + "-" + r.end + "/" + resource.getLength());
+
+					// Copy single part range of multi part range.
+					rangeWriter.write(r);
+				}
+				// End with multipart boundary.
 				output.println();
-				output.println("--" + MULTIPART_BOUNDARY);
-				output.println("Content-Type: " + contentType);
-				output.println("Content-Range: bytes " + r.start + "-" + r.end + "/" + resource.getLength());
+				output.println("--" + MULTIPART_BOUNDARY + "--");
+			}
+		}
+	}
+
+	private interface RangeWriter extends Closeable {
+		void write(Range range) throws IOException;
+	}
+
+	/**
+	 * Transfers ranges directly from the file, letting the JDK choose the most efficient way (instead of copying through a stream buffer).
+	 * All ranges are read from the same channel.
+	 */
+	private static class FileChannelRangeWriter implements RangeWriter {
+		private final FileChannel fileChannel;
+		private final WritableByteChannel outputChannel;
 
-				// Copy single part range of multi part range.
-				IOUtils.copyLarge(resource.getInputStream(), output, r.start, r.length);
+		public FileChannelRangeWriter(Path path, OutputStream output) throws IOException {
+			this.fileChannel = FileChannel.open(path, StandardOpenOption.READ);
+			this.outputChannel = Channels.newChannel(output);
+		}
+
+		@Override
+		public void write(Range range) throws IOException {
+			long position = range.start;
+			long end = range.start + range.length;
+			while (position < end) {
+				long transferred = fileChannel.transferTo(position, end - position, outputChannel);
+				if (transferred <= 0) {
+					throw new EOFException("File ended before the end of the requested range.");
+				}
+				position += transferred;
+			}
+		}
+
+		@Override
+		public void close() throws IOException {
+			fileChannel.close();
+		}
+	}
+
+	/**
+	 * Reads ascending ranges from a single stream. Only reopens the stream if a range starts before the end of the previous one.
+	 */
+	private static class InputStreamRangeWriter implements RangeWriter {
+		private final Resource resource;
+		private final OutputStream output;
+		private InputStream inputStream;
+		private long position;
+
+		public InputStreamRangeWriter(Resource resource, OutputStream output) {
+			this.resource = resource;
+			this.output = output;
+		}
+
+		@Override
+		public void write(Range range) throws IOException {
+			if (inputStream == null || range.start < position) {
+				close();
+				inputStream = resource.getInputStream();
+				position = 0;
+			}
+			IOUtils.copyLarge(inputStream, output, range.start - position, range.length);
+			position = range.start + range.length;
+		}
+
+		@Override
+		public void close() throws IOException {
+			if (inputStream != null) {
+				inputStream.close();
+				inputStream = null;
 			}
-			// End with multipart boundary.
-			output.println();
-			output.println("--" + MULTIPART_BOUNDARY + "--");
 		}
 	}
 
@@ -361,7 +496,16 @@ public class ResourceProviderServlet extends HttpServlet {
 	}
 
 	private String getETag(Resource resource) {
-		return String.format(ETAG, encodeURL(resource.getName()), resource.getLastModified());
+		String eTag = resource.getETag();
+		return eTag != null ? eTag : String.format(ETAG, encodeURL(resource.getName()), resource.getLastModified());
+	}
+
+	/**
+	 * Encoded variants need their own entity tags (RFC 9110, section 8.8.3).
+	 */
+	private String getETag(Resource resource, String contentEncoding) {
+		String eTag = getETag(resource);
+		return eTag.substring(0, eTag.length() - 1) + "-" + contentEncoding + "\"";
 	}
 
 	private static boolean matches(String matchHeader, String eTag) {
@@ -39,6 +39,8 @@ public class SessionConfiguration {
 
 	private boolean optimizedForTouch = false;
 	private String iconPath = "/icons";
+	private int iconInliningMaxBytes = 0;
+	private int iconInliningMaxIcons = 20;
 	private StylingTheme theme = StylingTheme.DEFAULT;
 	private ClosedSessionHandlingType closedSessionHandling = ClosedSessionHandlingType.MESSAGE_WINDOW;
 
@@ -143,6 +145,43 @@ public class SessionConfiguration {
 		this.iconPath = iconPath;
 	}
 
+	/**
+	 * SVG icons up to this size are embedded as <code>data:</code> URLs into the commands sent to the client,
+	 * instead of being referenced by URL (see {@link #getIconPath()}). This saves the client one HTTP request per distinct icon,
+	 * which is significant on the initial rendering of icon-heavy UIs.
+	 * <p>
+	 * Note that an inlined icon is transmitted every time it is used (e.g. in every row of a table), and the browser cannot
+	 * cache it. So this should only be used for small icons, and only the first {@link #getIconInliningMaxIcons()}
+	 * distinct icons of a session (typically the ones of the initial rendering) are inlined. All others are referenced by
+	 * their cacheable URL. 0 disables inlining (default).
+	 */
+	public int getIconInliningMaxBytes() {
+		return iconInliningMaxBytes;
+	}
+
+	/**
+	 * @see #getIconInliningMaxBytes()
+	 */
+	public void setIconInliningMaxBytes(int iconInliningMaxBytes) {
+		this.iconInliningMaxBytes = iconInliningMaxBytes;
+	}
+
+	/**
+	 * The maximum number of distinct icons inlined per session (see {@link #getIconInliningMaxBytes()}).
+	 * Once an icon is inlined, it stays inlined for the session, so the browser does not need to load it by URL after all.
+	 * The higher this is, the more bytes get sent repeatedly for icons that are used again and again.
+	 */
+	public int getIconInliningMaxIcons() {
+		return iconInliningMaxIcons;
+	}
+
+	/**
+	 * @see #getIconInliningMaxIcons()
+	 */
+	public void setIconInliningMaxIcons(int iconInliningMaxIcons) {
+		this.iconInliningMaxIcons = iconInliningMaxIcons;
+	}
+
 	public StylingTheme getTheme() {
 		return theme;
 	}
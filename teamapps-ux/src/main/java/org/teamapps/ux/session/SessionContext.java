@@ -30,6 +30,8 @@ import org.teamapps.dto.*;
 import org.teamapps.event.Disposable;
 import org.teamapps.event.Event;
 import org.teamapps.icons.Icon;
+import org.teamapps.icons.IconResource;
+import org.teamapps.icons.IconType;
 import org.teamapps.icons.SessionIconProvider;
 import org.teamapps.server.UxServerContext;
 import org.teamapps.uisession.*;
@@ -56,6 +58,7 @@ import org.teamapps.ux.icon.IconBundle;
 import org.teamapps.ux.icon.TeamAppsIconBundle;
 import org.teamapps.ux.json.UxJacksonSerializationTemplate;
 import org.teamapps.ux.resource.Resource;
+import org.teamapps.ux.servlet.UploadServlet;
 import org.teamapps.ux.session.navigation.*;
 
 import java.io.File;
@@ -63,6 +66,7 @@ import java.time.ZoneId;
 import java.util.*;
 import java.util.concurrent.Callable;
 import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.ConcurrentHashMap;
 import java.util.concurrent.ExecutorService;
 import java.util.function.Consumer;
 import java.util.stream.Collectors;
@@ -92,6 +96,10 @@ public class SessionContext {
 	public final ExecutionDecoratorStack executionDecorators = new ExecutionDecoratorStack();
 	public final Event<NavigationStateChangeEvent> onNavigationStateChange = new Event<>();
 	public final Event<CustomMessageEvent> onCustomMessage = new Event<>();
+	/**
+	 * Fired while files are being uploaded to this session's upload url (see {@link #resolveUploadUrl(String)}).
+	 */
+	public final Event<UploadProgressEvent> onUploadProgress = new Event<>();
 
 	private UiSessionState state = UiSessionState.ACTIVE;
 
@@ -113,6 +121,7 @@ public class SessionContext {
 	private SessionConfiguration sessionConfiguration;
 
 	private final Map<String, Icon<?, ?>> bundleIconByKey = new HashMap<>();
+	private final Set<String> inlinedIcons = ConcurrentHashMap.newKeySet(); // encoded icons, see SessionConfiguration.getIconInliningMaxIcons()
 
 	private boolean defaultBackgroundRegistered;
 
@@ -130,23 +139,33 @@ public class SessionContext {
 	private boolean skipAutoUpdateNavigationHistoryStateOnce = false;
 
 	private boolean destroyed;
+	private long enqueuedTaskCount; // guarded by this
+	private EventNotificationBatch pendingEventNotificationBatch; // guarded by this
 
 	private final UiSessionListener uiSessionListener = new UiSessionListener() {
 		@Override
 		public void onUiEvent(String sessionId, UiEvent event) {
+			long receivedNanos = System.nanoTime();
 			runWithContext(() -> {
-				String uiComponentId = event.getComponentId();
-				if (uiComponentId != null) {
-					ClientObject clientObject = getClientObject(uiComponentId);
-					if (clientObject != null) {
-						clientObject.handleUiEvent(event);
+				UiSessionTimingListener timingListener = uiSession.getTimingListener();
+				long startNanos = System.nanoTime();
+				timingListener.onEventHandlingStarted(event.getUiEventType(), startNanos - receivedNanos);
+				try {
+					String uiComponentId = event.getComponentId();
+					if (uiComponentId != null) {
+						ClientObject clientObject = getClientObject(uiComponentId);
+						if (clientObject != null) {
+							clientObject.handleUiEvent(event);
+						} else {
+							throw new TeamAppsComponentNotFoundException(sessionId, uiComponentId);
+						}
 					} else {
-						throw new TeamAppsComponentNotFoundException(sessionId, uiComponentId);
+						handleStaticEvent(event);
 					}
-				} else {
-					handleStaticEvent(event);
+				} finally {
+					timingListener.onEventHandled(event.getUiEventType(), System.nanoTime() - startNanos);
 				}
-			});
+			}).whenComplete((result, throwable) -> uiSession.getStatistics().eventHandled(System.nanoTime() - receivedNanos));
 		}
 
 		@Override
@@ -439,6 +458,15 @@ public class SessionContext {
 		return sessionResourceProvider.createResourceLink(resource, uniqueIdentifier);
 	}
 
+	/**
+	 * Makes uploads to the default upload url ("/upload") attributable to this session by appending the session id.
+	 * Their progress is then reported via {@link #onUploadProgress} and they count towards the session's upload quota
+	 * (see {@link org.teamapps.config.TeamAppsConfiguration#getMaxUploadBytesPerSession()}). Other urls are returned unchanged.
+	 */
+	public String resolveUploadUrl(String uploadUrl) {
+		return "/upload".equals(uploadUrl) ? UploadServlet.BASE_PATH + getSessionId() : uploadUrl;
+	}
+
 	public Resource getBinaryResource(int resourceId) {
 		return sessionResourceProvider.getBinaryResource(resourceId);
 	}
@@ -502,8 +530,10 @@ public class SessionContext {
 				if (destroyed) {
 					return CompletableFuture.failedFuture(new SessionDestroyedException("Session " + getName() + " is already destroyed!"));
 				} else {
+					enqueuedTaskCount++;
 					return CompletableFuture.supplyAsync(() -> {
 						CurrentSessionContext.set(this);
+						uiSession.startCommandBatch();
 						try {
 							Object[] resultHolder = new Object[1];
 							executionDecorators
@@ -523,6 +553,7 @@ public class SessionContext {
 							this.destroy(UiSessionClosingReason.SERVER_SIDE_ERROR);
 							throw t;
 						} finally {
+							uiSession.endCommandBatch();
 							CurrentSessionContext.unset();
 						}
 					}, sessionExecutor);
@@ -531,6 +562,60 @@ public class SessionContext {
 		}
 	}
 
+	/**
+	 * Enqueues the notification of a SessionContext-bound event listener.
+	 * <p>
+	 * Instead of creating a task per notification, notifications are collected in a batch that is executed as a single task.
+	 * As long as this batch is the last task in this SessionContext's work queue, further notifications (from the same or other events,
+	 * including repeated fires) are added to it. So broadcasting an event to many sessions results in at most one task per session,
+	 * no matter how many listeners each session has registered and how often the event fires.
+	 * The order of execution is preserved, since a notification is never added to a batch that is followed by another task.
+	 * <p>
+	 * Notifications get dropped silently if this SessionContext is already destroyed.
+	 *
+	 * @param notification the listener invocation
+	 */
+	public void enqueueEventNotification(Runnable notification) {
+		synchronized (this) {
+			if (destroyed) {
+				return;
+			}
+			EventNotificationBatch batch = pendingEventNotificationBatch;
+			if (batch != null && batch.taskIndex == enqueuedTaskCount) {
+				batch.notifications.add(notification);
+				return;
+			}
+			batch = new EventNotificationBatch(System.nanoTime());
+			batch.notifications.add(notification);
+			EventNotificationBatch finalBatch = batch;
+			runWithContext(() -> runEventNotificationBatch(finalBatch), true);
+			batch.taskIndex = enqueuedTaskCount;
+			pendingEventNotificationBatch = batch;
+		}
+	}
+
+	private void runEventNotificationBatch(EventNotificationBatch batch) {
+		synchronized (this) {
+			if (pendingEventNotificationBatch == batch) {
+				pendingEventNotificationBatch = null; // from now on, no more notifications are added to this batch
+			}
+		}
+		uiSession.getTimingListener().onEventNotificationsStarted(batch.notifications.size(), System.nanoTime() - batch.createdNanos);
+		for (Runnable notification : batch.notifications) {
+			notification.run();
+		}
+	}
+
+	private static class EventNotificationBatch {
+		private final long createdNanos;
+		private final List<Runnable> notifications = new ArrayList<>();
+		private long taskIndex;
+
+		public EventNotificationBatch(long createdNanos) {
+			this.createdNanos = createdNanos;
+		}
+	}
+
 	/**
 	 * Adds a decorator that gets invoked whenever a Thread is bound to this SessionContext.
 	 * The decorator will be called right <strong>after</strong> the Thread is bound to this SessionContext, so SessionContext.current() will return this instance.
@@ -599,7 +684,17 @@ public class SessionContext {
 		if (icon == null) {
 			return null;
 		}
-		return sessionConfiguration.getIconPath() + "/" + iconProvider.encodeIcon(icon, true);
+		String encodedIcon = iconProvider.encodeIcon(icon, true);
+		int iconInliningMaxBytes = sessionConfiguration.getIconInliningMaxBytes();
+		if (iconInliningMaxBytes > 0
+				&& (inlinedIcons.contains(encodedIcon) || inlinedIcons.size() < sessionConfiguration.getIconInliningMaxIcons())) {
+			IconResource iconResource = iconProvider.loadIcon(encodedIcon, -1);
+			if (iconResource != null && iconResource.getIconType() == IconType.SVG && iconResource.getLength() <= iconInliningMaxBytes) {
+				inlinedIcons.add(encodedIcon);
+				return iconResource.getDataUrl();
+			}
+		}
+		return sessionConfiguration.getIconPath() + "/" + encodedIcon;
 	}
 
 	public void registerClientObject(ClientObject clientObject) {
@@ -0,0 +1,148 @@
+/*-
+ * ========================LICENSE_START=================================
+ * TeamApps
+ * ---
+ * Copyright (C) 2014 - 2025 TeamApps.org
+ * ---
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ * 
+ *      http://www.apache.org/licenses/LICENSE-2.0
+ * 
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ * =========================LICENSE_END==================================
+ */
+package org.teamapps.ux.session;
+
+import io.micrometer.core.instrument.DistributionSummary;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.Timer;
+import io.micrometer.core.instrument.binder.MeterBinder;
+import org.teamapps.dto.UiCommand;
+import org.teamapps.dto.UiEventType;
+import org.teamapps.dto.UiObjectJacksonTypeIdMaps;
+import org.teamapps.dto.UiQueryType;
+import org.teamapps.uisession.TeamAppsSessionManager;
+import org.teamapps.uisession.UiSessionTimingListener;
+
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.TimeUnit;
+import java.util.function.Function;
+
+/**
+ * Timers for the processing pipeline from client events to the commands sent back to the client.
+ * Event, command and query timers are tagged by type, so slow components can be identified.
+ * <p>
+ * Note that only one registry can be bound at a time (see {@link TeamAppsSessionManager#setTimingListener(UiSessionTimingListener)}).
+ * Use a composite registry for exporting to several registries.
+ */
+public class TeamAppsPipelineMetrics implements MeterBinder {
+
+	private static final String TYPE_TAG = "type";
+	private static final String OUTCOME_TAG = "outcome";
+
+	private final TeamAppsSessionManager sessionManager;
+
+	public TeamAppsPipelineMetrics(TeamAppsSessionManager sessionManager) {
+		this.sessionManager = sessionManager;
+	}
+
+	@Override
+	public void bindTo(MeterRegistry registry) {
+		sessionManager.setTimingListener(new MicrometerTimingListener(registry));
+	}
+
+	private static class MicrometerTimingListener implements UiSessionTimingListener {
+
+		private final Map<UiEventType, Timer> eventQueueDelayTimers = new ConcurrentHashMap<>();
+		private final Map<UiEventType, Timer> eventHandlingTimers = new ConcurrentHashMap<>();
+		private final Map<Class<?>, Timer> commandBufferTimers = new ConcurrentHashMap<>();
+		private final Map<UiQueryType, Timer> queryTimers = new ConcurrentHashMap<>();
+		private final Timer messageSendingSuccessTimer;
+		private final Timer messageSendingErrorTimer;
+		private final Timer eventFanOutDelayTimer;
+		private final DistributionSummary eventFanOutBatchSizeSummary;
+
+		private final Function<UiEventType, Timer> eventQueueDelayTimerFactory;
+		private final Function<UiEventType, Timer> eventHandlingTimerFactory;
+		private final Function<Class<?>, Timer> commandBufferTimerFactory;
+		private final Function<UiQueryType, Timer> queryTimerFactory;
+
+		public MicrometerTimingListener(MeterRegistry registry) {
+			eventQueueDelayTimerFactory = eventType -> Timer.builder("teamapps.event.queue.delay")
+					.description("Time from receiving an event until its handling started on the session's executor.")
+					.tag(TYPE_TAG, eventType.name())
+					.register(registry);
+			eventHandlingTimerFactory = eventType -> Timer.builder("teamapps.event.handling")
+					.description("Execution time of event handlers.")
+					.tag(TYPE_TAG, eventType.name())
+					.register(registry);
+			commandBufferTimerFactory = commandClass -> Timer.builder("teamapps.command.buffer.time")
+					.description("Time commands spent unconsumed in the command buffer. Sampled (at most one command per session at a time).")
+					.tag(TYPE_TAG, getTypeId(commandClass))
+					.register(registry);
+			queryTimerFactory = queryType -> Timer.builder("teamapps.query.latency")
+					.description("Time from receiving a query until the result was sent.")
+					.tag(TYPE_TAG, queryType.name())
+					.register(registry);
+			messageSendingSuccessTimer = createMessageSendingTimer(registry, "success");
+			messageSendingErrorTimer = createMessageSendingTimer(registry, "error");
+			eventFanOutDelayTimer = Timer.builder("teamapps.event.fanout.delay")
+					.description("Time from firing an event until the notification of SessionContext-bound listeners started.")
+					.register(registry);
+			eventFanOutBatchSizeSummary = DistributionSummary.builder("teamapps.event.fanout.batch.size")
+					.description("Number of SessionContext-bound listener notifications executed within one session task.")
+					.register(registry);
+		}
+
+		private static Timer createMessageSendingTimer(MeterRegistry registry, String outcome) {
+			return Timer.builder("teamapps.websocket.send")
+					.description("Time from handing a message to the WebSocket container until the sending was completed.")
+					.tag(OUTCOME_TAG, outcome)
+					.register(registry);
+		}
+
+		private static String getTypeId(Class<?> clazz) {
+			String typeId = UiObjectJacksonTypeIdMaps.ID_BY_CLASS.get(clazz);
+			return typeId != null ? typeId : clazz.getName();
+		}
+
+		@Override
+		public void onEventHandlingStarted(UiEventType eventType, long queueDelayNanos) {
+			eventQueueDelayTimers.computeIfAbsent(eventType, eventQueueDelayTimerFactory).record(queueDelayNanos, TimeUnit.NANOSECONDS);
+		}
+
+		@Override
+		public void onEventHandled(UiEventType eventType, long executionNanos) {
+			eventHandlingTimers.computeIfAbsent(eventType, eventHandlingTimerFactory).record(executionNanos, TimeUnit.NANOSECONDS);
+		}
+
+		@Override
+		public void onEventNotificationsStarted(int notificationCount, long fanOutDelayNanos) {
+			eventFanOutDelayTimer.record(fanOutDelayNanos, TimeUnit.NANOSECONDS);
+			eventFanOutBatchSizeSummary.record(notificationCount);
+		}
+
+		@Override
+		public void onCommandSent(Class<? extends UiCommand> commandClass, long bufferNanos) {
+			commandBufferTimers.computeIfAbsent(commandClass, commandBufferTimerFactory).record(bufferNanos, TimeUnit.NANOSECONDS);
+		}
+
+		@Override
+		public void onMessageSendingCompleted(boolean success, long nanos) {
+			(success ? messageSendingSuccessTimer : messageSendingErrorTimer).record(nanos, TimeUnit.NANOSECONDS);
+		}
+
+		@Override
+		public void onQueryAnswered(UiQueryType queryType, long nanos) {
+			queryTimers.computeIfAbsent(queryType, queryTimerFactory).record(nanos, TimeUnit.NANOSECONDS);
+		}
+	}
+
+}
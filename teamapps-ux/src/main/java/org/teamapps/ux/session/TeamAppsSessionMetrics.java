@@ -19,15 +19,23 @@
  */
 package org.teamapps.ux.session;
 
+import com.google.common.base.Suppliers;
 import io.micrometer.core.instrument.Gauge;
 import io.micrometer.core.instrument.MeterRegistry;
 import io.micrometer.core.instrument.binder.MeterBinder;
 import org.teamapps.uisession.TeamAppsSessionManager;
 import org.teamapps.uisession.UiSessionState;
+import org.teamapps.uisession.statistics.LatencyStats;
+
+import java.util.concurrent.TimeUnit;
+import java.util.function.Supplier;
 
 public class TeamAppsSessionMetrics implements MeterBinder {
 
 	private static final String ACTIVITY_STATE_TAG = "state";
+	private static final String PERCENTILE_TAG = "percentile";
+	private static final double[] PERCENTILES = {50, 95, 99};
+	private static final long LATENCY_STATS_CACHE_MILLIS = 5000; // combining the latencies of all sessions is not for free
 
 	private final TeamAppsSessionManager sessionManager;
 
@@ -60,5 +68,25 @@ public class TeamAppsSessionMetrics implements MeterBinder {
 		Gauge.builder("teamapps.uisession.commandbuffers.unconsumed", sessionManager, TeamAppsSessionManager::getUnconsumedCommandsCount)
 				.description("Current number of commands in command buffers that are queued waiting to be consumed.")
 				.register(registry);
+
+		// the last completed minute only, so current latencies are reported rather than the whole lifetime of long-running sessions
+		registerLatencyGauges(registry, "teamapps.uisession.event.latency", "Time from receiving an event until its handling has finished, over all current UI sessions during the last completed minute.",
+				Suppliers.memoizeWithExpiration(sessionManager::getEventLatencyStatsLastMinute, LATENCY_STATS_CACHE_MILLIS, TimeUnit.MILLISECONDS));
+		registerLatencyGauges(registry, "teamapps.uisession.command.send.latency", "Time commands waited to be sent to the client, over all current UI sessions during the last completed minute.",
+				Suppliers.memoizeWithExpiration(sessionManager::getCommandSendLatencyStatsLastMinute, LATENCY_STATS_CACHE_MILLIS, TimeUnit.MILLISECONDS));
+	}
+
+	private void registerLatencyGauges(MeterRegistry registry, String name, String description, Supplier<LatencyStats> latencyStats) {
+		for (double percentile : PERCENTILES) {
+			Gauge.builder(name, () -> latencyStats.get().getValueAtPercentile(percentile) / 1_000_000d)
+					.description(description)
+					.tag(PERCENTILE_TAG, String.valueOf(percentile / 100))
+					.baseUnit("seconds")
+					.register(registry);
+		}
+		Gauge.builder(name + ".max", () -> latencyStats.get().getMaxValue() / 1_000_000d)
+				.description(description)
+				.baseUnit("seconds")
+				.register(registry);
 	}
 }
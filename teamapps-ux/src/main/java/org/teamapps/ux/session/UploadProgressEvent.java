@@ -0,0 +1,33 @@
+/*-
+ * ========================LICENSE_START=================================
+ * TeamApps
+ * ---
+ * Copyright (C) 2014 - 2025 TeamApps.org
+ * ---
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ * 
+ *      http://www.apache.org/licenses/LICENSE-2.0
+ * 
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ * =========================LICENSE_END==================================
+ */
+package org.teamapps.ux.session;
+
+/**
+ * Progress of an upload attributed to a session (see {@link SessionContext#resolveUploadUrl(String)}).
+ *
+ * @param fileUuid      the uuid the file currently being received will be registered with
+ * @param fileName      the client-side name of this file, if known
+ * @param bytesReceived the number of bytes of the upload request received so far (all files of the request)
+ * @param totalBytes    the size of the upload request or -1 if unknown
+ * @param fileComplete  whether the file has been received completely
+ */
+public record UploadProgressEvent(String fileUuid, String fileName, long bytesReceived, long totalBytes, boolean fileComplete) {
+
+}
@@ -0,0 +1,119 @@
+/*-
+ * ========================LICENSE_START=================================
+ * TeamApps
+ * ---
+ * Copyright (C) 2014 - 2025 TeamApps.org
+ * ---
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ * 
+ *      http://www.apache.org/licenses/LICENSE-2.0
+ * 
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ * =========================LICENSE_END==================================
+ */
+package org.teamapps.data.extract;
+
+import org.junit.Ignore;
+import org.junit.Test;
+import org.teamapps.util.ReflectionUtil;
+
+import java.lang.reflect.Method;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+
+@Ignore("benchmark")
+public class BeanPropertyExtractorBenchmark {
+
+	private static final int ITERATIONS = 10_000_000;
+	private static final List<String> PROPERTY_NAMES = List.of("name", "age", "email", "active");
+
+	@Test
+	public void benchmarkGetValue() throws Exception {
+		Person person = new Person();
+		Method getter = Person.class.getMethod("getName");
+		ValueExtractor<Person, Object> compiledGetter = AccessorCompiler.compileGetter(getter);
+		BeanPropertyExtractor<Person> extractor = new BeanPropertyExtractor<>();
+		for (int j = 0; j < 5; j++) {
+			long startTime = System.nanoTime();
+			long checksum = 0;
+			for (int i = 0; i < ITERATIONS; i++) {
+				checksum += ((String) ReflectionUtil.invokeMethod(person, getter)).length();
+			}
+			System.out.println("reflection: " + (System.nanoTime() - startTime) / 1_000_000 + "ms (" + checksum + ")");
+
+			startTime = System.nanoTime();
+			checksum = 0;
+			for (int i = 0; i < ITERATIONS; i++) {
+				checksum += ((String) compiledGetter.extract(person)).length();
+			}
+			System.out.println("compiled getter: " + (System.nanoTime() - startTime) / 1_000_000 + "ms (" + checksum + ")");
+
+			startTime = System.nanoTime();
+			checksum = 0;
+			for (int i = 0; i < ITERATIONS; i++) {
+				checksum += ((String) extractor.getValue(person, "name")).length();
+			}
+			System.out.println("BeanPropertyExtractor.getValue(): " + (System.nanoTime() - startTime) / 1_000_000 + "ms (" + checksum + ")");
+		}
+	}
+
+	@Test
+	public void benchmarkGetValues() throws Exception {
+		Person person = new Person();
+		Method[] getters = new Method[PROPERTY_NAMES.size()];
+		for (int i = 0; i < getters.length; i++) {
+			getters[i] = ReflectionUtil.findGetter(Person.class, PROPERTY_NAMES.get(i));
+		}
+		BeanPropertyExtractor<Person> extractor = new BeanPropertyExtractor<>();
+		for (int j = 0; j < 5; j++) {
+			long startTime = System.nanoTime();
+			long checksum = 0;
+			for (int i = 0; i < ITERATIONS / 4; i++) {
+				Map<String, Object> values = new HashMap<>();
+				for (int k = 0; k < getters.length; k++) {
+					values.put(PROPERTY_NAMES.get(k), ReflectionUtil.invokeMethod(person, getters[k]));
+				}
+				checksum += values.size();
+			}
+			System.out.println("reflection: " + (System.nanoTime() - startTime) / 1_000_000 + "ms (" + checksum + ")");
+
+			startTime = System.nanoTime();
+			checksum = 0;
+			for (int i = 0; i < ITERATIONS / 4; i++) {
+				checksum += extractor.getValues(person, PROPERTY_NAMES).size();
+			}
+			System.out.println("BeanPropertyExtractor.getValues(): " + (System.nanoTime() - startTime) / 1_000_000 + "ms (" + checksum + ")");
+		}
+	}
+
+	public static class Person {
+		private final String name = "John Doe";
+		private final int age = 42;
+		private final String email = "john@example.com";
+		private final boolean active = true;
+
+		public String getName() {
+			return name;
+		}
+
+		public int getAge() {
+			return age;
+		}
+
+		public String getEmail() {
+			return email;
+		}
+
+		public boolean isActive() {
+			return active;
+		}
+	}
+
+}
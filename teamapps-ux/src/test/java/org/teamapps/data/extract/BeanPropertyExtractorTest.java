@@ -21,6 +21,9 @@ package org.teamapps.data.extract;
 
 import org.junit.Test;
 
+import java.util.List;
+import java.util.Map;
+
 import static org.junit.Assert.*;
 
 public class BeanPropertyExtractorTest {
@@ -85,6 +88,30 @@ public class BeanPropertyExtractorTest {
 		assertEquals("overwrittenQValue", value);
 	}
 
+	@Test
+	public void testGetPrimitiveGetterValue() throws Exception {
+		BeanPropertyExtractor<A> extractor = new BeanPropertyExtractor<>();
+		Object value = extractor.getValue(new A(), "count");
+		assertEquals(42L, value);
+	}
+
+	@Test
+	public void testGetValues() throws Exception {
+		BeanPropertyExtractor<A> extractor = new BeanPropertyExtractor<>(true);
+		extractor.addProperty("blah", (object) -> "blahValue");
+		List<String> propertyNames = List.of("q", "s", "x", "blah", "nonExisting");
+		for (int i = 0; i < 2; i++) { // second time uses the cached extractors
+			Map<String, Object> values = extractor.getValues(new A(), propertyNames);
+			assertEquals(5, values.size());
+			assertEquals("qValue", values.get("q"));
+			assertEquals(true, values.get("s"));
+			assertEquals("xValue", values.get("x"));
+			assertEquals("blahValue", values.get("blah"));
+			assertTrue(values.containsKey("nonExisting"));
+			assertNull(values.get("nonExisting"));
+		}
+	}
+
 	// TODO uncomment once we have Java 14
 //	@Test
 //	public void testWithRecords() throws Exception {
@@ -107,6 +134,10 @@ public class BeanPropertyExtractorTest {
 		public boolean isS() {
 			return true;
 		}
+
+		public long getCount() {
+			return 42;
+		}
 	}
 
 	// TODO uncomment once we have Java 14
@@ -77,6 +77,22 @@ public class BeanPropertyInjectorTest {
 		assertEquals(7, record.privateField);
 	}
 
+	@Test
+	public void testSetPrimitiveValueUsingProperty() throws Exception {
+		BeanPropertyInjector<A> injector = new BeanPropertyInjector<>();
+		A record = new A();
+		injector.setValue(record, "count", 7L);
+		assertEquals(7L, record.count);
+		injector.setValue(record, "count", 8); // widening
+		assertEquals(8L, record.count);
+	}
+
+	@Test(expected = IllegalArgumentException.class)
+	public void testSetValueWithWrongType() throws Exception {
+		BeanPropertyInjector<A> injector = new BeanPropertyInjector<>();
+		injector.setValue(new A(), "q", 7);
+	}
+
 	@Test
 	public void testAddCustomValueInjector() throws Exception {
 		BeanPropertyInjector<A> injector = new BeanPropertyInjector<>();
@@ -105,10 +121,16 @@ public class BeanPropertyInjectorTest {
 		private String x = "xValue";
 		private final String finalField = "finalFieldValue";
 
+		private long count;
+
 		public void setQ(String q) {
 			this.q = q;
 		}
 
+		public void setCount(long count) {
+			this.count = count;
+		}
+
 	}
 
 }
@@ -0,0 +1,84 @@
+/*-
+ * ========================LICENSE_START=================================
+ * TeamApps
+ * ---
+ * Copyright (C) 2014 - 2025 TeamApps.org
+ * ---
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ * 
+ *      http://www.apache.org/licenses/LICENSE-2.0
+ * 
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ * =========================LICENSE_END==================================
+ */
+package org.teamapps.event;
+
+import org.junit.Ignore;
+import org.junit.Test;
+import org.teamapps.testutil.UxTestUtil;
+import org.teamapps.ux.component.field.TextField;
+import org.teamapps.ux.component.table.Table;
+
+import java.util.List;
+import java.util.concurrent.CopyOnWriteArrayList;
+import java.util.function.Consumer;
+
+@Ignore("benchmark")
+public class EventConstructionBenchmark {
+
+	private static final int ITERATIONS = 100_000;
+
+	@Test
+	public void benchmarkEventConstruction() {
+		for (int j = 0; j < 5; j++) {
+			long startTime = System.nanoTime();
+			long checksum = 0;
+			for (int i = 0; i < ITERATIONS; i++) {
+				checksum += new LegacyEvent().source.length();
+			}
+			System.out.println("stack trace capturing Event: " + (System.nanoTime() - startTime) / 1_000_000 + "ms (" + checksum + ")");
+
+			startTime = System.nanoTime();
+			checksum = 0;
+			for (int i = 0; i < ITERATIONS; i++) {
+				checksum += new Event<>().getListeners().size() + 1;
+			}
+			System.out.println("Event: " + (System.nanoTime() - startTime) / 1_000_000 + "ms (" + checksum + ")");
+		}
+	}
+
+	@Test
+	public void benchmarkComponentConstruction() throws Exception {
+		UxTestUtil.doWithMockedSessionContext(() -> {
+			for (int j = 0; j < 5; j++) {
+				long startTime = System.nanoTime();
+				long checksum = 0;
+				for (int i = 0; i < ITERATIONS / 10; i++) {
+					checksum += new Table<>().getColumns().size() + 1;
+					checksum += new TextField().getValue() == null ? 1 : 0;
+				}
+				System.out.println("Table + TextField: " + (System.nanoTime() - startTime) / 1_000_000 + "ms (" + checksum + ")");
+			}
+		}).get();
+	}
+
+	/**
+	 * What constructing an {@link Event} used to cost.
+	 */
+	private static class LegacyEvent {
+		private final String source;
+		private final List<Consumer<Object>> listeners = new CopyOnWriteArrayList<>();
+
+		public LegacyEvent() {
+			StackTraceElement stackTraceElement = new Exception().getStackTrace()[1];
+			this.source = stackTraceElement.getFileName() + stackTraceElement.getLineNumber();
+		}
+	}
+
+}
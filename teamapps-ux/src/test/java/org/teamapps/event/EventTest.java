@@ -299,4 +299,14 @@ public class EventTest {
 			assertThat(event.getListeners()).hasSize(0);
 		});
 	}
+
+	@Test
+	public void testCaptureSourceReturnsLocationOfEventCreation() {
+		SourceCapturingEvent event = new SourceCapturingEvent();
+		assertThat(event.capturedSource).startsWith("EventTest.java");
+	}
+
+	private static class SourceCapturingEvent extends Event<Void> {
+		private final String capturedSource = Event.captureSource();
+	}
 }
@@ -0,0 +1,73 @@
+/*-
+ * ========================LICENSE_START=================================
+ * TeamApps
+ * ---
+ * Copyright (C) 2014 - 2025 TeamApps.org
+ * ---
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ * 
+ *      http://www.apache.org/licenses/LICENSE-2.0
+ * 
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ * =========================LICENSE_END==================================
+ */
+package org.teamapps.icons;
+
+import org.junit.Ignore;
+import org.junit.Test;
+import org.teamapps.icon.material.MaterialIcon;
+import org.teamapps.icon.material.MaterialIconStyles;
+import org.teamapps.icons.cache.NoOpIconCache;
+import org.teamapps.icons.composite.CompositeIcon;
+
+import java.util.List;
+
+@Ignore("benchmark")
+public class IconRenderingBenchmark {
+
+	private static final int ITERATIONS = 20_000;
+
+	private final IconProvider iconProvider = new IconProvider(new IconLibraryRegistry(), new NoOpIconCache());
+
+	private final List<Icon<?, ?>> icons = List.of(
+			MaterialIcon.ADD.withStyle(MaterialIconStyles.GRADIENT_1),
+			MaterialIcon.ALARM_ADD.withStyle(MaterialIconStyles.OUTLINE_GREY_900),
+			MaterialIcon.GROUP_ADD.withStyle(MaterialIconStyles.PLAIN_SHADOW_BLUE_700)
+	);
+
+	private final List<Icon<?, ?>> compositeIcons = List.of(
+			CompositeIcon.of(MaterialIcon.ADD.withStyle(MaterialIconStyles.GRADIENT_1), MaterialIcon.ALARM_ADD.withStyle(MaterialIconStyles.OUTLINE_GREY_900)),
+			CompositeIcon.of(MaterialIcon.GROUP_ADD.withStyle(MaterialIconStyles.PLAIN_SHADOW_BLUE_700), MaterialIcon.ADD.withStyle(MaterialIconStyles.GRADIENT_1),
+					MaterialIcon.ALARM_ADD.withStyle(MaterialIconStyles.OUTLINE_GREY_900), null, MaterialIcon.ADD.withStyle(MaterialIconStyles.GRADIENT_1))
+	);
+
+	@Test
+	public void benchmarkUncachedRendering() {
+		List<String> encodedIcons = icons.stream().map(iconProvider::encodeIcon).toList();
+		List<String> encodedCompositeIcons = compositeIcons.stream().map(iconProvider::encodeIcon).toList();
+		for (int j = 0; j < 5; j++) {
+			System.out.println("material icons: " + measureThroughput(encodedIcons) + " icons/s");
+			System.out.println("composite icons: " + measureThroughput(encodedCompositeIcons) + " icons/s");
+		}
+	}
+
+	private long measureThroughput(List<String> encodedIcons) {
+		long startTime = System.nanoTime();
+		long checksum = 0;
+		for (int i = 0; i < ITERATIONS; i++) {
+			checksum += iconProvider.loadIcon(encodedIcons.get(i % encodedIcons.size()), 24).getLength();
+		}
+		long nanos = System.nanoTime() - startTime;
+		if (checksum == 0) {
+			throw new IllegalStateException();
+		}
+		return ITERATIONS * 1_000_000_000L / nanos;
+	}
+
+}
@@ -25,6 +25,7 @@ import org.mockito.Mockito;
 import org.teamapps.icons.SessionIconProvider;
 import org.teamapps.server.UxServerContext;
 import org.teamapps.uisession.UiSession;
+import org.teamapps.uisession.UiSessionTimingListener;
 import org.teamapps.ux.session.ClientInfo;
 import org.teamapps.ux.session.CurrentSessionContextTestUtil;
 import org.teamapps.ux.session.SessionConfiguration;
@@ -45,9 +46,15 @@ public class UxTestUtil {
 	}
 
 	public static SessionContext createDummySessionContext() {
+		UiSession uiSession = Mockito.mock(UiSession.class);
+		Mockito.when(uiSession.getTimingListener()).thenReturn(UiSessionTimingListener.NOOP);
+		return createDummySessionContext(uiSession);
+	}
+
+	public static SessionContext createDummySessionContext(UiSession uiSession) {
 		final ClientInfo clientInfo = new ClientInfo("ip", 1024, 768, 1000, 700, "en", false, "Europe/Berlin", 120, Collections.emptyList(), "userAgentString", Mockito.mock(Location.class), Collections.emptyMap(), TEAMAPPS_VERSION);
 		return new SessionContext(
-				Mockito.mock(UiSession.class),
+				uiSession,
 				Executors.newSingleThreadExecutor(),
 				clientInfo, SessionConfiguration.createForClientInfo(clientInfo), Mockito.mock(HttpSession.class),
 				Mockito.mock(UxServerContext.class),
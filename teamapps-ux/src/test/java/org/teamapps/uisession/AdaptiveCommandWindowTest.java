@@ -0,0 +1,119 @@
+/*-
+ * ========================LICENSE_START=================================
+ * TeamApps
+ * ---
+ * Copyright (C) 2014 - 2025 TeamApps.org
+ * ---
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ * 
+ *      http://www.apache.org/licenses/LICENSE-2.0
+ * 
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ * =========================LICENSE_END==================================
+ */
+package org.teamapps.uisession;
+
+import org.junit.Test;
+import org.mockito.ArgumentCaptor;
+import org.mockito.Mockito;
+import org.teamapps.config.TeamAppsConfiguration;
+import org.teamapps.dto.AbstractServerMessage;
+import org.teamapps.dto.CMD_WINDOW;
+import org.teamapps.dto.UiRootPanel;
+import org.teamapps.json.TeamAppsObjectMapperFactory;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.mockito.ArgumentMatchers.any;
+
+public class AdaptiveCommandWindowTest {
+
+	@Test
+	public void growsAdditivelyWhileWindowLimitedAndRoundTripTimesAreStable() {
+		AdaptiveCommandWindow window = new AdaptiveCommandWindow(3, 20, 30);
+		long now = 0;
+		int commandId = 0;
+		for (int i = 0; i < 3; i++) {
+			commandId += window.getWindowSize();
+			window.commandsSent(commandId, now);
+			now += 10;
+			assertThat(window.commandsAcknowledged(commandId, true, now)).isTrue();
+		}
+		assertThat(window.getWindowSize()).isEqualTo(26);
+		assertThat(window.getSmoothedRoundTripTimeMillis()).isEqualTo(10);
+
+		for (int i = 0; i < 10; i++) {
+			commandId += window.getWindowSize();
+			window.commandsSent(commandId, now);
+			now += 10;
+			window.commandsAcknowledged(commandId, true, now);
+		}
+		assertThat(window.getWindowSize()).isEqualTo(30);
+	}
+
+	@Test
+	public void doesNotGrowIfNotWindowLimited() {
+		AdaptiveCommandWindow window = new AdaptiveCommandWindow(3, 20, 200);
+		window.commandsSent(5, 0);
+		assertThat(window.commandsAcknowledged(5, false, 10)).isFalse();
+		assertThat(window.getWindowSize()).isEqualTo(20);
+	}
+
+	@Test
+	public void shrinksMultiplicativelyWhenRoundTripTimesIncrease() {
+		AdaptiveCommandWindow window = new AdaptiveCommandWindow(3, 20, 200);
+		window.commandsSent(20, 0);
+		window.commandsAcknowledged(20, false, 50);
+
+		window.commandsSent(40, 100);
+		assertThat(window.commandsAcknowledged(40, true, 1100)).isTrue();
+		assertThat(window.getWindowSize()).isEqualTo(14);
+		assertThat(window.getMinRequestedCommands()).isEqualTo(2);
+
+		for (int i = 0; i < 10; i++) {
+			window.commandsSent(60 + i * 20, 2000 + i * 2000);
+			window.commandsAcknowledged(60 + i * 20, true, 3000 + i * 2000);
+		}
+		assertThat(window.getWindowSize()).isEqualTo(4);
+	}
+
+	@Test
+	public void usesTheSendTimeOfTheBatchContainingTheAcknowledgedCommand() {
+		AdaptiveCommandWindow window = new AdaptiveCommandWindow(3, 20, 200);
+		window.commandsSent(10, 0);
+		window.commandsSent(20, 1000);
+		window.commandsAcknowledged(15, false, 1030);
+		assertThat(window.getSmoothedRoundTripTimeMillis()).isEqualTo(30);
+		window.commandsAcknowledged(20, false, 1040);
+		assertThat(window.getSmoothedRoundTripTimeMillis()).isEqualTo(31);
+		assertThat(window.commandsAcknowledged(20, true, 1050)).isFalse(); // no batch left
+	}
+
+	@Test
+	public void sessionAnnouncesChangedWindowToClient() {
+		TeamAppsConfiguration config = new TeamAppsConfiguration();
+		config.setClientAdaptiveRequestedCommands(true);
+		MessageSender messageSender = Mockito.mock(MessageSender.class);
+		UiSession session = new UiSession("session", System.currentTimeMillis(), config, TeamAppsObjectMapperFactory.create(), messageSender);
+		session.handleCommandRequest(1, null);
+
+		session.sendCommand(new UiCommandWithResultCallback<>(new UiRootPanel.GoToUrlCommand("http://localhost/1", false)));
+		session.sendCommand(new UiCommandWithResultCallback<>(new UiRootPanel.GoToUrlCommand("http://localhost/2", false))); // window exhausted
+		session.handleCommandRequest(21, 1);
+
+		ArgumentCaptor<AbstractServerMessage> messageCaptor = ArgumentCaptor.forClass(AbstractServerMessage.class);
+		Mockito.verify(messageSender, Mockito.atLeastOnce()).sendMessageAsynchronously(messageCaptor.capture(), any());
+		assertThat(messageCaptor.getAllValues())
+				.filteredOn(message -> message instanceof CMD_WINDOW)
+				.singleElement()
+				.satisfies(message -> assertThat(((CMD_WINDOW) message).getMaxRequestedCommands()).isEqualTo(22));
+		assertThat(session.getStatistics().getCommandWindowSize()).isEqualTo(22);
+		assertThat(session.getClientBackPressureInfo().getMaxRequestedCommands()).isEqualTo(22);
+	}
+
+}
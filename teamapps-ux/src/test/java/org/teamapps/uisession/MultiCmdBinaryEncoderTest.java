@@ -0,0 +1,73 @@
+/*-
+ * ========================LICENSE_START=================================
+ * TeamApps
+ * ---
+ * Copyright (C) 2014 - 2025 TeamApps.org
+ * ---
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ * 
+ *      http://www.apache.org/licenses/LICENSE-2.0
+ * 
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ * =========================LICENSE_END==================================
+ */
+package org.teamapps.uisession;
+
+import com.fasterxml.jackson.databind.JsonNode;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import org.junit.Test;
+import org.teamapps.dto.MULTI_CMD;
+import org.teamapps.dto.UiMultiLineTextField;
+import org.teamapps.json.TeamAppsObjectMapperFactory;
+
+import java.nio.ByteBuffer;
+import java.nio.charset.StandardCharsets;
+import java.util.List;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+public class MultiCmdBinaryEncoderTest {
+
+	private final ObjectMapper objectMapper = TeamAppsObjectMapperFactory.create();
+
+	@Test
+	public void producesSameJsonAsMultiCmdSerialization() throws Exception {
+		UiMultiLineTextField.AppendCommand command1 = new UiMultiLineTextField.AppendCommand("id1", "äöü € \"quoted\"", true);
+		UiMultiLineTextField.AppendCommand command2 = new UiMultiLineTextField.AppendCommand("id2", "string", false);
+
+		CMD stringCmd1 = new CMD(1, objectMapper.writeValueAsString(command1));
+		CMD stringCmd2 = new CMD(1234567, objectMapper.writeValueAsString(command2));
+		stringCmd2.setAwaitsResponse(true);
+		CMD encodedCmd1 = new CMD(1, objectMapper.writeValueAsBytes(command1));
+		CMD encodedCmd2 = new CMD(1234567, objectMapper.writeValueAsBytes(command2));
+		encodedCmd2.setAwaitsResponse(true);
+
+		ByteBuffer buffer = MultiCmdBinaryEncoder.encode(List.of(encodedCmd1, encodedCmd2));
+		byte[] bytes = new byte[buffer.remaining()];
+		buffer.get(bytes);
+
+		JsonNode expected = objectMapper.readTree(objectMapper.writeValueAsString(new MULTI_CMD(List.of(stringCmd1, stringCmd2))));
+		JsonNode actual = objectMapper.readTree(bytes);
+		assertThat(actual.get("_type")).isEqualTo(expected.get("_type"));
+		for (int i = 0; i < 2; i++) {
+			assertThat(actual.get("cmds").get(i).get("id")).isEqualTo(expected.get("cmds").get(i).get("id"));
+			assertThat(actual.get("cmds").get(i).get("c")).isEqualTo(expected.get("cmds").get(i).get("c"));
+		}
+		assertThat(actual.get("cmds").get(0).get("r")).isNull();
+		assertThat(actual.get("cmds").get(1).get("r").asBoolean()).isTrue();
+	}
+
+	@Test
+	public void sizeOfPreEncodedCommandIsMeasuredInBytes() {
+		CMD cmd = new CMD(1, "\"€\"".getBytes(StandardCharsets.UTF_8));
+		assertThat(cmd.getSize()).isEqualTo(5);
+		assertThat(cmd.getUiCommand()).isEqualTo("\"€\"");
+	}
+
+}
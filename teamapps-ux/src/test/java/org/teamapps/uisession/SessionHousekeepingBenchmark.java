@@ -0,0 +1,113 @@
+/*-
+ * ========================LICENSE_START=================================
+ * TeamApps
+ * ---
+ * Copyright (C) 2014 - 2025 TeamApps.org
+ * ---
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ * 
+ *      http://www.apache.org/licenses/LICENSE-2.0
+ * 
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ * =========================LICENSE_END==================================
+ */
+package org.teamapps.uisession;
+
+import org.junit.Ignore;
+import org.junit.Test;
+import org.teamapps.config.TeamAppsConfiguration;
+import org.teamapps.dto.AbstractServerMessage;
+import org.teamapps.dto.UiSessionClosingReason;
+import org.teamapps.json.TeamAppsObjectMapperFactory;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Map;
+import java.util.stream.Collectors;
+
+/**
+ * Compares the timer wheel based housekeeping with a full sweep over 100k idle sessions.
+ */
+@Ignore("benchmark")
+public class SessionHousekeepingBenchmark {
+
+	private static final int SESSION_COUNT = 100_000;
+	private static final long TICK = 5_000;
+
+	@Test
+	public void benchmarkIdleSessions() {
+		long now = System.currentTimeMillis();
+		TeamAppsConfiguration config = new TeamAppsConfiguration();
+		config.setCommandBufferLength(16);
+		MessageSender messageSender = new MessageSender() {
+			@Override
+			public void sendMessageAsynchronously(AbstractServerMessage message, SendingErrorHandler sendingErrorHandler) {
+			}
+
+			@Override
+			public void close(UiSessionClosingReason closingReason, String message) {
+			}
+
+			@Override
+			public long getDataReceived() {
+				return 0;
+			}
+
+			@Override
+			public long getDataSent() {
+				return 0;
+			}
+		};
+		long nearlyInactiveTimeout = config.getUiSessionInactivityTimeoutMillis() - config.getUiSessionPreInactivityPingMillis();
+		SessionHousekeeping housekeeping = new SessionHousekeeping(nearlyInactiveTimeout, config.getUiSessionInactivityTimeoutMillis(), config.getUiSessionTimeoutMillis(), TICK, 16, now);
+
+		List<UiSession> sessions = new ArrayList<>();
+		for (int i = 0; i < SESSION_COUNT; i++) {
+			// creation times spread over one hour, so transitions are spread over the ticks
+			UiSession session = new UiSession("session-" + i, now - (i * 36_000L / 1000), config, TeamAppsObjectMapperFactory.create(), messageSender);
+			sessions.add(session);
+			housekeeping.register(session);
+		}
+
+		// the first round applies the initial transitions of all sessions (mostly logging)
+		for (int round = 0; round < 5; round++) {
+			long time = now + round * 10 * TICK;
+			long start = System.nanoTime();
+			int swept = 0;
+			for (int i = 0; i < 10; i++) {
+				swept += fullSweep(sessions, time + i * TICK, nearlyInactiveTimeout, config);
+			}
+			long sweepNanos = System.nanoTime() - start;
+
+			start = System.nanoTime();
+			int evaluated = 0;
+			for (int i = 0; i < 10; i++) {
+				evaluated += housekeeping.tick(time + i * TICK);
+			}
+			long wheelNanos = System.nanoTime() - start;
+			System.out.printf("round %d: 10 full sweeps: %d sessions in %.2f ms; 10 wheel ticks: %d sessions in %.2f ms%n",
+					round, swept, sweepNanos / 1e6, evaluated, wheelNanos / 1e6);
+		}
+	}
+
+	private static int fullSweep(List<UiSession> sessions, long now, long nearlyInactiveTimeout, TeamAppsConfiguration config) {
+		Map<UiSessionState, List<UiSession>> sessionsByActivity = sessions.stream()
+				.collect(Collectors.groupingBy(session -> {
+					long timeSinceLastMessage = now - session.getTimestampOfLastMessageFromClient();
+					return timeSinceLastMessage > config.getUiSessionInactivityTimeoutMillis() ? UiSessionState.INACTIVE
+							: timeSinceLastMessage > nearlyInactiveTimeout ? UiSessionState.NEARLY_INACTIVE
+							: UiSessionState.ACTIVE;
+				}));
+		List<UiSession> sessionsToClose = sessions.stream()
+				.filter(session -> now - session.getTimestampOfLastMessageFromClient() > config.getUiSessionTimeoutMillis())
+				.collect(Collectors.toList());
+		return sessionsByActivity.values().stream().mapToInt(List::size).sum() + sessionsToClose.size();
+	}
+
+}
@@ -0,0 +1,132 @@
+/*-
+ * ========================LICENSE_START=================================
+ * TeamApps
+ * ---
+ * Copyright (C) 2014 - 2025 TeamApps.org
+ * ---
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ * 
+ *      http://www.apache.org/licenses/LICENSE-2.0
+ * 
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ * =========================LICENSE_END==================================
+ */
+package org.teamapps.uisession;
+
+import org.junit.Test;
+import org.mockito.Mockito;
+import org.teamapps.config.TeamAppsConfiguration;
+import org.teamapps.dto.PING;
+import org.teamapps.dto.UiSessionClosingReason;
+import org.teamapps.json.TeamAppsObjectMapperFactory;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.ArgumentMatchers.isA;
+
+public class SessionHousekeepingTest {
+
+	private static final long NEARLY_INACTIVE_TIMEOUT = 65_000;
+	private static final long INACTIVITY_TIMEOUT = 75_000;
+	private static final long SESSION_TIMEOUT = 1_800_000;
+	private static final long TICK = 5_000;
+
+	@Test
+	public void idleSessionBecomesNearlyInactiveThenInactiveThenClosed() {
+		long now = System.currentTimeMillis();
+		SessionHousekeeping housekeeping = createHousekeeping(now);
+		MessageSender messageSender = Mockito.mock(MessageSender.class);
+		UiSession session = createSession("session", now, messageSender);
+		housekeeping.register(session);
+
+		housekeeping.tick(now + NEARLY_INACTIVE_TIMEOUT - 1);
+		assertThat(session.getState()).isEqualTo(UiSessionState.ACTIVE);
+
+		housekeeping.tick(now + NEARLY_INACTIVE_TIMEOUT + TICK + 1);
+		assertThat(session.getState()).isEqualTo(UiSessionState.NEARLY_INACTIVE);
+		Mockito.verify(messageSender).sendMessageAsynchronously(isA(PING.class), any());
+
+		housekeeping.tick(now + INACTIVITY_TIMEOUT + TICK + 1);
+		assertThat(session.getState()).isEqualTo(UiSessionState.INACTIVE);
+
+		housekeeping.tick(now + SESSION_TIMEOUT + TICK + 1);
+		assertThat(session.getState()).isEqualTo(UiSessionState.CLOSED);
+		Mockito.verify(messageSender).close(UiSessionClosingReason.SESSION_TIMEOUT, null);
+	}
+
+	@Test
+	public void onlySessionsWithPassedDeadlinesAreEvaluated() {
+		long now = System.currentTimeMillis();
+		SessionHousekeeping housekeeping = createHousekeeping(now);
+		for (int i = 0; i < 1000; i++) {
+			housekeeping.register(createSession("idle" + i, now, Mockito.mock(MessageSender.class)));
+		}
+		housekeeping.register(createSession("older", now - 30_000, Mockito.mock(MessageSender.class)));
+
+		assertThat(housekeeping.tick(now + TICK)).isEqualTo(0);
+		assertThat(housekeeping.tick(now + NEARLY_INACTIVE_TIMEOUT - 30_000 + TICK + 1)).isEqualTo(1);
+		assertThat(housekeeping.tick(now + NEARLY_INACTIVE_TIMEOUT + TICK + 1)).isEqualTo(1001); // the older session gets inactive
+	}
+
+	@Test
+	public void sessionWithRecentClientMessageIsRescheduled() {
+		long now = System.currentTimeMillis();
+		SessionHousekeeping housekeeping = createHousekeeping(now - 100_000);
+		UiSession session = createSession("session", now - 60_000, Mockito.mock(MessageSender.class));
+		housekeeping.register(session);
+
+		session.handleKeepAlive();
+
+		assertThat(housekeeping.tick(now + 10_000)).isEqualTo(1);
+		assertThat(session.getState()).isEqualTo(UiSessionState.ACTIVE);
+		assertThat(housekeeping.tick(now + 20_000)).isEqualTo(0);
+	}
+
+	@Test
+	public void inactiveSessionGetsActiveWithNextTickAfterClientMessage() {
+		long now = System.currentTimeMillis();
+		SessionHousekeeping housekeeping = createHousekeeping(now - 100_000);
+		UiSession session = createSession("session", now - INACTIVITY_TIMEOUT - TICK, Mockito.mock(MessageSender.class));
+		housekeeping.register(session);
+		housekeeping.tick(now);
+		assertThat(session.getState()).isEqualTo(UiSessionState.INACTIVE);
+
+		session.handleKeepAlive();
+		session.handleKeepAlive();
+
+		assertThat(housekeeping.tick(System.currentTimeMillis())).isEqualTo(1);
+		assertThat(session.getState()).isEqualTo(UiSessionState.ACTIVE);
+	}
+
+	@Test
+	public void unregisteredSessionsAreNotEvaluated() {
+		long now = System.currentTimeMillis();
+		SessionHousekeeping housekeeping = createHousekeeping(now);
+		UiSession session = createSession("session", now, Mockito.mock(MessageSender.class));
+		housekeeping.register(session);
+		assertThat(housekeeping.size()).isEqualTo(1);
+
+		housekeeping.unregister(session);
+
+		assertThat(housekeeping.size()).isEqualTo(0);
+		assertThat(housekeeping.tick(now + SESSION_TIMEOUT + TICK + 1)).isEqualTo(0);
+		assertThat(session.getState()).isEqualTo(UiSessionState.ACTIVE);
+	}
+
+	static SessionHousekeeping createHousekeeping(long now) {
+		return new SessionHousekeeping(NEARLY_INACTIVE_TIMEOUT, INACTIVITY_TIMEOUT, SESSION_TIMEOUT, TICK, 4, now);
+	}
+
+	static UiSession createSession(String sessionId, long creationTime, MessageSender messageSender) {
+		TeamAppsConfiguration config = new TeamAppsConfiguration();
+		config.setCommandBufferLength(16);
+		return new UiSession(sessionId, creationTime, config, TeamAppsObjectMapperFactory.create(), messageSender);
+	}
+
+}
@@ -0,0 +1,202 @@
+/*-
+ * ========================LICENSE_START=================================
+ * TeamApps
+ * ---
+ * Copyright (C) 2014 - 2025 TeamApps.org
+ * ---
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ * 
+ *      http://www.apache.org/licenses/LICENSE-2.0
+ * 
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ * =========================LICENSE_END==================================
+ */
+package org.teamapps.uisession;
+
+import org.junit.Test;
+import org.mockito.ArgumentCaptor;
+import org.mockito.InOrder;
+import org.mockito.Mockito;
+import org.teamapps.config.TeamAppsConfiguration;
+import org.teamapps.dto.QUERY_RESULT;
+import org.teamapps.dto.UiQuery;
+import org.teamapps.dto.UiRootPanel;
+import org.teamapps.dto.UiSessionClosingReason;
+import org.teamapps.json.TeamAppsObjectMapperFactory;
+
+import java.util.List;
+import java.util.concurrent.Executors;
+import java.util.concurrent.ScheduledExecutorService;
+import java.util.function.Consumer;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.Mockito.never;
+import static org.mockito.Mockito.timeout;
+import static org.mockito.Mockito.times;
+import static org.mockito.Mockito.verify;
+
+public class UiSessionCommandBatchTest {
+
+	@Test
+	public void commandsQueuedInBatchAreSentAsOneMessage() {
+		MessageSender messageSender = Mockito.mock(MessageSender.class);
+		UiSession session = createReadySession(new TeamAppsConfiguration(), messageSender);
+
+		session.startCommandBatch();
+		for (int i = 0; i < 10; i++) {
+			sendCommand(session, i);
+		}
+		verify(messageSender, never()).sendCommandsAsynchronously(any(), any());
+		session.endCommandBatch();
+
+		assertThat(sentBatchSizes(messageSender, 1)).containsExactly(10);
+	}
+
+	@Test
+	public void nestedBatchesAreFlushedByOutermostBatch() {
+		MessageSender messageSender = Mockito.mock(MessageSender.class);
+		UiSession session = createReadySession(new TeamAppsConfiguration(), messageSender);
+
+		session.startCommandBatch();
+		sendCommand(session, 1);
+		session.startCommandBatch();
+		sendCommand(session, 2);
+		session.endCommandBatch();
+		verify(messageSender, never()).sendCommandsAsynchronously(any(), any());
+		session.endCommandBatch();
+
+		assertThat(sentBatchSizes(messageSender, 1)).containsExactly(2);
+	}
+
+	@Test
+	public void batchIsFlushedEarlyWhenMaxBatchSizeIsReached() {
+		TeamAppsConfiguration config = new TeamAppsConfiguration();
+		config.setCommandFlushMaxBatchSize(4);
+		MessageSender messageSender = Mockito.mock(MessageSender.class);
+		UiSession session = createReadySession(config, messageSender);
+
+		session.startCommandBatch();
+		for (int i = 0; i < 10; i++) {
+			sendCommand(session, i);
+		}
+		session.endCommandBatch();
+
+		assertThat(sentBatchSizes(messageSender, 3)).containsExactly(4, 4, 2);
+	}
+
+	@Test
+	public void batchIsFlushedEarlyWhenMaxDelayIsReached() {
+		TeamAppsConfiguration config = new TeamAppsConfiguration();
+		config.setCommandFlushMaxDelayMillis(0);
+		MessageSender messageSender = Mockito.mock(MessageSender.class);
+		UiSession session = createReadySession(config, messageSender);
+
+		session.startCommandBatch();
+		sendCommand(session, 1);
+		sendCommand(session, 2);
+
+		assertThat(sentBatchSizes(messageSender, 2)).containsExactly(1, 1);
+	}
+
+	@Test
+	public void batchIsFlushedByScheduledFlushWhenMaxDelayIsReached() {
+		TeamAppsConfiguration config = new TeamAppsConfiguration();
+		config.setCommandFlushMaxDelayMillis(50);
+		MessageSender messageSender = Mockito.mock(MessageSender.class);
+		UiSession session = createReadySession(config, messageSender);
+		ScheduledExecutorService scheduler = Executors.newSingleThreadScheduledExecutor();
+		try {
+			session.setCommandFlushScheduler(scheduler);
+
+			session.startCommandBatch();
+			sendCommand(session, 1);
+			sendCommand(session, 2);
+
+			verify(messageSender, timeout(5000)).sendCommandsAsynchronously(any(), any());
+			assertThat(sentBatchSizes(messageSender, 1)).containsExactly(2);
+			session.endCommandBatch();
+			verify(messageSender, times(1)).sendCommandsAsynchronously(any(), any());
+		} finally {
+			scheduler.shutdownNow();
+		}
+	}
+
+	@Test
+	public void deferredCommandsAreSentBeforeClosingTheSession() {
+		MessageSender messageSender = Mockito.mock(MessageSender.class);
+		UiSession session = createReadySession(new TeamAppsConfiguration(), messageSender);
+
+		session.startCommandBatch();
+		try {
+			sendCommand(session, 1);
+			session.close(UiSessionClosingReason.TERMINATED_BY_APPLICATION);
+		} finally {
+			session.endCommandBatch();
+		}
+
+		InOrder inOrder = Mockito.inOrder(messageSender);
+		inOrder.verify(messageSender).sendCommandsAsynchronously(any(), any());
+		inOrder.verify(messageSender).close(any(), any());
+		assertThat(sentBatchSizes(messageSender, 1)).containsExactly(1);
+	}
+
+	@Test
+	public void commandsOutsideOfBatchAreSentImmediately() {
+		MessageSender messageSender = Mockito.mock(MessageSender.class);
+		UiSession session = createReadySession(new TeamAppsConfiguration(), messageSender);
+
+		sendCommand(session, 1);
+		sendCommand(session, 2);
+
+		assertThat(sentBatchSizes(messageSender, 2)).containsExactly(1, 1);
+	}
+
+	@Test
+	public void commandsQueuedWhileAnsweringQueryAreSentBeforeQueryResult() {
+		MessageSender messageSender = Mockito.mock(MessageSender.class);
+		UiSession session = createReadySession(new TeamAppsConfiguration(), messageSender);
+		session.addSessionListener(new UiSessionListener() {
+			@Override
+			public void onUiQuery(String sessionId, UiQuery query, Consumer<Object> resultCallback) {
+				session.startCommandBatch();
+				try {
+					sendCommand(session, 1);
+					resultCallback.accept("result");
+				} finally {
+					session.endCommandBatch();
+				}
+			}
+		});
+
+		session.handleQuery(1, Mockito.mock(UiQuery.class));
+
+		InOrder inOrder = Mockito.inOrder(messageSender);
+		inOrder.verify(messageSender).sendCommandsAsynchronously(any(), any());
+		inOrder.verify(messageSender).sendMessageAsynchronously(any(QUERY_RESULT.class), any());
+	}
+
+	private static UiSession createReadySession(TeamAppsConfiguration config, MessageSender messageSender) {
+		UiSession session = new UiSession("session", System.currentTimeMillis(), config, TeamAppsObjectMapperFactory.create(), messageSender);
+		session.handleCommandRequest(1000, null);
+		return session;
+	}
+
+	private static void sendCommand(UiSession session, int i) {
+		session.sendCommand(new UiCommandWithResultCallback<>(new UiRootPanel.GoToUrlCommand("http://localhost/" + i, false)));
+	}
+
+	@SuppressWarnings("unchecked")
+	private static List<Integer> sentBatchSizes(MessageSender messageSender, int expectedNumberOfMessages) {
+		ArgumentCaptor<List<CMD>> captor = ArgumentCaptor.forClass(List.class);
+		verify(messageSender, times(expectedNumberOfMessages)).sendCommandsAsynchronously(captor.capture(), any());
+		return captor.getAllValues().stream().map(List::size).toList();
+	}
+
+}
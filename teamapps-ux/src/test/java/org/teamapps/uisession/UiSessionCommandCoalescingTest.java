@@ -0,0 +1,95 @@
+/*-
+ * ========================LICENSE_START=================================
+ * TeamApps
+ * ---
+ * Copyright (C) 2014 - 2025 TeamApps.org
+ * ---
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ * 
+ *      http://www.apache.org/licenses/LICENSE-2.0
+ * 
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ * =========================LICENSE_END==================================
+ */
+package org.teamapps.uisession;
+
+import org.junit.Test;
+import org.mockito.ArgumentCaptor;
+import org.mockito.Mockito;
+import org.teamapps.config.TeamAppsConfiguration;
+import org.teamapps.dto.UiComponent;
+import org.teamapps.dto.UiRootPanel;
+import org.teamapps.json.TeamAppsObjectMapperFactory;
+
+import java.util.ArrayList;
+import java.util.List;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.mockito.ArgumentMatchers.any;
+
+public class UiSessionCommandCoalescingTest {
+
+	@Test
+	public void unsentCommandsGetSupersededByLaterCoalescableCommands() {
+		MessageSender messageSender = Mockito.mock(MessageSender.class);
+		UiSession session = createSession(new TeamAppsConfiguration(), messageSender);
+
+		session.sendCommand(new UiCommandWithResultCallback<>(new UiComponent.SetVisibleCommand("c1", true)));
+		session.sendCommand(new UiCommandWithResultCallback<>(new UiComponent.SetVisibleCommand("c2", true)));
+		session.sendCommand(new UiCommandWithResultCallback<>(new UiRootPanel.GoToUrlCommand("http://localhost", false)));
+		session.sendCommand(new UiCommandWithResultCallback<>(new UiComponent.SetVisibleCommand("c1", false)));
+		session.handleCommandRequest(100, null);
+
+		assertThat(sentCommands(messageSender)).extracting(CMD::getUiCommand).containsExactly(
+				"{\"_type\":\"UiComponent.setVisible\",\"componentId\":\"c2\",\"visible\":true}",
+				"{\"_type\":\"UiRootPanel.goToUrl\",\"url\":\"http://localhost\",\"blankPage\":false}",
+				"{\"_type\":\"UiComponent.setVisible\",\"componentId\":\"c1\",\"visible\":false}"
+		);
+	}
+
+	@Test
+	public void sentCommandsAreNotSuperseded() {
+		MessageSender messageSender = Mockito.mock(MessageSender.class);
+		UiSession session = createSession(new TeamAppsConfiguration(), messageSender);
+		session.handleCommandRequest(100, null);
+
+		session.sendCommand(new UiCommandWithResultCallback<>(new UiComponent.SetVisibleCommand("c1", true)));
+		session.sendCommand(new UiCommandWithResultCallback<>(new UiComponent.SetVisibleCommand("c1", false)));
+
+		assertThat(sentCommands(messageSender)).hasSize(2);
+	}
+
+	@Test
+	public void coalescingCanBeDisabled() {
+		TeamAppsConfiguration config = new TeamAppsConfiguration();
+		config.setCommandCoalescing(false);
+		MessageSender messageSender = Mockito.mock(MessageSender.class);
+		UiSession session = createSession(config, messageSender);
+
+		session.sendCommand(new UiCommandWithResultCallback<>(new UiComponent.SetVisibleCommand("c1", true)));
+		session.sendCommand(new UiCommandWithResultCallback<>(new UiComponent.SetVisibleCommand("c1", false)));
+		session.handleCommandRequest(100, null);
+
+		assertThat(sentCommands(messageSender)).hasSize(2);
+	}
+
+	private static UiSession createSession(TeamAppsConfiguration config, MessageSender messageSender) {
+		return new UiSession("session", System.currentTimeMillis(), config, TeamAppsObjectMapperFactory.create(), messageSender);
+	}
+
+	@SuppressWarnings("unchecked")
+	private static List<CMD> sentCommands(MessageSender messageSender) {
+		ArgumentCaptor<List<CMD>> captor = ArgumentCaptor.forClass(List.class);
+		Mockito.verify(messageSender, Mockito.atLeastOnce()).sendCommandsAsynchronously(captor.capture(), any());
+		List<CMD> cmds = new ArrayList<>();
+		captor.getAllValues().forEach(cmds::addAll);
+		return cmds;
+	}
+
+}
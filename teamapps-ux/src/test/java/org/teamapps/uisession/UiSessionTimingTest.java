@@ -0,0 +1,102 @@
+/*-
+ * ========================LICENSE_START=================================
+ * TeamApps
+ * ---
+ * Copyright (C) 2014 - 2025 TeamApps.org
+ * ---
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ * 
+ *      http://www.apache.org/licenses/LICENSE-2.0
+ * 
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ * =========================LICENSE_END==================================
+ */
+package org.teamapps.uisession;
+
+import org.junit.Test;
+import org.mockito.Mockito;
+import org.teamapps.config.TeamAppsConfiguration;
+import org.teamapps.dto.UiChatDisplay;
+import org.teamapps.dto.UiCommand;
+import org.teamapps.dto.UiComponent;
+import org.teamapps.dto.UiQuery;
+import org.teamapps.dto.UiQueryType;
+import org.teamapps.dto.UiRootPanel;
+import org.teamapps.json.TeamAppsObjectMapperFactory;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.function.Consumer;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+public class UiSessionTimingTest {
+
+	private final List<Class<? extends UiCommand>> sentCommandClasses = new ArrayList<>();
+	private final List<UiQueryType> answeredQueryTypes = new ArrayList<>();
+	private final UiSessionTimingListener timingListener = new UiSessionTimingListener() {
+		@Override
+		public void onCommandSent(Class<? extends UiCommand> commandClass, long bufferNanos) {
+			assertThat(bufferNanos).isGreaterThanOrEqualTo(0);
+			sentCommandClasses.add(commandClass);
+		}
+
+		@Override
+		public void onQueryAnswered(UiQueryType queryType, long nanos) {
+			assertThat(nanos).isGreaterThanOrEqualTo(0);
+			answeredQueryTypes.add(queryType);
+		}
+	};
+
+	@Test
+	public void samplesOneCommandAtATime() {
+		UiSession session = createSession();
+
+		session.sendCommand(new UiCommandWithResultCallback<>(new UiComponent.SetVisibleCommand("c1", true)));
+		session.sendCommand(new UiCommandWithResultCallback<>(new UiRootPanel.GoToUrlCommand("http://localhost", false)));
+		session.handleCommandRequest(100, null);
+		session.sendCommand(new UiCommandWithResultCallback<>(new UiRootPanel.GoToUrlCommand("http://localhost", false)));
+
+		assertThat(sentCommandClasses).containsExactly(UiComponent.SetVisibleCommand.class, UiRootPanel.GoToUrlCommand.class);
+	}
+
+	@Test
+	public void doesNotSampleCommandsWithoutTimingListener() {
+		UiSession session = createSession();
+		session.setTimingListener(UiSessionTimingListener.NOOP);
+
+		session.sendCommand(new UiCommandWithResultCallback<>(new UiComponent.SetVisibleCommand("c1", true)));
+		session.setTimingListener(timingListener);
+		session.handleCommandRequest(100, null);
+
+		assertThat(sentCommandClasses).isEmpty();
+	}
+
+	@Test
+	public void measuresQueries() {
+		UiSession session = createSession();
+		session.addSessionListener(new UiSessionListener() {
+			@Override
+			public void onUiQuery(String sessionId, UiQuery query, Consumer<Object> resultCallback) {
+				resultCallback.accept("result");
+			}
+		});
+
+		session.handleQuery(1, new UiChatDisplay.RequestPreviousMessagesQuery("chat"));
+
+		assertThat(answeredQueryTypes).containsExactly(UiQueryType.UI_CHAT_DISPLAY_REQUEST_PREVIOUS_MESSAGES);
+	}
+
+	private UiSession createSession() {
+		UiSession session = new UiSession("session", System.currentTimeMillis(), new TeamAppsConfiguration(), TeamAppsObjectMapperFactory.create(), Mockito.mock(MessageSender.class));
+		session.setTimingListener(timingListener);
+		return session;
+	}
+
+}
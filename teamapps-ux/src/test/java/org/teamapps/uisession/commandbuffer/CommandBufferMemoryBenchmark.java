@@ -0,0 +1,68 @@
+/*-
+ * ========================LICENSE_START=================================
+ * TeamApps
+ * ---
+ * Copyright (C) 2014 - 2025 TeamApps.org
+ * ---
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ * 
+ *      http://www.apache.org/licenses/LICENSE-2.0
+ * 
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ * =========================LICENSE_END==================================
+ */
+package org.teamapps.uisession.commandbuffer;
+
+import org.junit.Ignore;
+import org.junit.Test;
+import org.teamapps.uisession.CMD;
+
+import java.util.ArrayList;
+import java.util.List;
+
+/**
+ * Measures the heap footprint of the command buffers of 10k sessions.
+ */
+@Ignore("benchmark")
+public class CommandBufferMemoryBenchmark {
+
+	private static final int SESSION_COUNT = 10_000;
+	private static final int COMMAND_BUFFER_LENGTH = 5_000;
+
+	@Test
+	public void benchmarkMemoryFootprint() throws Exception {
+		for (CommandBufferType type : CommandBufferType.values()) {
+			for (int commandsPerSession : new int[] {0, 20, 200}) {
+				long before = usedHeap();
+				List<ReplayableCommandBuffer> buffers = new ArrayList<>();
+				for (int i = 0; i < SESSION_COUNT; i++) {
+					ReplayableCommandBuffer buffer = type.createBuffer(COMMAND_BUFFER_LENGTH, 5_000_000);
+					for (int id = 0; id < commandsPerSession; id++) {
+						buffer.addCommand(new CMD(id, "{\"_type\":\"UiTable.UpdateRecordCommand\",\"componentId\":\"table-" + i + "\",\"record\":{\"id\":" + id
+								+ ",\"values\":{\"name\":\"Name " + id + "\",\"description\":\"Some longer description text of the record\"}}}"));
+						buffer.consumeCommand();
+					}
+					buffers.add(buffer);
+				}
+				long after = usedHeap();
+				System.out.printf("%-12s %3d commands/session: %7.1f MB heap (%d buffers)%n", type, commandsPerSession, (after - before) / 1e6, buffers.size());
+			}
+		}
+	}
+
+	private static long usedHeap() throws InterruptedException {
+		for (int i = 0; i < 3; i++) {
+			System.gc();
+			Thread.sleep(50);
+		}
+		Runtime runtime = Runtime.getRuntime();
+		return runtime.totalMemory() - runtime.freeMemory();
+	}
+
+}
@@ -242,6 +242,37 @@ public class CommandBufferTest {
 				.isInstanceOf(CommandBufferSizeOverflowException.class);
 	}
 
+	@Test
+	public void removeUnconsumedCommand() throws Exception {
+		CommandBuffer buffer = new CommandBuffer(5, 1_000_000);
+		long[] handles = new long[7];
+		for (int i = 1; i <= 6; i++) {
+			handles[i] = buffer.addCommand(createCmd(i));
+			if (i <= 3) {
+				buffer.consumeCommand();
+			}
+		}
+		buffer.purgeTillCommand(2);
+		assertEquals(5, buffer.getBufferedCommandsCount());
+
+		assertThat(buffer.removeUnconsumedCommand(3, handles[3])).isFalse(); // already consumed
+		assertThat(buffer.removeUnconsumedCommand(5, handles[4])).isFalse(); // wrong handle
+		assertThat(buffer.removeUnconsumedCommand(4, handles[4])).isTrue();
+		assertThat(buffer.removeUnconsumedCommand(4, handles[4])).isFalse(); // already removed
+
+		assertEquals(5, buffer.getBufferedCommandsCount()); // removed commands occupy their slot until purged
+		assertEquals(2, buffer.getUnconsumedCommandsCount());
+		assertEquals(40, buffer.getCommandsSize());
+		buffer.purgeTillCommand(3);
+		buffer.addCommand(createCmd(7));
+		assertEquals(5, buffer.consumeCommand().getId());
+		assertEquals(6, buffer.consumeCommand().getId());
+		assertEquals(7, buffer.consumeCommand().getId());
+		assertNull(buffer.consumeCommand());
+		assertThat(buffer.rewindToCommand(3)).isTrue();
+		assertEquals(5, buffer.consumeCommand().getId());
+	}
+
 	private CMD createCmd(int id) {
 		return createCmd(id, 10);
 	}
@@ -0,0 +1,170 @@
+/*-
+ * ========================LICENSE_START=================================
+ * TeamApps
+ * ---
+ * Copyright (C) 2014 - 2025 TeamApps.org
+ * ---
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ * 
+ *      http://www.apache.org/licenses/LICENSE-2.0
+ * 
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ * =========================LICENSE_END==================================
+ */
+package org.teamapps.uisession.commandbuffer;
+
+import org.apache.commons.lang3.StringUtils;
+import org.junit.Test;
+import org.teamapps.uisession.CMD;
+
+import java.nio.charset.StandardCharsets;
+import java.util.HashMap;
+import java.util.Map;
+import java.util.Random;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.assertThatThrownBy;
+
+public class SlabCommandBufferTest {
+
+	@Test
+	public void consumedCommandsHaveTheSameFormAsTheAddedOnes() throws Exception {
+		SlabCommandBuffer buffer = new SlabCommandBuffer(10, 1_000_000, false);
+		CMD stringCmd = new CMD(1, "{\"x\":\"äöü €\"}");
+		stringCmd.setAwaitsResponse(true);
+		buffer.addCommand(stringCmd);
+		buffer.addCommand(new CMD(2, "{\"y\":1}".getBytes(StandardCharsets.UTF_8)));
+
+		CMD cmd1 = buffer.consumeCommand();
+		assertThat(cmd1.getId()).isEqualTo(1);
+		assertThat(cmd1.isPreEncoded()).isFalse();
+		assertThat(cmd1.getUiCommand()).isEqualTo("{\"x\":\"äöü €\"}");
+		assertThat(cmd1.getAwaitsResponse()).isTrue();
+
+		CMD cmd2 = buffer.consumeCommand();
+		assertThat(cmd2.getId()).isEqualTo(2);
+		assertThat(cmd2.isPreEncoded()).isTrue();
+		assertThat(cmd2.getUiCommand()).isEqualTo("{\"y\":1}");
+		assertThat(cmd2.getAwaitsResponse()).isNull();
+
+		assertThat(buffer.consumeCommand()).isNull();
+	}
+
+	@Test
+	public void sizeIsMeasuredInBytes() throws Exception {
+		SlabCommandBuffer buffer = new SlabCommandBuffer(10, 10, false);
+		buffer.addCommand(new CMD(1, "€€€")); // 9 bytes
+		assertThat(buffer.getCommandsSize()).isEqualTo(9);
+		assertThatThrownBy(() -> buffer.addCommand(new CMD(2, "xx")))
+				.isInstanceOf(CommandBufferSizeOverflowException.class);
+	}
+
+	@Test
+	public void growsAndShrinks() throws Exception {
+		SlabCommandBuffer buffer = new SlabCommandBuffer(1000, 10_000_000, true);
+		for (int i = 1; i <= 100; i++) {
+			buffer.addCommand(createCmd(i, 1000));
+		}
+		assertThat(buffer.getCapacity()).isGreaterThanOrEqualTo(100 * 1000);
+		for (int i = 1; i <= 100; i++) {
+			assertThat(buffer.consumeCommand().getId()).isEqualTo(i);
+		}
+
+		buffer.purgeTillCommand(99);
+
+		assertThat(buffer.getBufferedCommandsCount()).isEqualTo(2);
+		assertThat(buffer.getCapacity()).isLessThanOrEqualTo(8 * 1024);
+		assertThat(buffer.rewindToCommand(99)).isTrue();
+		CMD cmd = buffer.consumeCommand();
+		assertThat(cmd.getId()).isEqualTo(100);
+		assertThat(cmd.getUiCommand()).isEqualTo(StringUtils.repeat('x', 1000));
+	}
+
+	@Test
+	public void rewindToCommandWithLastReceivedIsMinusOneFailsIfAnyCommandWasPurged() throws Exception {
+		SlabCommandBuffer buffer = new SlabCommandBuffer(6, 1_000_000, false);
+		for (int i = 1; i <= 3; i++) {
+			buffer.addCommand(createCmd(i, 10));
+			buffer.consumeCommand();
+		}
+		assertThat(buffer.rewindToCommand(-1)).isTrue();
+		assertThat(buffer.consumeCommand().getId()).isEqualTo(1);
+
+		buffer.purgeTillCommand(2);
+
+		assertThat(buffer.rewindToCommand(-1)).isFalse();
+	}
+
+	@Test
+	public void behavesLikeCommandBuffer() throws Exception {
+		Random random = new Random(42);
+		for (int run = 0; run < 20; run++) {
+			int maxLength = 1 + random.nextInt(50);
+			int maxTotalSize = 100 + random.nextInt(5000);
+			CommandBuffer expected = new CommandBuffer(maxLength, maxTotalSize);
+			SlabCommandBuffer actual = new SlabCommandBuffer(maxLength, maxTotalSize, run % 2 == 0);
+			int nextId = 0;
+			Map<Integer, Long> expectedHandles = new HashMap<>();
+			Map<Integer, Long> actualHandles = new HashMap<>();
+			for (int i = 0; i < 2000; i++) {
+				int operation = random.nextInt(10);
+				if (operation < 4) {
+					CMD cmd = createCmd(nextId++, 1 + random.nextInt(200));
+					Class<?> expectedException = addCommand(expected, cmd, expectedHandles);
+					Class<?> actualException = addCommand(actual, cmd, actualHandles);
+					assertThat(actualException).isEqualTo(expectedException);
+					if (expectedException != null) {
+						break;
+					}
+				} else if (operation < 7) {
+					CMD expectedCmd = expected.consumeCommand();
+					CMD actualCmd = actual.consumeCommand();
+					if (expectedCmd == null) {
+						assertThat(actualCmd).isNull();
+					} else {
+						assertThat(actualCmd.getId()).isEqualTo(expectedCmd.getId());
+						assertThat(actualCmd.getUiCommand()).isEqualTo(expectedCmd.getUiCommand());
+					}
+				} else if (operation < 9) {
+					int id = nextId - 1 - random.nextInt(maxLength + 1);
+					if (expected.getUnconsumedCommandsCount() > 0) { // CommandBuffer cannot purge ALL commands
+						expected.purgeTillCommand(id);
+						actual.purgeTillCommand(id);
+					}
+				} else if (random.nextBoolean()) {
+					int id = nextId - 1 - random.nextInt(maxLength + 1);
+					if (id >= 0) {
+						assertThat(actual.rewindToCommand(id)).isEqualTo(expected.rewindToCommand(id));
+					}
+				} else {
+					int id = nextId - 1 - random.nextInt(5);
+					if (id >= 0) {
+						assertThat(actual.removeUnconsumedCommand(id, actualHandles.get(id))).isEqualTo(expected.removeUnconsumedCommand(id, expectedHandles.get(id)));
+					}
+				}
+				assertThat(actual.getBufferedCommandsCount()).isEqualTo(expected.getBufferedCommandsCount());
+				assertThat(actual.getUnconsumedCommandsCount()).isEqualTo(expected.getUnconsumedCommandsCount());
+				assertThat(actual.getCommandsSize()).isEqualTo(expected.getCommandsSize());
+			}
+		}
+	}
+
+	private static Class<?> addCommand(ReplayableCommandBuffer buffer, CMD cmd, Map<Integer, Long> handles) {
+		try {
+			handles.put(cmd.getId(), buffer.addCommand(cmd));
+			return null;
+		} catch (CommandBufferException e) {
+			return e.getClass();
+		}
+	}
+
+	private CMD createCmd(int id, int length) {
+		return new CMD(id, StringUtils.repeat('x', length));
+	}
+}
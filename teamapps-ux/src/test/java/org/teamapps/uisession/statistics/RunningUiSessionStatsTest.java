@@ -0,0 +1,134 @@
+/*-
+ * ========================LICENSE_START=================================
+ * TeamApps
+ * ---
+ * Copyright (C) 2014 - 2025 TeamApps.org
+ * ---
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ * 
+ *      http://www.apache.org/licenses/LICENSE-2.0
+ * 
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ * =========================LICENSE_END==================================
+ */
+package org.teamapps.uisession.statistics;
+
+import org.junit.Test;
+import org.teamapps.dto.UiComponent;
+import org.teamapps.dto.UiRootPanel;
+
+import java.util.Collections;
+import java.util.List;
+import java.util.concurrent.Callable;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+import java.util.concurrent.TimeUnit;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.entry;
+import static org.assertj.core.data.Percentage.withPercentage;
+
+public class RunningUiSessionStatsTest {
+
+	@Test
+	public void countsPerClassConcurrently() throws Exception {
+		RunningUiSessionStats stats = new RunningUiSessionStats(0, "session", "name");
+		ExecutorService executor = Executors.newFixedThreadPool(4);
+		try {
+			List<Callable<Void>> tasks = Collections.nCopies(4, () -> sendCommands(stats, 10_000));
+			for (Future<Void> future : executor.invokeAll(tasks)) {
+				future.get();
+			}
+		} finally {
+			executor.shutdown();
+		}
+
+		assertThat(stats.getCommandStats().getCount()).isEqualTo(80_000);
+		assertThat(stats.getCommandStats().getCountByClass()).containsOnly(
+				entry(UiComponent.SetVisibleCommand.class, 40_000L),
+				entry(UiRootPanel.GoToUrlCommand.class, 40_000L)
+		);
+		assertThat(stats.immutableCopy().getCommandStats().getCountByClass()).isEqualTo(stats.getCommandStats().getCountByClass());
+	}
+
+	@Test
+	public void countsClassesThatAreNotPartOfTheUiApi() {
+		ClassCounters counters = new ClassCounters();
+		counters.increment(String.class);
+		counters.increment(String.class);
+		counters.increment(Integer.class);
+
+		assertThat(counters.get(String.class)).isEqualTo(2);
+		assertThat(counters.get(Long.class)).isEqualTo(0);
+		assertThat(counters.snapshot()).containsOnly(entry(String.class, 2L), entry(Integer.class, 1L));
+	}
+
+	@Test
+	public void flushesCountsPerTimeWindow() {
+		RunningUiSessionStats stats = new RunningUiSessionStats(0, "session", "name");
+		sendCommands(stats, 5);
+		stats.update(0, 0);
+		sendCommands(stats, 3);
+		stats.update(0, 0);
+
+		assertThat(stats.getCommandStats().getCountLast10Seconds()).isEqualTo(6);
+		assertThat(stats.getCommandStats().getCountLastMinute()).isEqualTo(16);
+	}
+
+	@Test
+	public void recordsLatencies() {
+		RunningUiSessionStats stats1 = new RunningUiSessionStats(0, "session1", "name");
+		RunningUiSessionStats stats2 = new RunningUiSessionStats(0, "session2", "name");
+		for (int i = 1; i <= 100; i++) {
+			stats1.eventHandled(TimeUnit.MILLISECONDS.toNanos(i));
+		}
+		stats2.eventHandled(TimeUnit.SECONDS.toNanos(2));
+
+		assertThat(stats1.getEventLatencyStats().getCount()).isEqualTo(100);
+		assertThat(stats1.getEventLatencyStats().getValueAtPercentile(50)).isCloseTo(50_000, withPercentage(1));
+		assertThat(stats1.getCommandSendLatencyStats().getCount()).isEqualTo(0);
+		assertThat(stats1.immutableCopy().getEventLatencyStats().getMaxValue()).isEqualTo(stats1.getEventLatencyStats().getMaxValue());
+
+		LatencyStats combined = RunningUiSessionStats.combineEventLatencyStats(List.of(stats1, stats2));
+		assertThat(combined.getCount()).isEqualTo(101);
+		assertThat(combined.getMaxValue()).isCloseTo(2_000_000, withPercentage(1));
+	}
+
+	@Test
+	public void reportsLatenciesOfLastMinute() {
+		RunningUiSessionStats stats = new RunningUiSessionStats(0, "session", "name");
+		stats.eventHandled(TimeUnit.SECONDS.toNanos(5));
+		for (int i = 0; i < 5; i++) {
+			stats.update(0, 0);
+		}
+		assertThat(RunningUiSessionStats.combineEventLatencyStatsLastMinute(List.of(stats)).getCount()).isEqualTo(0); // the minute is not complete yet
+		stats.update(0, 0);
+		assertThat(RunningUiSessionStats.combineEventLatencyStatsLastMinute(List.of(stats)).getMaxValue()).isCloseTo(5_000_000, withPercentage(1));
+
+		for (int i = 0; i < 6; i++) {
+			stats.eventHandled(TimeUnit.MILLISECONDS.toNanos(10));
+			stats.update(0, 0);
+		}
+
+		LatencyStats lastMinute = RunningUiSessionStats.combineEventLatencyStatsLastMinute(List.of(stats));
+		assertThat(lastMinute.getCount()).isEqualTo(6);
+		assertThat(lastMinute.getMaxValue()).isCloseTo(10_000, withPercentage(1));
+		assertThat(stats.getEventLatencyStats().getMaxValue()).isCloseTo(5_000_000, withPercentage(1)); // lifetime
+	}
+
+	private static Void sendCommands(RunningUiSessionStats stats, int count) {
+		for (int i = 0; i < count; i++) {
+			stats.commandSent(new UiComponent.SetVisibleCommand("c", true));
+			stats.commandSent(new UiRootPanel.GoToUrlCommand("url", false));
+		}
+		return null;
+	}
+
+}
@@ -0,0 +1,104 @@
+/*-
+ * ========================LICENSE_START=================================
+ * TeamApps
+ * ---
+ * Copyright (C) 2014 - 2025 TeamApps.org
+ * ---
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ * 
+ *      http://www.apache.org/licenses/LICENSE-2.0
+ * 
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ * =========================LICENSE_END==================================
+ */
+package org.teamapps.util.threading;
+
+import it.unimi.dsi.fastutil.ints.IntArrayList;
+import it.unimi.dsi.fastutil.ints.IntList;
+import org.assertj.core.api.Assertions;
+import org.junit.Test;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.TimeUnit;
+import java.util.stream.IntStream;
+
+public class MailboxSequentialExecutorFactoryTest {
+
+	@Test
+	public void executionOrderWithConcurrentProducers() throws Exception {
+		int numberOfExecutions = 10_000;
+		MailboxSequentialExecutorFactory executorFactory = new MailboxSequentialExecutorFactory(Executors.newFixedThreadPool(4), 3);
+
+		List<IntList> executionOrderCheckingLists = new ArrayList<>();
+		List<CompletableFuture<CompletableFuture<Boolean>>> producers = new ArrayList<>();
+		for (int e = 0; e < 8; e++) {
+			IntList executionOrderCheckingList = new IntArrayList();
+			executionOrderCheckingLists.add(executionOrderCheckingList);
+			ExecutorService executor = executorFactory.createExecutor();
+			producers.add(CompletableFuture.supplyAsync(() -> {
+				CompletableFuture<Boolean> lastFuture = null;
+				for (int i = 0; i < numberOfExecutions; i++) {
+					final int iFinal = i;
+					lastFuture = CompletableFuture.supplyAsync(() -> executionOrderCheckingList.add(iFinal), executor);
+				}
+				return lastFuture;
+			}, Executors.newSingleThreadExecutor()));
+		}
+
+		for (CompletableFuture<CompletableFuture<Boolean>> producer : producers) {
+			producer.get(10, TimeUnit.SECONDS).get(10, TimeUnit.SECONDS);
+		}
+		for (IntList list : executionOrderCheckingLists) {
+			Assertions.assertThat(list.toIntArray()).containsExactly(IntStream.range(0, numberOfExecutions).toArray());
+		}
+	}
+
+	@Test
+	public void busyExecutorDoesNotStarveOthers() throws Exception {
+		MailboxSequentialExecutorFactory executorFactory = new MailboxSequentialExecutorFactory(Executors.newSingleThreadExecutor(), 2);
+		ExecutorService busyExecutor = executorFactory.createExecutor();
+		ExecutorService otherExecutor = executorFactory.createExecutor();
+
+		CountDownLatch blocker = new CountDownLatch(1);
+		busyExecutor.execute(() -> {
+			try {
+				blocker.await();
+			} catch (InterruptedException e) {
+				throw new RuntimeException(e);
+			}
+		});
+		IntList executionOrder = new IntArrayList();
+		for (int i = 0; i < 10; i++) {
+			busyExecutor.execute(() -> executionOrder.add(1));
+		}
+		CompletableFuture<Boolean> other = CompletableFuture.supplyAsync(() -> executionOrder.add(2), otherExecutor);
+		blocker.countDown();
+		other.get(5, TimeUnit.SECONDS);
+
+		Assertions.assertThat(executionOrder.indexOf(2)).isLessThan(5);
+	}
+
+	@Test
+	public void executionContinuesAfterException() throws Exception {
+		MailboxSequentialExecutorFactory executorFactory = new MailboxSequentialExecutorFactory(2);
+		ExecutorService executor = executorFactory.createExecutor();
+
+		executor.execute(() -> {
+			throw new RuntimeException();
+		});
+
+		Assertions.assertThat(CompletableFuture.supplyAsync(() -> true, executor).get(5, TimeUnit.SECONDS)).isTrue();
+	}
+
+}
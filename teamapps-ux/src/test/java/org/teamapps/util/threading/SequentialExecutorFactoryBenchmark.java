@@ -0,0 +1,95 @@
+/*-
+ * ========================LICENSE_START=================================
+ * TeamApps
+ * ---
+ * Copyright (C) 2014 - 2025 TeamApps.org
+ * ---
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ * 
+ *      http://www.apache.org/licenses/LICENSE-2.0
+ * 
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ * =========================LICENSE_END==================================
+ */
+package org.teamapps.util.threading;
+
+import org.junit.Ignore;
+import org.junit.Test;
+
+import java.util.Arrays;
+import java.util.List;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.function.Supplier;
+import java.util.stream.Collectors;
+import java.util.stream.IntStream;
+
+/**
+ * Compares throughput and tail latency (submission to execution start) of the {@link SequentialExecutorFactory} implementations.
+ */
+public class SequentialExecutorFactoryBenchmark {
+
+	private static final int THREADS = Runtime.getRuntime().availableProcessors() * 2;
+	private static final int TASKS_PER_SESSION = 100;
+	private static final int PRODUCERS = 8;
+
+	@Test
+	@Ignore
+	public void compareFactories() throws Exception {
+		for (int sessions : new int[]{1_000, 10_000}) {
+			for (int round = 0; round < 3; round++) {
+				run("CompletableFutureChain", () -> new CompletableFutureChainSequentialExecutorFactory(THREADS), sessions);
+				run("Mailbox", () -> new MailboxSequentialExecutorFactory(THREADS), sessions);
+				if (VirtualThreadSequentialExecutorFactory.isVirtualThreadsSupported()) {
+					run("VirtualThreads", VirtualThreadSequentialExecutorFactory::new, sessions);
+				}
+			}
+		}
+	}
+
+	private void run(String name, Supplier<SequentialExecutorFactory> factorySupplier, int sessions) throws Exception {
+		SequentialExecutorFactory factory = factorySupplier.get();
+		List<ExecutorService> executors = IntStream.range(0, sessions)
+				.mapToObj(i -> factory.createExecutor("" + i))
+				.collect(Collectors.toList());
+
+		int totalTasks = sessions * TASKS_PER_SESSION;
+		long[] latencies = new long[totalTasks];
+		AtomicInteger latencyIndex = new AtomicInteger();
+		CountDownLatch done = new CountDownLatch(totalTasks);
+
+		long startTime = System.nanoTime();
+		Thread[] producers = new Thread[PRODUCERS];
+		for (int p = 0; p < PRODUCERS; p++) {
+			int producerIndex = p;
+			producers[p] = new Thread(() -> {
+				for (int t = 0; t < TASKS_PER_SESSION; t++) {
+					for (int s = producerIndex; s < sessions; s += PRODUCERS) {
+						long submitTime = System.nanoTime();
+						executors.get(s).execute(() -> {
+							latencies[latencyIndex.getAndIncrement()] = System.nanoTime() - submitTime;
+							done.countDown();
+						});
+					}
+				}
+			});
+			producers[p].start();
+		}
+		done.await(5, TimeUnit.MINUTES);
+		long duration = System.nanoTime() - startTime;
+
+		Arrays.sort(latencies);
+		System.out.printf("%-22s sessions: %6d, throughput: %,12d tasks/s, latency p50: %,10dns, p99: %,12dns, p99.9: %,12dns%n",
+				name, sessions, totalTasks * 1_000_000_000L / duration,
+				latencies[totalTasks / 2], latencies[(int) (totalTasks * 0.99)], latencies[(int) (totalTasks * 0.999)]);
+	}
+
+}
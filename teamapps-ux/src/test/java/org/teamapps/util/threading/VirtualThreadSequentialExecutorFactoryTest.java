@@ -0,0 +1,88 @@
+/*-
+ * ========================LICENSE_START=================================
+ * TeamApps
+ * ---
+ * Copyright (C) 2014 - 2025 TeamApps.org
+ * ---
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ * 
+ *      http://www.apache.org/licenses/LICENSE-2.0
+ * 
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ * =========================LICENSE_END==================================
+ */
+package org.teamapps.util.threading;
+
+import it.unimi.dsi.fastutil.ints.IntArrayList;
+import it.unimi.dsi.fastutil.ints.IntList;
+import org.assertj.core.api.Assertions;
+import org.junit.Assert;
+import org.junit.Test;
+import org.teamapps.common.util.ExceptionUtil;
+
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.CyclicBarrier;
+import java.util.concurrent.ExecutorService;
+import java.util.stream.IntStream;
+
+/**
+ * Uses platform threads, so the tests also run on JVMs without virtual thread support.
+ */
+public class VirtualThreadSequentialExecutorFactoryTest {
+
+	@Test
+	public void executionOrderMultipleExecutors() throws Exception {
+		int numberOfExecutions = 1000;
+
+		VirtualThreadSequentialExecutorFactory executorFactory = new VirtualThreadSequentialExecutorFactory(Thread::new);
+
+		IntList executionOrderCheckingList1 = new IntArrayList();
+		IntList executionOrderCheckingList2 = new IntArrayList();
+
+		CompletableFuture<Boolean> lastFuture1 = null;
+		CompletableFuture<Boolean> lastFuture2 = null;
+		ExecutorService executor1 = executorFactory.createExecutor();
+		ExecutorService executor2 = executorFactory.createExecutor();
+		for (int i = 0; i < numberOfExecutions; i++) {
+			final int iFinal = i;
+			lastFuture1 = CompletableFuture.supplyAsync(() -> executionOrderCheckingList1.add(iFinal), executor1);
+			lastFuture2 = CompletableFuture.supplyAsync(() -> executionOrderCheckingList2.add(iFinal), executor2);
+		}
+
+		CompletableFuture.allOf(
+				lastFuture1.thenRun(() -> checkIntListContents(executionOrderCheckingList1, numberOfExecutions)),
+				lastFuture2.thenRun(() -> checkIntListContents(executionOrderCheckingList2, numberOfExecutions))
+		).get();
+	}
+
+	@Test
+	public void executionContinuesAfterException() throws Exception {
+		VirtualThreadSequentialExecutorFactory executorFactory = new VirtualThreadSequentialExecutorFactory(Thread::new);
+		ExecutorService executor = executorFactory.createExecutor();
+
+		executor.execute(() -> {
+			throw new RuntimeException();
+		});
+
+		CyclicBarrier barrier = new CyclicBarrier(2);
+		boolean[] secondWasExecuted = new boolean[]{false};
+		executor.execute(() -> {
+			secondWasExecuted[0] = true;
+			ExceptionUtil.softenExceptions(() -> barrier.await());
+		});
+
+		barrier.await();
+		Assert.assertTrue(secondWasExecuted[0]);
+	}
+
+	private void checkIntListContents(IntList executionOrderCheckingList, int rangeMax) {
+		Assertions.assertThat(executionOrderCheckingList.toIntArray())
+				.containsExactly(IntStream.range(0, rangeMax).toArray());
+	}
+}
@@ -0,0 +1,105 @@
+/*-
+ * ========================LICENSE_START=================================
+ * TeamApps
+ * ---
+ * Copyright (C) 2014 - 2025 TeamApps.org
+ * ---
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ * 
+ *      http://www.apache.org/licenses/LICENSE-2.0
+ * 
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ * =========================LICENSE_END==================================
+ */
+package org.teamapps.ux.cache.record;
+
+import org.junit.Ignore;
+import org.junit.Test;
+import org.teamapps.dto.UiIdentifiableClientRecord;
+
+import java.util.ArrayList;
+import java.util.List;
+
+@Ignore("benchmark")
+public class RenderedRecordsCacheBenchmark {
+
+	private static final int CACHE_SIZE = 10_000;
+	private static final int ITERATIONS = 10_000;
+
+	private int uiRecordIdCounter = 0;
+
+	@Test
+	public void benchmarkScrolling() {
+		for (int j = 0; j < 5; j++) {
+			RenderedRecordsCache<Integer> cache = createFilledCache();
+			long startTime = System.nanoTime();
+			long checksum = 0;
+			for (int i = 0; i < ITERATIONS; i++) {
+				int endIndex = cache.getEndIndex();
+				cache.addNoShift(endIndex, createPairs(endIndex, 10));
+				cache.removeBeforeNoShift(cache.getStartIndex() + 10);
+				checksum += cache.getIndex(endIndex + 5);
+			}
+			System.out.println("scrolling: " + (System.nanoTime() - startTime) / 1_000_000 + "ms (" + checksum + ")");
+		}
+	}
+
+	@Test
+	public void benchmarkInsertingAndLookingUpIndexes() {
+		for (int j = 0; j < 5; j++) {
+			RenderedRecordsCache<Integer> cache = createFilledCache();
+			long startTime = System.nanoTime();
+			long checksum = 0;
+			for (int i = 0; i < ITERATIONS; i++) {
+				int index = cache.getStartIndex() + cache.size() / 2;
+				int record = CACHE_SIZE + i;
+				cache.insertShifting(index, createPairs(record, 1));
+				checksum += cache.getIndex(record);
+				cache.removeNoShift(index, index + 1);
+			}
+			System.out.println("inserting: " + (System.nanoTime() - startTime) / 1_000_000 + "ms (" + checksum + ")");
+		}
+	}
+
+	@Test
+	public void benchmarkChangingRecords() {
+		for (int j = 0; j < 5; j++) {
+			RenderedRecordsCache<Integer> cache = createFilledCache();
+			long startTime = System.nanoTime();
+			long checksum = 0;
+			for (int i = 0; i < ITERATIONS; i++) {
+				int record = (i * 7919) % CACHE_SIZE;
+				UiIdentifiableClientRecord uiRecord = createUiRecord();
+				cache.updateRecord(record, uiRecord);
+				checksum += cache.getRecord(uiRecord.getId());
+				checksum += cache.getIndex(record);
+			}
+			System.out.println("changing: " + (System.nanoTime() - startTime) / 1_000_000 + "ms (" + checksum + ")");
+		}
+	}
+
+	private RenderedRecordsCache<Integer> createFilledCache() {
+		RenderedRecordsCache<Integer> cache = new RenderedRecordsCache<>();
+		cache.addNoShift(0, createPairs(0, CACHE_SIZE));
+		return cache;
+	}
+
+	private List<RecordAndClientRecord<Integer>> createPairs(int firstRecord, int count) {
+		List<RecordAndClientRecord<Integer>> pairs = new ArrayList<>(count);
+		for (int i = 0; i < count; i++) {
+			pairs.add(new RecordAndClientRecord<>(firstRecord + i, createUiRecord()));
+		}
+		return pairs;
+	}
+
+	private UiIdentifiableClientRecord createUiRecord() {
+		return new UiIdentifiableClientRecord().setId(++uiRecordIdCounter);
+	}
+
+}
@@ -0,0 +1,178 @@
+/*-
+ * ========================LICENSE_START=================================
+ * TeamApps
+ * ---
+ * Copyright (C) 2014 - 2025 TeamApps.org
+ * ---
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ * 
+ *      http://www.apache.org/licenses/LICENSE-2.0
+ * 
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ * =========================LICENSE_END==================================
+ */
+package org.teamapps.ux.cache.record;
+
+import org.junit.Test;
+import org.teamapps.dto.UiIdentifiableClientRecord;
+
+import java.util.Arrays;
+import java.util.List;
+import java.util.stream.Collectors;
+import java.util.stream.IntStream;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.assertThatThrownBy;
+
+public class RenderedRecordsCacheTest {
+
+	private int uiRecordIdCounter = 0;
+
+	@Test
+	public void testAddNoShiftAppendAndPrepend() {
+		RenderedRecordsCache<String> cache = new RenderedRecordsCache<>();
+		cache.addNoShift(10, pairs("c", "d"));
+		cache.addNoShift(12, pairs("e"));
+		cache.addNoShift(8, pairs("a", "b"));
+
+		assertThat(cache.getRecords()).containsExactly("a", "b", "c", "d", "e");
+		assertThat(cache.getStartIndex()).isEqualTo(8);
+		assertThat(cache.getEndIndex()).isEqualTo(13);
+		assertThat(cache.getIndex("a")).isEqualTo(8);
+		assertThat(cache.getIndex("c")).isEqualTo(10);
+		assertThat(cache.getIndex("e")).isEqualTo(12);
+		assertThat(cache.getIndex("x")).isEqualTo(-1);
+		assertThat(cache.getRecordByIndex(11)).isEqualTo("d");
+	}
+
+	@Test
+	public void testInsertShiftingUpdatesIndexes() {
+		RenderedRecordsCache<String> cache = new RenderedRecordsCache<>();
+		cache.addNoShift(0, pairs("a", "b", "c"));
+		assertThat(cache.getIndex("c")).isEqualTo(2);
+
+		cache.insertShifting(1, pairs("x", "y"));
+
+		assertThat(cache.getRecords()).containsExactly("a", "x", "y", "b", "c");
+		assertThat(cache.getIndex("a")).isEqualTo(0);
+		assertThat(cache.getIndex("y")).isEqualTo(2);
+		assertThat(cache.getIndex("c")).isEqualTo(4);
+	}
+
+	@Test
+	public void testRemoveNoShiftUpdatesIndexes() {
+		RenderedRecordsCache<String> cache = new RenderedRecordsCache<>();
+		cache.addNoShift(5, pairs("a", "b", "c", "d", "e"));
+		cache.insertShifting(6, pairs("x"));
+		cache.removeNoShift(7, 9);
+
+		assertThat(cache.getRecords()).containsExactly("a", "x", "d", "e");
+		assertThat(cache.getIndex("x")).isEqualTo(6);
+		assertThat(cache.getIndex("d")).isEqualTo(7);
+		assertThat(cache.getIndex("b")).isEqualTo(-1);
+		assertThat(cache.getUiRecord("b")).isNull();
+	}
+
+	@Test
+	public void testRemoveBeforeAndAfterNoShift() {
+		RenderedRecordsCache<String> cache = new RenderedRecordsCache<>();
+		cache.addNoShift(0, pairs("a", "b", "c", "d", "e"));
+		cache.insertShifting(2, pairs("x"));
+		cache.removeBeforeNoShift(2);
+		cache.removeAfterNoShift(5);
+
+		assertThat(cache.getRecords()).containsExactly("x", "c", "d");
+		assertThat(cache.getRange()).isEqualTo(ItemRange.startLength(2, 3));
+		assertThat(cache.getIndex("x")).isEqualTo(2);
+		assertThat(cache.getIndex("d")).isEqualTo(4);
+		assertThat(cache.getIndex("a")).isEqualTo(-1);
+		assertThat(cache.getIndex("e")).isEqualTo(-1);
+	}
+
+	@Test
+	public void testLookupsByUiRecordId() {
+		RenderedRecordsCache<String> cache = new RenderedRecordsCache<>();
+		cache.addNoShift(0, pairs("a", "b", "c"));
+		int idOfA = cache.getUiRecord("a").getId();
+		int idOfC = cache.getUiRecord("c").getId();
+
+		assertThat(cache.getRecord(idOfC)).isEqualTo("c");
+		assertThat(cache.getRecord(-1)).isNull();
+		assertThat(cache.getRecords(List.of(idOfC, idOfA, -1))).containsExactly("a", "c");
+		assertThat(cache.getUiRecordIds(List.of("c", "a", "x"))).containsExactly(idOfA, idOfC);
+	}
+
+	@Test
+	public void testUpdateRecord() {
+		RenderedRecordsCache<String> cache = new RenderedRecordsCache<>();
+		cache.addNoShift(0, pairs("a", "b"));
+		int oldId = cache.getUiRecord("b").getId();
+		UiIdentifiableClientRecord newUiRecord = uiRecord();
+
+		cache.updateRecord("b", newUiRecord);
+
+		assertThat(cache.getUiRecord("b")).isSameAs(newUiRecord);
+		assertThat(cache.getRecord(newUiRecord.getId())).isEqualTo("b");
+		assertThat(cache.getRecord(oldId)).isNull();
+		assertThat(cache.getIndex("b")).isEqualTo(1);
+	}
+
+	@Test
+	public void testCustomEqualsAndHashCode() {
+		RenderedRecordsCache<String> cache = new RenderedRecordsCache<>(new EqualsAndHashCode<>((s, o) -> o instanceof String && s.equalsIgnoreCase((String) o), s -> s.toLowerCase().hashCode()));
+		cache.addNoShift(0, pairs("a", "B"));
+
+		assertThat(cache.getIndex("b")).isEqualTo(1);
+		assertThat(cache.getUiRecordIds(List.of("A"))).containsExactly(cache.getUiRecord("a").getId());
+		assertThatThrownBy(() -> cache.addNoShift(2, pairs("b"))).isInstanceOf(DuplicateEntriesException.class);
+	}
+
+	@Test
+	public void testUnattachedRecords() {
+		RenderedRecordsCache<String> cache = new RenderedRecordsCache<>();
+		cache.addNoShift(0, pairs("a", "b"));
+
+		assertThatThrownBy(() -> cache.addNoShift(5, pairs("x"))).isInstanceOf(IllegalArgumentException.class);
+		assertThatThrownBy(() -> cache.insertShifting(3, pairs("x"))).isInstanceOf(IllegalArgumentException.class);
+	}
+
+	@Test
+	public void testIndexesStayConsistentWithListPositions() {
+		RenderedRecordsCache<Integer> cache = new RenderedRecordsCache<>();
+		cache.addNoShift(100, integerPairs(0, 50));
+		cache.insertShifting(110, integerPairs(1000, 5));
+		cache.removeNoShift(120, 125);
+		cache.addNoShift(90, integerPairs(2000, 10));
+		cache.removeBeforeNoShift(95);
+		cache.insertShifting(96, integerPairs(3000, 3));
+		cache.removeAfterNoShift(140);
+
+		List<Integer> records = cache.getRecords();
+		for (int i = 0; i < records.size(); i++) {
+			assertThat(cache.getIndex(records.get(i))).isEqualTo(cache.getStartIndex() + i);
+		}
+	}
+
+	private List<RecordAndClientRecord<String>> pairs(String... records) {
+		return Arrays.stream(records)
+				.map(r -> new RecordAndClientRecord<>(r, uiRecord()))
+				.collect(Collectors.toList());
+	}
+
+	private List<RecordAndClientRecord<Integer>> integerPairs(int start, int count) {
+		return IntStream.range(start, start + count)
+				.mapToObj(r -> new RecordAndClientRecord<>(r, uiRecord()))
+				.collect(Collectors.toList());
+	}
+
+	private UiIdentifiableClientRecord uiRecord() {
+		return new UiIdentifiableClientRecord().setId(++uiRecordIdCounter);
+	}
+
+}
@@ -0,0 +1,214 @@
+/*-
+ * ========================LICENSE_START=================================
+ * TeamApps
+ * ---
+ * Copyright (C) 2014 - 2025 TeamApps.org
+ * ---
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ * 
+ *      http://www.apache.org/licenses/LICENSE-2.0
+ * 
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ * =========================LICENSE_END==================================
+ */
+package org.teamapps.ux.component.table;
+
+import org.junit.Test;
+import org.teamapps.data.value.SortDirection;
+import org.teamapps.data.value.Sorting;
+import org.teamapps.util.threading.ParallelDataProcessing;
+import org.teamapps.ux.component.infiniteitemview.RecordsAddedEvent;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Random;
+import java.util.concurrent.ForkJoinPool;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.stream.Collectors;
+import java.util.stream.IntStream;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+public class ListTableModelTest {
+
+	public static class Person {
+		private final String name;
+		private final Integer age;
+
+		public Person(String name, Integer age) {
+			this.name = name;
+			this.age = age;
+		}
+
+		public String getName() {
+			return name;
+		}
+
+		public Integer getAge() {
+			return age;
+		}
+
+		@Override
+		public String toString() {
+			return name;
+		}
+	}
+
+	private final Person anna = new Person("anna", 30);
+	private final Person bert = new Person("bert", 20);
+	private final Person carl = new Person("carl", null);
+	private final Person dora = new Person("dora", 20);
+	private final Person emil = new Person("emil", 40);
+
+	@Test
+	public void testUnsortedAndUnfiltered() {
+		ListTableModel<Person> model = new ListTableModel<>(List.of(anna, bert, carl));
+
+		assertThat(model.getCount()).isEqualTo(3);
+		assertThat(model.getRecords(1, 5)).containsExactly(bert, carl);
+	}
+
+	@Test
+	public void testSortingIsStableAndPutsNullsLast() {
+		ListTableModel<Person> model = new ListTableModel<>(List.of(anna, bert, carl, dora, emil));
+
+		model.setSorting(new Sorting("age", SortDirection.ASC));
+		assertThat(model.getRecords(0, 10)).containsExactly(bert, dora, anna, emil, carl);
+		assertThat(model.getRecords(1, 2)).containsExactly(dora, anna);
+
+		model.setSorting(new Sorting("age", SortDirection.DESC));
+		assertThat(model.getRecords(0, 10)).containsExactly(carl, emil, anna, bert, dora);
+	}
+
+	@Test
+	public void testFilterAndSorting() {
+		ListTableModel<Person> model = new ListTableModel<>(List.of(anna, bert, carl, dora, emil));
+		model.setSorting(new Sorting("name", SortDirection.DESC));
+		model.setFilter(p -> p.getAge() != null && p.getAge() < 40);
+
+		assertThat(model.getCount()).isEqualTo(3);
+		assertThat(model.getRecords(0, 10)).containsExactly(dora, bert, anna);
+		assertThat(model.getRecords(5, 10)).isEmpty();
+
+		model.setFilter(null);
+		assertThat(model.getCount()).isEqualTo(5);
+		assertThat(model.getRecords(0, 2)).containsExactly(emil, dora);
+	}
+
+	@Test
+	public void testAddRecordIsInsertedAtSortedPosition() {
+		ListTableModel<Person> model = new ListTableModel<>(List.of(anna, bert, carl));
+		model.setSorting(new Sorting("age", SortDirection.ASC));
+		model.setFilter(p -> !p.getName().startsWith("e"));
+		assertThat(model.getRecords(0, 10)).containsExactly(bert, anna, carl);
+		List<RecordsAddedEvent<Person>> addedEvents = new ArrayList<>();
+		model.onRecordsAdded().addListener(e -> {
+			addedEvents.add(e);
+		});
+
+		model.addRecord(dora);
+		model.addRecord(emil);
+
+		assertThat(model.getCount()).isEqualTo(4);
+		assertThat(model.getRecords(0, 10)).containsExactly(bert, dora, anna, carl);
+		assertThat(addedEvents).hasSize(1);
+		assertThat(addedEvents.get(0).getStart()).isEqualTo(1);
+		assertThat(addedEvents.get(0).getRecords()).contains(List.of(dora));
+	}
+
+	@Test
+	public void testAddRecordsToFilteredView() {
+		ListTableModel<Person> model = new ListTableModel<>(List.of(anna, bert));
+		model.setFilter(p -> p.getAge() % 2 == 0);
+		assertThat(model.getRecords(0, 10)).containsExactly(anna, bert);
+		List<Person> expectedRecords = new ArrayList<>(List.of(anna, bert));
+		List<Integer> addedEventStarts = new ArrayList<>();
+		model.onRecordsAdded().addListener(e -> {
+			addedEventStarts.add(e.getStart());
+		});
+
+		for (int i = 0; i < 100; i++) {
+			Person person = new Person("p" + i, i);
+			model.addRecord(person);
+			if (i % 2 == 0) {
+				expectedRecords.add(person);
+			}
+			if (i == 50) {
+				assertThat(model.getRecords(0, 100)).containsExactlyElementsOf(expectedRecords);
+			}
+		}
+
+		assertThat(model.getCount()).isEqualTo(52);
+		assertThat(model.getRecords(0, 100)).containsExactlyElementsOf(expectedRecords);
+		assertThat(addedEventStarts).containsExactlyElementsOf(IntStream.range(2, 52).boxed().collect(Collectors.toList()));
+	}
+
+	@Test
+	public void testAddRecordWithoutCachedViewFiresAllDataChanged() {
+		ListTableModel<Person> model = new ListTableModel<>(List.of(anna, bert));
+		model.setSorting(new Sorting("age", SortDirection.ASC));
+		AtomicInteger allDataChangedCount = new AtomicInteger();
+		AtomicInteger recordAddedCount = new AtomicInteger();
+		model.onAllDataChanged().addListener(allDataChangedCount::incrementAndGet);
+		model.onRecordsAdded().addListener(recordAddedCount::incrementAndGet);
+
+		model.addRecord(dora);
+
+		assertThat(allDataChangedCount).hasValue(1);
+		assertThat(recordAddedCount).hasValue(0);
+		assertThat(model.getRecords(0, 10)).containsExactly(bert, dora, anna);
+	}
+
+	@Test
+	public void testAddRecordToUnsortedAndUnfilteredModel() {
+		ListTableModel<Person> model = new ListTableModel<>(List.of(anna, bert));
+		List<Integer> addedEventStarts = new ArrayList<>();
+		model.onRecordsAdded().addListener(e -> {
+			addedEventStarts.add(e.getStart());
+		});
+
+		model.addRecord(carl);
+
+		assertThat(addedEventStarts).containsExactly(2);
+		assertThat(model.getRecords(0, 10)).containsExactly(anna, bert, carl);
+	}
+
+	@Test
+	public void testViewIsRecomputedWhenAllDataChanged() {
+		List<Person> persons = new ArrayList<>(List.of(anna, bert));
+		ListTableModel<Person> model = new ListTableModel<>(persons);
+		model.setSorting(new Sorting("name", SortDirection.ASC));
+		assertThat(model.getRecords(0, 10)).containsExactly(anna, bert);
+
+		model.addRecords(List.of(emil, carl));
+		assertThat(model.getRecords(0, 10)).containsExactly(anna, bert, carl, emil);
+
+		model.setList(List.of(dora, anna));
+		assertThat(model.getRecords(0, 10)).containsExactly(anna, dora);
+	}
+
+	@Test
+	public void testParallelProcessingYieldsSameResultAsSequentialProcessing() {
+		Random random = new Random(42);
+		List<Person> persons = IntStream.range(0, 10_000)
+				.mapToObj(i -> new Person("p" + i, random.nextInt(10) == 0 ? null : random.nextInt(100)))
+				.collect(Collectors.toList());
+		ListTableModel<Person> sequentialModel = new ListTableModel<>(persons);
+		ListTableModel<Person> parallelModel = new ListTableModel<>(persons);
+		parallelModel.setParallelDataProcessing(new ParallelDataProcessing(new ForkJoinPool(4), 100));
+		for (ListTableModel<Person> model : List.of(sequentialModel, parallelModel)) {
+			model.setFilter(p -> p.getAge() == null || p.getAge() % 3 != 0);
+			model.setSorting(new Sorting("age", SortDirection.DESC));
+		}
+
+		assertThat(parallelModel.getCount()).isEqualTo(sequentialModel.getCount());
+		assertThat(parallelModel.getRecords(0, 10_000)).containsExactlyElementsOf(sequentialModel.getRecords(0, 10_000));
+	}
+
+}
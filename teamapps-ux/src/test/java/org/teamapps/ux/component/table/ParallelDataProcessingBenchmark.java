@@ -0,0 +1,83 @@
+/*-
+ * ========================LICENSE_START=================================
+ * TeamApps
+ * ---
+ * Copyright (C) 2014 - 2025 TeamApps.org
+ * ---
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ * 
+ *      http://www.apache.org/licenses/LICENSE-2.0
+ * 
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ * =========================LICENSE_END==================================
+ */
+package org.teamapps.ux.component.table;
+
+import org.junit.Ignore;
+import org.junit.Test;
+import org.teamapps.data.value.SortDirection;
+import org.teamapps.data.value.Sorting;
+import org.teamapps.util.threading.ParallelDataProcessing;
+import org.teamapps.ux.model.ListTreeModel;
+
+import java.util.List;
+import java.util.Random;
+import java.util.stream.Collectors;
+import java.util.stream.IntStream;
+
+@Ignore("benchmark")
+public class ParallelDataProcessingBenchmark {
+
+	private static final int RECORD_COUNT = 1_000_000;
+
+	private final List<ListTableModelTest.Person> persons = createPersons();
+
+	@Test
+	public void benchmarkListTableModelSortingAndFiltering() {
+		System.out.println("available processors: " + Runtime.getRuntime().availableProcessors());
+		for (int j = 0; j < 5; j++) {
+			System.out.println("sequential: " + measureListTableModel(ParallelDataProcessing.SEQUENTIAL) + "ms");
+			System.out.println("parallel: " + measureListTableModel(ParallelDataProcessing.getDefault()) + "ms");
+		}
+	}
+
+	@Test
+	public void benchmarkListTreeModelSearch() {
+		for (int j = 0; j < 5; j++) {
+			System.out.println("sequential: " + measureListTreeModel(ParallelDataProcessing.SEQUENTIAL) + "ms");
+			System.out.println("parallel: " + measureListTreeModel(ParallelDataProcessing.getDefault()) + "ms");
+		}
+	}
+
+	private long measureListTableModel(ParallelDataProcessing parallelDataProcessing) {
+		ListTableModel<ListTableModelTest.Person> model = new ListTableModel<>(persons);
+		model.setParallelDataProcessing(parallelDataProcessing);
+		model.setFilter(p -> p.getName().hashCode() % 7 != 0);
+		model.setSorting(new Sorting("name", SortDirection.ASC));
+		long startTime = System.currentTimeMillis();
+		model.getRecords(0, 100);
+		return System.currentTimeMillis() - startTime;
+	}
+
+	private long measureListTreeModel(ParallelDataProcessing parallelDataProcessing) {
+		ListTreeModel<ListTableModelTest.Person> model = new ListTreeModel<>(persons);
+		model.setParallelDataProcessing(parallelDataProcessing);
+		long startTime = System.currentTimeMillis();
+		model.getRecords("x7");
+		return System.currentTimeMillis() - startTime;
+	}
+
+	private static List<ListTableModelTest.Person> createPersons() {
+		Random random = new Random(42);
+		return IntStream.range(0, RECORD_COUNT)
+				.mapToObj(i -> new ListTableModelTest.Person(Long.toString(random.nextLong(), 36), random.nextInt(100)))
+				.collect(Collectors.toList());
+	}
+
+}
@@ -0,0 +1,123 @@
+/*-
+ * ========================LICENSE_START=================================
+ * TeamApps
+ * ---
+ * Copyright (C) 2014 - 2025 TeamApps.org
+ * ---
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ * 
+ *      http://www.apache.org/licenses/LICENSE-2.0
+ * 
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ * =========================LICENSE_END==================================
+ */
+package org.teamapps.ux.component.timegraph;
+
+import org.junit.Rule;
+import org.junit.Test;
+import org.junit.rules.TemporaryFolder;
+import org.teamapps.ux.component.timegraph.datapoints.ColumnarLineGraphData;
+import org.teamapps.ux.component.timegraph.datapoints.LineGraphData;
+import org.teamapps.ux.component.timegraph.datapoints.LineGraphDataPoint;
+import org.teamapps.ux.component.timegraph.model.AggregatingLineGraphModel;
+import org.teamapps.ux.component.timegraph.model.AggregationType;
+
+import java.nio.file.Path;
+import java.time.ZoneOffset;
+import java.util.List;
+import java.util.Objects;
+import java.util.OptionalDouble;
+import java.util.Random;
+import java.util.stream.Collectors;
+import java.util.stream.DoubleStream;
+import java.util.stream.LongStream;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+public class ColumnarLineGraphDataTest {
+
+	@Rule
+	public TemporaryFolder temporaryFolder = new TemporaryFolder();
+
+	@Test
+	public void testFindFirstIndexNotBefore() throws Exception {
+		ColumnarLineGraphData data = new ColumnarLineGraphData(new long[]{100, 200, 200, 300}, new double[]{1, 2, 3, 4}, new Interval(100, 300));
+
+		assertThat(data.findFirstIndexNotBefore(0)).isEqualTo(0);
+		assertThat(data.findFirstIndexNotBefore(100)).isEqualTo(0);
+		assertThat(data.findFirstIndexNotBefore(101)).isEqualTo(1);
+		assertThat(data.findFirstIndexNotBefore(200)).isEqualTo(1);
+		assertThat(data.findFirstIndexNotBefore(300)).isEqualTo(3);
+		assertThat(data.findFirstIndexNotBefore(301)).isEqualTo(4);
+	}
+
+	@Test
+	public void testBuilder() throws Exception {
+		ColumnarLineGraphData.Builder builder = new ColumnarLineGraphData.Builder(1);
+		for (int i = 0; i < 100; i++) {
+			builder.add(i * 10, i / 2.0);
+		}
+		ColumnarLineGraphData data = builder.build(new Interval(0, 1000));
+
+		assertThat(data.size()).isEqualTo(100);
+		assertThat(data.getDataPoint(99)).isEqualTo(new LineGraphDataPoint(990, 49.5));
+		assertThat(data.streamY().sum()).isEqualTo(2475);
+	}
+
+	@Test
+	public void testWriteAndMap() throws Exception {
+		ColumnarLineGraphData data = new ColumnarLineGraphData(new long[]{100, 200, 300}, new double[]{1.5, -2, Double.NaN}, new Interval(100, 300));
+		Path file = temporaryFolder.newFile().toPath();
+
+		data.writeTo(file);
+		ColumnarLineGraphData mappedData = ColumnarLineGraphData.map(file, data.getInterval());
+
+		assertThat(mappedData.streamDataPoints().collect(Collectors.toList()))
+				.containsExactlyElementsOf(data.streamDataPoints().collect(Collectors.toList()));
+	}
+
+	@Test
+	public void testAggregation() throws Exception {
+		Random random = new Random(1);
+		long[] xs = new long[10_000];
+		double[] ys = new double[xs.length];
+		for (int i = 1; i < xs.length; i++) {
+			xs[i] = xs[i - 1] + random.nextInt(1000);
+			ys[i] = random.nextGaussian();
+		}
+		ColumnarLineGraphData data = new ColumnarLineGraphData(xs, ys, new Interval(xs[0], xs[xs.length - 1]));
+		List<LineGraphDataPoint> dataPoints = data.streamDataPoints().collect(Collectors.toList());
+
+		for (AggregationType aggregationType : AggregationType.values()) {
+			LineGraphData result = AggregatingLineGraphModel.getAggregateDataPoints(data, TimePartitioningUnit.SECONDS_10, new Interval(1_000_000, 3_000_000), aggregationType, ZoneOffset.UTC, true);
+
+			List<LineGraphDataPoint> expected = LongStream.iterate(990_000, x -> x < 3_010_000, x -> x + 10_000)
+					.mapToObj(partitionStart -> {
+						DoubleStream values = dataPoints.stream()
+								.filter(dp -> dp.getX() >= partitionStart && dp.getX() < partitionStart + 10_000)
+								.mapToDouble(LineGraphDataPoint::getY);
+						OptionalDouble aggregate;
+						switch (aggregationType) {
+							case FIRST_VALUE: aggregate = values.findFirst(); break;
+							case MIN: aggregate = values.min(); break;
+							case MAX: aggregate = values.max(); break;
+							default: aggregate = values.average(); break;
+						}
+						return aggregate.isPresent() ? new LineGraphDataPoint(partitionStart, aggregate.getAsDouble()) : null;
+					})
+					.filter(Objects::nonNull)
+					.collect(Collectors.toList());
+			assertThat(expected).hasSizeGreaterThan(150);
+			assertThat(result.streamDataPoints().collect(Collectors.toList()))
+					.usingElementComparator((a, b) -> a.getX() == b.getX() && Math.abs(a.getY() - b.getY()) < 1e-9 ? 0 : 1)
+					.containsExactlyElementsOf(expected);
+		}
+	}
+
+}
@@ -0,0 +1,105 @@
+/*-
+ * ========================LICENSE_START=================================
+ * TeamApps
+ * ---
+ * Copyright (C) 2014 - 2025 TeamApps.org
+ * ---
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ * 
+ *      http://www.apache.org/licenses/LICENSE-2.0
+ * 
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ * =========================LICENSE_END==================================
+ */
+package org.teamapps.ux.component.timegraph;
+
+import org.junit.Ignore;
+import org.junit.Test;
+import org.teamapps.ux.component.timegraph.datapoints.ColumnarLineGraphData;
+import org.teamapps.ux.component.timegraph.datapoints.LineGraphData;
+import org.teamapps.ux.component.timegraph.datapoints.LineGraphDataPoint;
+import org.teamapps.ux.component.timegraph.datapoints.ListLineGraphData;
+import org.teamapps.ux.component.timegraph.model.AggregatingLineGraphModel;
+import org.teamapps.ux.component.timegraph.model.AggregationType;
+import org.teamapps.ux.component.timegraph.model.PreAggregatedTimeSeries;
+import org.teamapps.ux.component.timegraph.model.PreAggregatingLineGraphModel;
+
+import java.time.ZoneOffset;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Random;
+
+@Ignore("benchmark")
+public class LineGraphAggregationBenchmark {
+
+	private static final int DATA_POINT_COUNT = 10_000_000;
+	private static final long START = 1_600_000_000_000L;
+	private static final long INTERVAL_MILLIS = 1000;
+
+	@Test
+	public void benchmarkAggregation() {
+		Random random = new Random(0);
+		long[] xs = new long[DATA_POINT_COUNT];
+		double[] ys = new double[DATA_POINT_COUNT];
+		List<LineGraphDataPoint> dataPoints = new ArrayList<>(DATA_POINT_COUNT);
+		for (int i = 0; i < DATA_POINT_COUNT; i++) {
+			xs[i] = START + i * INTERVAL_MILLIS;
+			ys[i] = random.nextGaussian();
+			dataPoints.add(new LineGraphDataPoint(xs[i], ys[i]));
+		}
+		Interval domain = new Interval(xs[0], xs[DATA_POINT_COUNT - 1]);
+		LineGraphData listData = new ListLineGraphData(dataPoints, domain);
+		LineGraphData columnarData = new ColumnarLineGraphData(xs, ys, domain);
+
+		Interval lastWeek = new Interval(domain.getMax() - 7 * 24 * 3600_000L, domain.getMax());
+		for (int j = 0; j < 5; j++) {
+			for (AggregationType aggregationType : AggregationType.values()) {
+				System.out.println(aggregationType + " list, whole domain by day: " + measure(listData, domain, TimePartitioningUnit.DAY, aggregationType) + "ms");
+				System.out.println(aggregationType + " columnar, whole domain by day: " + measure(columnarData, domain, TimePartitioningUnit.DAY, aggregationType) + "ms");
+				System.out.println(aggregationType + " list, last week by hour: " + measure(listData, lastWeek, TimePartitioningUnit.HOUR, aggregationType) + "ms");
+				System.out.println(aggregationType + " columnar, last week by hour: " + measure(columnarData, lastWeek, TimePartitioningUnit.HOUR, aggregationType) + "ms");
+			}
+		}
+	}
+
+	@Test
+	public void benchmarkPreAggregatedZooming() {
+		ColumnarLineGraphData.Builder builder = new ColumnarLineGraphData.Builder(DATA_POINT_COUNT);
+		Random random = new Random(0);
+		long yearMillis = 365L * 24 * 3600_000;
+		for (int i = 0; i < DATA_POINT_COUNT; i++) {
+			builder.add(START + i * (yearMillis / DATA_POINT_COUNT), random.nextGaussian());
+		}
+		ColumnarLineGraphData data = builder.build(new Interval(START, START + yearMillis));
+		AggregatingLineGraphModel aggregatingModel = new AggregatingLineGraphModel(data, AggregationType.AVERAGE);
+		long startTime = System.currentTimeMillis();
+		PreAggregatedTimeSeries timeSeries = new PreAggregatedTimeSeries(data);
+		timeSeries.prepareLevels(List.of(TimePartitioningUnit.values()), ZoneOffset.UTC);
+		System.out.println("preparing levels: " + (System.currentTimeMillis() - startTime) + "ms");
+		PreAggregatingLineGraphModel preAggregatingModel = new PreAggregatingLineGraphModel(timeSeries, AggregationType.AVERAGE);
+
+		for (int j = 0; j < 5; j++) {
+			for (TimePartitioningUnit zoomLevel : List.of(TimePartitioningUnit.MONTH, TimePartitioningUnit.DAY, TimePartitioningUnit.HOURS_3, TimePartitioningUnit.HOUR)) {
+				startTime = System.nanoTime();
+				int size = aggregatingModel.getData(zoomLevel, ZoneOffset.UTC, data.getInterval(), data.getInterval()).size();
+				System.out.println(zoomLevel + " aggregating: " + (System.nanoTime() - startTime) / 1000 + "us (" + size + " data points)");
+				startTime = System.nanoTime();
+				size = preAggregatingModel.getData(zoomLevel, ZoneOffset.UTC, data.getInterval(), data.getInterval()).size();
+				System.out.println(zoomLevel + " pre-aggregated: " + (System.nanoTime() - startTime) / 1000 + "us (" + size + " data points)");
+			}
+		}
+	}
+
+	private long measure(LineGraphData data, Interval interval, TimePartitioningUnit partitioning, AggregationType aggregationType) {
+		long startTime = System.currentTimeMillis();
+		AggregatingLineGraphModel.getAggregateDataPoints(data, partitioning, interval, aggregationType, ZoneOffset.UTC, true);
+		return System.currentTimeMillis() - startTime;
+	}
+
+}
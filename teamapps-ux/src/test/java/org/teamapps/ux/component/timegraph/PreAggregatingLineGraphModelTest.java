@@ -0,0 +1,179 @@
+/*-
+ * ========================LICENSE_START=================================
+ * TeamApps
+ * ---
+ * Copyright (C) 2014 - 2025 TeamApps.org
+ * ---
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ * 
+ *      http://www.apache.org/licenses/LICENSE-2.0
+ * 
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ * =========================LICENSE_END==================================
+ */
+package org.teamapps.ux.component.timegraph;
+
+import org.awaitility.Awaitility;
+import org.junit.Before;
+import org.junit.Test;
+import org.teamapps.ux.component.timegraph.datapoints.ColumnarLineGraphData;
+import org.teamapps.ux.component.timegraph.datapoints.HoseGraphData;
+import org.teamapps.ux.component.timegraph.datapoints.LineGraphData;
+import org.teamapps.ux.component.timegraph.datapoints.LineGraphDataPoint;
+import org.teamapps.ux.component.timegraph.model.AggregatingLineGraphModel;
+import org.teamapps.ux.component.timegraph.model.AggregationType;
+import org.teamapps.ux.component.timegraph.model.PreAggregatedTimeSeries;
+import org.teamapps.ux.component.timegraph.model.PreAggregatingHoseGraphModel;
+import org.teamapps.ux.component.timegraph.model.PreAggregatingLineGraphModel;
+
+import java.lang.ref.WeakReference;
+import java.time.ZoneId;
+import java.util.List;
+import java.util.Random;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.stream.Collectors;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.assertThatThrownBy;
+
+public class PreAggregatingLineGraphModelTest {
+
+	private static final ZoneId ZONE_ID = ZoneId.of("Europe/Berlin");
+	private static final long START = 1_600_000_000_000L;
+	private static final List<TimePartitioning> ZOOM_LEVELS = List.of(
+			TimePartitioningUnit.MONTH,
+			TimePartitioningUnit.WEEK_MONDAY,
+			TimePartitioningUnit.DAY,
+			TimePartitioningUnit.HOURS_3,
+			TimePartitioningUnit.HOUR,
+			TimePartitioningUnit.MINUTE,
+			TimePartitioningUnit.SECOND // not materialized
+	);
+
+	private ColumnarLineGraphData data;
+
+	@Before
+	public void setUp() {
+		Random random = new Random(3);
+		ColumnarLineGraphData.Builder builder = new ColumnarLineGraphData.Builder();
+		long x = START;
+		for (int i = 0; i < 50_000; i++) {
+			x += random.nextInt(600_000);
+			builder.add(x, random.nextGaussian());
+		}
+		data = builder.build(new Interval(START, x));
+	}
+
+	@Test
+	public void testYieldsSameResultsAsAggregatingLineGraphModel() {
+		for (AggregationType aggregationType : AggregationType.values()) {
+			AggregatingLineGraphModel aggregatingModel = new AggregatingLineGraphModel(data, aggregationType);
+			PreAggregatingLineGraphModel preAggregatingModel = new PreAggregatingLineGraphModel(new PreAggregatedTimeSeries(data), aggregationType);
+			assertThat(preAggregatingModel.getDomainX()).isEqualTo(aggregatingModel.getDomainX());
+
+			for (TimePartitioning zoomLevel : ZOOM_LEVELS) {
+				for (Interval displayedInterval : List.of(data.getInterval(), new Interval(START + 200_000_000, START + 300_000_000))) {
+					assertSameData(
+							preAggregatingModel.getData(zoomLevel, ZONE_ID, displayedInterval, displayedInterval),
+							aggregatingModel.getData(zoomLevel, ZONE_ID, displayedInterval, displayedInterval)
+					);
+				}
+			}
+		}
+	}
+
+	@Test
+	public void testAddDataPointsIncrementally() {
+		PreAggregatingLineGraphModel model = new PreAggregatingLineGraphModel(AggregationType.AVERAGE);
+		AtomicInteger changeCount = new AtomicInteger();
+		model.onDataChanged().addListener(changeCount::incrementAndGet);
+		int half = data.size() / 2;
+		for (int i = 0; i < half; i++) {
+			model.addDataPoint(data.getXAsLong(i), data.getY(i));
+		}
+		model.getTimeSeries().prepareLevels(ZOOM_LEVELS, ZONE_ID);
+		model.addDataPoints(new ColumnarLineGraphData(
+				data.streamX().skip(half).mapToLong(x -> (long) x).toArray(),
+				data.streamY().skip(half).toArray(),
+				data.getInterval()
+		));
+
+		assertThat(changeCount.get()).isEqualTo(half + 1);
+		AggregatingLineGraphModel aggregatingModel = new AggregatingLineGraphModel(data, AggregationType.AVERAGE);
+		for (TimePartitioning zoomLevel : ZOOM_LEVELS) {
+			assertSameData(
+					model.getData(zoomLevel, ZONE_ID, data.getInterval(), data.getInterval()),
+					aggregatingModel.getData(zoomLevel, ZONE_ID, data.getInterval(), data.getInterval())
+			);
+		}
+	}
+
+	@Test
+	public void testDataPointsMustBeAddedInOrder() {
+		PreAggregatedTimeSeries timeSeries = new PreAggregatedTimeSeries();
+		timeSeries.addDataPoint(1000, 1);
+		assertThatThrownBy(() -> timeSeries.addDataPoint(999, 1)).isInstanceOf(IllegalArgumentException.class);
+	}
+
+	@Test
+	public void testHoseGraphModel() {
+		PreAggregatedTimeSeries timeSeries = new PreAggregatedTimeSeries(data);
+		PreAggregatingHoseGraphModel hoseModel = new PreAggregatingHoseGraphModel(timeSeries);
+
+		Interval displayedInterval = new Interval(START + 200_000_000, START + 300_000_000);
+		for (TimePartitioning zoomLevel : ZOOM_LEVELS) {
+			HoseGraphData hoseData = hoseModel.getData(zoomLevel, ZONE_ID, displayedInterval, displayedInterval);
+
+			assertSameData(hoseData.getLowerLineData(), new AggregatingLineGraphModel(data, AggregationType.MIN).getData(zoomLevel, ZONE_ID, displayedInterval, displayedInterval));
+			assertSameData(hoseData.getMiddleLineData(), new AggregatingLineGraphModel(data, AggregationType.AVERAGE).getData(zoomLevel, ZONE_ID, displayedInterval, displayedInterval));
+			assertSameData(hoseData.getUpperLineData(), new AggregatingLineGraphModel(data, AggregationType.MAX).getData(zoomLevel, ZONE_ID, displayedInterval, displayedInterval));
+		}
+	}
+
+	@Test
+	public void testDisposedModelStopsListeningToSharedTimeSeries() {
+		PreAggregatedTimeSeries timeSeries = new PreAggregatedTimeSeries();
+		PreAggregatingLineGraphModel lineModel = new PreAggregatingLineGraphModel(timeSeries, AggregationType.AVERAGE);
+		PreAggregatingHoseGraphModel hoseModel = new PreAggregatingHoseGraphModel(timeSeries);
+		AtomicInteger lineChangeCount = new AtomicInteger();
+		AtomicInteger hoseChangeCount = new AtomicInteger();
+		lineModel.onDataChanged().addListener(lineChangeCount::incrementAndGet);
+		hoseModel.onDataChanged().addListener(hoseChangeCount::incrementAndGet);
+
+		timeSeries.addDataPoint(START, 1);
+		lineModel.dispose();
+		hoseModel.dispose();
+		timeSeries.addDataPoint(START + 1, 1);
+
+		assertThat(lineChangeCount).hasValue(1);
+		assertThat(hoseChangeCount).hasValue(1);
+	}
+
+	@Test
+	public void testSharedTimeSeriesDoesNotRetainModels() {
+		PreAggregatedTimeSeries timeSeries = new PreAggregatedTimeSeries();
+		WeakReference<PreAggregatingLineGraphModel> lineModel = new WeakReference<>(new PreAggregatingLineGraphModel(timeSeries, AggregationType.AVERAGE));
+		WeakReference<PreAggregatingHoseGraphModel> hoseModel = new WeakReference<>(new PreAggregatingHoseGraphModel(timeSeries));
+
+		Awaitility.await().atMost(5, TimeUnit.SECONDS).until(() -> {
+			System.gc();
+			return lineModel.get() == null && hoseModel.get() == null;
+		});
+		timeSeries.addDataPoint(START, 1); // removes the listeners of the collected models
+	}
+
+	private static void assertSameData(LineGraphData actual, LineGraphData expected) {
+		List<LineGraphDataPoint> expectedDataPoints = expected.streamDataPoints().collect(Collectors.toList());
+		assertThat(expectedDataPoints).isNotEmpty();
+		assertThat(actual.streamDataPoints().collect(Collectors.toList())).containsExactlyElementsOf(expectedDataPoints);
+		assertThat(actual.getInterval()).isEqualTo(expected.getInterval());
+	}
+
+}
@@ -21,6 +21,11 @@ package org.teamapps.ux.resource;
 
 import org.junit.Test;
 
+import java.io.IOException;
+import java.io.InputStream;
+import java.util.zip.GZIPInputStream;
+
+import static org.assertj.core.api.Assertions.assertThat;
 import static org.junit.Assert.assertEquals;
 
 public class ClassPathResourceTest {
@@ -31,4 +36,30 @@ public class ClassPathResourceTest {
 		assertEquals("someName", new ClassPathResource("someName").getName());
 		assertEquals("someName.dfi.sdfj", new ClassPathResource("someName.dfi.sdfj").getName());
 	}
+
+	@Test
+	public void testETag() {
+		ClassPathResource resource = new ClassPathResource("/sample.json");
+		assertThat(resource.getETag()).matches("\"[0-9a-f]{32}\"");
+		assertThat(new ClassPathResource("/sample.json").getETag()).isEqualTo(resource.getETag());
+		assertThat(new ClassPathResource("/teamapps-startup-banner.txt").getETag()).isNotEqualTo(resource.getETag());
+	}
+
+	@Test
+	public void testGzipVariantOfCompressibleResource() throws IOException {
+		ClassPathResource resource = new ClassPathResource("/sample.json");
+		Resource gzipVariant = resource.getEncodedVariant("gzip");
+		assertThat(gzipVariant).isSameAs(resource.getEncodedVariant("gzip"));
+		try (InputStream original = resource.getInputStream(); InputStream decompressed = new GZIPInputStream(gzipVariant.getInputStream())) {
+			assertThat(decompressed.readAllBytes()).isEqualTo(original.readAllBytes());
+		}
+		assertThat(resource.getEncodedVariant("br")).isNull();
+	}
+
+	@Test
+	public void testNoEncodedVariantsOfNonExistingResource() {
+		ClassPathResource resource = new ClassPathResource("/does-not-exist.js");
+		assertThat(resource.exists()).isFalse();
+		assertThat(resource.getEncodedVariant("gzip")).isNull();
+	}
 }
@@ -0,0 +1,102 @@
+/*-
+ * ========================LICENSE_START=================================
+ * TeamApps
+ * ---
+ * Copyright (C) 2014 - 2025 TeamApps.org
+ * ---
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ * 
+ *      http://www.apache.org/licenses/LICENSE-2.0
+ * 
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ * =========================LICENSE_END==================================
+ */
+package org.teamapps.ux.servlet;
+
+import com.fasterxml.jackson.databind.ObjectMapper;
+import org.junit.Test;
+import org.teamapps.dto.AbstractClientMessage;
+import org.teamapps.dto.CMD_REQUEST;
+import org.teamapps.dto.CMD_RESULT;
+import org.teamapps.dto.KEEPALIVE;
+import org.teamapps.json.TeamAppsObjectMapperFactory;
+
+import java.nio.ByteBuffer;
+import java.nio.charset.StandardCharsets;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.assertThatThrownBy;
+
+public class ClientMessageStreamReaderTest {
+
+	private final ObjectMapper mapper = TeamAppsObjectMapperFactory.create();
+
+	@Test
+	public void readsMessagesSplitIntoArbitraryParts() throws Exception {
+		ClientMessageStreamReader reader = createReader(1024);
+		byte[] message = "{\"_type\":\"CMD_RESULT\",\"sessionId\":\"s1\",\"id\":3,\"cmdId\":7,\"result\":\"äöü€\"}".getBytes(StandardCharsets.UTF_8);
+
+		for (int i = 0; i < message.length - 1; i++) {
+			assertThat(reader.read(ByteBuffer.wrap(message, i, 1), false)).isNull();
+		}
+		AbstractClientMessage clientMessage = reader.read(ByteBuffer.wrap(message, message.length - 1, 1), true);
+
+		assertThat(clientMessage).isInstanceOf(CMD_RESULT.class);
+		CMD_RESULT cmdResult = (CMD_RESULT) clientMessage;
+		assertThat(cmdResult.getSessionId()).isEqualTo("s1");
+		assertThat(cmdResult.getId()).isEqualTo(3);
+		assertThat(cmdResult.getCmdId()).isEqualTo(7);
+		assertThat(cmdResult.getResult()).isEqualTo("äöü€");
+	}
+
+	@Test
+	public void readsConsecutiveMessages() throws Exception {
+		ClientMessageStreamReader reader = createReader(1024);
+
+		assertThat(read(reader, "{\"_type\":\"KEEPALIVE\",\"sessionId\":\"s1\"}")).isInstanceOf(KEEPALIVE.class);
+		CMD_REQUEST cmdRequest = (CMD_REQUEST) read(reader, "{\"sessionId\":\"s1\",\"lastReceivedCommandId\":4,\"_type\":\"CMD_REQUEST\",\"maxRequestedCommandId\":20}");
+		assertThat(cmdRequest.getLastReceivedCommandId()).isEqualTo(4);
+		assertThat(cmdRequest.getMaxRequestedCommandId()).isEqualTo(20);
+	}
+
+	@Test
+	public void rejectsTooLargeMessagesAndRecovers() throws Exception {
+		ClientMessageStreamReader reader = createReader(40);
+
+		assertThatThrownBy(() -> reader.read(utf8("{\"_type\":\"KEEPALIVE\",\"sessionId\":\"0123456789\"}"), false))
+				.isInstanceOf(TeamAppsCommunicationException.class);
+		assertThat(reader.read(utf8("}"), true)).isNull(); // rest of the rejected message
+
+		assertThat(read(reader, "{\"_type\":\"KEEPALIVE\",\"sessionId\":\"s1\"}")).isInstanceOf(KEEPALIVE.class);
+	}
+
+	@Test
+	public void rejectsMalformedAndIncompleteMessagesAndRecovers() throws Exception {
+		ClientMessageStreamReader reader = createReader(1024);
+
+		assertThatThrownBy(() -> read(reader, "{\"_type\":\"KEEPALIVE\",]")).isInstanceOf(Exception.class);
+		assertThatThrownBy(() -> read(reader, "{\"_type\":\"KEEPALIVE\"")).isInstanceOf(TeamAppsCommunicationException.class);
+		assertThatThrownBy(() -> read(reader, "{\"_type\":\"KEEPALIVE\",\"sessionId\":\"s1\"}{}")).isInstanceOf(TeamAppsCommunicationException.class);
+
+		assertThat(read(reader, "{\"_type\":\"KEEPALIVE\",\"sessionId\":\"s1\"}")).isInstanceOf(KEEPALIVE.class);
+	}
+
+	private ClientMessageStreamReader createReader(int maxMessageSize) {
+		return new ClientMessageStreamReader(mapper, ClientMessageStreamReader.createReadersByTypeId(mapper), maxMessageSize);
+	}
+
+	private static AbstractClientMessage read(ClientMessageStreamReader reader, String message) throws Exception {
+		return reader.read(utf8(message), true);
+	}
+
+	private static ByteBuffer utf8(String s) {
+		return ByteBuffer.wrap(s.getBytes(StandardCharsets.UTF_8));
+	}
+
+}
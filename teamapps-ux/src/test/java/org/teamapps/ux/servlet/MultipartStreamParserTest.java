@@ -0,0 +1,131 @@
+/*-
+ * ========================LICENSE_START=================================
+ * TeamApps
+ * ---
+ * Copyright (C) 2014 - 2025 TeamApps.org
+ * ---
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ * 
+ *      http://www.apache.org/licenses/LICENSE-2.0
+ * 
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ * =========================LICENSE_END==================================
+ */
+package org.teamapps.ux.servlet;
+
+import org.junit.Test;
+
+import java.io.ByteArrayOutputStream;
+import java.io.IOException;
+import java.nio.charset.StandardCharsets;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Map;
+import java.util.Random;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.assertThatThrownBy;
+
+public class MultipartStreamParserTest {
+
+	private static final String BOUNDARY = "----WebKitFormBoundary7MA4YWxkTrZu0gW";
+
+	@Test
+	public void testExtractBoundary() {
+		assertThat(MultipartStreamParser.extractBoundary("multipart/form-data; boundary=" + BOUNDARY)).isEqualTo(BOUNDARY);
+		assertThat(MultipartStreamParser.extractBoundary("multipart/form-data; charset=utf-8; boundary=\"a b\"")).isEqualTo("a b");
+		assertThat(MultipartStreamParser.extractBoundary("application/json")).isNull();
+		assertThat(MultipartStreamParser.extractBoundary(null)).isNull();
+	}
+
+	@Test
+	public void testExtractFileName() {
+		assertThat(MultipartStreamParser.extractFileName("form-data; name=\"files\"; filename=\"my \\\"file\\\".txt\"")).isEqualTo("my \"file\".txt");
+		assertThat(MultipartStreamParser.extractFileName("form-data; name=\"files\"")).isNull();
+	}
+
+	@Test
+	public void testParsesPartsSplitAtArbitraryPositions() throws Exception {
+		Random random = new Random(42);
+		byte[] file1 = new byte[100_000];
+		random.nextBytes(file1);
+		byte[] file2 = ("almost a delimiter: \r\n--" + BOUNDARY.substring(0, 10) + " \r\n-").getBytes(StandardCharsets.UTF_8);
+		byte[] body = createBody(file1, new byte[0], file2);
+
+		for (int run = 0; run < 200; run++) {
+			RecordingHandler handler = new RecordingHandler();
+			MultipartStreamParser parser = new MultipartStreamParser(BOUNDARY, handler);
+			int position = 0;
+			while (position < body.length) {
+				int chunkSize = Math.min(body.length - position, 1 + random.nextInt(run % 2 == 0 ? 50 : 20_000));
+				parser.write(body, position, chunkSize);
+				position += chunkSize;
+			}
+			parser.finish();
+
+			assertThat(handler.parts).hasSize(3);
+			assertThat(handler.parts.get(0)).isEqualTo(file1);
+			assertThat(handler.parts.get(1)).isEmpty();
+			assertThat(handler.parts.get(2)).isEqualTo(file2);
+			assertThat(handler.headers.get(0)).containsEntry("content-type", "application/octet-stream");
+			assertThat(MultipartStreamParser.extractFileName(handler.headers.get(2).get("content-disposition"))).isEqualTo("file2.bin");
+		}
+	}
+
+	@Test
+	public void testIncompleteBodyFails() throws Exception {
+		byte[] body = createBody("content".getBytes(StandardCharsets.UTF_8));
+		MultipartStreamParser parser = new MultipartStreamParser(BOUNDARY, new RecordingHandler());
+		parser.write(body, 0, body.length - "--\r\nepilogue".length());
+		assertThat(parser.isComplete()).isFalse();
+		assertThatThrownBy(parser::finish).isInstanceOf(IOException.class);
+	}
+
+	static byte[] createBody(byte[]... files) throws IOException {
+		ByteArrayOutputStream out = new ByteArrayOutputStream();
+		out.write("preamble\r\n".getBytes(StandardCharsets.UTF_8));
+		for (int i = 0; i < files.length; i++) {
+			out.write(("--" + BOUNDARY + "\r\n"
+					+ "Content-Disposition: form-data; name=\"files\"; filename=\"file" + i + ".bin\"\r\n"
+					+ "Content-Type: application/octet-stream\r\n\r\n").getBytes(StandardCharsets.UTF_8));
+			out.write(files[i]);
+			out.write("\r\n".getBytes(StandardCharsets.UTF_8));
+		}
+		out.write(("--" + BOUNDARY + "--\r\nepilogue").getBytes(StandardCharsets.UTF_8));
+		return out.toByteArray();
+	}
+
+	static String getBoundary() {
+		return BOUNDARY;
+	}
+
+	private static class RecordingHandler implements MultipartStreamParser.PartHandler {
+		private final List<Map<String, String>> headers = new ArrayList<>();
+		private final List<byte[]> parts = new ArrayList<>();
+		private ByteArrayOutputStream currentPart;
+
+		@Override
+		public void partStarted(Map<String, String> headers) {
+			this.headers.add(headers);
+			currentPart = new ByteArrayOutputStream();
+		}
+
+		@Override
+		public void partData(byte[] bytes, int offset, int length) {
+			assertThat(length).isPositive();
+			currentPart.write(bytes, offset, length);
+		}
+
+		@Override
+		public void partFinished() {
+			parts.add(currentPart.toByteArray());
+			currentPart = null;
+		}
+	}
+}
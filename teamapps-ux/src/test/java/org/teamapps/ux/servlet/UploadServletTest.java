@@ -0,0 +1,261 @@
+/*-
+ * ========================LICENSE_START=================================
+ * TeamApps
+ * ---
+ * Copyright (C) 2014 - 2025 TeamApps.org
+ * ---
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ * 
+ *      http://www.apache.org/licenses/LICENSE-2.0
+ * 
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ * =========================LICENSE_END==================================
+ */
+package org.teamapps.ux.servlet;
+
+import jakarta.servlet.AsyncContext;
+import jakarta.servlet.AsyncEvent;
+import jakarta.servlet.AsyncListener;
+import jakarta.servlet.ReadListener;
+import jakarta.servlet.ServletInputStream;
+import jakarta.servlet.http.HttpServletRequest;
+import jakarta.servlet.http.HttpServletResponse;
+import org.junit.Before;
+import org.junit.Rule;
+import org.junit.Test;
+import org.junit.rules.TemporaryFolder;
+import org.mockito.ArgumentCaptor;
+import org.mockito.Mockito;
+import org.teamapps.testutil.UxTestUtil;
+import org.teamapps.ux.session.SessionContext;
+import org.teamapps.ux.session.UploadProgressEvent;
+
+import java.io.File;
+import java.io.PrintWriter;
+import java.io.StringWriter;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Map;
+import java.util.Random;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.CopyOnWriteArrayList;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.function.Consumer;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+public class UploadServletTest {
+
+	@Rule
+	public TemporaryFolder temporaryFolder = new TemporaryFolder();
+
+	private final Map<String, File> uploadedFiles = new ConcurrentHashMap<>();
+	private final AtomicInteger status = new AtomicInteger(HttpServletResponse.SC_OK);
+	private final StringWriter responseBody = new StringWriter();
+	private HttpServletResponse response;
+	private AsyncContext asyncContext;
+	private SessionContext sessionContext;
+
+	@Before
+	public void setUp() throws Exception {
+		response = Mockito.mock(HttpServletResponse.class);
+		Mockito.doAnswer(invocation -> {
+			status.set(invocation.getArgument(0));
+			return null;
+		}).when(response).setStatus(Mockito.anyInt());
+		Mockito.doAnswer(invocation -> {
+			status.set(invocation.getArgument(0));
+			return null;
+		}).when(response).sendError(Mockito.anyInt());
+		Mockito.when(response.getWriter()).thenReturn(new PrintWriter(responseBody));
+		asyncContext = Mockito.mock(AsyncContext.class);
+		sessionContext = UxTestUtil.createDummySessionContext();
+	}
+
+	@Test
+	public void testStreamsPartsToUploadDirectory() throws Exception {
+		byte[] file1 = new byte[300_000];
+		new Random(1).nextBytes(file1);
+		byte[] file2 = "hello".getBytes(StandardCharsets.UTF_8);
+		byte[] body = MultipartStreamParserTest.createBody(file1, file2);
+		List<UploadProgressEvent> progressEvents = new CopyOnWriteArrayList<>();
+		sessionContext.onUploadProgress.addListener((Consumer<UploadProgressEvent>) progressEvents::add);
+
+		UploadServlet servlet = createServlet(-1);
+		servlet.doPost(createRequest(body, "/session"), response);
+
+		assertThat(status.get()).isEqualTo(HttpServletResponse.SC_OK);
+		Mockito.verify(asyncContext).complete();
+		assertThat(uploadedFiles).hasSize(2);
+		assertThat(temporaryFolder.getRoot().listFiles()).hasSize(2);
+		String response = responseBody.toString();
+		List<String> uuids = new ArrayList<>(uploadedFiles.keySet());
+		uuids.forEach(uuid -> assertThat(response).contains("\"" + uuid + "\""));
+		assertThat(uploadedFiles.values()).anySatisfy(file -> assertThat(Files.readAllBytes(file.toPath())).isEqualTo(file1));
+		assertThat(uploadedFiles.values()).anySatisfy(file -> assertThat(Files.readAllBytes(file.toPath())).isEqualTo(file2));
+
+		sessionContext.runWithContext(() -> {}).get(5, TimeUnit.SECONDS);
+		assertThat(progressEvents).filteredOn(UploadProgressEvent::fileComplete).hasSize(2);
+		assertThat(progressEvents.get(progressEvents.size() - 1).fileName()).isEqualTo("file1.bin");
+		assertThat(progressEvents.get(progressEvents.size() - 1).totalBytes()).isEqualTo(body.length);
+	}
+
+	@Test
+	public void testRejectsUploadExceedingSessionQuota() throws Exception {
+		byte[] file = new byte[200_000];
+		byte[] body = MultipartStreamParserTest.createBody(file);
+
+		UploadServlet servlet = createServlet(150_000);
+		HttpServletRequest request = createRequest(body, "/session");
+		Mockito.when(request.getContentLengthLong()).thenReturn(-1L); // chunked, so the quota has to be enforced while streaming
+		servlet.doPost(request, response);
+
+		assertThat(status.get()).isEqualTo(HttpServletResponse.SC_REQUEST_ENTITY_TOO_LARGE);
+		Mockito.verify(asyncContext).complete();
+		assertThat(uploadedFiles).isEmpty();
+		assertThat(temporaryFolder.getRoot().listFiles()).isEmpty();
+
+		servlet.doPost(createRequest(MultipartStreamParserTest.createBody(new byte[10]), "/session"), response);
+		assertThat(status.get()).isEqualTo(HttpServletResponse.SC_REQUEST_ENTITY_TOO_LARGE);
+	}
+
+	@Test
+	public void testRejectsUploadsWithoutSessionIfQuotaIsSet() throws Exception {
+		byte[] body = MultipartStreamParserTest.createBody(new byte[10]);
+
+		createServlet(150_000).doPost(createRequest(body, null), response);
+
+		assertThat(status.get()).isEqualTo(HttpServletResponse.SC_FORBIDDEN);
+		assertThat(uploadedFiles).isEmpty();
+	}
+
+	@Test
+	public void testAcceptsUploadsWithoutSessionIfNoQuotaIsSet() throws Exception {
+		byte[] body = MultipartStreamParserTest.createBody(new byte[200_000]);
+
+		createServlet(-1).doPost(createRequest(body, null), response);
+
+		assertThat(status.get()).isEqualTo(HttpServletResponse.SC_OK);
+		assertThat(uploadedFiles).hasSize(1);
+	}
+
+	@Test
+	public void testAbortsUploadOnTimeout() throws Exception {
+		byte[] body = MultipartStreamParserTest.createBody(new byte[200_000]);
+		ArgumentCaptor<AsyncListener> asyncListenerCaptor = ArgumentCaptor.forClass(AsyncListener.class);
+
+		HttpServletRequest request = createRequest(body, "/session");
+		ChunkedInputStream inputStream = new ChunkedInputStream(body, 7_000, 10);
+		Mockito.when(request.getInputStream()).thenReturn(inputStream);
+		createServlet(-1).doPost(request, response);
+		Mockito.verify(asyncContext).setTimeout(UploadServlet.DEFAULT_TIMEOUT_MILLIS);
+		Mockito.verify(asyncContext).addListener(asyncListenerCaptor.capture());
+		assertThat(temporaryFolder.getRoot().listFiles()).hasSize(1); // stalled while receiving the first file
+
+		asyncListenerCaptor.getValue().onTimeout(new AsyncEvent(asyncContext));
+
+		assertThat(status.get()).isEqualTo(HttpServletResponse.SC_INTERNAL_SERVER_ERROR);
+		Mockito.verify(asyncContext).complete();
+		assertThat(temporaryFolder.getRoot().listFiles()).isEmpty();
+	}
+
+	private UploadServlet createServlet(long maxUploadBytesPerSession) {
+		return new UploadServlet(temporaryFolder.getRoot(), (file, uuid) -> uploadedFiles.put(uuid, file),
+				sessionId -> "session".equals(sessionId) ? sessionContext : null, maxUploadBytesPerSession, UploadServlet.DEFAULT_TIMEOUT_MILLIS);
+	}
+
+	/**
+	 * Creates an async request whose body arrives in chunks, with the input stream not being ready between them.
+	 */
+	private HttpServletRequest createRequest(byte[] body, String pathInfo) throws Exception {
+		HttpServletRequest request = Mockito.mock(HttpServletRequest.class);
+		Mockito.when(request.getContentType()).thenReturn("multipart/form-data; boundary=" + MultipartStreamParserTest.getBoundary());
+		Mockito.when(request.getContentLengthLong()).thenReturn((long) body.length);
+		Mockito.when(request.getPathInfo()).thenReturn(pathInfo);
+		Mockito.when(request.isAsyncSupported()).thenReturn(true);
+		Mockito.when(request.startAsync()).thenReturn(asyncContext);
+		ChunkedInputStream inputStream = new ChunkedInputStream(body, 7_000);
+		Mockito.when(request.getInputStream()).thenReturn(inputStream);
+		return request;
+	}
+
+	private static class ChunkedInputStream extends ServletInputStream {
+		private final byte[] body;
+		private final int chunkSize;
+		private final int maxChunks;
+		private int position;
+		private boolean ready;
+		private ReadListener readListener;
+
+		public ChunkedInputStream(byte[] body, int chunkSize) {
+			this(body, chunkSize, Integer.MAX_VALUE);
+		}
+
+		/**
+		 * @param maxChunks the number of chunks after which the client stalls
+		 */
+		public ChunkedInputStream(byte[] body, int chunkSize, int maxChunks) {
+			this.body = body;
+			this.chunkSize = chunkSize;
+			this.maxChunks = maxChunks;
+		}
+
+		@Override
+		public void setReadListener(ReadListener readListener) {
+			this.readListener = readListener;
+			try {
+				for (int chunk = 0; position < body.length; chunk++) {
+					if (chunk >= maxChunks) {
+						return;
+					}
+					int previousPosition = position;
+					ready = true;
+					readListener.onDataAvailable();
+					if (position == previousPosition) {
+						return; // the listener stopped reading
+					}
+				}
+				readListener.onAllDataRead();
+			} catch (Exception e) {
+				readListener.onError(e);
+			}
+		}
+
+		@Override
+		public boolean isReady() {
+			boolean wasReady = ready;
+			ready = false; // one chunk per onDataAvailable() call
+			return wasReady;
+		}
+
+		@Override
+		public boolean isFinished() {
+			return position >= body.length;
+		}
+
+		@Override
+		public int read(byte[] b, int off, int len) {
+			if (position >= body.length) {
+				return -1;
+			}
+			int count = Math.min(Math.min(len, chunkSize), body.length - position);
+			System.arraycopy(body, position, b, off, count);
+			position += count;
+			return count;
+		}
+
+		@Override
+		public int read() {
+			return position < body.length ? body[position++] & 0xff : -1;
+		}
+	}
+}
@@ -0,0 +1,67 @@
+/*-
+ * ========================LICENSE_START=================================
+ * TeamApps
+ * ---
+ * Copyright (C) 2014 - 2025 TeamApps.org
+ * ---
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ * 
+ *      http://www.apache.org/licenses/LICENSE-2.0
+ * 
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ * =========================LICENSE_END==================================
+ */
+package org.teamapps.ux.servlet;
+
+import org.junit.Test;
+
+import java.nio.ByteBuffer;
+import java.nio.charset.StandardCharsets;
+import java.util.zip.Inflater;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+public class WebSocketMessageCompressorTest {
+
+	@Test
+	public void messagesCanBeDecompressedOneByOneWithSharedContext() throws Exception {
+		WebSocketMessageCompressor compressor = new WebSocketMessageCompressor(6);
+		Inflater inflater = new Inflater(true);
+		inflater.setDictionary(WebSocketCompressionDictionary.getDictionaryBytes());
+
+		String message1 = "{\"_type\":\"MULTI_CMD\",\"cmds\":[{\"id\":1,\"c\":{\"_type\":\"UiTable.updateRecord\",\"componentId\":\"abc\"}}]}";
+		String message2 = "{\"_type\":\"MULTI_CMD\",\"cmds\":[{\"id\":2,\"c\":{\"_type\":\"UiTable.updateRecord\",\"componentId\":\"abc\"}}]}";
+
+		ByteBuffer compressed1 = compressor.compress(ByteBuffer.wrap(message1.getBytes(StandardCharsets.UTF_8)));
+		ByteBuffer compressed2 = compressor.compress(ByteBuffer.wrap(message2.getBytes(StandardCharsets.UTF_8)));
+
+		assertThat(inflate(inflater, compressed1)).isEqualTo(message1);
+		int compressed2Size = compressed2.remaining();
+		assertThat(inflate(inflater, compressed2)).isEqualTo(message2);
+		assertThat(compressed2Size).isLessThan(message2.length() / 4);
+
+		compressor.close();
+		inflater.end();
+	}
+
+	@Test
+	public void dictionaryFitsIntoDeflateWindow() {
+		assertThat(WebSocketCompressionDictionary.getDictionaryBytes().length).isLessThanOrEqualTo(32 * 1024);
+		assertThat(WebSocketCompressionDictionary.getDictionary()).contains("\"UiTable\"");
+	}
+
+	private static String inflate(Inflater inflater, ByteBuffer input) throws Exception {
+		inflater.setInput(input);
+		ByteBuffer output = ByteBuffer.allocate(10_000);
+		inflater.inflate(output);
+		output.flip();
+		return StandardCharsets.UTF_8.decode(output).toString();
+	}
+
+}
@@ -22,6 +22,7 @@ package org.teamapps.ux.servlet.resourceprovider;
 import org.junit.Test;
 
 import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertSame;
 
 public class ClassPathResourceProviderTest {
 
@@ -33,4 +34,20 @@ public class ClassPathResourceProviderTest {
 		assertEquals("/my/package", ClassPathResourceProvider.normalizeClassPathResourcePath("/my/package"));
 	}
 
+	@Test
+	public void testNormalizeRelativeResourcePath() throws Exception {
+		assertEquals("/a/b.js", ClassPathResourceProvider.normalizeRelativeResourcePath("/a/b.js"));
+		assertEquals("/a/b.js", ClassPathResourceProvider.normalizeRelativeResourcePath("a//b.js"));
+		assertEquals("/a/b.js", ClassPathResourceProvider.normalizeRelativeResourcePath("./a/./b.js"));
+		assertEquals("/a/../b.js", ClassPathResourceProvider.normalizeRelativeResourcePath("a/../b.js"));
+		assertEquals("/a/", ClassPathResourceProvider.normalizeRelativeResourcePath("a//"));
+		assertEquals("/", ClassPathResourceProvider.normalizeRelativeResourcePath(""));
+	}
+
+	@Test
+	public void testDifferentSpellingsShareCachedResource() throws Exception {
+		ClassPathResourceProvider provider = new ClassPathResourceProvider("translations");
+		assertSame(provider.getResource("", "/Translations_en.properties", "session"), provider.getResource("", ".//Translations_en.properties", "session"));
+	}
+
 }
@@ -0,0 +1,200 @@
+/*-
+ * ========================LICENSE_START=================================
+ * TeamApps
+ * ---
+ * Copyright (C) 2014 - 2025 TeamApps.org
+ * ---
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ * 
+ *      http://www.apache.org/licenses/LICENSE-2.0
+ * 
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ * =========================LICENSE_END==================================
+ */
+package org.teamapps.ux.servlet.resourceprovider;
+
+import jakarta.servlet.ServletOutputStream;
+import jakarta.servlet.WriteListener;
+import jakarta.servlet.http.HttpServletRequest;
+import jakarta.servlet.http.HttpServletResponse;
+import jakarta.servlet.http.HttpSession;
+import org.junit.Before;
+import org.junit.Rule;
+import org.junit.Test;
+import org.junit.rules.TemporaryFolder;
+import org.mockito.Mockito;
+import org.teamapps.ux.resource.ByteArrayResource;
+import org.teamapps.ux.resource.FileResource;
+import org.teamapps.ux.resource.Resource;
+
+import java.io.ByteArrayOutputStream;
+import java.io.File;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.util.HashMap;
+import java.util.Map;
+import java.util.concurrent.atomic.AtomicInteger;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+public class ResourceProviderServletTest {
+
+	@Rule
+	public TemporaryFolder temporaryFolder = new TemporaryFolder();
+
+	private final Map<String, String> requestHeaders = new HashMap<>();
+	private final Map<String, String> responseHeaders = new HashMap<>();
+	private final AtomicInteger status = new AtomicInteger(HttpServletResponse.SC_OK);
+	private final ByteArrayOutputStream responseBody = new ByteArrayOutputStream();
+	private HttpServletRequest request;
+	private HttpServletResponse response;
+
+	@Before
+	public void setUp() throws Exception {
+		request = Mockito.mock(HttpServletRequest.class);
+		HttpSession session = Mockito.mock(HttpSession.class);
+		Mockito.when(session.getId()).thenReturn("session");
+		Mockito.when(request.getSession()).thenReturn(session);
+		Mockito.when(request.getHeader(Mockito.anyString())).thenAnswer(invocation -> requestHeaders.get(invocation.<String>getArgument(0)));
+		Mockito.when(request.getDateHeader(Mockito.anyString())).thenReturn(-1L);
+
+		response = Mockito.mock(HttpServletResponse.class);
+		Mockito.doAnswer(invocation -> responseHeaders.put(invocation.getArgument(0), invocation.getArgument(1)))
+				.when(response).setHeader(Mockito.anyString(), Mockito.anyString());
+		Mockito.doAnswer(invocation -> {
+			status.set(invocation.getArgument(0));
+			return null;
+		}).when(response).setStatus(Mockito.anyInt());
+		Mockito.when(response.getStatus()).thenAnswer(invocation -> status.get());
+		Mockito.when(response.getOutputStream()).thenReturn(new ServletOutputStream() {
+			@Override
+			public boolean isReady() {
+				return true;
+			}
+
+			@Override
+			public void setWriteListener(WriteListener writeListener) {
+			}
+
+			@Override
+			public void write(int b) {
+				responseBody.write(b);
+			}
+		});
+	}
+
+	private void get(Resource resource) throws Exception {
+		new ResourceProviderServlet((servletPath, relativeResourcePath, httpSessionId) -> resource).doGet(request, response);
+	}
+
+	@Test
+	public void servesEncodedVariantWithItsOwnETag() throws Exception {
+		Resource resource = new ByteArrayResource("plain".getBytes(StandardCharsets.UTF_8), "x.txt") {
+			@Override
+			public Resource getEncodedVariant(String contentEncoding) {
+				return contentEncoding.equals("gzip") ? new ByteArrayResource("zipped".getBytes(StandardCharsets.UTF_8), "x.txt.gz") : null;
+			}
+		};
+		requestHeaders.put("Accept-Encoding", "br;q=0.5, gzip");
+		get(resource);
+
+		assertThat(responseBody.toString(StandardCharsets.UTF_8)).isEqualTo("zipped");
+		assertThat(responseHeaders).containsEntry("Content-Encoding", "gzip")
+				.containsEntry("Vary", "Accept-Encoding")
+				.containsEntry("Content-Length", "6")
+				.containsEntry("ETag", "\"" + resource.getETag().replace("\"", "") + "-gzip\"");
+	}
+
+	@Test
+	public void servesIdentityIfEncodingIsNotAccepted() throws Exception {
+		Resource resource = new ByteArrayResource("plain".getBytes(StandardCharsets.UTF_8), "x.txt") {
+			@Override
+			public Resource getEncodedVariant(String contentEncoding) {
+				return new ByteArrayResource("zipped".getBytes(StandardCharsets.UTF_8), "x.txt.gz");
+			}
+		};
+		requestHeaders.put("Accept-Encoding", "gzip;q=0");
+		get(resource);
+
+		assertThat(responseBody.toString(StandardCharsets.UTF_8)).isEqualTo("plain");
+		assertThat(responseHeaders).doesNotContainKey("Content-Encoding")
+				.containsEntry("Vary", "Accept-Encoding")
+				.containsEntry("ETag", resource.getETag());
+	}
+
+	@Test
+	public void setsVaryForRangesOfResourcesWithEncodedVariants() throws Exception {
+		Resource resource = new ByteArrayResource("plain".getBytes(StandardCharsets.UTF_8), "x.txt") {
+			@Override
+			public Resource getEncodedVariant(String contentEncoding) {
+				return contentEncoding.equals("br") ? new ByteArrayResource("brotli".getBytes(StandardCharsets.UTF_8), "x.txt.br") : null;
+			}
+		};
+		requestHeaders.put("Accept-Encoding", "br");
+		requestHeaders.put("Range", "bytes=1-2");
+		get(resource);
+
+		assertThat(responseBody.toString(StandardCharsets.UTF_8)).isEqualTo("la");
+		assertThat(responseHeaders).doesNotContainKey("Content-Encoding").containsEntry("Vary", "Accept-Encoding");
+	}
+
+	@Test
+	public void doesNotSetVaryForResourcesWithoutEncodedVariants() throws Exception {
+		requestHeaders.put("Accept-Encoding", "gzip, br");
+		get(new ByteArrayResource("plain".getBytes(StandardCharsets.UTF_8), "x.txt"));
+
+		assertThat(responseHeaders).doesNotContainKey("Vary");
+	}
+
+	@Test
+	public void respondsNotModifiedForMatchingContentETag() throws Exception {
+		Resource resource = new ByteArrayResource("plain".getBytes(StandardCharsets.UTF_8), "x.txt");
+		requestHeaders.put("If-None-Match", resource.getETag());
+		get(resource);
+
+		assertThat(status.get()).isEqualTo(HttpServletResponse.SC_NOT_MODIFIED);
+		assertThat(responseBody.size()).isEqualTo(0);
+	}
+
+	@Test
+	public void servesRangesOfFiles() throws Exception {
+		File file = temporaryFolder.newFile("x.txt");
+		Files.writeString(file.toPath(), "0123456789");
+		requestHeaders.put("Range", "bytes=2-4");
+		get(new FileResource(file));
+
+		assertThat(status.get()).isEqualTo(HttpServletResponse.SC_PARTIAL_CONTENT);
+		assertThat(responseBody.toString(StandardCharsets.UTF_8)).isEqualTo("234");
+		assertThat(responseHeaders).containsEntry("Content-Range", "bytes 2-4/10");
+	}
+
+	@Test
+	public void servesMultipleRangesOfFiles() throws Exception {
+		File file = temporaryFolder.newFile("x.txt");
+		Files.writeString(file.toPath(), "0123456789");
+		requestHeaders.put("Range", "bytes=1-2,6-8");
+		get(new FileResource(file));
+
+		assertThat(responseBody.toString(StandardCharsets.UTF_8))
+				.contains("Content-Range: bytes 1-2/10")
+				.contains("12")
+				.contains("Content-Range: bytes 6-8/10")
+				.contains("678");
+	}
+
+	@Test
+	public void acceptsEncoding() {
+		assertThat(ResourceProviderServlet.acceptsEncoding("gzip, deflate, br", "br")).isTrue();
+		assertThat(ResourceProviderServlet.acceptsEncoding("GZIP;q=0.8", "gzip")).isTrue();
+		assertThat(ResourceProviderServlet.acceptsEncoding("gzip;q=0", "gzip")).isFalse();
+		assertThat(ResourceProviderServlet.acceptsEncoding("gzip;q=0.0", "gzip")).isFalse();
+		assertThat(ResourceProviderServlet.acceptsEncoding("deflate", "gzip")).isFalse();
+	}
+
+}
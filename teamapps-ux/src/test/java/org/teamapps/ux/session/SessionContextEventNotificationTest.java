@@ -0,0 +1,122 @@
+/*-
+ * ========================LICENSE_START=================================
+ * TeamApps
+ * ---
+ * Copyright (C) 2014 - 2025 TeamApps.org
+ * ---
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ * 
+ *      http://www.apache.org/licenses/LICENSE-2.0
+ * 
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ * =========================LICENSE_END==================================
+ */
+package org.teamapps.ux.session;
+
+import org.junit.Before;
+import org.junit.Test;
+import org.mockito.Mockito;
+import org.teamapps.event.Event;
+import org.teamapps.testutil.UxTestUtil;
+import org.teamapps.uisession.UiSession;
+import org.teamapps.uisession.UiSessionTimingListener;
+
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.List;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.TimeUnit;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+public class SessionContextEventNotificationTest {
+
+	private final List<Integer> batchSizes = Collections.synchronizedList(new ArrayList<>());
+	private SessionContext sessionContext;
+	private CountDownLatch executorBlocked;
+
+	@Before
+	public void setUp() throws Exception {
+		UiSession uiSession = Mockito.mock(UiSession.class);
+		Mockito.when(uiSession.getTimingListener()).thenReturn(new UiSessionTimingListener() {
+			@Override
+			public void onEventNotificationsStarted(int notificationCount, long fanOutDelayNanos) {
+				batchSizes.add(notificationCount);
+			}
+		});
+		sessionContext = UxTestUtil.createDummySessionContext(uiSession);
+		sessionContext.runWithContext(() -> {}).get(); // wait for the initialization
+	}
+
+	private void blockExecutor() {
+		executorBlocked = new CountDownLatch(1);
+		sessionContext.runWithContext(() -> {
+			try {
+				executorBlocked.await();
+			} catch (InterruptedException e) {
+				throw new RuntimeException(e);
+			}
+		});
+	}
+
+	private void unblockExecutorAndWait() throws Exception {
+		executorBlocked.countDown();
+		sessionContext.runWithContext(() -> {}, true).get(5, TimeUnit.SECONDS);
+	}
+
+	@Test
+	public void notificationsOfAllListenersAndRepeatedFiresAreExecutedInOneTask() throws Exception {
+		Event<Integer> event = new Event<>();
+		List<String> notifications = Collections.synchronizedList(new ArrayList<>());
+		sessionContext.runWithContext(() -> {
+			event.addListener(i -> notifications.add("a" + i));
+			event.addListener(i -> notifications.add("b" + i));
+		}).get();
+
+		blockExecutor();
+		event.fire(1);
+		event.fire(2);
+		event.fire(3);
+		unblockExecutorAndWait();
+
+		assertThat(notifications).containsExactly("a1", "b1", "a2", "b2", "a3", "b3");
+		assertThat(batchSizes).containsExactly(6);
+	}
+
+	@Test
+	public void notificationsAreNotAddedToBatchesFollowedByOtherTasks() throws Exception {
+		Event<Integer> event = new Event<>();
+		List<String> executions = Collections.synchronizedList(new ArrayList<>());
+		sessionContext.runWithContext(() -> event.addListener(i -> executions.add("event" + i))).get();
+
+		blockExecutor();
+		event.fire(1);
+		sessionContext.runWithContext(() -> executions.add("task"));
+		event.fire(2);
+		unblockExecutorAndWait();
+
+		assertThat(executions).containsExactly("event1", "task", "event2");
+		assertThat(batchSizes).containsExactly(1, 1);
+	}
+
+	@Test
+	public void notificationsAreExecutedSynchronouslyWhenFiredInTheSameSessionContext() throws Exception {
+		Event<Integer> event = new Event<>();
+		List<String> executions = new ArrayList<>();
+		sessionContext.runWithContext(() -> {
+			event.addListener(i -> executions.add("event" + i));
+			event.fire(1);
+			executions.add("after fire");
+		}).get();
+
+		assertThat(executions).containsExactly("event1", "after fire");
+		assertThat(batchSizes).isEmpty();
+	}
+
+}
@@ -0,0 +1,82 @@
+/*-
+ * ========================LICENSE_START=================================
+ * TeamApps
+ * ---
+ * Copyright (C) 2014 - 2025 TeamApps.org
+ * ---
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ * 
+ *      http://www.apache.org/licenses/LICENSE-2.0
+ * 
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ * =========================LICENSE_END==================================
+ */
+package org.teamapps.ux.session;
+
+import org.junit.Before;
+import org.junit.Test;
+import org.mockito.Mockito;
+import org.teamapps.icons.Icon;
+import org.teamapps.icons.IconResource;
+import org.teamapps.icons.IconType;
+import org.teamapps.icons.SessionIconProvider;
+import org.teamapps.testutil.UxTestUtil;
+
+import java.nio.charset.StandardCharsets;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.ArgumentMatchers.eq;
+
+public class SessionContextIconInliningTest {
+
+	private SessionContext sessionContext;
+	private Icon icon;
+
+	@Before
+	public void setUp() {
+		sessionContext = UxTestUtil.createDummySessionContext();
+		icon = Mockito.mock(Icon.class);
+		SessionIconProvider iconProvider = sessionContext.getIconProvider();
+		Mockito.when(iconProvider.encodeIcon(any(), eq(true))).thenReturn("lib.a");
+		Mockito.when(iconProvider.loadIcon("lib.a", -1)).thenReturn(new IconResource("<svg/>".getBytes(StandardCharsets.UTF_8), IconType.SVG));
+	}
+
+	@Test
+	public void referencesIconsByUrlByDefault() {
+		assertThat(sessionContext.resolveIcon(icon)).isEqualTo("/icons/lib.a");
+	}
+
+	@Test
+	public void inlinesSmallSvgIcons() {
+		sessionContext.getConfiguration().setIconInliningMaxBytes(6);
+		assertThat(sessionContext.resolveIcon(icon)).isEqualTo("data:image/svg+xml;base64,PHN2Zy8+");
+	}
+
+	@Test
+	public void referencesIconsExceedingTheInliningLimitByUrl() {
+		sessionContext.getConfiguration().setIconInliningMaxBytes(5);
+		assertThat(sessionContext.resolveIcon(icon)).isEqualTo("/icons/lib.a");
+	}
+
+	@Test
+	public void inlinesOnlyTheFirstDistinctIconsOfTheSession() {
+		Icon otherIcon = Mockito.mock(Icon.class);
+		SessionIconProvider iconProvider = sessionContext.getIconProvider();
+		Mockito.when(iconProvider.encodeIcon(eq(otherIcon), eq(true))).thenReturn("lib.b");
+		Mockito.when(iconProvider.loadIcon("lib.b", -1)).thenReturn(new IconResource("<svg/>".getBytes(StandardCharsets.UTF_8), IconType.SVG));
+		sessionContext.getConfiguration().setIconInliningMaxBytes(6);
+		sessionContext.getConfiguration().setIconInliningMaxIcons(1);
+
+		assertThat(sessionContext.resolveIcon(icon)).isEqualTo("data:image/svg+xml;base64,PHN2Zy8+");
+		assertThat(sessionContext.resolveIcon(otherIcon)).isEqualTo("/icons/lib.b");
+		assertThat(sessionContext.resolveIcon(icon)).isEqualTo("data:image/svg+xml;base64,PHN2Zy8+");
+	}
+
+}
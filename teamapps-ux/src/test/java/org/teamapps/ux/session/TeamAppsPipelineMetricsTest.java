@@ -0,0 +1,60 @@
+/*-
+ * ========================LICENSE_START=================================
+ * TeamApps
+ * ---
+ * Copyright (C) 2014 - 2025 TeamApps.org
+ * ---
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ * 
+ *      http://www.apache.org/licenses/LICENSE-2.0
+ * 
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ * =========================LICENSE_END==================================
+ */
+package org.teamapps.ux.session;
+
+import io.micrometer.core.instrument.Timer;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import org.junit.Test;
+import org.mockito.ArgumentCaptor;
+import org.mockito.Mockito;
+import org.teamapps.dto.UiComponent;
+import org.teamapps.dto.UiEventType;
+import org.teamapps.uisession.TeamAppsSessionManager;
+import org.teamapps.uisession.UiSessionTimingListener;
+
+import java.util.concurrent.TimeUnit;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+public class TeamAppsPipelineMetricsTest {
+
+	@Test
+	public void recordsTimersTaggedByType() {
+		TeamAppsSessionManager sessionManager = Mockito.mock(TeamAppsSessionManager.class);
+		SimpleMeterRegistry registry = new SimpleMeterRegistry();
+		new TeamAppsPipelineMetrics(sessionManager).bindTo(registry);
+		ArgumentCaptor<UiSessionTimingListener> captor = ArgumentCaptor.forClass(UiSessionTimingListener.class);
+		Mockito.verify(sessionManager).setTimingListener(captor.capture());
+		UiSessionTimingListener timingListener = captor.getValue();
+
+		timingListener.onEventHandled(UiEventType.UI_MAP_MAP_CLICKED, TimeUnit.MILLISECONDS.toNanos(3));
+		timingListener.onEventHandled(UiEventType.UI_MAP_MAP_CLICKED, TimeUnit.MILLISECONDS.toNanos(5));
+		timingListener.onCommandSent(UiComponent.SetVisibleCommand.class, TimeUnit.MILLISECONDS.toNanos(7));
+		timingListener.onMessageSendingCompleted(false, 1);
+
+		Timer eventTimer = registry.get("teamapps.event.handling").tag("type", "UI_MAP_MAP_CLICKED").timer();
+		assertThat(eventTimer.count()).isEqualTo(2);
+		assertThat(eventTimer.totalTime(TimeUnit.MILLISECONDS)).isEqualTo(8);
+		assertThat(registry.get("teamapps.command.buffer.time").tag("type", "UiComponent.setVisible").timer().count()).isEqualTo(1);
+		assertThat(registry.get("teamapps.websocket.send").tag("outcome", "error").timer().count()).isEqualTo(1);
+		assertThat(registry.get("teamapps.websocket.send").tag("outcome", "success").timer().count()).isEqualTo(0);
+	}
+
+}